@@ -0,0 +1,46 @@
+package com.fszuberski.scoreboard;
+
+import java.util.UUID;
+
+/**
+ * Shared setup of the benchmarked {@link MatchStore} implementations.
+ * New {@link MatchStore} implementations should be registered in {@link #create(String)} and added to the
+ * {@code storeType} parameters of the benchmarks.
+ */
+class BenchmarkMatchStores {
+    // fits the largest numberOfMatches parameter and the matches started by the benchmarks themselves
+    private static final int OFF_HEAP_CAPACITY = 1_100_000;
+
+    static MatchStore create(String storeType) {
+        return switch (storeType) {
+            case "inMemory" -> new InMemoryMatchStore();
+            case "orderedInMemory" -> MatchStore.orderedInMemory();
+            case "concurrentInMemory" -> MatchStore.concurrentInMemory();
+            case "copyOnWrite" -> MatchStore.copyOnWrite();
+            case "packedInMemory" -> MatchStore.packedInMemory();
+            case "offHeap" -> MatchStore.offHeap(OFF_HEAP_CAPACITY);
+            case "sharded" -> MatchStore.sharded(Runtime.getRuntime().availableProcessors(), MatchStore::concurrentInMemory);
+            default -> throw new IllegalArgumentException(String.format("Unknown store type='%s'.", storeType));
+        };
+    }
+
+    /**
+     * Starts {@code numberOfMatches} matches with distinct scores on the passed scoreboard, within a single batch of
+     * its store (see {@link MatchStore#executeInBatch(Runnable)}), so that stores which copy their state on every
+     * write load the fixtures in one pass.
+     *
+     * @param scoreboard the scoreboard the matches should be started on
+     * @param matchStore the store of the scoreboard
+     * @return the ids of the started matches.
+     */
+    static UUID[] startMatches(Scoreboard scoreboard, MatchStore matchStore, int numberOfMatches) {
+        var matchIds = new UUID[numberOfMatches];
+        matchStore.executeInBatch(() -> {
+            for (int i = 0; i < numberOfMatches; i++) {
+                matchIds[i] = scoreboard.startMatch("Home" + i, "Away" + i);
+                scoreboard.updateMatchScore(matchIds[i], i % 7, i % 5);
+            }
+        });
+        return matchIds;
+    }
+}
@@ -0,0 +1,82 @@
+package com.fszuberski.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded benchmarks of the {@link Scoreboard} hot paths for the thread-safe {@link MatchStore} implementations.
+ * Every writer thread updates its own partition of the matches, so the score updates never go down.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentScoreboardBenchmark {
+
+    private static final int NUMBER_OF_WRITERS = 4;
+
+    @State(Scope.Benchmark)
+    public static class Board {
+
+        @Param({"concurrentInMemory", "copyOnWrite", "sharded"})
+        public String storeType;
+
+        @Param({"10", "1000", "100000", "1000000"})
+        public int numberOfMatches;
+
+        Scoreboard scoreboard;
+        UUID[] matchIds;
+        final AtomicInteger nextWriter = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            var matchStore = BenchmarkMatchStores.create(storeType);
+            scoreboard = new Scoreboard(matchStore);
+            matchIds = BenchmarkMatchStores.startMatches(scoreboard, matchStore, numberOfMatches);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer extends PartitionedWriter {
+
+        @Setup(Level.Trial)
+        public void setUp(Board board) {
+            assignPartition(board.nextWriter, NUMBER_OF_WRITERS, board.numberOfMatches);
+        }
+    }
+
+    @Benchmark
+    @Threads(NUMBER_OF_WRITERS)
+    public void updateMatchScore(Board board, Writer writer) {
+        updateNextMatch(board, writer);
+    }
+
+    @Benchmark
+    @Threads(NUMBER_OF_WRITERS)
+    public List<?> getOngoingMatches(Board board) {
+        return board.scoreboard.getOngoingMatches();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public List<?> readMostlyReader(Board board) {
+        return board.scoreboard.getOngoingMatches();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public void readMostlyWriter(Board board, Writer writer) {
+        updateNextMatch(board, writer);
+    }
+
+    private static void updateNextMatch(Board board, Writer writer) {
+        board.scoreboard.updateMatchScore(board.matchIds[writer.nextMatch()], writer.nextHomeTeamScore(), 5);
+    }
+}
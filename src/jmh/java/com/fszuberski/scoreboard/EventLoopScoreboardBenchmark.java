@@ -0,0 +1,89 @@
+package com.fszuberski.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded benchmarks of the {@link EventLoopScoreboard}, reporting the latency distribution of submitting score
+ * updates to the writer thread, of waiting until they are applied and of reading the published summary. Every writer
+ * thread updates its own partition of the matches, so the score updates never go down.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLoopScoreboardBenchmark {
+
+    private static final int NUMBER_OF_WRITERS = 4;
+
+    @State(Scope.Benchmark)
+    public static class Board {
+
+        @Param({"1000", "100000"})
+        public int numberOfMatches;
+
+        EventLoopScoreboard scoreboard;
+        UUID[] matchIds;
+        final AtomicInteger nextWriter = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            var matchStore = new InMemoryMatchStore();
+            matchIds = BenchmarkMatchStores.startMatches(new Scoreboard(matchStore), matchStore, numberOfMatches);
+            scoreboard = new EventLoopScoreboard(matchStore, EventLoopScoreboard.DEFAULT_QUEUE_CAPACITY);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            scoreboard.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer extends PartitionedWriter {
+
+        @Setup(Level.Trial)
+        public void setUp(Board board) {
+            assignPartition(board.nextWriter, NUMBER_OF_WRITERS, board.numberOfMatches);
+        }
+    }
+
+    /**
+     * Submits a score update without waiting for it to be applied; the queue applies backpressure once it is full.
+     */
+    @Benchmark
+    @Threads(NUMBER_OF_WRITERS)
+    public CompletableFuture<Void> submitMatchScoreUpdate(Board board, Writer writer) {
+        return updateNextMatch(board, writer);
+    }
+
+    @Benchmark
+    @Threads(NUMBER_OF_WRITERS)
+    public Void updateMatchScore(Board board, Writer writer) {
+        return updateNextMatch(board, writer).join();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public List<?> readMostlyReader(Board board) {
+        return board.scoreboard.getOngoingMatches();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public CompletableFuture<Void> readMostlyWriter(Board board, Writer writer) {
+        return updateNextMatch(board, writer);
+    }
+
+    private static CompletableFuture<Void> updateNextMatch(Board board, Writer writer) {
+        return board.scoreboard.updateMatchScore(board.matchIds[writer.nextMatch()], writer.nextHomeTeamScore(), 5);
+    }
+}
@@ -0,0 +1,64 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
+import com.fszuberski.scoreboard.metrics.ScoreboardMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the overhead of instrumenting the {@link Scoreboard} hot paths, comparing a scoreboard which is not
+ * instrumented with a scoreboard recording {@link ScoreboardMetrics} and with a scoreboard whose store operations are
+ * measured as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstrumentationBenchmark {
+
+    @Param({"none", "scoreboard", "scoreboardAndStore"})
+    public String instrumentation;
+
+    @Param({"1000", "100000"})
+    public int numberOfMatches;
+
+    private Scoreboard scoreboard;
+    private UUID[] matchIds;
+    private int[] homeTeamScores;
+    private int nextMatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var metrics = new ScoreboardMetrics();
+        var matchStore = instrumentation.equals("scoreboardAndStore")
+                ? MatchStore.instrumented(MatchStore.orderedInMemory(), metrics)
+                : MatchStore.orderedInMemory();
+        scoreboard = switch (instrumentation) {
+            case "none" -> new Scoreboard(matchStore, ScoreboardInstrumentation.NOOP);
+            case "scoreboard", "scoreboardAndStore" -> new Scoreboard(matchStore, metrics);
+            default -> throw new IllegalArgumentException("Unknown instrumentation: " + instrumentation);
+        };
+        matchIds = BenchmarkMatchStores.startMatches(scoreboard, matchStore, numberOfMatches);
+        homeTeamScores = new int[numberOfMatches];
+        for (int i = 0; i < numberOfMatches; i++) {
+            homeTeamScores[i] = i % 7;
+        }
+    }
+
+    @Benchmark
+    public void updateMatchScore() {
+        var index = nextMatch;
+        nextMatch = index + 1 == numberOfMatches ? 0 : index + 1;
+        scoreboard.updateMatchScore(matchIds[index], ++homeTeamScores[index], 5);
+    }
+
+    @Benchmark
+    public List<?> getOngoingMatches() {
+        return scoreboard.getOngoingMatches();
+    }
+}
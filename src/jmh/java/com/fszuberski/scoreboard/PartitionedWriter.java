@@ -0,0 +1,54 @@
+package com.fszuberski.scoreboard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Shared state of a benchmark writer thread updating its own partition of the matches started by
+ * {@link BenchmarkMatchStores#startMatches(Scoreboard, MatchStore, int)}, so that the score updates of concurrent
+ * writers never go down. Benchmarks extend it with a thread-scoped state assigning the partition in its setup.
+ */
+abstract class PartitionedWriter {
+    private int[] partition;
+    private int[] homeTeamScores;
+    private int nextMatch;
+    private int currentMatch;
+
+    /**
+     * Assigns the next partition to the writer. The partitions are disjoint as long as there are at most
+     * {@code numberOfWriters} writer threads.
+     *
+     * @param nextWriter      the counter of the writers of the benchmark
+     * @param numberOfWriters the number of partitions
+     * @param numberOfMatches the number of started matches
+     */
+    void assignPartition(AtomicInteger nextWriter, int numberOfWriters, int numberOfMatches) {
+        var writer = nextWriter.getAndIncrement() % numberOfWriters;
+        partition = IntStream
+                .range(0, numberOfMatches)
+                .filter(i -> i % numberOfWriters == writer)
+                .toArray();
+        homeTeamScores = new int[partition.length];
+        for (int i = 0; i < partition.length; i++) {
+            homeTeamScores[i] = partition[i] % 7;
+        }
+    }
+
+    /**
+     * Moves to the next match of the partition, going round the partition.
+     *
+     * @return the index of the match among the started matches.
+     */
+    int nextMatch() {
+        currentMatch = nextMatch;
+        nextMatch = currentMatch + 1 == partition.length ? 0 : currentMatch + 1;
+        return partition[currentMatch];
+    }
+
+    /**
+     * @return the raised home team score of the match returned by the last {@link #nextMatch()}.
+     */
+    int nextHomeTeamScore() {
+        return ++homeTeamScores[currentMatch];
+    }
+}
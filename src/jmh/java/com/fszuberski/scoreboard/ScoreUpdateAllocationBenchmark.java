@@ -0,0 +1,58 @@
+package com.fszuberski.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the allocations of steady-state score updates, reported per update as {@code gc.alloc.rate.norm} by
+ * the GC profiler. Stores keeping matches in slots (packed and off-heap) update the slots in place and are expected to
+ * allocate 0 bytes per update while there are no subscriptions; a subscription requires the previous and the updated
+ * state of the match as {@link com.fszuberski.scoreboard.domain.Match} objects, so the updates allocate again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreUpdateAllocationBenchmark {
+
+    @Param({"inMemory", "packedInMemory", "offHeap"})
+    public String storeType;
+
+    @Param({"false", "true"})
+    public boolean subscribed;
+
+    @Param({"1000", "100000"})
+    public int numberOfMatches;
+
+    private Scoreboard scoreboard;
+    private UUID[] matchIds;
+    private int[] homeTeamScores;
+    private int nextMatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var matchStore = BenchmarkMatchStores.create(storeType);
+        scoreboard = new Scoreboard(matchStore);
+        matchIds = BenchmarkMatchStores.startMatches(scoreboard, matchStore, numberOfMatches);
+        homeTeamScores = new int[numberOfMatches];
+        for (int i = 0; i < numberOfMatches; i++) {
+            homeTeamScores[i] = i % 7;
+        }
+        if (subscribed) {
+            // the events are delivered by the updating thread, so their delivery is part of the measurement
+            scoreboard.subscribe(event -> {
+            }, Runnable::run);
+        }
+    }
+
+    @Benchmark
+    public void updateMatchScore() {
+        var index = nextMatch;
+        nextMatch = index + 1 == numberOfMatches ? 0 : index + 1;
+        scoreboard.updateMatchScore(matchIds[index], ++homeTeamScores[index], 5);
+    }
+}
@@ -0,0 +1,103 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded benchmarks of the {@link Scoreboard} hot paths for every {@link MatchStore} implementation
+ * and board sizes ranging from a handful to a million live matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreboardBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"inMemory", "orderedInMemory", "concurrentInMemory", "copyOnWrite", "packedInMemory", "offHeap", "sharded"})
+    public String storeType;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int numberOfMatches;
+
+    private Scoreboard scoreboard;
+    private UUID[] matchIds;
+    private int[] homeTeamScores;
+    private String[] homeTeamNames;
+    private String[] awayTeamNames;
+    private int nextMatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var matchStore = BenchmarkMatchStores.create(storeType);
+        scoreboard = new Scoreboard(matchStore);
+        matchIds = BenchmarkMatchStores.startMatches(scoreboard, matchStore, numberOfMatches);
+        homeTeamScores = new int[numberOfMatches];
+        homeTeamNames = new String[numberOfMatches];
+        awayTeamNames = new String[numberOfMatches];
+        for (int i = 0; i < numberOfMatches; i++) {
+            homeTeamScores[i] = i % 7;
+            homeTeamNames[i] = "Home" + i;
+            awayTeamNames[i] = "Away" + i;
+        }
+    }
+
+    /**
+     * Starts a new match and finishes the match it replaces in the rotation, so the board size stays constant
+     * for the whole measurement; the result is the cost of a single start and a single finish. The new match is played
+     * by the teams of the finished match, as a match between the same teams cannot be in progress twice.
+     */
+    @Benchmark
+    public UUID startAndFinishMatch() {
+        var index = nextIndex();
+        scoreboard.finishMatch(matchIds[index]);
+        var matchId = scoreboard.startMatch(homeTeamNames[index], awayTeamNames[index]);
+        matchIds[index] = matchId;
+        homeTeamScores[index] = 0;
+        return matchId;
+    }
+
+    @Benchmark
+    public void updateMatchScore() {
+        var index = nextIndex();
+        scoreboard.updateMatchScore(matchIds[index], ++homeTeamScores[index], 5);
+    }
+
+    /**
+     * Applies a burst of {@value #BATCH_SIZE} score updates in a single batch; the result is the cost per update.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<?> updateMatchScores() {
+        var scoreUpdates = new ArrayList<ScoreUpdate>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            var index = nextIndex();
+            scoreUpdates.add(new ScoreUpdate(matchIds[index], ++homeTeamScores[index], 5));
+        }
+        return scoreboard.updateMatchScores(scoreUpdates);
+    }
+
+    @Benchmark
+    public List<?> getOngoingMatches() {
+        return scoreboard.getOngoingMatches();
+    }
+
+    @Benchmark
+    public List<?> getTopMatches() {
+        return scoreboard.getTopMatches(10);
+    }
+
+    private int nextIndex() {
+        var index = nextMatch;
+        nextMatch = index + 1 == numberOfMatches ? 0 : index + 1;
+        return index;
+    }
+}
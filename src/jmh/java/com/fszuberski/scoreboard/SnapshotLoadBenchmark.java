@@ -0,0 +1,62 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of restarting a {@link Scoreboard} from a snapshot of its {@link Match Matches}, either by loading the
+ * snapshot into an in-memory {@link MatchStore} or by serving it in place from the memory-mapped snapshot file.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotLoadBenchmark {
+
+    @Param({"100000", "500000"})
+    public int numberOfMatches;
+
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempFile("scoreboard", ".snapshot");
+        List<Match> matches = IntStream
+                .range(0, numberOfMatches)
+                .mapToObj(i -> new Match(new TeamScore("Home" + i, i % 5), new TeamScore("Away" + i, i % 3)))
+                .toList();
+        MatchSnapshot.write(snapshotFile, matches, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public Scoreboard loadIntoMemory() {
+        var matchStore = MatchStore.concurrentInMemory();
+        MatchSnapshot.read(snapshotFile, matchStore);
+        return new Scoreboard(matchStore);
+    }
+
+    @Benchmark
+    public Scoreboard mapInPlace() {
+        return new Scoreboard(MatchStore.mappedSnapshot(snapshotFile));
+    }
+}
@@ -0,0 +1,89 @@
+package com.fszuberski.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks of {@link Scoreboard#updateMatchScore(UUID, int, int)} on a write-ahead logged {@link MatchStore},
+ * with every write synced (group commit) and with the log synced in the background. Running the benchmark with
+ * multiple threads shows the effect of sharing a single {@code fsync} between concurrent writers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteAheadLogBenchmark {
+
+    private static final int NUMBER_OF_WRITERS = 4;
+    private static final int NUMBER_OF_MATCHES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Board {
+
+        @Param({"everyWrite", "background"})
+        public String syncMode;
+
+        Path logFile;
+        DurableMatchStore matchStore;
+        Scoreboard scoreboard;
+        UUID[] matchIds;
+        final AtomicInteger nextWriter = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            logFile = Files.createTempFile("scoreboard", ".log");
+            Files.delete(logFile);
+            matchStore = switch (syncMode) {
+                case "everyWrite" -> MatchStore.writeAheadLogged(MatchStore.concurrentInMemory(), logFile);
+                case "background" -> MatchStore.writeAheadLogged(MatchStore.concurrentInMemory(), logFile, Duration.ofMillis(10));
+                default -> throw new IllegalArgumentException(String.format("Unknown sync mode='%s'.", syncMode));
+            };
+            scoreboard = new Scoreboard(matchStore);
+            matchIds = BenchmarkMatchStores.startMatches(scoreboard, matchStore, NUMBER_OF_MATCHES);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            matchStore.close();
+            try {
+                Files.deleteIfExists(logFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer extends PartitionedWriter {
+
+        @Setup(Level.Trial)
+        public void setUp(Board board) {
+            assignPartition(board.nextWriter, NUMBER_OF_WRITERS, NUMBER_OF_MATCHES);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void updateMatchScore(Board board, Writer writer) {
+        updateNextMatch(board, writer);
+    }
+
+    @Benchmark
+    @Threads(NUMBER_OF_WRITERS)
+    public void updateMatchScoreConcurrently(Board board, Writer writer) {
+        updateNextMatch(board, writer);
+    }
+
+    private static void updateNextMatch(Board board, Writer writer) {
+        board.scoreboard.updateMatchScore(board.matchIds[writer.nextMatch()], writer.nextHomeTeamScore(), 5);
+    }
+}
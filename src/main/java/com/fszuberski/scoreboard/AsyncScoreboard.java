@@ -0,0 +1,198 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreUpdateFailure;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A non-blocking facade of a {@link Scoreboard}, executing every operation, including the round trips to its
+ * {@link MatchStore}, as a task on the passed executor and returning a {@link CompletableFuture} of its result.
+ * The calling thread never waits for the store, so a slow store, e.g. a remote one, only occupies the threads of the
+ * executor; an executor starting a virtual thread per task (Java 21+) lets blocking store calls wait without
+ * occupying platform threads at all.
+ * <p>
+ * Operations are executed concurrently, so the round trips of independent operations overlap, and the store of the
+ * scoreboard has to be thread-safe (e.g. {@link MatchStore#concurrentInMemory()}). The changes of the same match are
+ * an exception: they are applied one after another in the order they have been submitted, so that absolute score
+ * updates pushed by a feed in quick succession are never applied out of order. A batch of score updates is applied
+ * after the previously submitted changes of all of its matches, and before the changes of its matches submitted
+ * after it. The futures of rejected operations are completed exceptionally with the
+ * {@link IllegalArgumentException} thrown by the scoreboard.
+ */
+public final class AsyncScoreboard {
+    private final Scoreboard scoreboard;
+    private final Executor executor;
+    // the last submitted change of every match with changes in progress
+    private final Map<UUID, CompletableFuture<?>> pendingChanges = new ConcurrentHashMap<>();
+    // changes of multiple matches are chained atomically, so that two of them never wait for each other
+    private final Object chainLock = new Object();
+
+    /**
+     * Canonical constructor for the {@link AsyncScoreboard} class.
+     *
+     * @param scoreboard the scoreboard the operations are executed on. Cannot be null.
+     * @param executor   the executor executing the operations, e.g. a virtual thread per task executor. Cannot be null.
+     */
+    public AsyncScoreboard(Scoreboard scoreboard, Executor executor) {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null.");
+        }
+
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+        this.scoreboard = scoreboard;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a new match (see {@link Scoreboard#startMatch(String, String)}).
+     *
+     * @return a future of the id of the started match.
+     */
+    public CompletableFuture<UUID> startMatch(String homeTeamName, String awayTeamName) {
+        return supplyAsync(() -> scoreboard.startMatch(homeTeamName, awayTeamName));
+    }
+
+    /**
+     * Updates the score of an existing match (see {@link Scoreboard#updateMatchScore(UUID, int, int)}) once the
+     * previously submitted changes of the match have completed.
+     *
+     * @return a future completed once the score has been updated.
+     */
+    public CompletableFuture<Void> updateMatchScore(UUID matchId, int homeTeamScore, int awayTeamScore) {
+        return submitChange(matchId, () -> {
+            scoreboard.updateMatchScore(matchId, homeTeamScore, awayTeamScore);
+            return null;
+        });
+    }
+
+    /**
+     * Updates the scores of multiple existing matches in a single pass over the store
+     * (see {@link Scoreboard#updateMatchScores(Collection)}) once the previously submitted changes of all of the
+     * matches have completed.
+     *
+     * @return a future of the failures of the updates which were not applied.
+     */
+    public CompletableFuture<List<ScoreUpdateFailure>> updateMatchScores(Collection<ScoreUpdate> scoreUpdates) {
+        if (scoreUpdates == null || scoreUpdates.stream().anyMatch(Objects::isNull)) {
+            // rejected by the scoreboard before any match is changed
+            return supplyAsync(() -> scoreboard.updateMatchScores(scoreUpdates));
+        }
+
+        var matchIds = scoreUpdates.stream().map(ScoreUpdate::matchId).collect(Collectors.toSet());
+        return submitChange(matchIds, () -> scoreboard.updateMatchScores(scoreUpdates));
+    }
+
+    /**
+     * Finishes an existing match (see {@link Scoreboard#finishMatch(UUID)}) once the previously submitted changes of
+     * the match have completed.
+     *
+     * @return a future completed once the match has been finished.
+     */
+    public CompletableFuture<Void> finishMatch(UUID matchId) {
+        return submitChange(matchId, () -> {
+            scoreboard.finishMatch(matchId);
+            return null;
+        });
+    }
+
+    /**
+     * @return a future of the summary of matches in progress (see {@link Scoreboard#getOngoingMatches()}).
+     */
+    public CompletableFuture<List<Match>> getOngoingMatches() {
+        return supplyAsync(scoreboard::getOngoingMatches);
+    }
+
+    /**
+     * @return a future of a page of the summary of matches in progress
+     * (see {@link Scoreboard#getOngoingMatches(int, int)}).
+     */
+    public CompletableFuture<List<Match>> getOngoingMatches(int offset, int limit) {
+        return supplyAsync(() -> scoreboard.getOngoingMatches(offset, limit));
+    }
+
+    /**
+     * @return a future of the top matches in progress (see {@link Scoreboard#getTopMatches(int)}).
+     */
+    public CompletableFuture<List<Match>> getTopMatches(int numberOfMatches) {
+        return supplyAsync(() -> scoreboard.getTopMatches(numberOfMatches));
+    }
+
+    /**
+     * @return a future of the matches in progress of a team (see {@link Scoreboard#getOngoingMatchesByTeam(String)}).
+     */
+    public CompletableFuture<List<Match>> getOngoingMatchesByTeam(String teamName) {
+        return supplyAsync(() -> scoreboard.getOngoingMatchesByTeam(teamName));
+    }
+
+    /**
+     * @return a future of the match in progress between the teams (see {@link Scoreboard#getOngoingMatch(String, String)}).
+     */
+    public CompletableFuture<Optional<Match>> getOngoingMatch(String homeTeamName, String awayTeamName) {
+        return supplyAsync(() -> scoreboard.getOngoingMatch(homeTeamName, awayTeamName));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
+    private <T> CompletableFuture<T> submitChange(UUID matchId, Supplier<T> change) {
+        if (matchId == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("MatchId cannot be null."));
+        }
+
+        return submitChange(Set.of(matchId), change);
+    }
+
+    /**
+     * Chains the change after the last submitted changes of the matches, whether they have been applied or not,
+     * and makes it the last submitted change of each of the matches.
+     */
+    private <T> CompletableFuture<T> submitChange(Set<UUID> matchIds, Supplier<T> change) {
+        var submittedChange = new CompletableFuture<T>();
+        var previousChanges = new ArrayList<CompletableFuture<?>>();
+        synchronized (chainLock) {
+            for (UUID matchId : matchIds) {
+                pendingChanges.compute(matchId, (ignored, previousChange) -> {
+                    if (previousChange != null) {
+                        previousChanges.add(previousChange.handle((result, failure) -> null));
+                    }
+                    return submittedChange;
+                });
+            }
+        }
+
+        CompletableFuture.allOf(previousChanges.toArray(CompletableFuture[]::new))
+                .thenRunAsync(() -> {
+                    try {
+                        submittedChange.complete(change.get());
+                    } catch (RuntimeException e) {
+                        submittedChange.completeExceptionally(e);
+                    }
+                }, executor)
+                // e.g. the executor has rejected the change
+                .exceptionally(failure -> {
+                    submittedChange.completeExceptionally(failure);
+                    return null;
+                });
+        // the last change of a match removes the chain, unless another change has been chained in the meantime
+        submittedChange.whenComplete((result, failure) ->
+                matchIds.forEach(matchId -> pendingChanges.remove(matchId, submittedChange)));
+        return submittedChange;
+    }
+}
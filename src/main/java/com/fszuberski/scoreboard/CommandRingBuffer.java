@@ -0,0 +1,111 @@
+package com.fszuberski.scoreboard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free queue of commands offered by multiple producers and consumed by a single consumer thread,
+ * backed by a preallocated ring of slots.
+ * <p>
+ * Every slot carries a sequence telling whether it is free for the producer claiming a position or holds an element
+ * published for the consumer. A producer claims the next position with a single compare-and-set of the tail, writes
+ * its element into the slot of the position and publishes it by advancing the sequence of the slot; the consumer
+ * reads the published elements in the order of their positions and frees their slots for the next lap of the ring.
+ * Producers contend only on the tail and the consumer never writes a field read by producers other than the slot
+ * sequences, so neither side ever blocks the other.
+ *
+ * @param <E> the type of the commands
+ */
+final class CommandRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    // a slot holds a published element if its sequence is its position + 1; it is free if its sequence is its position
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // only accessed by the consumer thread
+    private long head;
+
+    /**
+     * @param capacity the maximum number of commands held by the queue, rounded up to the next power of two
+     *                 of at least 2. Cannot be less than 1 or greater than 2^30.
+     */
+    CommandRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity cannot be less than 1.");
+        }
+
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity cannot be greater than 2^30.");
+        }
+        // a single slot could not tell a published element from a free slot of the next lap
+        var size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Offers the command to the queue without waiting. Can be called by multiple threads.
+     *
+     * @param element the command. Cannot be null.
+     * @return true if the command has been added, false if the queue is full.
+     */
+    boolean offer(E element) {
+        while (true) {
+            var position = tail.get();
+            var slot = (int) position & mask;
+            var sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.setPlain(slot, element);
+                    // publishes the element to the consumer
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // the slot still holds the element of the previous lap
+                return false;
+            }
+            // otherwise the position has been claimed by another producer in the meantime
+        }
+    }
+
+    /**
+     * Passes the published commands to the consumer in the order they have been added, removing them from the queue.
+     * Can only be called by the single consumer thread.
+     *
+     * @param consumer    the consumer of the commands
+     * @param maxElements the maximum number of commands that should be drained
+     * @return the number of drained commands.
+     */
+    int drain(Consumer<E> consumer, int maxElements) {
+        var drainedElements = 0;
+        while (drainedElements < maxElements) {
+            var slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) {
+                break;
+            }
+
+            var element = elements.getPlain(slot);
+            elements.setPlain(slot, null);
+            // frees the slot for the producer of the next lap
+            sequences.set(slot, head + mask + 1);
+            head++;
+            drainedElements++;
+            consumer.accept(element);
+        }
+        return drainedElements;
+    }
+
+    /**
+     * @return the number of commands the queue can hold.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
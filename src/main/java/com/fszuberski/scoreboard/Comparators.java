@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
 
 class Comparators {
 
@@ -14,8 +15,24 @@ class Comparators {
 
     static final Comparator<Match> startTimeComparator = comparing(Match::startTime);
 
+    static final Comparator<Match> startSequenceComparator = comparingLong(Match::startSequence);
+
     static final Comparator<Match> totalScoreAndStartTimeComparator = Stream
             .of(totalScoreComparator, startTimeComparator)
             .reduce(Comparator::thenComparing)
             .get();
+
+    /**
+     * The order in which ongoing matches are presented in the scoreboard summary - the highest total score first,
+     * the most recently started match first for equal total scores. The start sequence is compared before the start
+     * time, as it orders matches started in the same clock tick and does not require comparing dates. Falls back to
+     * the match id in order to provide a total ordering, so that distinct matches are never considered equal by
+     * sorted collections.
+     */
+    static final Comparator<Match> summaryComparator = Stream
+            .of(totalScoreComparator, startSequenceComparator, startTimeComparator)
+            .reduce(Comparator::thenComparing)
+            .get()
+            .reversed()
+            .thenComparing(Match::id);
 }
@@ -0,0 +1,122 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe in-memory {@link MatchStore} backed by a {@link ConcurrentHashMap}.
+ * The "save must not overwrite" and "update must exist" rules are enforced by single atomic map operations
+ * instead of a check-then-act sequence, so concurrent writers cannot overwrite each other's matches.
+ * Reads are not blocked by writes and reflect the state of the most recently completed writes.
+ * The {@link TeamIndex} is updated within the atomic map operations, so the writes of a match are indexed in order.
+ * A new match reserves its fixture in the {@link TeamIndex} before it is stored, so concurrent writers cannot save two
+ * matches between the same teams (see {@link #saveMatchIfFixtureAbsent(Match)}).
+ */
+final class ConcurrentMatchStore implements MatchStore {
+    private final Map<UUID, Match> matchMap;
+    private final TeamIndex teamIndex;
+
+    public ConcurrentMatchStore() {
+        this.matchMap = new ConcurrentHashMap<>();
+        this.teamIndex = new TeamIndex();
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        return Optional.ofNullable(matchMap.get(id));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        return List.copyOf(matchMap.values());
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        return teamIndex.findMatches(teamName, matchMap::get);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return teamIndex.findMatch(homeTeamName, awayTeamName, matchMap::get);
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        matchMap.compute(match.id(), (ignored, existingMatch) -> {
+            if (existingMatch != null) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+            }
+            teamIndex.add(match);
+            return match;
+        });
+    }
+
+    @Override
+    public boolean saveMatchIfFixtureAbsent(Match match) {
+        var saved = new boolean[1];
+        matchMap.compute(match.id(), (ignored, existingMatch) -> {
+            if (existingMatch != null) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+            }
+            saved[0] = teamIndex.addIfFixtureAbsent(match);
+            return saved[0] ? match : null;
+        });
+        return saved[0];
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        var updatedMatch = matchMap.computeIfPresent(id, (ignored, previousMatch) -> {
+            teamIndex.replace(previousMatch, match);
+            return match;
+        });
+        if (updatedMatch == null) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
+        }
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        // the remapping function is applied atomically; concurrent updates of the same match are serialized
+        return Optional.ofNullable(matchMap.computeIfPresent(id, (ignored, match) -> {
+            var updatedMatch = remappingFunction.apply(match);
+            teamIndex.replace(match, updatedMatch);
+            return updatedMatch;
+        }));
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        return remove(id) != null;
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        return Optional.ofNullable(remove(id));
+    }
+
+    private Match remove(UUID id) {
+        var removedMatch = new Match[1];
+        matchMap.computeIfPresent(id, (ignored, match) -> {
+            teamIndex.remove(match);
+            removedMatch[0] = match;
+            return null;
+        });
+        return removedMatch[0];
+    }
+}
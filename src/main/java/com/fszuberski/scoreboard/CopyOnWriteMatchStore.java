@@ -0,0 +1,313 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.Comparators.summaryComparator;
+
+/**
+ * A thread-safe {@link MatchStore} optimized for workloads in which reads vastly outnumber writes.
+ * Every write copies the current state, applies the change and publishes the result as a new immutable
+ * {@link Snapshot} through a single volatile reference. Writers are serialized, while readers never block:
+ * retrieving the ordered matches is a single volatile read which returns an already sorted, immutable list
+ * representing a consistent point-in-time view of the store.
+ * Writes executed in a batch are applied to a single working copy, which is published once the batch completes.
+ * Once a batch has applied more than a few writes, the working copy stops keeping its matches ordered and they are
+ * sorted once when it is published, so that loading many matches in a batch costs O(n log n) instead of O(n) per write.
+ * Lookups by team go through a {@link TeamIndex} maintained by the writers and resolve the matches in the current
+ * snapshot.
+ */
+final class CopyOnWriteMatchStore implements MatchStore {
+    // the number of writes of a batch kept in order one at a time; sorting all matches once is cheaper than more
+    private static final int MAX_ORDERED_BATCH_WRITES = 64;
+
+    private final Object writeLock = new Object();
+    private final TeamIndex teamIndex = new TeamIndex();
+    private volatile Snapshot snapshot;
+    // the working copy of the state modified by the writes of the batch in progress; guarded by the write lock
+    private WorkingCopy batchWorkingCopy;
+
+    public CopyOnWriteMatchStore() {
+        this.snapshot = new Snapshot(Map.of(), List.of());
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        return Optional.ofNullable(snapshot.matchMap().get(id));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        return snapshot.orderedMatches();
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        return teamIndex.findMatches(teamName, snapshot.matchMap()::get);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return teamIndex.findMatch(homeTeamName, awayTeamName, snapshot.matchMap()::get);
+    }
+
+    @Override
+    public List<Match> getOrderedMatches() {
+        return snapshot.orderedMatches();
+    }
+
+    @Override
+    public boolean publishesOrderedMatches() {
+        return true;
+    }
+
+    @Override
+    public List<Match> getOrderedMatches(int offset, int limit) {
+        // the snapshot is immutable, so the page can be a view of it
+        var orderedMatches = snapshot.orderedMatches();
+        var fromIndex = Math.min(offset, orderedMatches.size());
+        var toIndex = (int) Math.min((long) offset + limit, orderedMatches.size());
+        return orderedMatches.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public int getRank(Match match) {
+        return getRank(snapshot, match);
+    }
+
+    @Override
+    public int[] getRanks(List<Match> matches) {
+        // all matches are ranked against the same snapshot
+        var snapshot = this.snapshot;
+        var ranks = new int[matches.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = getRank(snapshot, matches.get(i));
+        }
+        return ranks;
+    }
+
+    private static int getRank(Snapshot snapshot, Match match) {
+        var index = Collections.binarySearch(snapshot.orderedMatches(), match, summaryComparator);
+        if (index >= 0) {
+            return index;
+        }
+
+        // the stored state of the match is not one of the other matches ordered before the passed match
+        var rank = -index - 1;
+        var storedMatch = snapshot.matchMap().get(match.id());
+        return storedMatch != null && summaryComparator.compare(storedMatch, match) < 0 ? rank - 1 : rank;
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        synchronized (writeLock) {
+            var state = writableState();
+            if (state.matchMap().containsKey(match.id())) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+            }
+            state.replace(match.id(), null, match);
+            teamIndex.add(match);
+            publishUnlessInBatch(state);
+        }
+    }
+
+    @Override
+    public boolean saveMatchIfFixtureAbsent(Match match) {
+        synchronized (writeLock) {
+            var state = writableState();
+            if (state.matchMap().containsKey(match.id())) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+            }
+            if (!teamIndex.addIfFixtureAbsent(match)) {
+                return false;
+            }
+            state.replace(match.id(), null, match);
+            publishUnlessInBatch(state);
+            return true;
+        }
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        synchronized (writeLock) {
+            var state = writableState();
+            var previousMatch = state.matchMap().get(id);
+            if (previousMatch == null) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
+            }
+            state.replace(id, previousMatch, match);
+            teamIndex.replace(previousMatch, match);
+            publishUnlessInBatch(state);
+        }
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        synchronized (writeLock) {
+            var previousMatch = (batchWorkingCopy != null ? batchWorkingCopy.matchMap() : snapshot.matchMap()).get(id);
+            if (previousMatch == null) {
+                return Optional.empty();
+            }
+
+            // the remapping function is applied before copying the state, so a rejected update copies nothing
+            var updatedMatch = remappingFunction.apply(previousMatch);
+            var state = writableState();
+            state.replace(id, previousMatch, updatedMatch);
+            teamIndex.replace(previousMatch, updatedMatch);
+            publishUnlessInBatch(state);
+            return Optional.of(updatedMatch);
+        }
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        return remove(id) != null;
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        return Optional.ofNullable(remove(id));
+    }
+
+    private Match remove(UUID id) {
+        synchronized (writeLock) {
+            var previousMatch = (batchWorkingCopy != null ? batchWorkingCopy.matchMap() : snapshot.matchMap()).get(id);
+            if (previousMatch == null) {
+                return null;
+            }
+
+            var state = writableState();
+            state.replace(id, previousMatch, null);
+            teamIndex.remove(previousMatch);
+            publishUnlessInBatch(state);
+            return previousMatch;
+        }
+    }
+
+    @Override
+    public void executeInBatch(Runnable batch) {
+        synchronized (writeLock) {
+            if (batchWorkingCopy != null) {
+                // nested batches are part of the outer batch
+                batch.run();
+                return;
+            }
+
+            batchWorkingCopy = WorkingCopy.of(snapshot);
+            batchWorkingCopy.deferOrderingAfter(MAX_ORDERED_BATCH_WRITES);
+            try {
+                batch.run();
+            } finally {
+                // writes applied before a failure of the batch are published as well, as they are not rolled back
+                var state = batchWorkingCopy;
+                batchWorkingCopy = null;
+                snapshot = state.toSnapshot();
+            }
+        }
+    }
+
+    private WorkingCopy writableState() {
+        return batchWorkingCopy != null ? batchWorkingCopy : WorkingCopy.of(snapshot);
+    }
+
+    private void publishUnlessInBatch(WorkingCopy state) {
+        if (state != batchWorkingCopy) {
+            snapshot = state.toSnapshot();
+        }
+    }
+
+    /**
+     * An immutable state of the store. Neither the map nor the list are modified after the snapshot is published.
+     *
+     * @param matchMap       the matches by their id
+     * @param orderedMatches the matches in the summary order
+     */
+    private record Snapshot(Map<UUID, Match> matchMap, List<Match> orderedMatches) {
+    }
+
+    /**
+     * A mutable copy of a {@link Snapshot}, modified by the writer holding the write lock before it is published.
+     * The matches are kept in the summary order one write at a time, unless the ordering has been deferred, in which
+     * case they are sorted once when the copy is published.
+     */
+    private static final class WorkingCopy {
+        // the matches by their id
+        private final Map<UUID, Match> matchMap;
+        // the matches in the summary order, or null once the ordering has been deferred to the publication
+        private List<Match> orderedMatches;
+        private int remainingOrderedWrites = Integer.MAX_VALUE;
+
+        private WorkingCopy(Map<UUID, Match> matchMap, List<Match> orderedMatches) {
+            this.matchMap = matchMap;
+            this.orderedMatches = orderedMatches;
+        }
+
+        static WorkingCopy of(Snapshot snapshot) {
+            return new WorkingCopy(new HashMap<>(snapshot.matchMap()), new ArrayList<>(snapshot.orderedMatches()));
+        }
+
+        Map<UUID, Match> matchMap() {
+            return matchMap;
+        }
+
+        /**
+         * Stops keeping the matches ordered after the passed number of further writes.
+         */
+        void deferOrderingAfter(int orderedWrites) {
+            remainingOrderedWrites = orderedWrites;
+        }
+
+        /**
+         * Replaces the previous match with the new match.
+         * The ordered matches are not re-sorted; the new match is placed at its position found by a binary search.
+         *
+         * @param id            the id of the changed match
+         * @param previousMatch the match that should be removed, or null if a new match is added
+         * @param newMatch      the match that should be added, or null if the previous match is removed
+         */
+        void replace(UUID id, Match previousMatch, Match newMatch) {
+            if (previousMatch != null) {
+                matchMap.remove(id);
+            }
+            if (newMatch != null) {
+                matchMap.put(id, newMatch);
+            }
+
+            if (orderedMatches == null) {
+                return;
+            }
+            if (remainingOrderedWrites-- == 0) {
+                orderedMatches = null;
+                return;
+            }
+
+            if (previousMatch != null) {
+                orderedMatches.remove(Collections.binarySearch(orderedMatches, previousMatch, summaryComparator));
+            }
+            if (newMatch != null) {
+                var insertionPoint = -Collections.binarySearch(orderedMatches, newMatch, summaryComparator) - 1;
+                orderedMatches.add(insertionPoint, newMatch);
+            }
+        }
+
+        Snapshot toSnapshot() {
+            if (orderedMatches == null) {
+                orderedMatches = new ArrayList<>(matchMap.values());
+                orderedMatches.sort(summaryComparator);
+            }
+            return new Snapshot(
+                    Collections.unmodifiableMap(matchMap),
+                    Collections.unmodifiableList(orderedMatches));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.fszuberski.scoreboard;
+
+/**
+ * A {@link MatchStore} persisting its writes, so that its matches are recovered when the store is opened again after
+ * a restart of the process.
+ */
+public interface DurableMatchStore extends MatchStore, AutoCloseable {
+
+    /**
+     * Forces all writes performed so far to the disk, blocking until they are durable.
+     *
+     * @throws java.io.UncheckedIOException if the writes cannot be persisted.
+     */
+    void sync();
+
+    /**
+     * Forces all writes performed so far to the disk and releases the resources of the store.
+     * The store cannot be written to afterwards.
+     *
+     * @throws java.io.UncheckedIOException if the writes cannot be persisted.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,376 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe scoreboard executing all changes on a single dedicated writer thread. The changes are submitted as
+ * commands to a bounded lock-free {@link CommandRingBuffer}; the writer thread drains the commands in batches and
+ * applies them to a {@link Scoreboard} it owns exclusively, so the {@link MatchStore} of the scoreboard is never
+ * accessed concurrently and does not have to be thread-safe, e.g. {@link InMemoryMatchStore}. Submitting a change
+ * never takes a lock; if the queue is full, the submitting thread waits until the writer thread frees a slot. The
+ * waiting thread spins briefly, then parks for intervals growing up to a millisecond, so a full queue slows the
+ * submitting threads down to the pace of the writer thread without keeping their cores busy.
+ * <p>
+ * After every batch of commands, the writer thread publishes an immutable summary of the ongoing matches, which is
+ * only re-positioned for the changed matches (see {@link Scoreboard#getOngoingMatches()}). Readers are served from
+ * the latest published summary without waiting for the writer thread, so a read reflects all changes of the batches
+ * completed before it. The futures of the commands of a batch are only completed once its summary has been
+ * published, so a read following the completion of a future reflects its change. They are completed by a completion
+ * executor rather than by the writer thread, so callbacks attached to the futures never delay the next batch.
+ */
+public final class EventLoopScoreboard implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+
+    private static final int MAX_COMMANDS_PER_BATCH = 1_024;
+    private static final int SPINS_BEFORE_PARKING = 1_000;
+    private static final long MAX_FULL_QUEUE_BACKOFF_NANOS = 1_000_000;
+    // the attempt from which a submitting thread waiting for a full queue parks for the longest interval
+    private static final int MAX_FULL_QUEUE_BACKOFF_ATTEMPT = SPINS_BEFORE_PARKING + 10;
+
+    private final Scoreboard scoreboard;
+    private final CommandRingBuffer<Command> commands;
+    private final Executor completionExecutor;
+    private final Thread writerThread;
+    // the executed commands of the batch in progress, whose futures are completed once its summary is published;
+    // accessed only by the writer thread
+    private final Command[] batch = new Command[MAX_COMMANDS_PER_BATCH];
+    private final Consumer<Command> batchExecutor = this::executeInBatch;
+    private int batchSize;
+    private volatile PublishedSummary publishedSummary;
+    private volatile boolean closed;
+    // set once the writer thread has stopped draining commands
+    private volatile boolean terminated;
+    // set while the writer thread is parked, so that submitting threads only unpark a parked writer thread
+    private volatile boolean writerParked;
+
+    /**
+     * Constructor for the {@link EventLoopScoreboard} class using the {@link InMemoryMatchStore} and a queue of
+     * {@value #DEFAULT_QUEUE_CAPACITY} commands.
+     */
+    public EventLoopScoreboard() {
+        this(new InMemoryMatchStore(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor for the {@link EventLoopScoreboard} class completing the futures of the commands by the common
+     * fork-join pool. See {@link #EventLoopScoreboard(MatchStore, int, Executor)}.
+     */
+    public EventLoopScoreboard(MatchStore matchStore, int queueCapacity) {
+        this(matchStore, queueCapacity, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Canonical constructor for the {@link EventLoopScoreboard} class. Starts the writer thread.
+     *
+     * @param matchStore         a concrete implementation for the {@link MatchStore} interface, accessed only by the
+     *                           writer thread. Cannot be null.
+     * @param queueCapacity      the maximum number of commands waiting for the writer thread, rounded up to the next
+     *                           power of two. Cannot be less than 1 or greater than 2^30.
+     * @param completionExecutor the executor completing the futures of every batch of commands, and running the
+     *                           callbacks attached to them. Cannot be null.
+     */
+    public EventLoopScoreboard(MatchStore matchStore, int queueCapacity, Executor completionExecutor) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("QueueCapacity cannot be less than 1.");
+        }
+
+        if (queueCapacity > 1 << 30) {
+            throw new IllegalArgumentException("QueueCapacity cannot be greater than 2^30.");
+        }
+
+        if (completionExecutor == null) {
+            throw new IllegalArgumentException("CompletionExecutor cannot be null.");
+        }
+        this.scoreboard = new Scoreboard(matchStore);
+        this.commands = new CommandRingBuffer<>(queueCapacity);
+        this.completionExecutor = completionExecutor;
+        this.publishedSummary = new PublishedSummary(scoreboard.getVersion(), scoreboard.getOngoingMatches());
+        this.writerThread = new Thread(this::runEventLoop, "scoreboard-event-loop");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Submits the start of a new match (see {@link Scoreboard#startMatch(String, String)}).
+     *
+     * @param homeTeamName the home team name. Cannot be null or blank.
+     * @param awayTeamName the away team name. Cannot be null or blank.
+     * @return a future completed with the id of the started match by the writer thread, or completed exceptionally
+     * with the {@link IllegalArgumentException} thrown by the scoreboard if the match cannot be started.
+     */
+    public CompletableFuture<UUID> startMatch(String homeTeamName, String awayTeamName) {
+        return submit(() -> scoreboard.startMatch(homeTeamName, awayTeamName));
+    }
+
+    /**
+     * Submits an update of the score of an existing match (see {@link Scoreboard#updateMatchScore(UUID, int, int)}).
+     *
+     * @param matchId       the UUID of an existing match that should be updated. Cannot be null.
+     * @param homeTeamScore a new absolute value of the home team score. The new score cannot be lower than the previous score.
+     * @param awayTeamScore a new absolute value of the away team score. The new score cannot be lower than the previous score.
+     * @return a future completed once the score has been updated by the writer thread, or completed exceptionally
+     * with the {@link IllegalArgumentException} thrown by the scoreboard if the score cannot be updated.
+     */
+    public CompletableFuture<Void> updateMatchScore(UUID matchId, int homeTeamScore, int awayTeamScore) {
+        return submit(() -> {
+            scoreboard.updateMatchScore(matchId, homeTeamScore, awayTeamScore);
+            return null;
+        });
+    }
+
+    /**
+     * Submits the finish of an existing match (see {@link Scoreboard#finishMatch(UUID)}).
+     *
+     * @param matchId the id of the match that should be finished. Cannot be null.
+     * @return a future completed once the match has been finished by the writer thread.
+     */
+    public CompletableFuture<Void> finishMatch(UUID matchId) {
+        return submit(() -> {
+            scoreboard.finishMatch(matchId);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the summary of matches in progress published by the writer thread after its latest batch of commands,
+     * ordered the same way as {@link Scoreboard#getOngoingMatches()}. Never waits for the writer thread.
+     *
+     * @return an immutable list of ongoing matches.
+     */
+    public List<Match> getOngoingMatches() {
+        return publishedSummary.matches();
+    }
+
+    /**
+     * Returns a page of the published summary of matches in progress (see {@link #getOngoingMatches()}).
+     *
+     * @param offset the number of matches that should be skipped. Cannot be less than 0.
+     * @param limit  the maximum number of matches that should be returned. Cannot be less than 0.
+     * @return an immutable list of at most {@code limit} ongoing matches.
+     */
+    public List<Match> getOngoingMatches(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be less than 0.");
+        }
+
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be less than 0.");
+        }
+
+        var matches = publishedSummary.matches();
+        var fromIndex = Math.min(offset, matches.size());
+        var toIndex = (int) Math.min((long) fromIndex + limit, matches.size());
+        return matches.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the top matches of the published summary of matches in progress (see {@link #getOngoingMatches()}).
+     *
+     * @param numberOfMatches the maximum number of matches that should be returned. Cannot be less than 0.
+     * @return an immutable list of at most {@code numberOfMatches} ongoing matches with the highest total scores.
+     */
+    public List<Match> getTopMatches(int numberOfMatches) {
+        if (numberOfMatches < 0) {
+            throw new IllegalArgumentException("NumberOfMatches cannot be less than 0.");
+        }
+
+        return getOngoingMatches(0, numberOfMatches);
+    }
+
+    /**
+     * @return the version of the scoreboard (see {@link Scoreboard#getVersion()}) at which the summary served by
+     * {@link #getOngoingMatches()} has been published.
+     */
+    public long getVersion() {
+        return publishedSummary.version();
+    }
+
+    /**
+     * Stops accepting commands and waits until the writer thread has applied all commands submitted before.
+     * Commands submitted concurrently with closing are either applied or their futures are completed exceptionally
+     * with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        if (closed) {
+            throw new IllegalStateException("Scoreboard is closed.");
+        }
+
+        var command = new Command(action);
+        var attempt = 0;
+        while (!commands.offer(command)) {
+            // the queue is full; the writer thread frees the slots batch by batch
+            if (terminated) {
+                throw new IllegalStateException("Scoreboard is closed.");
+            }
+            backOff(attempt);
+            attempt = Math.min(attempt + 1, MAX_FULL_QUEUE_BACKOFF_ATTEMPT);
+        }
+
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+
+        if (terminated) {
+            // the writer thread may have stopped before draining the command
+            command.reject();
+        }
+
+        @SuppressWarnings("unchecked")
+        var future = (CompletableFuture<T>) command.future();
+        return future;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPINS_BEFORE_PARKING) {
+            Thread.onSpinWait();
+            return;
+        }
+
+        var shift = attempt - SPINS_BEFORE_PARKING;
+        LockSupport.parkNanos(Math.min(1_000L << shift, MAX_FULL_QUEUE_BACKOFF_NANOS));
+    }
+
+    private void runEventLoop() {
+        try {
+            var idleSpins = 0;
+            while (!closed) {
+                if (executeBatch()) {
+                    idleSpins = 0;
+                } else if (idleSpins < SPINS_BEFORE_PARKING) {
+                    idleSpins++;
+                    Thread.onSpinWait();
+                } else {
+                    park();
+                }
+            }
+
+            while (executeBatch()) {
+                // drains the commands submitted before closing
+            }
+        } finally {
+            // set even if the writer thread fails, so that submitting threads never wait for it in vain
+            terminated = true;
+            // rejects the commands added after the last drain, but before the submitting threads observed the termination
+            commands.drain(Command::reject, Integer.MAX_VALUE);
+        }
+    }
+
+    private void park() {
+        writerParked = true;
+        // a command added before the flag was observed by its submitting thread is found by the second drain
+        if (!closed && !executeBatch()) {
+            LockSupport.park(this);
+        }
+        writerParked = false;
+    }
+
+    /**
+     * Executes a batch of commands, publishes the summary and then hands the futures of the commands over to the
+     * completion executor.
+     *
+     * @return whether any command has been executed.
+     */
+    private boolean executeBatch() {
+        if (commands.drain(batchExecutor, MAX_COMMANDS_PER_BATCH) == 0) {
+            return false;
+        }
+
+        try {
+            publishSummary();
+        } finally {
+            completeBatch();
+        }
+        return true;
+    }
+
+    private void executeInBatch(Command command) {
+        command.execute();
+        batch[batchSize++] = command;
+    }
+
+    private void completeBatch() {
+        var completedCommands = Arrays.copyOf(batch, batchSize);
+        Arrays.fill(batch, 0, batchSize, null);
+        batchSize = 0;
+        try {
+            completionExecutor.execute(() -> {
+                for (Command command : completedCommands) {
+                    command.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // e.g. the executor has been shut down; the futures are completed by the writer thread instead
+            for (Command command : completedCommands) {
+                command.complete();
+            }
+        }
+    }
+
+    private void publishSummary() {
+        publishedSummary = new PublishedSummary(scoreboard.getVersion(), scoreboard.getOngoingMatches());
+    }
+
+    /**
+     * A submitted action, executed by the writer thread, whose result is recorded until its future is completed.
+     */
+    private static final class Command {
+        private final Supplier<?> action;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private Object result;
+        private Throwable failure;
+
+        private Command(Supplier<?> action) {
+            this.action = action;
+        }
+
+        private CompletableFuture<Object> future() {
+            return future;
+        }
+
+        private void execute() {
+            try {
+                result = action.get();
+            } catch (Throwable e) {
+                // an Error is recorded as well, so that the writer thread keeps serving the other commands
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private void reject() {
+            future.completeExceptionally(new IllegalStateException("Scoreboard is closed."));
+        }
+    }
+
+    private record PublishedSummary(long version, List<Match> matches) {
+    }
+}
@@ -3,12 +3,15 @@ package com.fszuberski.scoreboard;
 import com.fszuberski.scoreboard.domain.Match;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 final class InMemoryMatchStore implements MatchStore {
     private final Map<UUID, Match> matchMap;
+    private final TeamIndex teamIndex;
 
     public InMemoryMatchStore() {
         this.matchMap = new HashMap<>();
+        this.teamIndex = new TeamIndex();
     }
 
     @Override
@@ -24,6 +27,16 @@ final class InMemoryMatchStore implements MatchStore {
                 .toList();
     }
 
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        return teamIndex.findMatches(teamName, matchMap::get);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return teamIndex.findMatch(homeTeamName, awayTeamName, matchMap::get);
+    }
+
     @Override
     public void saveMatch(Match match) {
         if (matchMap.containsKey(match.id())) {
@@ -31,6 +44,7 @@ final class InMemoryMatchStore implements MatchStore {
                     String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
         }
         matchMap.put(match.id(), match);
+        teamIndex.add(match);
     }
 
     @Override
@@ -40,11 +54,36 @@ final class InMemoryMatchStore implements MatchStore {
                     String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
         }
 
-        matchMap.put(id, match);
+        teamIndex.replace(matchMap.put(id, match), match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        return Optional.ofNullable(matchMap.computeIfPresent(id, (ignored, match) -> {
+            var updatedMatch = remappingFunction.apply(match);
+            teamIndex.replace(match, updatedMatch);
+            return updatedMatch;
+        }));
     }
 
     @Override
     public void removeMatch(UUID id) {
-        matchMap.remove(id);
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        return removeAndGetMatch(id).isPresent();
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        var match = matchMap.remove(id);
+        if (match == null) {
+            return Optional.empty();
+        }
+
+        teamIndex.remove(match);
+        return Optional.of(match);
     }
 }
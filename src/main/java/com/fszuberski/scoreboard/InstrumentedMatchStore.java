@@ -0,0 +1,171 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
+import com.fszuberski.scoreboard.metrics.StoreOperation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link MatchStore} decorating another {@link MatchStore} with measurements of the duration of every operation,
+ * passed to a {@link ScoreboardInstrumentation}. The measurements include the time spent in the decorated store only;
+ * an operation which throws an exception is not measured.
+ */
+final class InstrumentedMatchStore implements MatchStore {
+    private final MatchStore matchStore;
+    private final ScoreboardInstrumentation instrumentation;
+
+    InstrumentedMatchStore(MatchStore matchStore, ScoreboardInstrumentation instrumentation) {
+        this.matchStore = matchStore;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        var start = System.nanoTime();
+        var result = matchStore.getMatch(id);
+        completed(StoreOperation.GET_MATCH, start);
+        return result;
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        var start = System.nanoTime();
+        var result = matchStore.getAllMatches();
+        completed(StoreOperation.GET_ALL_MATCHES, start);
+        return result;
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        var start = System.nanoTime();
+        var result = matchStore.findMatchesByTeam(teamName);
+        completed(StoreOperation.FIND_MATCHES_BY_TEAM, start);
+        return result;
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        var start = System.nanoTime();
+        var result = matchStore.findMatchByTeams(homeTeamName, awayTeamName);
+        completed(StoreOperation.FIND_MATCH_BY_TEAMS, start);
+        return result;
+    }
+
+    @Override
+    public List<Match> getOrderedMatches() {
+        var start = System.nanoTime();
+        var result = matchStore.getOrderedMatches();
+        completed(StoreOperation.GET_ORDERED_MATCHES, start);
+        return result;
+    }
+
+    @Override
+    public List<Match> getOrderedMatches(int offset, int limit) {
+        var start = System.nanoTime();
+        var result = matchStore.getOrderedMatches(offset, limit);
+        completed(StoreOperation.GET_ORDERED_MATCHES, start);
+        return result;
+    }
+
+    @Override
+    public int getRank(Match match) {
+        var start = System.nanoTime();
+        var result = matchStore.getRank(match);
+        completed(StoreOperation.GET_RANK, start);
+        return result;
+    }
+
+    @Override
+    public int[] getRanks(List<Match> matches) {
+        var start = System.nanoTime();
+        var result = matchStore.getRanks(matches);
+        completed(StoreOperation.GET_RANK, start);
+        return result;
+    }
+
+    @Override
+    public long latestVersion() {
+        return matchStore.latestVersion();
+    }
+
+    @Override
+    public boolean publishesOrderedMatches() {
+        return matchStore.publishesOrderedMatches();
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        var start = System.nanoTime();
+        matchStore.saveMatch(match);
+        completed(StoreOperation.SAVE_MATCH, start);
+    }
+
+    @Override
+    public boolean saveMatchIfFixtureAbsent(Match match) {
+        var start = System.nanoTime();
+        var result = matchStore.saveMatchIfFixtureAbsent(match);
+        completed(StoreOperation.SAVE_MATCH, start);
+        return result;
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        var start = System.nanoTime();
+        matchStore.updateMatch(id, match);
+        completed(StoreOperation.UPDATE_MATCH, start);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var start = System.nanoTime();
+        var result = matchStore.computeMatchIfPresent(id, remappingFunction);
+        completed(StoreOperation.COMPUTE_MATCH_IF_PRESENT, start);
+        return result;
+    }
+
+    @Override
+    public boolean updateScoreIfPresent(UUID id, int homeTeamScore, int awayTeamScore, long version) {
+        var start = System.nanoTime();
+        var result = matchStore.updateScoreIfPresent(id, homeTeamScore, awayTeamScore, version);
+        completed(StoreOperation.UPDATE_SCORE_IF_PRESENT, start);
+        return result;
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        var start = System.nanoTime();
+        matchStore.removeMatch(id);
+        completed(StoreOperation.REMOVE_MATCH, start);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        var start = System.nanoTime();
+        var result = matchStore.removeMatchIfPresent(id);
+        completed(StoreOperation.REMOVE_MATCH, start);
+        return result;
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        var start = System.nanoTime();
+        var result = matchStore.removeAndGetMatch(id);
+        completed(StoreOperation.REMOVE_MATCH, start);
+        return result;
+    }
+
+    @Override
+    public void executeInBatch(Runnable batch) {
+        var start = System.nanoTime();
+        matchStore.executeInBatch(batch);
+        completed(StoreOperation.EXECUTE_IN_BATCH, start);
+    }
+
+    private void completed(StoreOperation operation, long start) {
+        instrumentation.storeOperationCompleted(operation, System.nanoTime() - start);
+    }
+}
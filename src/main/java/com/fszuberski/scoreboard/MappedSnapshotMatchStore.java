@@ -0,0 +1,220 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link MatchStore} serving the matches of a {@link MatchSnapshot} in place from the memory-mapped snapshot file.
+ * Opening the store only validates the snapshot and indexes the ids of its matches in a {@link SlotIndex} of
+ * snapshot slots; {@link Match} objects are decoded from the mapped file only when they are read, so the store is
+ * ready to serve right after a restart regardless of the number of matches.
+ * <p>
+ * The snapshot file is never written. A write to a match of the snapshot moves the match into an in-memory overlay
+ * store, which holds every match saved or updated after opening, and hides its snapshot slot; removing a match hides
+ * its snapshot slot as well. The index of snapshot slots by team is built on the first lookup by team.
+ * <p>
+ * The store is not thread-safe: like the in-memory overlay, the index of snapshot slots and the lazily built index by
+ * team are not synchronized, so the store has to be owned by a single thread, or accessed under external
+ * synchronization covering both its writers and its readers.
+ */
+final class MappedSnapshotMatchStore implements MatchStore {
+    private final ByteBuffer snapshot;
+    private final int numberOfSlots;
+    private final SlotIndex slotIndex;
+    private final BitSet liveSlots;
+    private final MatchStore overlay;
+    // null until the first lookup by team
+    private TeamDictionary teamDictionary;
+    private TeamSlotIndex teamSlotIndex;
+
+    private MappedSnapshotMatchStore(ByteBuffer snapshot) {
+        this.snapshot = snapshot;
+        this.numberOfSlots = MatchSnapshot.numberOfMatches(snapshot);
+        this.slotIndex = new SlotIndex(new SlotIndex.SlotIds() {
+            @Override
+            public long mostSignificantBits(int slot) {
+                return snapshot.getLong(slotOffset(slot) + MatchCodec.ID_MOST_SIGNIFICANT_BITS_OFFSET);
+            }
+
+            @Override
+            public long leastSignificantBits(int slot) {
+                return snapshot.getLong(slotOffset(slot) + MatchCodec.ID_LEAST_SIGNIFICANT_BITS_OFFSET);
+            }
+        }, numberOfSlots);
+        this.liveSlots = new BitSet(numberOfSlots);
+        this.overlay = new InMemoryMatchStore();
+
+        for (int slot = 0; slot < numberOfSlots; slot++) {
+            slotIndex.add(slot);
+        }
+        liveSlots.set(0, numberOfSlots);
+    }
+
+    /**
+     * Opens the store serving the snapshot in the passed file.
+     *
+     * @param snapshotFile the file of the snapshot, e.g. written by a store created with
+     *                     {@link MatchStore#snapshotted(MatchStore, Path, java.time.Duration)}
+     */
+    static MappedSnapshotMatchStore open(Path snapshotFile) {
+        return new MappedSnapshotMatchStore(MatchSnapshot.map(snapshotFile));
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        var slot = findSlot(id);
+        return slot < 0 ? overlay.getMatch(id) : Optional.of(readMatch(slot));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        var overlayMatches = overlay.getAllMatches();
+        var matches = new ArrayList<Match>(overlayMatches.size() + liveSlots.cardinality());
+        matches.addAll(overlayMatches);
+        for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+            matches.add(readMatch(slot));
+        }
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        var overlayMatches = overlay.findMatchesByTeam(teamName);
+        indexTeams();
+        var teamId = teamDictionary.teamId(teamName);
+        if (teamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return overlayMatches;
+        }
+
+        var matches = new ArrayList<>(overlayMatches);
+        teamSlotIndex.forEachSlot(teamId, slot -> matches.add(readMatch(slot)));
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        var overlayMatch = overlay.findMatchByTeams(homeTeamName, awayTeamName);
+        if (overlayMatch.isPresent()) {
+            return overlayMatch;
+        }
+
+        indexTeams();
+        var homeTeamId = teamDictionary.teamId(homeTeamName);
+        var awayTeamId = teamDictionary.teamId(awayTeamName);
+        if (homeTeamId == TeamDictionary.UNKNOWN_TEAM_ID || awayTeamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return Optional.empty();
+        }
+
+        var slot = teamSlotIndex.findSlot(homeTeamId, awayTeamId);
+        return slot < 0 ? Optional.empty() : Optional.of(readMatch(slot));
+    }
+
+    @Override
+    public long latestVersion() {
+        var latestVersion = overlay.latestVersion();
+        for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+            latestVersion = Math.max(latestVersion, snapshot.getLong(slotOffset(slot) + MatchCodec.VERSION_OFFSET));
+        }
+        return latestVersion;
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        if (findSlot(match.id()) >= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+        }
+
+        overlay.saveMatch(match);
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            overlay.updateMatch(id, match);
+            return;
+        }
+
+        hideSlot(id, slot);
+        overlay.saveMatch(match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return overlay.computeMatchIfPresent(id, remappingFunction);
+        }
+
+        var updatedMatch = remappingFunction.apply(readMatch(slot));
+        hideSlot(id, slot);
+        overlay.saveMatch(updatedMatch);
+        return Optional.of(updatedMatch);
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return overlay.removeMatchIfPresent(id);
+        }
+
+        hideSlot(id, slot);
+        return true;
+    }
+
+    private Match readMatch(int slot) {
+        // a duplicate keeps the reads of concurrent readers independent of each other
+        return MatchCodec.read(snapshot.duplicate().position(slotOffset(slot)));
+    }
+
+    private void hideSlot(UUID id, int slot) {
+        slotIndex.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        liveSlots.clear(slot);
+        if (teamSlotIndex != null) {
+            teamSlotIndex.remove(slot);
+        }
+    }
+
+    private void indexTeams() {
+        if (teamSlotIndex != null) {
+            return;
+        }
+
+        // the index is assigned only once it is complete, so a failure while reading the snapshot does not leave
+        // a partial index behind
+        var dictionary = new TeamDictionary();
+        var index = new TeamSlotIndex(numberOfSlots);
+        for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+            var offset = slotOffset(slot);
+            index.add(
+                    slot,
+                    dictionary.intern(MatchCodec.readHomeTeamName(snapshot, offset)),
+                    dictionary.intern(MatchCodec.readAwayTeamName(snapshot, offset)));
+        }
+        teamDictionary = dictionary;
+        teamSlotIndex = index;
+    }
+
+    private int findSlot(UUID id) {
+        return slotIndex.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private int slotOffset(int slot) {
+        return MatchSnapshot.matchOffset(snapshot, slot);
+    }
+}
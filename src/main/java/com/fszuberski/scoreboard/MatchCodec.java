@@ -0,0 +1,145 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static com.fszuberski.scoreboard.PackedMatchStore.toEpochNanos;
+import static com.fszuberski.scoreboard.PackedMatchStore.toLocalDateTime;
+
+/**
+ * Encodes {@link Match Matches} in the compact binary format of the files written by {@link MatchStore MatchStores}.
+ * Unlike Java serialization, the format contains no class metadata and is independent of the {@link Match} class.
+ * <p>
+ * Layout of an encoded match (big-endian):
+ * <pre>
+ * id (2 longs), start time in epoch nanos (long), start sequence (long), version (long),
+ * home team score (int), away team score (int),
+ * home team name (unsigned short length + UTF-8), away team name (unsigned short length + UTF-8)
+ * </pre>
+ */
+final class MatchCodec {
+    static final int MAX_TEAM_NAME_BYTES = 0xFFFF;
+
+    // offsets of the fields within an encoded match, for reading them in place
+    static final int ID_MOST_SIGNIFICANT_BITS_OFFSET = 0;
+    static final int ID_LEAST_SIGNIFICANT_BITS_OFFSET = 8;
+    static final int VERSION_OFFSET = 32;
+    static final int HOME_TEAM_NAME_OFFSET = 48;
+
+    private static final int FIXED_SIZE = 5 * Long.BYTES + 2 * Integer.BYTES + 2 * Short.BYTES;
+
+    private MatchCodec() {
+    }
+
+    /**
+     * Writes the passed match at the position of the buffer, replacing the buffer with a larger copy if it does not
+     * have enough remaining space.
+     *
+     * @return the buffer containing the written match; either the passed buffer or its larger copy.
+     */
+    static ByteBuffer write(ByteBuffer buffer, Match match) {
+        var homeTeamName = encodeTeamName(match.homeTeamScore().teamName());
+        var awayTeamName = encodeTeamName(match.awayTeamScore().teamName());
+
+        buffer = ensureRemaining(buffer, FIXED_SIZE + homeTeamName.length + awayTeamName.length);
+        writeId(buffer, match.id());
+        buffer.putLong(toEpochNanos(match.startTime()));
+        buffer.putLong(match.startSequence());
+        buffer.putLong(match.version());
+        buffer.putInt(match.homeTeamScore().score());
+        buffer.putInt(match.awayTeamScore().score());
+        writeTeamName(buffer, homeTeamName);
+        writeTeamName(buffer, awayTeamName);
+        return buffer;
+    }
+
+    /**
+     * Reads a match written by {@link #write(ByteBuffer, Match)} at the position of the buffer.
+     */
+    static Match read(ByteBuffer buffer) {
+        var id = readId(buffer);
+        var startTime = toLocalDateTime(buffer.getLong());
+        var startSequence = buffer.getLong();
+        var version = buffer.getLong();
+        var homeTeamScore = buffer.getInt();
+        var awayTeamScore = buffer.getInt();
+        return new Match(
+                id,
+                new TeamScore(readTeamName(buffer), homeTeamScore),
+                new TeamScore(readTeamName(buffer), awayTeamScore),
+                startTime,
+                startSequence,
+                version);
+    }
+
+    /**
+     * Reads the home team name of a match written by {@link #write(ByteBuffer, Match)} at the passed offset of the
+     * buffer, without decoding the rest of the match.
+     */
+    static String readHomeTeamName(ByteBuffer buffer, int offset) {
+        return readTeamName(buffer, offset + HOME_TEAM_NAME_OFFSET);
+    }
+
+    /**
+     * Reads the away team name of a match written by {@link #write(ByteBuffer, Match)} at the passed offset of the
+     * buffer, without decoding the rest of the match.
+     */
+    static String readAwayTeamName(ByteBuffer buffer, int offset) {
+        var homeTeamNameOffset = offset + HOME_TEAM_NAME_OFFSET;
+        return readTeamName(buffer, homeTeamNameOffset + Short.BYTES + Short.toUnsignedInt(buffer.getShort(homeTeamNameOffset)));
+    }
+
+    static ByteBuffer writeId(ByteBuffer buffer, UUID id) {
+        buffer = ensureRemaining(buffer, 2 * Long.BYTES);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return buffer;
+    }
+
+    static UUID readId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * @return the passed buffer if it has at least {@code remaining} bytes remaining, or a larger copy of it otherwise.
+     */
+    static ByteBuffer ensureRemaining(ByteBuffer buffer, int remaining) {
+        if (buffer.remaining() >= remaining) {
+            return buffer;
+        }
+
+        var largerBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + remaining));
+        largerBuffer.put(buffer.flip());
+        return largerBuffer;
+    }
+
+    private static byte[] encodeTeamName(String teamName) {
+        var bytes = teamName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEAM_NAME_BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot encode team name='%s'; team names cannot exceed %d bytes in UTF-8.", teamName, MAX_TEAM_NAME_BYTES));
+        }
+        return bytes;
+    }
+
+    private static void writeTeamName(ByteBuffer buffer, byte[] teamName) {
+        buffer.putShort((short) teamName.length);
+        buffer.put(teamName);
+    }
+
+    private static String readTeamName(ByteBuffer buffer) {
+        var bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readTeamName(ByteBuffer buffer, int offset) {
+        var bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
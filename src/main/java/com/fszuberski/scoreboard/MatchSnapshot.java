@@ -0,0 +1,188 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Writes and reads snapshots of all matches of a {@link MatchStore} in a compact binary format.
+ * <p>
+ * Layout of the file (big-endian):
+ * <pre>
+ * header (20 bytes): magic (int), format version (int), log generation (long), number of matches (int)
+ * matches: every match encoded by {@link MatchCodec}
+ * offsets: the offset of every match from the start of the file (int per match)
+ * trailer (4 bytes): CRC32C of the header, the matches and the offsets (int)
+ * </pre>
+ * The log generation is the generation of the first write-ahead log segment whose records are not contained in the
+ * snapshot. The table of offsets makes every match addressable in place, so a memory-mapped snapshot can be served
+ * without decoding it first (see {@link MappedSnapshotMatchStore}). A snapshot is written into a temporary file which replaces the previous snapshot only once it is
+ * completely written and forced to the disk, so a crash never leaves a partially written snapshot behind. The
+ * directory is forced to the disk after the rename, so a written snapshot survives a power loss.
+ */
+final class MatchSnapshot {
+    private static final int MAGIC = 0x5C0_2EB2;
+    private static final int FORMAT_VERSION = 2;
+    private static final int LOG_GENERATION_OFFSET = 8;
+    private static final int NUMBER_OF_MATCHES_OFFSET = 16;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TRAILER_SIZE = Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private MatchSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the passed matches, replacing the existing snapshot in the passed file.
+     *
+     * @param file          the file of the snapshot
+     * @param matches       the matches of the snapshot
+     * @param logGeneration the generation of the first log segment not contained in the snapshot
+     */
+    static void write(Path file, List<Match> matches, long logGeneration) {
+        var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporaryFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            var checksum = new CRC32C();
+            var buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(logGeneration)
+                    .putInt(matches.size());
+            var offsets = new int[matches.size()];
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < offsets.length; i++) {
+                if (offset > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException(String.format(
+                            "Cannot write snapshot file='%s'; snapshots cannot exceed %d bytes.", file, Integer.MAX_VALUE));
+                }
+                offsets[i] = (int) offset;
+                var matchStart = buffer.position();
+                buffer = MatchCodec.write(buffer, matches.get(i));
+                offset += buffer.position() - matchStart;
+                if (buffer.position() >= WRITE_BUFFER_SIZE / 2) {
+                    writeChunk(channel, buffer, checksum);
+                }
+            }
+            for (int matchOffset : offsets) {
+                buffer = MatchCodec.ensureRemaining(buffer, Integer.BYTES).putInt(matchOffset);
+                if (buffer.position() >= WRITE_BUFFER_SIZE / 2) {
+                    writeChunk(channel, buffer, checksum);
+                }
+            }
+            writeChunk(channel, buffer, checksum);
+
+            var trailer = ByteBuffer.allocate(TRAILER_SIZE).putInt((int) checksum.getValue()).flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot write snapshot file='%s'.", file), e);
+        }
+
+        try {
+            Files.move(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            // the snapshot only replaces the previous one on the disk once the renamed directory entry is forced
+            WriteAheadLog.forceDirectory(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot write snapshot file='%s'.", file), e);
+        }
+    }
+
+    /**
+     * Reads the snapshot in the passed file into the passed store as a single batch.
+     *
+     * @param file       the file of the snapshot
+     * @param matchStore the store the matches of the snapshot should be saved into
+     * @return the generation of the first log segment not contained in the snapshot.
+     */
+    static long read(Path file, MatchStore matchStore) {
+        var buffer = map(file);
+        var numberOfMatches = numberOfMatches(buffer);
+        buffer.position(HEADER_SIZE);
+        matchStore.executeInBatch(() -> {
+            for (int i = 0; i < numberOfMatches; i++) {
+                matchStore.saveMatch(MatchCodec.read(buffer));
+            }
+        });
+        return logGeneration(buffer);
+    }
+
+    /**
+     * Maps the snapshot in the passed file into memory without decoding its matches. The mapping stays valid after
+     * the snapshot is replaced by a new one.
+     *
+     * @param file the file of the snapshot
+     * @return the read-only buffer of the validated snapshot.
+     */
+    static MappedByteBuffer map(Path file) {
+        try (var channel = FileChannel.open(file, READ)) {
+            if (channel.size() < HEADER_SIZE + TRAILER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw invalidSnapshot(file);
+            }
+
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            var checksum = new CRC32C();
+            checksum.update(buffer.duplicate().limit(buffer.limit() - TRAILER_SIZE));
+            if (buffer.getInt(0) != MAGIC
+                    || buffer.getInt(Integer.BYTES) != FORMAT_VERSION
+                    || buffer.getInt(buffer.limit() - TRAILER_SIZE) != (int) checksum.getValue()
+                    || numberOfMatches(buffer) < 0
+                    || HEADER_SIZE + (long) numberOfMatches(buffer) * Integer.BYTES + TRAILER_SIZE > buffer.limit()) {
+                throw invalidSnapshot(file);
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot read snapshot file='%s'.", file), e);
+        }
+    }
+
+    /**
+     * @return the generation of the first log segment not contained in the mapped snapshot.
+     */
+    static long logGeneration(ByteBuffer snapshot) {
+        return snapshot.getLong(LOG_GENERATION_OFFSET);
+    }
+
+    /**
+     * @return the number of matches in the mapped snapshot.
+     */
+    static int numberOfMatches(ByteBuffer snapshot) {
+        return snapshot.getInt(NUMBER_OF_MATCHES_OFFSET);
+    }
+
+    /**
+     * @param index the index of the match in the snapshot, from 0 (inclusive) to the number of matches (exclusive)
+     * @return the offset of the match encoded by {@link MatchCodec} in the mapped snapshot.
+     */
+    static int matchOffset(ByteBuffer snapshot, int index) {
+        var offsetsStart = snapshot.limit() - TRAILER_SIZE - numberOfMatches(snapshot) * Integer.BYTES;
+        return snapshot.getInt(offsetsStart + index * Integer.BYTES);
+    }
+
+    private static void writeChunk(FileChannel channel, ByteBuffer buffer, CRC32C checksum) throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static IllegalArgumentException invalidSnapshot(Path file) {
+        return new IllegalArgumentException(String.format(
+                "Cannot read snapshot file='%s'; the file does not contain a valid snapshot.", file));
+    }
+}
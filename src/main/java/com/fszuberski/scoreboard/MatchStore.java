@@ -1,20 +1,504 @@
 package com.fszuberski.scoreboard;
 
 import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
+import com.fszuberski.scoreboard.metrics.StoreOperation;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.Comparators.summaryComparator;
 
 public interface MatchStore {
 
+    /**
+     * Creates an in-memory {@link MatchStore} which maintains an index of matches ordered by the scoreboard
+     * summary order, trading slightly more expensive writes for summaries retrieved without sorting.
+     *
+     * @return a new, empty ordered in-memory {@link MatchStore}.
+     */
+    static MatchStore orderedInMemory() {
+        return new OrderedInMemoryMatchStore();
+    }
+
+    /**
+     * Creates a thread-safe in-memory {@link MatchStore} which can be shared by multiple writer and reader threads
+     * without external locking.
+     *
+     * @return a new, empty concurrent in-memory {@link MatchStore}.
+     */
+    static MatchStore concurrentInMemory() {
+        return new ConcurrentMatchStore();
+    }
+
+    /**
+     * Creates a thread-safe in-memory {@link MatchStore} which publishes a new immutable, already ordered snapshot
+     * of all matches on every write. Reads never block and never allocate, at the cost of copying the state on writes.
+     *
+     * @return a new, empty copy-on-write in-memory {@link MatchStore}.
+     */
+    static MatchStore copyOnWrite() {
+        return new CopyOnWriteMatchStore();
+    }
+
+    /**
+     * Creates a compact in-memory {@link MatchStore} which keeps the state of matches in primitive arrays instead of
+     * {@link Match} objects, significantly reducing the heap footprint of boards holding millions of matches.
+     * {@link Match} objects are only created when matches are read. The store is not thread-safe; its readers and
+     * writers have to be confined to a single thread or synchronized externally.
+     *
+     * @return a new, empty packed in-memory {@link MatchStore}.
+     */
+    static MatchStore packedInMemory() {
+        return new PackedMatchStore();
+    }
+
+    /**
+     * Creates a {@link MatchStore} which keeps the state of matches in fixed-size slots of a direct buffer outside
+     * of the Java heap; the heap only holds an index of slot numbers. Team names cannot exceed
+     * 64 bytes in UTF-8 and saving a match into a full store throws an {@link IllegalStateException}. The store is
+     * not thread-safe; its readers and writers have to be confined to a single thread or synchronized externally.
+     *
+     * @param capacity the maximum number of matches the store can hold. Cannot be less than 1.
+     * @return a new, empty off-heap {@link MatchStore}.
+     */
+    static MatchStore offHeap(int capacity) {
+        return OffHeapMatchStore.allocateDirect(capacity);
+    }
+
+    /**
+     * Creates an off-heap {@link MatchStore} (see {@link #offHeap(int)}) backed by the passed memory-mapped file.
+     * If the file already contains a store, e.g. written by a previous run of the process, the store is reattached
+     * with all of its matches. The file survives restarts of the process, but writes are not forced to the disk,
+     * so the store is not durable in case of an operating system crash or a power loss.
+     *
+     * @param file     the file backing the store. Cannot be null.
+     * @param capacity the maximum number of matches the store can hold. Cannot be less than 1.
+     *                 Has to be equal to the capacity of the existing store when reattaching.
+     * @return an off-heap {@link MatchStore} backed by the passed file.
+     * @throws java.io.UncheckedIOException if the file cannot be mapped.
+     */
+    static MatchStore memoryMapped(Path file, int capacity) {
+        return OffHeapMatchStore.map(file, capacity);
+    }
+
+    /**
+     * Decorates the passed {@link MatchStore} with a write-ahead log in the passed file, recording every write, so that
+     * the matches of the store are recovered by opening the store again after a restart of the process. If the file
+     * already contains a log, it is replayed into the passed store before the store is returned.
+     * Every write returns once it is durable; the writes of concurrent writers are forced to the disk together.
+     *
+     * @param matchStore the decorated store. Cannot be null. Should be empty.
+     * @param logFile    the file of the log. Cannot be null.
+     * @return a {@link DurableMatchStore} recording its writes in the log.
+     * @throws java.io.UncheckedIOException if the log cannot be opened.
+     */
+    static DurableMatchStore writeAheadLogged(MatchStore matchStore, Path logFile) {
+        validateWriteAheadLogged(matchStore, logFile);
+        return WriteAheadLogMatchStore.open(matchStore, logFile, null);
+    }
+
+    /**
+     * Decorates the passed {@link MatchStore} with a write-ahead log (see {@link #writeAheadLogged(MatchStore, Path)})
+     * which is forced to the disk in the background once per the passed interval. Writes return without waiting for
+     * the disk; the writes of the last interval may be lost in case of a crash.
+     *
+     * @param matchStore   the decorated store. Cannot be null. Should be empty.
+     * @param logFile      the file of the log. Cannot be null.
+     * @param syncInterval the interval at which the log is forced to the disk. Cannot be null, zero or negative.
+     * @return a {@link DurableMatchStore} recording its writes in the log.
+     * @throws java.io.UncheckedIOException if the log cannot be opened.
+     */
+    static DurableMatchStore writeAheadLogged(MatchStore matchStore, Path logFile, Duration syncInterval) {
+        validateWriteAheadLogged(matchStore, logFile);
+        if (syncInterval == null) {
+            throw new IllegalArgumentException("SyncInterval cannot be null.");
+        }
+
+        if (syncInterval.isZero() || syncInterval.isNegative()) {
+            throw new IllegalArgumentException("SyncInterval cannot be zero or negative.");
+        }
+
+        return WriteAheadLogMatchStore.open(matchStore, logFile, syncInterval);
+    }
+
+    /**
+     * Decorates the passed {@link MatchStore} with a write-ahead log (see {@link #writeAheadLogged(MatchStore, Path)})
+     * kept in segments of the passed directory and compacted by snapshots of all matches, taken in the background once
+     * per the passed interval. Taking a snapshot only blocks writes while the matches are copied; the snapshot is
+     * written in a compact binary format and the log segments it contains are deleted afterwards, so the log does not
+     * grow without bound. Opening the store again loads the latest snapshot and replays the log written after it.
+     * Every write returns once it is durable.
+     *
+     * @param matchStore       the decorated store. Cannot be null. Should be empty.
+     * @param directory        the directory of the snapshot and the log segments. Cannot be null.
+     * @param snapshotInterval the interval at which snapshots are taken. Cannot be null, zero or negative.
+     * @return a {@link DurableMatchStore} recording its writes in the log.
+     * @throws java.io.UncheckedIOException if the snapshot or the log cannot be read.
+     */
+    static DurableMatchStore snapshotted(MatchStore matchStore, Path directory, Duration snapshotInterval) {
+        if (matchStore == null) {
+            throw new IllegalArgumentException("MatchStore cannot be null.");
+        }
+
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null.");
+        }
+
+        if (snapshotInterval == null) {
+            throw new IllegalArgumentException("SnapshotInterval cannot be null.");
+        }
+
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            throw new IllegalArgumentException("SnapshotInterval cannot be zero or negative.");
+        }
+
+        return WriteAheadLogMatchStore.openDirectory(matchStore, directory, snapshotInterval);
+    }
+
+    /**
+     * Opens a {@link MatchStore} serving the matches of the snapshot in the passed file, e.g. the snapshot written by
+     * a store created with {@link #snapshotted(MatchStore, Path, Duration)}, in place from the memory-mapped file.
+     * Opening the store only indexes the ids of the matches, so it is ready to serve in a fraction of the time needed
+     * to load the snapshot into another store; {@link Match} objects are created only when matches are read.
+     * Writes are kept in memory and never written to the snapshot file. The store is not thread-safe; its readers and
+     * writers have to be confined to a single thread or synchronized externally.
+     *
+     * @param snapshotFile the file of the snapshot. Cannot be null.
+     * @return a {@link MatchStore} containing the matches of the snapshot.
+     * @throws java.io.UncheckedIOException if the snapshot cannot be mapped.
+     */
+    static MatchStore mappedSnapshot(Path snapshotFile) {
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("SnapshotFile cannot be null.");
+        }
+
+        return MappedSnapshotMatchStore.open(snapshotFile);
+    }
+
+    /**
+     * Creates a {@link MatchStore} partitioning the matches by their id across the passed number of independent
+     * shards, each created by the passed factory, so that writers of different matches contend on different shards.
+     * The summary is merged from the ordered views of the shards, so shards maintaining an ordered index (e.g.
+     * {@link #orderedInMemory()}) avoid sorting. The store is thread-safe if the shards are, e.g. shards created by
+     * {@link #concurrentInMemory()}; reads of all matches do not provide a point-in-time view across the shards.
+     *
+     * @param numberOfShards the number of shards, e.g. the number of available processors. Cannot be less than 1.
+     * @param shardFactory   the factory creating an empty store for every shard. Cannot be null or return null.
+     * @return a new, empty sharded {@link MatchStore}.
+     */
+    static MatchStore sharded(int numberOfShards, Supplier<MatchStore> shardFactory) {
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException("NumberOfShards cannot be less than 1.");
+        }
+
+        if (shardFactory == null) {
+            throw new IllegalArgumentException("ShardFactory cannot be null.");
+        }
+
+        var shards = new ArrayList<MatchStore>(numberOfShards);
+        for (int i = 0; i < numberOfShards; i++) {
+            var shard = shardFactory.get();
+            if (shard == null) {
+                throw new IllegalArgumentException("ShardFactory cannot return null.");
+            }
+            shards.add(shard);
+        }
+        return new ShardedMatchStore(shards);
+    }
+
+    /**
+     * Decorates the passed {@link MatchStore} with measurements of the duration of every operation, passed to the
+     * {@link ScoreboardInstrumentation#storeOperationCompleted(StoreOperation, long)} method of the passed
+     * instrumentation, e.g. {@link com.fszuberski.scoreboard.metrics.ScoreboardMetrics}. A store which is not
+     * decorated takes no measurements at all.
+     *
+     * @param matchStore      the decorated store. Cannot be null.
+     * @param instrumentation the instrumentation receiving the measurements. Cannot be null.
+     * @return a {@link MatchStore} measuring the operations of the decorated store.
+     */
+    static MatchStore instrumented(MatchStore matchStore, ScoreboardInstrumentation instrumentation) {
+        if (matchStore == null) {
+            throw new IllegalArgumentException("MatchStore cannot be null.");
+        }
+
+        if (instrumentation == null) {
+            throw new IllegalArgumentException("Instrumentation cannot be null.");
+        }
+
+        return new InstrumentedMatchStore(matchStore, instrumentation);
+    }
+
+    private static void validateWriteAheadLogged(MatchStore matchStore, Path logFile) {
+        if (matchStore == null) {
+            throw new IllegalArgumentException("MatchStore cannot be null.");
+        }
+
+        if (logFile == null) {
+            throw new IllegalArgumentException("LogFile cannot be null.");
+        }
+    }
+
     Optional<Match> getMatch(UUID id);
 
     List<Match> getAllMatches();
 
+    /**
+     * Returns the matches in which the team with the passed name plays, either as the home or the away team.
+     * The default implementation scans all matches; implementations that maintain an index of matches by team
+     * (see {@link TeamIndex}) should override it.
+     *
+     * @param teamName the name of the team.
+     * @return an immutable list of the matches of the team, in no particular order; empty if there are none.
+     */
+    default List<Match> findMatchesByTeam(String teamName) {
+        return getAllMatches()
+                .stream()
+                .filter(match -> match.homeTeamScore().teamName().equals(teamName)
+                        || match.awayTeamScore().teamName().equals(teamName))
+                .toList();
+    }
+
+    /**
+     * Returns a match between the passed home and away teams.
+     * The default implementation scans all matches; implementations that maintain an index of matches by team
+     * (see {@link TeamIndex}) should override it.
+     *
+     * @param homeTeamName the name of the home team.
+     * @param awayTeamName the name of the away team.
+     * @return an optional containing a match between the teams, or an empty optional if there is none.
+     */
+    default Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return getAllMatches()
+                .stream()
+                .filter(match -> match.homeTeamScore().teamName().equals(homeTeamName)
+                        && match.awayTeamScore().teamName().equals(awayTeamName))
+                .findFirst();
+    }
+
+    /**
+     * Returns all matches ordered by the scoreboard summary order (see {@link Comparators#summaryComparator}).
+     * The default implementation sorts the result of {@link #getAllMatches()} on every invocation;
+     * implementations that maintain an ordered index should override it.
+     *
+     * @return an immutable list of all matches in the summary order.
+     */
+    default List<Match> getOrderedMatches() {
+        return getAllMatches()
+                .stream()
+                .sorted(summaryComparator)
+                .toList();
+    }
+
+    /**
+     * Returns whether {@link #getOrderedMatches()} returns an immutable, already ordered list published by the writes,
+     * so that reading it is as cheap as reading a cached summary and a scoreboard does not cache the summary itself.
+     * The default implementation returns {@code false}.
+     *
+     * @return true if the ordered matches are published by the writes to the store.
+     */
+    default boolean publishesOrderedMatches() {
+        return false;
+    }
+
+    /**
+     * Returns a page of matches ordered by the scoreboard summary order (see {@link Comparators#summaryComparator}).
+     * The default implementation selects the first {@code offset + limit} matches with a bounded heap in
+     * O(n log(offset + limit)) instead of sorting all matches; implementations that maintain an ordered index should
+     * override it.
+     *
+     * @param offset the number of matches that should be skipped. Cannot be less than 0.
+     * @param limit  the maximum number of matches that should be returned. Cannot be less than 0.
+     * @return an immutable list of at most {@code limit} matches in the summary order.
+     */
+    default List<Match> getOrderedMatches(int offset, int limit) {
+        var allMatches = getAllMatches();
+        var numberOfSelectedMatches = (int) Math.min((long) offset + limit, allMatches.size());
+        if (offset >= numberOfSelectedMatches) {
+            return List.of();
+        }
+
+        // the head of the heap is the match ordered last among the selected matches
+        var selectedMatches = new PriorityQueue<Match>(numberOfSelectedMatches, summaryComparator.reversed());
+        for (Match match : allMatches) {
+            if (selectedMatches.size() < numberOfSelectedMatches) {
+                selectedMatches.add(match);
+            } else if (summaryComparator.compare(match, selectedMatches.peek()) < 0) {
+                selectedMatches.poll();
+                selectedMatches.add(match);
+            }
+        }
+
+        var page = new Match[numberOfSelectedMatches - offset];
+        for (int i = numberOfSelectedMatches - 1; i >= offset; i--) {
+            page[i - offset] = selectedMatches.poll();
+        }
+        return List.of(page);
+    }
+
+    /**
+     * Returns the greatest version of the matches in the store (see {@link Match#version()}).
+     * The default implementation scans all matches; implementations that can read the versions without creating
+     * {@link Match} objects should override it.
+     *
+     * @return the greatest version of the matches, or 0 if the store is empty.
+     */
+    default long latestVersion() {
+        var latestVersion = 0L;
+        for (Match match : getAllMatches()) {
+            latestVersion = Math.max(latestVersion, match.version());
+        }
+        return latestVersion;
+    }
+
     void saveMatch(Match match);
 
+    /**
+     * Saves the passed new match, like {@link #saveMatch(Match)}, unless a match between its home and away teams
+     * already exists, so that the same fixture is never in progress twice. The default implementation looks up the
+     * fixture before saving the match, which is only atomic if the store is not written concurrently; thread-safe
+     * implementations have to override it in order to reserve the fixture and save the match atomically.
+     *
+     * @param match the new match that should be saved
+     * @return true if the match has been saved, false if a match between its teams already exists.
+     * @throws IllegalArgumentException if a match with the id of the passed match already exists.
+     */
+    default boolean saveMatchIfFixtureAbsent(Match match) {
+        if (findMatchByTeams(match.homeTeamScore().teamName(), match.awayTeamScore().teamName()).isPresent()) {
+            return false;
+        }
+
+        saveMatch(match);
+        return true;
+    }
+
     void updateMatch(UUID id, Match match);
 
+    /**
+     * Returns the position of the passed match in the scoreboard summary order (see {@link Comparators#summaryComparator}),
+     * i.e. the number of other matches ordered before it. The passed match does not have to be the state of the match
+     * in the store, e.g. the rank of a previous state of a match can be computed after the match has been updated.
+     * The default implementation scans all matches; implementations that maintain an ordered index should override it.
+     *
+     * @param match the match whose rank should be computed.
+     * @return the 0-based rank of the match.
+     */
+    default int getRank(Match match) {
+        var rank = 0;
+        for (Match otherMatch : getAllMatches()) {
+            if (!otherMatch.id().equals(match.id()) && summaryComparator.compare(otherMatch, match) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the ranks (see {@link #getRank(Match)}) of all passed matches, computed against the same state of the
+     * other matches. The default implementation ranks all passed matches in a single scan of all matches, instead of
+     * a scan per match; implementations that override {@link #getRank(Match)} should override it as well.
+     *
+     * @param matches the matches whose ranks should be computed.
+     * @return the 0-based ranks of the matches, in the order of the passed matches.
+     */
+    default int[] getRanks(List<Match> matches) {
+        var ranks = new int[matches.size()];
+        for (Match otherMatch : getAllMatches()) {
+            for (int i = 0; i < ranks.length; i++) {
+                var match = matches.get(i);
+                if (!otherMatch.id().equals(match.id()) && summaryComparator.compare(otherMatch, match) < 0) {
+                    ranks[i]++;
+                }
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Replaces the match with the passed id with the result of the remapping function applied to its current state,
+     * using a single lookup. Any exception thrown by the remapping function is propagated and leaves the match unchanged.
+     * The default implementation is a non-atomic sequence of {@link #getMatch(UUID)} and {@link #updateMatch(UUID, Match)};
+     * thread-safe implementations should override it in order to apply the remapping function atomically.
+     *
+     * @param id                the id of the match that should be updated
+     * @param remappingFunction the function computing the updated match from the current match. Cannot return null.
+     * @return an optional containing the updated match, or an empty optional if a match with the passed id does not exist.
+     */
+    default Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        return getMatch(id).map(match -> {
+            var updatedMatch = remappingFunction.apply(match);
+            updateMatch(id, updatedMatch);
+            return updatedMatch;
+        });
+    }
+
+    /**
+     * Raises the scores of the match with the passed id to the passed absolute values and stamps it with the passed
+     * version (see {@link Match#version()}), using a single lookup. Neither score can be lowered; a rejected update
+     * leaves the match unchanged. The default implementation replaces the match with an updated {@link Match} object
+     * using {@link #computeMatchIfPresent(UUID, UnaryOperator)}; implementations keeping the state of matches in
+     * store-owned slots should override it in order to update the slot in place, without allocating.
+     * {@link Match} objects read from the store before the update are not affected by it. Slot-based implementations
+     * which are not thread-safe do not publish the in-place update safely, so they must not be read concurrently.
+     *
+     * @param id            the id of the match that should be updated
+     * @param homeTeamScore the new absolute value of the home team score
+     * @param awayTeamScore the new absolute value of the away team score
+     * @param version       the version the match should be stamped with
+     * @return true if the match has been updated, false if a match with the passed id does not exist.
+     * @throws IllegalArgumentException if any of the new scores is lower than the current score.
+     */
+    default boolean updateScoreIfPresent(UUID id, int homeTeamScore, int awayTeamScore, long version) {
+        return computeMatchIfPresent(id, match -> Scoreboard.withScore(match, homeTeamScore, awayTeamScore, version))
+                .isPresent();
+    }
+
     void removeMatch(UUID id);
+
+    /**
+     * Removes the match with the passed id, like {@link #removeMatch(UUID)}, and tells whether it existed.
+     * The default implementation looks the match up before removing it; implementations which find out whether
+     * the match existed while removing it should override it.
+     *
+     * @param id the id of the match that should be removed
+     * @return true if the match has been removed, false if a match with the passed id does not exist.
+     */
+    default boolean removeMatchIfPresent(UUID id) {
+        var present = getMatch(id).isPresent();
+        removeMatch(id);
+        return present;
+    }
+
+    /**
+     * Removes the match with the passed id, like {@link #removeMatchIfPresent(UUID)}, and returns its state at the time
+     * it was removed. Of concurrent removals of the same match, only the one which has removed it returns the match.
+     * The default implementation is a non-atomic sequence of {@link #getMatch(UUID)} and
+     * {@link #removeMatchIfPresent(UUID)}; thread-safe implementations should override it in order to remove and return
+     * the match atomically.
+     *
+     * @param id the id of the match that should be removed
+     * @return an optional containing the removed match, or an empty optional if a match with the passed id does not exist.
+     */
+    default Optional<Match> removeAndGetMatch(UUID id) {
+        var match = getMatch(id);
+        return match.isPresent() && removeMatchIfPresent(id) ? match : Optional.empty();
+    }
+
+    /**
+     * Executes the writes performed by the passed block as a single batch, enabling implementations to apply them
+     * in one pass (e.g. publishing the result of all writes at once) instead of one write at a time.
+     * Writes within the batch are performed by the calling thread; the default implementation executes them directly.
+     *
+     * @param batch the block performing the writes that should be batched
+     */
+    default void executeInBatch(Runnable batch) {
+        batch.run();
+    }
 }
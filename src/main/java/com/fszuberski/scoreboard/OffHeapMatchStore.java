@@ -0,0 +1,417 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.PackedMatchStore.awayScore;
+import static com.fszuberski.scoreboard.PackedMatchStore.homeScore;
+import static com.fszuberski.scoreboard.PackedMatchStore.packScores;
+import static com.fszuberski.scoreboard.PackedMatchStore.toEpochNanos;
+import static com.fszuberski.scoreboard.PackedMatchStore.toLocalDateTime;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A {@link MatchStore} keeping the state of matches outside of the Java heap, in fixed-size slots of either a direct
+ * {@link ByteBuffer} or a memory-mapped file. The heap only holds a {@link SlotIndex} of slot numbers and a
+ * {@link TeamSlotIndex} of the team ids of the slots, so a very large board neither inflates the heap nor the GC pauses.
+ * <p>
+ * A store backed by a memory-mapped file can be reattached by a restarted process: the header of the file holds the
+ * number of used slots, and the indexes are rebuilt by scanning them. The file survives restarts of the process but is
+ * not a durability mechanism on its own; writes reach the disk when the operating system flushes the mapped pages
+ * or when {@link #force()} is invoked.
+ * <p>
+ * Layout of the buffer (big-endian):
+ * <pre>
+ * header (32 bytes): magic (int), format version (int), slot size (int), capacity (int), size (int), reserved
+ * slot (184 bytes): id (2 longs), packed scores (long), start time in epoch nanos (long), start sequence (long),
+ *                   version (long), home team name (short length + 64 bytes of UTF-8), away team name (short length + 64 bytes of UTF-8)
+ * </pre>
+ * Slots are kept dense; removing a match moves the last slot into the freed slot.
+ * <p>
+ * The store is not thread-safe: it has to be owned by a single thread, or accessed under external synchronization
+ * covering both its writers and its readers. Slots are plain reads and writes of the buffer, so a reader racing with
+ * an in-place score update may observe a torn state, e.g. the new scores with the old version.
+ */
+final class OffHeapMatchStore implements MatchStore {
+    static final int MAX_TEAM_NAME_BYTES = 64;
+
+    private static final int MAGIC = 0x5C0_2EB0;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FORMAT_VERSION_OFFSET = 4;
+    private static final int SLOT_SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+
+    private static final int ID_MOST_SIGNIFICANT_BITS_OFFSET = 0;
+    private static final int ID_LEAST_SIGNIFICANT_BITS_OFFSET = 8;
+    private static final int SCORES_OFFSET = 16;
+    private static final int START_TIME_OFFSET = 24;
+    private static final int START_SEQUENCE_OFFSET = 32;
+    private static final int VERSION_OFFSET = 40;
+    private static final int HOME_TEAM_NAME_OFFSET = 48;
+    private static final int AWAY_TEAM_NAME_OFFSET = HOME_TEAM_NAME_OFFSET + Short.BYTES + MAX_TEAM_NAME_BYTES;
+    private static final int SLOT_SIZE = 184;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final SlotIndex slotIndex;
+    private final TeamSlotIndex teamSlotIndex;
+    private final TeamDictionary teamDictionary;
+    private int size;
+
+    private OffHeapMatchStore(ByteBuffer buffer, int capacity) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        this.capacity = capacity;
+        this.slotIndex = new SlotIndex(new SlotIndex.SlotIds() {
+            @Override
+            public long mostSignificantBits(int slot) {
+                return buffer.getLong(slotOffset(slot) + ID_MOST_SIGNIFICANT_BITS_OFFSET);
+            }
+
+            @Override
+            public long leastSignificantBits(int slot) {
+                return buffer.getLong(slotOffset(slot) + ID_LEAST_SIGNIFICANT_BITS_OFFSET);
+            }
+        }, capacity);
+        this.teamSlotIndex = new TeamSlotIndex(capacity);
+        this.teamDictionary = new TeamDictionary();
+    }
+
+    /**
+     * Creates a store backed by a direct {@link ByteBuffer}.
+     *
+     * @param capacity the maximum number of matches the store can hold. Cannot be less than 1.
+     */
+    static OffHeapMatchStore allocateDirect(int capacity) {
+        validateCapacity(capacity);
+        var store = new OffHeapMatchStore(ByteBuffer.allocateDirect(bufferSize(capacity)), capacity);
+        store.writeHeader();
+        return store;
+    }
+
+    /**
+     * Creates a store backed by the passed memory-mapped file. If the file already contains a store, the store is
+     * reattached with all of its matches; otherwise a new, empty store is created in the file.
+     *
+     * @param file     the file backing the store. Cannot be null.
+     * @param capacity the maximum number of matches the store can hold. Cannot be less than 1.
+     *                 Has to be equal to the capacity of the existing store when reattaching.
+     */
+    static OffHeapMatchStore map(Path file, int capacity) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        validateCapacity(capacity);
+
+        try (var channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            var existing = channel.size() > 0;
+            if (existing && channel.size() != bufferSize(capacity)) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot reattach store in file='%s'; the file does not contain a store with capacity=%d.", file, capacity));
+            }
+
+            // the mapping stays valid after the channel is closed
+            var store = new OffHeapMatchStore(channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferSize(capacity)), capacity);
+            if (existing) {
+                store.reattach(file);
+            } else {
+                store.writeHeader();
+            }
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot map store file='%s'.", file), e);
+        }
+    }
+
+    /**
+     * Forces the changes of a store backed by a memory-mapped file to be written to the disk.
+     * Has no effect for stores backed by a direct {@link ByteBuffer}.
+     */
+    void force() {
+        if (buffer instanceof MappedByteBuffer mappedBuffer) {
+            mappedBuffer.force();
+        }
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        var slot = findSlot(id);
+        return slot < 0 ? Optional.empty() : Optional.of(readMatch(slot));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        var matches = new Match[size];
+        for (int slot = 0; slot < size; slot++) {
+            matches[slot] = readMatch(slot);
+        }
+        return List.of(matches);
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        // a team which has never been interned cannot take part in any match
+        var teamId = teamDictionary.teamId(teamName);
+        if (teamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return List.of();
+        }
+
+        var matches = new ArrayList<Match>();
+        teamSlotIndex.forEachSlot(teamId, slot -> matches.add(readMatch(slot)));
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        var homeTeamId = teamDictionary.teamId(homeTeamName);
+        var awayTeamId = teamDictionary.teamId(awayTeamName);
+        if (homeTeamId == TeamDictionary.UNKNOWN_TEAM_ID || awayTeamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return Optional.empty();
+        }
+
+        var slot = teamSlotIndex.findSlot(homeTeamId, awayTeamId);
+        return slot < 0 ? Optional.empty() : Optional.of(readMatch(slot));
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        if (findSlot(match.id()) >= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+        }
+
+        if (size == capacity) {
+            throw new IllegalStateException(
+                    String.format("Cannot save new match with id='%s'; the store is full (capacity=%d).", match.id(), capacity));
+        }
+
+        var homeTeamName = encodeTeamName(match.homeTeamScore().teamName());
+        var awayTeamName = encodeTeamName(match.awayTeamScore().teamName());
+
+        var slot = size;
+        var offset = slotOffset(slot);
+        buffer.putLong(offset + ID_MOST_SIGNIFICANT_BITS_OFFSET, match.id().getMostSignificantBits());
+        buffer.putLong(offset + ID_LEAST_SIGNIFICANT_BITS_OFFSET, match.id().getLeastSignificantBits());
+        writeMatchState(slot, match, homeTeamName, awayTeamName);
+        // the slot is counted in the header only once it is completely written
+        setSize(size + 1);
+        slotIndex.add(slot);
+        indexTeams(slot, match);
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
+        }
+
+        updateMatchState(slot, match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+
+        var updatedMatch = remappingFunction.apply(readMatch(slot));
+        updateMatchState(slot, updatedMatch);
+        return Optional.of(updatedMatch);
+    }
+
+    /**
+     * Updates the packed scores and the version of the slot in place; no object is allocated.
+     */
+    @Override
+    public boolean updateScoreIfPresent(UUID id, int homeTeamScore, int awayTeamScore, long version) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return false;
+        }
+
+        var offset = slotOffset(slot);
+        var packedScores = buffer.getLong(offset + SCORES_OFFSET);
+        Scoreboard.validateScoreTransition(homeScore(packedScores), awayScore(packedScores), homeTeamScore, awayTeamScore);
+        buffer.putLong(offset + SCORES_OFFSET, packScores(homeTeamScore, awayTeamScore));
+        buffer.putLong(offset + VERSION_OFFSET, version);
+        return true;
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        var slot = slotIndex.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+        teamSlotIndex.remove(slot);
+
+        // keeping the slots dense by moving the last slot into the freed slot; a reattached store discards
+        // the duplicate left behind if the process stops in between the copy and the size update
+        var lastSlot = size - 1;
+        if (slot != lastSlot) {
+            buffer.put(slotOffset(slot), buffer, slotOffset(lastSlot), SLOT_SIZE);
+            slotIndex.move(
+                    buffer.getLong(slotOffset(slot) + ID_MOST_SIGNIFICANT_BITS_OFFSET),
+                    buffer.getLong(slotOffset(slot) + ID_LEAST_SIGNIFICANT_BITS_OFFSET),
+                    slot);
+            teamSlotIndex.move(lastSlot, slot);
+        }
+        setSize(lastSlot);
+        return true;
+    }
+
+    private Match readMatch(int slot) {
+        var offset = slotOffset(slot);
+        var scores = buffer.getLong(offset + SCORES_OFFSET);
+        return new Match(
+                new UUID(
+                        buffer.getLong(offset + ID_MOST_SIGNIFICANT_BITS_OFFSET),
+                        buffer.getLong(offset + ID_LEAST_SIGNIFICANT_BITS_OFFSET)),
+                new TeamScore(readTeamName(offset + HOME_TEAM_NAME_OFFSET), homeScore(scores)),
+                new TeamScore(readTeamName(offset + AWAY_TEAM_NAME_OFFSET), awayScore(scores)),
+                toLocalDateTime(buffer.getLong(offset + START_TIME_OFFSET)),
+                buffer.getLong(offset + START_SEQUENCE_OFFSET),
+                buffer.getLong(offset + VERSION_OFFSET));
+    }
+
+    private void updateMatchState(int slot, Match match) {
+        writeMatchState(
+                slot,
+                match,
+                encodeTeamName(match.homeTeamScore().teamName()),
+                encodeTeamName(match.awayTeamScore().teamName()));
+
+        var homeTeamId = teamDictionary.intern(match.homeTeamScore().teamName());
+        var awayTeamId = teamDictionary.intern(match.awayTeamScore().teamName());
+        if (homeTeamId != teamSlotIndex.homeTeamId(slot) || awayTeamId != teamSlotIndex.awayTeamId(slot)) {
+            teamSlotIndex.remove(slot);
+            teamSlotIndex.add(slot, homeTeamId, awayTeamId);
+        }
+    }
+
+    private void indexTeams(int slot, Match match) {
+        teamSlotIndex.add(
+                slot,
+                teamDictionary.intern(match.homeTeamScore().teamName()),
+                teamDictionary.intern(match.awayTeamScore().teamName()));
+    }
+
+    private void writeMatchState(int slot, Match match, byte[] homeTeamName, byte[] awayTeamName) {
+        var offset = slotOffset(slot);
+        buffer.putLong(offset + SCORES_OFFSET, packScores(match.homeTeamScore().score(), match.awayTeamScore().score()));
+        buffer.putLong(offset + START_TIME_OFFSET, toEpochNanos(match.startTime()));
+        buffer.putLong(offset + START_SEQUENCE_OFFSET, match.startSequence());
+        buffer.putLong(offset + VERSION_OFFSET, match.version());
+        writeTeamName(offset + HOME_TEAM_NAME_OFFSET, homeTeamName);
+        writeTeamName(offset + AWAY_TEAM_NAME_OFFSET, awayTeamName);
+    }
+
+    private String readTeamName(int offset) {
+        var bytes = new byte[buffer.getShort(offset)];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeTeamName(int offset, byte[] teamName) {
+        buffer.putShort(offset, (short) teamName.length);
+        buffer.put(offset + Short.BYTES, teamName);
+    }
+
+    private static byte[] encodeTeamName(String teamName) {
+        var bytes = teamName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEAM_NAME_BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot store team name='%s'; team names cannot exceed %d bytes in UTF-8.", teamName, MAX_TEAM_NAME_BYTES));
+        }
+        return bytes;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(FORMAT_VERSION_OFFSET, FORMAT_VERSION);
+        buffer.putInt(SLOT_SIZE_OFFSET, SLOT_SIZE);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        setSize(0);
+    }
+
+    private void reattach(Path file) {
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC
+                || buffer.getInt(FORMAT_VERSION_OFFSET) != FORMAT_VERSION
+                || buffer.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE
+                || buffer.getInt(CAPACITY_OFFSET) != capacity) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot reattach store in file='%s'; the file does not contain a store with capacity=%d.", file, capacity));
+        }
+
+        var storedSize = buffer.getInt(SIZE_OFFSET);
+        for (int slot = 0; slot < storedSize; slot++) {
+            var mostSignificantBits = buffer.getLong(slotOffset(slot) + ID_MOST_SIGNIFICANT_BITS_OFFSET);
+            var leastSignificantBits = buffer.getLong(slotOffset(slot) + ID_LEAST_SIGNIFICANT_BITS_OFFSET);
+            if (slotIndex.find(mostSignificantBits, leastSignificantBits) >= 0) {
+                if (slot != storedSize - 1) {
+                    throw new IllegalStateException(String.format(
+                            "Cannot reattach store in file='%s'; slot %d contains a duplicate match.", file, slot));
+                }
+                // the duplicate left behind by an interrupted removal
+                break;
+            }
+            slotIndex.add(slot);
+            indexTeams(slot, readMatch(slot));
+            size = slot + 1;
+        }
+        setSize(size);
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+        buffer.putInt(SIZE_OFFSET, size);
+    }
+
+    private int findSlot(UUID id) {
+        return slotIndex.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int bufferSize(int capacity) {
+        return HEADER_SIZE + capacity * SLOT_SIZE;
+    }
+
+    private static void validateCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity cannot be less than 1.");
+        }
+
+        if ((long) HEADER_SIZE + (long) capacity * SLOT_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "Capacity cannot be greater than %d.", (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE));
+        }
+    }
+}
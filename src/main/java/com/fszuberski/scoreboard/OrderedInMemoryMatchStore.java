@@ -0,0 +1,121 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.Comparators.summaryComparator;
+
+/**
+ * An in-memory {@link MatchStore} which, next to the id lookup map, maintains an index of matches ordered by
+ * the scoreboard summary order. The index is kept up to date on save, update and remove, so retrieving the ordered
+ * matches is a linear walk of the index instead of a sort of all matches.
+ */
+final class OrderedInMemoryMatchStore implements MatchStore {
+    private final Map<UUID, Match> matchMap;
+    private final NavigableSet<Match> orderedMatches;
+    private final TeamIndex teamIndex;
+
+    public OrderedInMemoryMatchStore() {
+        this.matchMap = new HashMap<>();
+        this.orderedMatches = new TreeSet<>(summaryComparator);
+        this.teamIndex = new TeamIndex();
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        return Optional.ofNullable(matchMap.get(id));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        return List.copyOf(matchMap.values());
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        return teamIndex.findMatches(teamName, matchMap::get);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return teamIndex.findMatch(homeTeamName, awayTeamName, matchMap::get);
+    }
+
+    @Override
+    public List<Match> getOrderedMatches() {
+        return List.copyOf(orderedMatches);
+    }
+
+    @Override
+    public List<Match> getOrderedMatches(int offset, int limit) {
+        return orderedMatches
+                .stream()
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        if (matchMap.containsKey(match.id())) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+        }
+        matchMap.put(match.id(), match);
+        orderedMatches.add(match);
+        teamIndex.add(match);
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        if (!matchMap.containsKey(id)) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
+        }
+
+        // the previous version has to be removed before the update, as its position in the index is based on its score
+        var previousMatch = matchMap.put(id, match);
+        orderedMatches.remove(previousMatch);
+        orderedMatches.add(match);
+        teamIndex.replace(previousMatch, match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var match = matchMap.get(id);
+        if (match == null) {
+            return Optional.empty();
+        }
+
+        var updatedMatch = remappingFunction.apply(match);
+        orderedMatches.remove(match);
+        matchMap.put(id, updatedMatch);
+        orderedMatches.add(updatedMatch);
+        teamIndex.replace(match, updatedMatch);
+        return Optional.of(updatedMatch);
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        return removeAndGetMatch(id).isPresent();
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        var match = matchMap.remove(id);
+        if (match == null) {
+            return Optional.empty();
+        }
+
+        orderedMatches.remove(match);
+        teamIndex.remove(match);
+        return Optional.of(match);
+    }
+}
@@ -0,0 +1,277 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A compact in-memory {@link MatchStore} intended for boards holding millions of matches.
+ * Instead of keeping a {@link Match} record (and its {@link TeamScore}, {@link UUID} and {@link LocalDateTime}
+ * components) per match, the state of every match is kept in a slot of parallel primitive arrays:
+ * <ul>
+ *     <li>the match id as two longs,</li>
+ *     <li>both scores packed into a single long,</li>
+ *     <li>the team names as ids of names interned in a {@link TeamDictionary}, held by a {@link TeamSlotIndex},</li>
+ *     <li>the start time as nanoseconds since the epoch (UTC),</li>
+ *     <li>the start sequence and the version as longs.</li>
+ * </ul>
+ * Matches are looked up by id in a {@link SlotIndex} and by team in a {@link TeamSlotIndex}, so no per-match objects
+ * are retained.
+ * {@link Match} objects are created only as views of the slots, when matches are read through the {@link MatchStore} API.
+ * Slots are kept dense; removing a match moves the last slot into the freed slot.
+ * <p>
+ * The store is not thread-safe: it has to be owned by a single thread, or accessed under external synchronization
+ * covering both its writers and its readers. Score updates overwrite the slots in place without any memory barrier,
+ * so a reader racing with a writer may observe a torn state, e.g. the new scores with the old version.
+ */
+final class PackedMatchStore implements MatchStore {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // slots
+    private long[] idMostSignificantBits;
+    private long[] idLeastSignificantBits;
+    private long[] scores;
+    private long[] startTimes;
+    private long[] startSequences;
+    private long[] versions;
+    private int size;
+
+    private final SlotIndex slotIndex;
+    private final TeamSlotIndex teamSlotIndex;
+
+    private final TeamDictionary teamDictionary;
+
+    public PackedMatchStore() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public PackedMatchStore(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("InitialCapacity cannot be less than 1.");
+        }
+        this.idMostSignificantBits = new long[initialCapacity];
+        this.idLeastSignificantBits = new long[initialCapacity];
+        this.scores = new long[initialCapacity];
+        this.startTimes = new long[initialCapacity];
+        this.startSequences = new long[initialCapacity];
+        this.versions = new long[initialCapacity];
+        this.slotIndex = new SlotIndex(new SlotIndex.SlotIds() {
+            @Override
+            public long mostSignificantBits(int slot) {
+                return idMostSignificantBits[slot];
+            }
+
+            @Override
+            public long leastSignificantBits(int slot) {
+                return idLeastSignificantBits[slot];
+            }
+        }, initialCapacity);
+        this.teamSlotIndex = new TeamSlotIndex(initialCapacity);
+        this.teamDictionary = new TeamDictionary();
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        var slot = findSlot(id);
+        return slot < 0 ? Optional.empty() : Optional.of(toMatch(slot));
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        var matches = new Match[size];
+        for (int slot = 0; slot < size; slot++) {
+            matches[slot] = toMatch(slot);
+        }
+        return List.of(matches);
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        // a team which has never been interned cannot take part in any match
+        var teamId = teamDictionary.teamId(teamName);
+        if (teamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return List.of();
+        }
+
+        var matches = new ArrayList<Match>();
+        teamSlotIndex.forEachSlot(teamId, slot -> matches.add(toMatch(slot)));
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        var homeTeamId = teamDictionary.teamId(homeTeamName);
+        var awayTeamId = teamDictionary.teamId(awayTeamName);
+        if (homeTeamId == TeamDictionary.UNKNOWN_TEAM_ID || awayTeamId == TeamDictionary.UNKNOWN_TEAM_ID) {
+            return Optional.empty();
+        }
+
+        var slot = teamSlotIndex.findSlot(homeTeamId, awayTeamId);
+        return slot < 0 ? Optional.empty() : Optional.of(toMatch(slot));
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        if (findSlot(match.id()) >= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()));
+        }
+
+        ensureCapacity(size + 1);
+        var slot = size++;
+        idMostSignificantBits[slot] = match.id().getMostSignificantBits();
+        idLeastSignificantBits[slot] = match.id().getLeastSignificantBits();
+        scores[slot] = packScores(match.homeTeamScore().score(), match.awayTeamScore().score());
+        startTimes[slot] = toEpochNanos(match.startTime());
+        startSequences[slot] = match.startSequence();
+        versions[slot] = match.version();
+        slotIndex.add(slot);
+        teamSlotIndex.add(
+                slot,
+                teamDictionary.intern(match.homeTeamScore().teamName()),
+                teamDictionary.intern(match.awayTeamScore().teamName()));
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()));
+        }
+
+        writeMatchState(slot, match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+
+        var updatedMatch = remappingFunction.apply(toMatch(slot));
+        writeMatchState(slot, updatedMatch);
+        return Optional.of(updatedMatch);
+    }
+
+    /**
+     * Updates the packed scores and the version of the slot in place; no object is allocated.
+     */
+    @Override
+    public boolean updateScoreIfPresent(UUID id, int homeTeamScore, int awayTeamScore, long version) {
+        var slot = findSlot(id);
+        if (slot < 0) {
+            return false;
+        }
+
+        var packedScores = scores[slot];
+        Scoreboard.validateScoreTransition(homeScore(packedScores), awayScore(packedScores), homeTeamScore, awayTeamScore);
+        scores[slot] = packScores(homeTeamScore, awayTeamScore);
+        versions[slot] = version;
+        return true;
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        removeMatchIfPresent(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        var slot = slotIndex.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+
+        teamSlotIndex.remove(slot);
+
+        // keeping the slots dense by moving the last slot into the freed slot
+        var lastSlot = --size;
+        if (slot != lastSlot) {
+            idMostSignificantBits[slot] = idMostSignificantBits[lastSlot];
+            idLeastSignificantBits[slot] = idLeastSignificantBits[lastSlot];
+            scores[slot] = scores[lastSlot];
+            startTimes[slot] = startTimes[lastSlot];
+            startSequences[slot] = startSequences[lastSlot];
+            versions[slot] = versions[lastSlot];
+            slotIndex.move(idMostSignificantBits[slot], idLeastSignificantBits[slot], slot);
+            teamSlotIndex.move(lastSlot, slot);
+        }
+        return true;
+    }
+
+    private Match toMatch(int slot) {
+        return new Match(
+                new UUID(idMostSignificantBits[slot], idLeastSignificantBits[slot]),
+                new TeamScore(teamDictionary.teamName(teamSlotIndex.homeTeamId(slot)), homeScore(scores[slot])),
+                new TeamScore(teamDictionary.teamName(teamSlotIndex.awayTeamId(slot)), awayScore(scores[slot])),
+                toLocalDateTime(startTimes[slot]),
+                startSequences[slot],
+                versions[slot]);
+    }
+
+    private void writeMatchState(int slot, Match match) {
+        scores[slot] = packScores(match.homeTeamScore().score(), match.awayTeamScore().score());
+        startTimes[slot] = toEpochNanos(match.startTime());
+        startSequences[slot] = match.startSequence();
+        versions[slot] = match.version();
+
+        var homeTeamId = teamDictionary.intern(match.homeTeamScore().teamName());
+        var awayTeamId = teamDictionary.intern(match.awayTeamScore().teamName());
+        if (homeTeamId != teamSlotIndex.homeTeamId(slot) || awayTeamId != teamSlotIndex.awayTeamId(slot)) {
+            teamSlotIndex.remove(slot);
+            teamSlotIndex.add(slot, homeTeamId, awayTeamId);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= idMostSignificantBits.length) {
+            return;
+        }
+
+        var newCapacity = Math.max(capacity, idMostSignificantBits.length * 2);
+        idMostSignificantBits = Arrays.copyOf(idMostSignificantBits, newCapacity);
+        idLeastSignificantBits = Arrays.copyOf(idLeastSignificantBits, newCapacity);
+        scores = Arrays.copyOf(scores, newCapacity);
+        startTimes = Arrays.copyOf(startTimes, newCapacity);
+        startSequences = Arrays.copyOf(startSequences, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+        slotIndex.ensureCapacity(newCapacity, size);
+        teamSlotIndex.ensureCapacity(newCapacity);
+    }
+
+    private int findSlot(UUID id) {
+        return slotIndex.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    static long packScores(int homeTeamScore, int awayTeamScore) {
+        return ((long) homeTeamScore << 32) | (awayTeamScore & 0xFFFFFFFFL);
+    }
+
+    static int homeScore(long packedScores) {
+        return (int) (packedScores >>> 32);
+    }
+
+    static int awayScore(long packedScores) {
+        return (int) packedScores;
+    }
+
+    static long toEpochNanos(LocalDateTime dateTime) {
+        return Math.addExact(
+                Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                dateTime.getNano());
+    }
+
+    static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND),
+                ZoneOffset.UTC);
+    }
+}
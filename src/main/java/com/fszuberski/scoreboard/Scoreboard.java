@@ -1,16 +1,43 @@
 package com.fszuberski.scoreboard;
 
 import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.RankedMatch;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreUpdateFailure;
+import com.fszuberski.scoreboard.domain.ScoreboardDelta;
+import com.fszuberski.scoreboard.domain.SummaryCacheStatistics;
 import com.fszuberski.scoreboard.domain.TeamScore;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchFinished;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchStarted;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.RankChanged;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.ScoreUpdated;
+import com.fszuberski.scoreboard.event.ScoreboardListener;
+import com.fszuberski.scoreboard.event.Subscription;
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
-
-import static com.fszuberski.scoreboard.Comparators.totalScoreAndStartTimeComparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public class Scoreboard {
+    private static final int MAX_MATCHES_RANKED_INDIVIDUALLY = 16;
 
     private final MatchStore matchStore;
+    private final TeamDictionary teamDictionary;
+    private final ScoreboardEventPublisher eventPublisher;
+    private final ScoreboardChangeJournal changeJournal;
+    private final SummaryCache summaryCache;
+    private final ScoreboardInstrumentation instrumentation;
+    // false for the no-op instrumentation, so that a scoreboard which is not instrumented does not even read the clock
+    private final boolean instrumented;
 
     /**
      * Default constructor for the {@link Scoreboard} class.
@@ -22,24 +49,72 @@ public class Scoreboard {
     }
 
     /**
-     * Canonical constructor for the {@link Scoreboard} class.
+     * Constructor for the {@link Scoreboard} class which takes no measurements (see
+     * {@link #Scoreboard(MatchStore, ScoreboardInstrumentation)}).
      *
      * @param matchStore a concrete implementation for the {@link MatchStore} interface. Cannot be null.
      */
     public Scoreboard(MatchStore matchStore) {
+        this(matchStore, ScoreboardInstrumentation.NOOP);
+    }
+
+    /**
+     * Canonical constructor for the {@link Scoreboard} class.
+     *
+     * @param matchStore      a concrete implementation for the {@link MatchStore} interface. Cannot be null.
+     * @param instrumentation the instrumentation receiving the counts and durations of the operations of the
+     *                        scoreboard, e.g. {@link com.fszuberski.scoreboard.metrics.ScoreboardMetrics}, or
+     *                        {@link ScoreboardInstrumentation#NOOP} in order to take no measurements. Cannot be null.
+     */
+    public Scoreboard(MatchStore matchStore, ScoreboardInstrumentation instrumentation) {
         if (matchStore == null) {
             throw new IllegalArgumentException("MatchStore cannot be null.");
         }
+
+        if (instrumentation == null) {
+            throw new IllegalArgumentException("Instrumentation cannot be null.");
+        }
         this.matchStore = matchStore;
+        this.teamDictionary = new TeamDictionary();
+        this.eventPublisher = new ScoreboardEventPublisher();
+        // the versions continue after the latest version of the matches already in the store, e.g. recovered by
+        // a durable store, so that matches started later are ordered as more recently started
+        this.changeJournal = new ScoreboardChangeJournal(ScoreboardChangeJournal.DEFAULT_CAPACITY, matchStore.latestVersion());
+        this.summaryCache = new SummaryCache(matchStore, changeJournal);
+        this.instrumentation = instrumentation;
+        this.instrumented = instrumentation != ScoreboardInstrumentation.NOOP;
+        if (instrumented) {
+            instrumentation.matchesLoaded(matchStore.getAllMatches().size());
+        }
     }
 
     /**
      * Starts a new match with the initial score of 0 : 0 and saves it to the store.
+     * Team names are interned, so all matches of a team share a single instance of its name.
+     * A match between the same home and away team cannot already be in progress.
+     * The match is started at the next version of the scoreboard, which becomes both its start sequence and its
+     * version; every score update stamps the match with the version of the update.
      *
      * @param homeTeamName the home team name. Cannot be null or blank.
      * @param awayTeamName the away team name. Cannot be null or blank.
      */
     public UUID startMatch(String homeTeamName, String awayTeamName) {
+        if (!instrumented) {
+            return start(homeTeamName, awayTeamName);
+        }
+
+        var startNanos = System.nanoTime();
+        try {
+            var matchId = start(homeTeamName, awayTeamName);
+            instrumentation.matchStarted(System.nanoTime() - startNanos);
+            return matchId;
+        } catch (IllegalArgumentException e) {
+            instrumentation.matchStartRejected();
+            throw e;
+        }
+    }
+
+    private UUID start(String homeTeamName, String awayTeamName) {
         if (homeTeamName == null || homeTeamName.isBlank()) {
             throw new IllegalArgumentException("HomeTeamName cannot be null or blank.");
         }
@@ -48,11 +123,35 @@ public class Scoreboard {
             throw new IllegalArgumentException("AwayTeamName cannot be null or blank.");
         }
 
-        var match = new Match(
-                new TeamScore(homeTeamName),
-                new TeamScore(awayTeamName));
+        if (matchStore.findMatchByTeams(homeTeamName, awayTeamName).isPresent()) {
+            throw matchAlreadyInProgress(homeTeamName, awayTeamName);
+        }
+
+        var matchId = UUID.randomUUID();
+        var version = changeJournal.startChange();
+        // any failure of the store gives the version back
+        var changed = false;
+        Match match;
+        try {
+            match = new Match(
+                    matchId,
+                    new TeamScore(teamDictionary.internTeamName(homeTeamName)),
+                    new TeamScore(teamDictionary.internTeamName(awayTeamName)),
+                    LocalDateTime.now(),
+                    version,
+                    version);
+            if (!matchStore.saveMatchIfFixtureAbsent(match)) {
+                // a match between the teams has been started concurrently since the lookup above
+                throw matchAlreadyInProgress(homeTeamName, awayTeamName);
+            }
+            changed = true;
+        } finally {
+            completeChange(version, matchId, changed);
+        }
 
-        matchStore.saveMatch(match);
+        if (eventPublisher.hasSubscriptions()) {
+            eventPublisher.publish(new MatchStarted(match));
+        }
         return match.id();
     }
 
@@ -64,34 +163,102 @@ public class Scoreboard {
      * @param awayTeamScore a new absolute value of the away team score. The new score cannot be lower than the previous score.
      */
     public void updateMatchScore(UUID matchId, int homeTeamScore, int awayTeamScore) {
+        if (!instrumented) {
+            updateScore(matchId, homeTeamScore, awayTeamScore);
+            return;
+        }
+
+        var startNanos = System.nanoTime();
+        try {
+            updateScore(matchId, homeTeamScore, awayTeamScore);
+            instrumentation.scoreUpdated(System.nanoTime() - startNanos);
+        } catch (IllegalArgumentException e) {
+            instrumentation.scoreUpdateRejected();
+            throw e;
+        }
+    }
+
+    private void updateScore(UUID matchId, int homeTeamScore, int awayTeamScore) {
         if (matchId == null) {
             throw new IllegalArgumentException("MatchId cannot be null.");
         }
 
-        var matchOptional = matchStore.getMatch(matchId);
+        ScoreUpdated scoreUpdated;
+        var version = changeJournal.startChange();
+        // a rejected update or any failure of the store has not changed the match
+        var changed = false;
+        try {
+            scoreUpdated = applyScore(matchId, homeTeamScore, awayTeamScore, version);
+            changed = true;
+        } finally {
+            completeChange(version, matchId, changed);
+        }
 
-        if (matchOptional.isEmpty()) {
-            throw new IllegalArgumentException(String.format("Match with id='%s' is not currently in progress.", matchId));
+        if (scoreUpdated != null) {
+            publishScoreUpdated(scoreUpdated);
         }
+    }
 
-        var match = matchOptional.get();
-        if (match.homeTeamScore().score() > homeTeamScore || match.awayTeamScore().score() > awayTeamScore) {
-            throw new IllegalArgumentException("New score cannot be lower than the previous score.");
+    /**
+     * Updates the scores of multiple existing matches in a single pass over the store. The updates are applied in
+     * the passed order; an update which cannot be applied is reported as a failure instead of interrupting the batch.
+     * The events of the applied updates are published once the batch completes; their ranks are computed against
+     * the state of the scoreboard after the batch.
+     *
+     * @param scoreUpdates the score updates that should be applied. Cannot be null or contain null elements.
+     * @return a list of failures of the updates which were not applied; empty if all updates were applied.
+     */
+    public List<ScoreUpdateFailure> updateMatchScores(Collection<ScoreUpdate> scoreUpdates) {
+        if (scoreUpdates == null) {
+            throw new IllegalArgumentException("ScoreUpdates cannot be null.");
         }
 
-        // Creating a new Match object instead of mutating the existing object
-        var updatedMatch = new Match(
-                matchId,
-                new TeamScore(
-                        match.homeTeamScore().teamName(),
-                        homeTeamScore),
-                new TeamScore(
-                        match.awayTeamScore().teamName(),
-                        awayTeamScore),
-                match.startTime()
-        );
+        if (scoreUpdates.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ScoreUpdates cannot contain null elements.");
+        }
+
+        var startNanos = instrumented ? System.nanoTime() : 0;
+        var failures = new ArrayList<ScoreUpdateFailure>();
+        var scoreUpdatedEvents = new ArrayList<ScoreUpdated>();
+        // the changes of the batch are completed together, as stores may publish the writes of a batch only at its end
+        var versions = new long[scoreUpdates.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = changeJournal.startChange();
+        }
+        // an update is only completed as a change once the store has applied it
+        var applied = new boolean[versions.length];
+        try {
+            matchStore.executeInBatch(() -> {
+                var i = 0;
+                for (ScoreUpdate scoreUpdate : scoreUpdates) {
+                    var index = i++;
+                    var version = versions[index];
+                    try {
+                        var scoreUpdated = applyScore(
+                                scoreUpdate.matchId(), scoreUpdate.homeTeamScore(), scoreUpdate.awayTeamScore(), version);
+                        applied[index] = true;
+                        if (scoreUpdated != null) {
+                            scoreUpdatedEvents.add(scoreUpdated);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        failures.add(new ScoreUpdateFailure(scoreUpdate, e.getMessage()));
+                    }
+                }
+            });
+        } finally {
+            var matchIds = scoreUpdates.stream().map(ScoreUpdate::matchId).toArray(UUID[]::new);
+            // completed from the last change, so that the versions of rejected updates at the end of the batch are given back
+            for (int i = versions.length - 1; i >= 0; i--) {
+                completeChange(versions[i], matchIds[i], applied[i]);
+            }
+        }
+        scoreUpdatedEvents.forEach(this::publishScoreUpdated);
 
-        matchStore.updateMatch(matchId, updatedMatch);
+        if (instrumented) {
+            instrumentation.scoreUpdateBatchApplied(
+                    scoreUpdates.size() - failures.size(), failures.size(), System.nanoTime() - startNanos);
+        }
+        return failures;
     }
 
     /**
@@ -103,20 +270,351 @@ public class Scoreboard {
         if (matchId == null) {
             throw new IllegalArgumentException("MatchId cannot be null.");
         }
-        matchStore.removeMatch(matchId);
+
+        var startNanos = instrumented ? System.nanoTime() : 0;
+        var version = changeJournal.startChange();
+        var changed = false;
+        var finishedMatch = Optional.<Match>empty();
+        try {
+            // the state of the finished match is only returned by the store if it is published
+            if (eventPublisher.hasSubscriptions()) {
+                finishedMatch = matchStore.removeAndGetMatch(matchId);
+                changed = finishedMatch.isPresent();
+            } else {
+                changed = matchStore.removeMatchIfPresent(matchId);
+            }
+        } finally {
+            completeChange(version, matchId, changed);
+        }
+
+        if (instrumented) {
+            // only the finish which has removed the match reports it, so concurrent finishes count it once
+            instrumentation.matchFinished(changed, System.nanoTime() - startNanos);
+        }
+        // only the finish which has removed the match publishes it, in the state the match had when it was removed
+        finishedMatch.ifPresent(match -> eventPublisher.publish(new MatchFinished(match)));
     }
 
     /**
      * Returns a summary of matches in progress ordered by their total score. The matches with the
      * same total score are returned ordered by the most recently started match in the scoreboard.
+     * The summary is cached until the next change made through this scoreboard; after a change, only the changed
+     * matches are re-positioned in the cached summary (see {@link #getSummaryCacheStatistics()}). The store must
+     * therefore only be written through this scoreboard. Stores which publish their ordered matches on every write
+     * (see {@link MatchStore#publishesOrderedMatches()}) are read directly.
      *
-     * @return a list of ongoing matches.
+     * @return an immutable list of ongoing matches.
      */
     public List<Match> getOngoingMatches() {
-        return matchStore
-                .getAllMatches()
+        if (!instrumented) {
+            return summaryCache.getSummary();
+        }
+
+        var startNanos = System.nanoTime();
+        var summary = summaryCache.getSummary();
+        instrumentation.summaryRetrieved(System.nanoTime() - startNanos);
+        return summary;
+    }
+
+    /**
+     * Returns a page of the summary of matches in progress, ordered the same way as {@link #getOngoingMatches()}.
+     *
+     * @param offset the number of matches that should be skipped. Cannot be less than 0.
+     * @param limit  the maximum number of matches that should be returned. Cannot be less than 0.
+     * @return a list of at most {@code limit} ongoing matches.
+     */
+    public List<Match> getOngoingMatches(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be less than 0.");
+        }
+
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be less than 0.");
+        }
+
+        return matchStore.getOrderedMatches(offset, limit);
+    }
+
+    /**
+     * Returns the top matches in progress, ordered the same way as {@link #getOngoingMatches()}.
+     * Does not require ordering all ongoing matches.
+     *
+     * @param numberOfMatches the maximum number of matches that should be returned. Cannot be less than 0.
+     * @return a list of at most {@code numberOfMatches} ongoing matches with the highest total scores.
+     */
+    public List<Match> getTopMatches(int numberOfMatches) {
+        if (numberOfMatches < 0) {
+            throw new IllegalArgumentException("NumberOfMatches cannot be less than 0.");
+        }
+
+        return matchStore.getOrderedMatches(0, numberOfMatches);
+    }
+
+    /**
+     * Returns the matches in progress in which the team with the passed name plays, either as the home or the away
+     * team, ordered the same way as {@link #getOngoingMatches()}.
+     *
+     * @param teamName the name of the team. Cannot be null or blank.
+     * @return a list of ongoing matches of the team.
+     */
+    public List<Match> getOngoingMatchesByTeam(String teamName) {
+        if (teamName == null || teamName.isBlank()) {
+            throw new IllegalArgumentException("TeamName cannot be null or blank.");
+        }
+
+        return matchStore.findMatchesByTeam(teamName)
                 .stream()
-                .sorted(totalScoreAndStartTimeComparator.reversed())
+                .sorted(Comparators.summaryComparator)
                 .toList();
     }
+
+    /**
+     * Returns the match in progress between the passed home and away team.
+     *
+     * @param homeTeamName the home team name. Cannot be null or blank.
+     * @param awayTeamName the away team name. Cannot be null or blank.
+     * @return an optional containing the ongoing match between the teams, or an empty optional if there is none.
+     */
+    public Optional<Match> getOngoingMatch(String homeTeamName, String awayTeamName) {
+        if (homeTeamName == null || homeTeamName.isBlank()) {
+            throw new IllegalArgumentException("HomeTeamName cannot be null or blank.");
+        }
+
+        if (awayTeamName == null || awayTeamName.isBlank()) {
+            throw new IllegalArgumentException("AwayTeamName cannot be null or blank.");
+        }
+
+        return matchStore.findMatchByTeams(homeTeamName, awayTeamName);
+    }
+
+    /**
+     * Returns the version of the scoreboard, incremented by every change of the ongoing matches made through this
+     * scoreboard, see {@link #getDelta(long)}. Matches carry the versions at which they have been started
+     * ({@link Match#startSequence()}) and last changed ({@link Match#version()}).
+     *
+     * @return the current version of the scoreboard.
+     */
+    public long getVersion() {
+        return changeJournal.version();
+    }
+
+    /**
+     * Returns the changes of the summary of ongoing matches since the passed version, so that clients holding the
+     * summary at that version can bring it up to date without receiving the whole summary again. Only the matches
+     * changed since the version are ranked; if the changes since the version are no longer kept, the delta contains
+     * the whole summary instead. The delta reflects a consistent state of the scoreboard at the returned version.
+     * If the scoreboard is changed without a pause long enough to read such a state, the delta contains the whole
+     * summary at the latest version up to which all changes have completed instead; the summary may also reflect
+     * some of the later changes, which are reported again by the next delta.
+     *
+     * @param sinceVersion the version of the summary held by the client. Cannot be less than 0 or greater than the
+     *                     current version.
+     * @return the changes of the summary since the passed version.
+     */
+    public ScoreboardDelta getDelta(long sinceVersion) {
+        if (sinceVersion < 0) {
+            throw new IllegalArgumentException("Version cannot be less than 0.");
+        }
+
+        var delta = changeJournal.read(version -> {
+            validateSinceVersion(sinceVersion, version);
+
+            var changedMatchIds = changeJournal.changedMatchIds(sinceVersion, version);
+            if (changedMatchIds == null) {
+                return new ScoreboardDelta(sinceVersion, version, true, List.of(), rankAll(matchStore.getOrderedMatches()));
+            }
+
+            var removedMatchIds = new ArrayList<UUID>();
+            var changedMatches = new ArrayList<Match>();
+            for (UUID matchId : changedMatchIds) {
+                matchStore.getMatch(matchId).ifPresentOrElse(changedMatches::add, () -> removedMatchIds.add(matchId));
+            }
+            return new ScoreboardDelta(sinceVersion, version, false, removedMatchIds, rank(changedMatches));
+        });
+        if (delta != null) {
+            return delta;
+        }
+
+        // every change up to the completed version is reflected by the summary read after it has been found
+        validateSinceVersion(sinceVersion, changeJournal.version());
+        var completedVersion = changeJournal.completedVersion(sinceVersion);
+        return new ScoreboardDelta(sinceVersion, completedVersion, true, List.of(), rankAll(matchStore.getOrderedMatches()));
+    }
+
+    private static void validateSinceVersion(long sinceVersion, long version) {
+        if (sinceVersion > version) {
+            throw new IllegalArgumentException(
+                    String.format("Version=%d cannot be greater than the current version=%d.", sinceVersion, version));
+        }
+    }
+
+    /**
+     * Returns the number of summaries served by {@link #getOngoingMatches()} from the cache and recomputed after
+     * changes, and the time spent recomputing them, so the effectiveness of the cache under the actual mix of reads
+     * and writes can be monitored.
+     *
+     * @return the statistics of the cached summary since the scoreboard has been created.
+     */
+    public SummaryCacheStatistics getSummaryCacheStatistics() {
+        return summaryCache.statistics();
+    }
+
+    /**
+     * Subscribes the passed listener to the events of the scoreboard, delivered by the common fork-join pool.
+     * See {@link #subscribe(ScoreboardListener, Executor)}.
+     *
+     * @param listener the listener that should receive the events. Cannot be null.
+     * @return the subscription of the listener.
+     */
+    public Subscription subscribe(ScoreboardListener listener) {
+        return subscribe(listener, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Subscribes the passed listener to the events of the scoreboard, published after every change of the ongoing
+     * matches made through this scoreboard. Publishing never blocks the thread changing the scoreboard; the events are
+     * queued per subscription and delivered in order by tasks executed on the passed executor, one task at a time.
+     * Exceptions thrown by the listener are passed to the uncaught exception handler of the delivering thread and do not
+     * stop the delivery of the following events. Events are not created at all while there are no subscriptions.
+     * Events of concurrent changes of the same match may be published out of order; see {@link ScoreboardListener}.
+     *
+     * @param listener the listener that should receive the events. Cannot be null.
+     * @param executor the executor delivering the events. Cannot be null.
+     * @return the subscription of the listener.
+     */
+    public Subscription subscribe(ScoreboardListener listener, Executor executor) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+
+        return eventPublisher.subscribe(listener, executor);
+    }
+
+    /**
+     * @return the event of the applied score update if the event should be published, or null otherwise.
+     */
+    private ScoreUpdated applyScore(UUID matchId, int homeTeamScore, int awayTeamScore, long version) {
+        if (!eventPublisher.hasSubscriptions()) {
+            // Without subscriptions neither state of the match is needed, so stores keeping matches in slots
+            // update the slot in place instead of replacing the match with a new Match object
+            if (!matchStore.updateScoreIfPresent(matchId, homeTeamScore, awayTeamScore, version)) {
+                throw matchNotInProgress(matchId);
+            }
+            return null;
+        }
+
+        // The score transition is validated and applied by the store in a single step, so that stores
+        // supporting atomic updates never apply a score based on a stale state of the match
+        var previousMatch = new Match[1];
+        var updatedMatch = matchStore.computeMatchIfPresent(
+                matchId,
+                match -> {
+                    previousMatch[0] = match;
+                    return withScore(match, homeTeamScore, awayTeamScore, version);
+                });
+
+        if (updatedMatch.isEmpty()) {
+            throw matchNotInProgress(matchId);
+        }
+
+        return new ScoreUpdated(previousMatch[0], updatedMatch.get());
+    }
+
+    private static IllegalArgumentException matchAlreadyInProgress(String homeTeamName, String awayTeamName) {
+        return new IllegalArgumentException(String.format(
+                "Cannot start match between home team='%s' and away team='%s'; a match between these teams is already in progress.",
+                homeTeamName, awayTeamName));
+    }
+
+    private static IllegalArgumentException matchNotInProgress(UUID matchId) {
+        return new IllegalArgumentException(String.format("Match with id='%s' is not currently in progress.", matchId));
+    }
+
+    /**
+     * Completes the change in the journal, or abandons it if it has not changed the match, so that changes which
+     * have not been applied neither move the version of the scoreboard nor are reported by {@link #getDelta(long)}.
+     */
+    private void completeChange(long version, UUID matchId, boolean changed) {
+        if (changed) {
+            changeJournal.completeChange(version, matchId);
+        } else {
+            changeJournal.abandonChange(version);
+        }
+    }
+
+    private void publishScoreUpdated(ScoreUpdated scoreUpdated) {
+        eventPublisher.publish(scoreUpdated);
+
+        // both ranks are computed together, against the same state of the other matches
+        var ranks = matchStore.getRanks(List.of(scoreUpdated.previousMatch(), scoreUpdated.match()));
+        var previousRank = ranks[0];
+        var rank = ranks[1];
+        if (previousRank != rank) {
+            eventPublisher.publish(new RankChanged(scoreUpdated.match(), previousRank, rank));
+        }
+    }
+
+    private List<RankedMatch> rank(List<Match> matches) {
+        List<RankedMatch> rankedMatches;
+        if (matches.size() <= MAX_MATCHES_RANKED_INDIVIDUALLY) {
+            // a few ranks are computed by the store without ordering all ongoing matches
+            var ranks = matchStore.getRanks(matches);
+            rankedMatches = new ArrayList<>(matches.size());
+            for (int i = 0; i < ranks.length; i++) {
+                rankedMatches.add(new RankedMatch(ranks[i], matches.get(i)));
+            }
+        } else {
+            var matchIds = matches.stream().map(Match::id).collect(Collectors.toSet());
+            rankedMatches = rankAll(matchStore.getOrderedMatches())
+                    .stream()
+                    .filter(rankedMatch -> matchIds.contains(rankedMatch.match().id()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        rankedMatches.sort(Comparator.comparingInt(RankedMatch::rank));
+        return rankedMatches;
+    }
+
+    private static List<RankedMatch> rankAll(List<Match> orderedMatches) {
+        var rankedMatches = new ArrayList<RankedMatch>(orderedMatches.size());
+        for (int rank = 0; rank < orderedMatches.size(); rank++) {
+            rankedMatches.add(new RankedMatch(rank, orderedMatches.get(rank)));
+        }
+        return rankedMatches;
+    }
+
+    /**
+     * @return the passed match with the passed scores, stamped with the passed version.
+     * @throws IllegalArgumentException if any of the scores is lower than the score of the match.
+     */
+    static Match withScore(Match match, int homeTeamScore, int awayTeamScore, long version) {
+        validateScoreTransition(match.homeTeamScore().score(), match.awayTeamScore().score(), homeTeamScore, awayTeamScore);
+
+        // Creating a new Match object instead of mutating the existing object; the TeamScore of a team
+        // whose score has not changed is reused
+        return new Match(
+                match.id(),
+                withScore(match.homeTeamScore(), homeTeamScore),
+                withScore(match.awayTeamScore(), awayTeamScore),
+                match.startTime(),
+                match.startSequence(),
+                version
+        );
+    }
+
+    /**
+     * @throws IllegalArgumentException if any of the new scores is lower than the previous score.
+     */
+    static void validateScoreTransition(int previousHomeTeamScore, int previousAwayTeamScore, int homeTeamScore, int awayTeamScore) {
+        if (previousHomeTeamScore > homeTeamScore || previousAwayTeamScore > awayTeamScore) {
+            throw new IllegalArgumentException("New score cannot be lower than the previous score.");
+        }
+    }
+
+    private static TeamScore withScore(TeamScore teamScore, int score) {
+        return teamScore.score() == score ? teamScore : new TeamScore(teamScore.teamName(), score);
+    }
 }
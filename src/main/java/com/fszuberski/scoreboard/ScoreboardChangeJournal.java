@@ -0,0 +1,216 @@
+package com.fszuberski.scoreboard;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Versions the changes of a {@link Scoreboard} and keeps the ids of the matches changed by the most recent changes
+ * in a ring buffer, so the matches changed since a version can be found without comparing whole summaries.
+ * <p>
+ * Every change is assigned the next version when it starts and is recorded in the journal when it completes.
+ * The version of the scoreboard is the number of completed changes; it is only observed while no change is
+ * in progress, so reads performed in between two observations of the same version see a consistent state
+ * (see {@link #read(LongFunction)}). While the scoreboard is changed without a pause, the latest version up to which
+ * all changes have completed can be found instead (see {@link #completedVersion(long)}).
+ * <p>
+ * The entries of the ring buffer are kept in preallocated parallel arrays of versions and match ids, so completing
+ * a change does not allocate.
+ */
+final class ScoreboardChangeJournal {
+    static final int DEFAULT_CAPACITY = 16_384;
+
+    private static final int MAX_READ_ATTEMPTS = 100;
+    // a reader spins for the first attempts, then parks for exponentially growing periods, so writers can finish
+    private static final int SPINNING_READ_ATTEMPTS = 64;
+    private static final long MAX_READ_BACKOFF_NANOS = 1_000_000;
+    // marks an entry being overwritten; versions of changes start at 1
+    private static final long ENTRY_BEING_WRITTEN = 0;
+
+    private final AtomicLong startedChanges = new AtomicLong();
+    private final AtomicLong completedChanges = new AtomicLong();
+    // an entry holds the id of the match changed at its version
+    private final AtomicLongArray entryVersions;
+    private final AtomicReferenceArray<UUID> entryMatchIds;
+
+    ScoreboardChangeJournal() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * @param capacity       the number of the most recent changes kept in the journal
+     * @param initialVersion the version the journal starts at; the changes up to it are not kept
+     */
+    ScoreboardChangeJournal(int capacity, long initialVersion) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity cannot be less than 1.");
+        }
+
+        if (initialVersion < 0) {
+            throw new IllegalArgumentException("InitialVersion cannot be less than 0.");
+        }
+        this.entryVersions = new AtomicLongArray(capacity);
+        this.entryMatchIds = new AtomicReferenceArray<>(capacity);
+        this.startedChanges.set(initialVersion);
+        this.completedChanges.set(initialVersion);
+    }
+
+    /**
+     * Starts a change and assigns it the next version. Every started change has to be completed, either with
+     * {@link #completeChange(long, UUID)} if it has been applied or with {@link #abandonChange(long)} if it has not.
+     *
+     * @return the version of the change.
+     */
+    long startChange() {
+        return startedChanges.incrementAndGet();
+    }
+
+    /**
+     * Completes a change started with {@link #startChange()}.
+     *
+     * @param version the version of the change
+     * @param matchId the id of the changed match
+     */
+    void completeChange(long version, UUID matchId) {
+        var index = index(version);
+        // the entry is marked while it is overwritten, so a reader never pairs a version with the id of another change
+        entryVersions.set(index, ENTRY_BEING_WRITTEN);
+        entryMatchIds.set(index, matchId);
+        entryVersions.set(index, version);
+        completedChanges.incrementAndGet();
+    }
+
+    /**
+     * Completes a change started with {@link #startChange()} which has not changed any match, e.g. a rejected score
+     * update. The version is given back if no other change has been started since, so the version of the scoreboard
+     * does not move; otherwise it is recorded as an empty change, which is not reported by
+     * {@link #changedMatchIds(long, long)}.
+     *
+     * @param version the version of the change
+     */
+    void abandonChange(long version) {
+        if (startedChanges.compareAndSet(version, version - 1)) {
+            return;
+        }
+
+        var index = index(version);
+        entryVersions.set(index, ENTRY_BEING_WRITTEN);
+        entryMatchIds.set(index, null);
+        entryVersions.set(index, version);
+        completedChanges.incrementAndGet();
+    }
+
+    /**
+     * @return the number of completed changes.
+     */
+    long version() {
+        return completedChanges.get();
+    }
+
+    /**
+     * Executes the passed read at a version at which no change is in progress and retries it, backing off between
+     * the attempts, if a change has been started before the read completed, so the result of the read reflects
+     * exactly the changes up to that version.
+     *
+     * @param read the read, receiving the version it is executed at. Cannot return null.
+     * @return the result of the read, or null if the read has been interrupted by changes too many times.
+     */
+    <T> T read(LongFunction<T> read) {
+        return read(read, MAX_READ_ATTEMPTS);
+    }
+
+    /**
+     * Executes the passed read once, like {@link #read(LongFunction)}, but gives up instead of retrying if a change
+     * is in progress or has been started before the read completed.
+     *
+     * @param read the read, receiving the version it is executed at. Cannot return null.
+     * @return the result of the read, or null if the read has been interrupted by a change.
+     */
+    <T> T tryRead(LongFunction<T> read) {
+        return read(read, 1);
+    }
+
+    /**
+     * Returns the latest version up to which all changes have completed, which may be lower than {@link #version()}
+     * while changes complete out of order. Unlike a read at a version at which no change is in progress, it does not
+     * wait for the changes in progress, so a read following it reflects at least the changes up to that version.
+     *
+     * @param fromVersion a version up to which all changes are known to have completed
+     * @return the latest version up to which all changes have completed; not lower than the passed version.
+     */
+    long completedVersion(long fromVersion) {
+        var startedVersion = startedChanges.get();
+        // the entries of changes older than the capacity have been overwritten by changes completed since
+        var version = Math.max(fromVersion, startedVersion - entryVersions.length());
+        // an entry overwritten by a later change is not older than the change, an entry being written is
+        while (version < startedVersion && entryVersions.get(index(version + 1)) >= version + 1) {
+            version++;
+        }
+        return version;
+    }
+
+    private <T> T read(LongFunction<T> read, int maxAttempts) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            var version = completedChanges.get();
+            if (startedChanges.get() == version) {
+                var result = read.apply(version);
+                if (startedChanges.get() == version) {
+                    return result;
+                }
+            }
+
+            if (attempt + 1 < maxAttempts) {
+                backOff(attempt);
+            }
+        }
+        return null;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPINNING_READ_ATTEMPTS) {
+            Thread.onSpinWait();
+            return;
+        }
+
+        var shift = Math.min(attempt - SPINNING_READ_ATTEMPTS, 20);
+        LockSupport.parkNanos(Math.min(1_000L << shift, MAX_READ_BACKOFF_NANOS));
+    }
+
+    /**
+     * @param fromVersion the version after which the changes should be returned
+     * @param toVersion   the version up to which the changes should be returned
+     * @return the ids of the matches changed in between the versions in the order of their first change, or null if
+     * some of the changes are no longer kept in the journal.
+     */
+    Set<UUID> changedMatchIds(long fromVersion, long toVersion) {
+        if (toVersion - fromVersion > entryVersions.length()) {
+            return null;
+        }
+
+        var matchIds = new LinkedHashSet<UUID>();
+        for (long version = fromVersion + 1; version <= toVersion; version++) {
+            var index = index(version);
+            // the version is read before and after the id, so the id is known to have been written with the version
+            var entryVersion = entryVersions.get(index);
+            var matchId = entryMatchIds.get(index);
+            if (entryVersion != version || entryVersions.get(index) != version) {
+                return null;
+            }
+
+            // an abandoned change has not changed any match
+            if (matchId != null) {
+                matchIds.add(matchId);
+            }
+        }
+        return matchIds;
+    }
+
+    private int index(long version) {
+        return (int) (version % entryVersions.length());
+    }
+}
@@ -0,0 +1,114 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.event.ScoreboardEvent;
+import com.fszuberski.scoreboard.event.ScoreboardListener;
+import com.fszuberski.scoreboard.event.Subscription;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes {@link ScoreboardEvent ScoreboardEvents} to the subscribed {@link ScoreboardListener ScoreboardListeners}
+ * without blocking the publishing thread. Every subscription has its own unbounded queue of pending events, drained
+ * on the {@link Executor} of the subscription by at most one task at a time, so the events of a subscription are
+ * delivered in order while a slow listener delays neither the publisher nor the other listeners.
+ */
+final class ScoreboardEventPublisher {
+    private final CopyOnWriteArrayList<QueuedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Enables callers to skip creating events (and computing their contents) if nobody would receive them.
+     */
+    boolean hasSubscriptions() {
+        return !subscriptions.isEmpty();
+    }
+
+    Subscription subscribe(ScoreboardListener listener, Executor executor) {
+        var subscription = new QueuedSubscription(listener, executor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void publish(ScoreboardEvent event) {
+        for (QueuedSubscription subscription : subscriptions) {
+            subscription.enqueue(event);
+        }
+    }
+
+    private final class QueuedSubscription implements Subscription {
+        private final ScoreboardListener listener;
+        private final Executor executor;
+        private final Queue<ScoreboardEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger numberOfPendingEvents = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        QueuedSubscription(ScoreboardListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            pendingEvents.clear();
+            numberOfPendingEvents.set(0);
+        }
+
+        @Override
+        public int pendingEvents() {
+            return numberOfPendingEvents.get();
+        }
+
+        void enqueue(ScoreboardEvent event) {
+            pendingEvents.add(event);
+            numberOfPendingEvents.incrementAndGet();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!cancelled && draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the pending events stay queued; the drain is scheduled again when the next event is published
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                ScoreboardEvent event;
+                while (!cancelled && (event = pendingEvents.poll()) != null) {
+                    numberOfPendingEvents.decrementAndGet();
+                    deliver(event);
+                }
+            } finally {
+                draining.set(false);
+            }
+
+            // an event enqueued after the queue was found empty, but before the drain flag was cleared,
+            // would otherwise wait for the next event
+            if (!pendingEvents.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void deliver(ScoreboardEvent event) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // a failing listener does not stop the delivery of the following events
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.Comparators.summaryComparator;
+
+/**
+ * A {@link MatchStore} partitioning the matches by their id across a fixed number of independent shards, so that
+ * concurrent writers of different matches are spread over the shards instead of contending on a single store.
+ * Every operation on a single match is routed to the shard owning its id; operations on all matches combine the
+ * results of every shard. The summary is a k-way merge of the ordered views of the shards, which costs
+ * O(n log k) for n matches in k shards instead of sorting all matches, and only the first {@code offset + limit}
+ * matches of every shard are read for a page of the summary.
+ * <p>
+ * The store is thread-safe if its shards are. Operations on all matches read the shards one after another, so they
+ * do not provide a point-in-time view of the whole store while it is being written.
+ * <p>
+ * Matches between the same teams may be routed to different shards, so the fixture of a new match cannot be reserved
+ * by a single shard. Saves of new matches checking their fixture (see {@link #saveMatchIfFixtureAbsent(Match)}) hold a
+ * lock chosen by the fixture across all shards, so two of them never save matches between the same teams.
+ */
+final class ShardedMatchStore implements MatchStore {
+    private final MatchStore[] shards;
+    private final Object[] fixtureLocks;
+
+    ShardedMatchStore(List<MatchStore> shards) {
+        this.shards = shards.toArray(MatchStore[]::new);
+        // a few locks per shard, so saves of different fixtures rarely wait for each other
+        this.fixtureLocks = new Object[this.shards.length * 4];
+        Arrays.setAll(fixtureLocks, ignored -> new Object());
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        return shard(id).getMatch(id);
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        var matches = new ArrayList<Match>();
+        for (MatchStore shard : shards) {
+            matches.addAll(shard.getAllMatches());
+        }
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        var matches = new ArrayList<Match>();
+        for (MatchStore shard : shards) {
+            matches.addAll(shard.findMatchesByTeam(teamName));
+        }
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        for (MatchStore shard : shards) {
+            var match = shard.findMatchByTeams(homeTeamName, awayTeamName);
+            if (match.isPresent()) {
+                return match;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Match> getOrderedMatches() {
+        var orderedShards = new ArrayList<List<Match>>(shards.length);
+        var numberOfMatches = 0;
+        for (MatchStore shard : shards) {
+            var orderedShard = shard.getOrderedMatches();
+            orderedShards.add(orderedShard);
+            numberOfMatches += orderedShard.size();
+        }
+        return merge(orderedShards, 0, numberOfMatches);
+    }
+
+    @Override
+    public List<Match> getOrderedMatches(int offset, int limit) {
+        // every match of the page is among the first offset + limit matches of its shard
+        var numberOfSelectedMatches = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        var orderedShards = new ArrayList<List<Match>>(shards.length);
+        for (MatchStore shard : shards) {
+            orderedShards.add(shard.getOrderedMatches(0, numberOfSelectedMatches));
+        }
+        return merge(orderedShards, offset, limit);
+    }
+
+    @Override
+    public int getRank(Match match) {
+        // the match is ranked against the matches of every shard, only its own shard may contain the match itself
+        var rank = 0;
+        for (MatchStore shard : shards) {
+            rank += shard.getRank(match);
+        }
+        return rank;
+    }
+
+    @Override
+    public int[] getRanks(List<Match> matches) {
+        var ranks = new int[matches.size()];
+        for (MatchStore shard : shards) {
+            var shardRanks = shard.getRanks(matches);
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] += shardRanks[i];
+            }
+        }
+        return ranks;
+    }
+
+    @Override
+    public long latestVersion() {
+        var latestVersion = 0L;
+        for (MatchStore shard : shards) {
+            latestVersion = Math.max(latestVersion, shard.latestVersion());
+        }
+        return latestVersion;
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        shard(match.id()).saveMatch(match);
+    }
+
+    @Override
+    public boolean saveMatchIfFixtureAbsent(Match match) {
+        var homeTeamName = match.homeTeamScore().teamName();
+        var awayTeamName = match.awayTeamScore().teamName();
+        synchronized (fixtureLocks[Math.floorMod(31 * homeTeamName.hashCode() + awayTeamName.hashCode(), fixtureLocks.length)]) {
+            // a match removed concurrently may still be found, as if the removal had been applied after the save
+            if (findMatchByTeams(homeTeamName, awayTeamName).isPresent()) {
+                return false;
+            }
+
+            shard(match.id()).saveMatch(match);
+            return true;
+        }
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        shard(id).updateMatch(id, match);
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        return shard(id).computeMatchIfPresent(id, remappingFunction);
+    }
+
+    @Override
+    public boolean updateScoreIfPresent(UUID id, int homeTeamScore, int awayTeamScore, long version) {
+        return shard(id).updateScoreIfPresent(id, homeTeamScore, awayTeamScore, version);
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        shard(id).removeMatch(id);
+    }
+
+    @Override
+    public boolean removeMatchIfPresent(UUID id) {
+        return shard(id).removeMatchIfPresent(id);
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        return shard(id).removeAndGetMatch(id);
+    }
+
+    /**
+     * Executes the batch within a batch of every shard, as its writes may be routed to any of them.
+     */
+    @Override
+    public void executeInBatch(Runnable batch) {
+        executeInBatch(0, batch);
+    }
+
+    private void executeInBatch(int shardIndex, Runnable batch) {
+        if (shardIndex == shards.length) {
+            batch.run();
+            return;
+        }
+
+        shards[shardIndex].executeInBatch(() -> executeInBatch(shardIndex + 1, batch));
+    }
+
+    private MatchStore shard(UUID id) {
+        return shards[Math.floorMod(id.hashCode(), shards.length)];
+    }
+
+    /**
+     * Merges the passed lists, each ordered by the summary order, into a single ordered list using a heap holding the
+     * next match of every list.
+     *
+     * @param offset the number of merged matches that should be skipped
+     * @param limit  the maximum number of merged matches that should be returned
+     */
+    private static List<Match> merge(List<List<Match>> orderedShards, int offset, int limit) {
+        var cursors = new PriorityQueue<Cursor>(Math.max(orderedShards.size(), 1));
+        for (List<Match> orderedShard : orderedShards) {
+            if (!orderedShard.isEmpty()) {
+                cursors.add(new Cursor(orderedShard));
+            }
+        }
+
+        var skippedMatches = 0;
+        var matches = new ArrayList<Match>();
+        while (!cursors.isEmpty() && matches.size() < limit) {
+            var cursor = cursors.poll();
+            var match = cursor.next();
+            if (skippedMatches < offset) {
+                skippedMatches++;
+            } else {
+                matches.add(match);
+            }
+
+            if (cursor.hasNext()) {
+                cursors.add(cursor);
+            }
+        }
+        return List.copyOf(matches);
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final List<Match> matches;
+        private int index;
+
+        private Cursor(List<Match> matches) {
+            this.matches = matches;
+        }
+
+        private boolean hasNext() {
+            return index < matches.size();
+        }
+
+        private Match next() {
+            return matches.get(index++);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return summaryComparator.compare(matches.get(index), other.matches.get(other.index));
+        }
+    }
+}
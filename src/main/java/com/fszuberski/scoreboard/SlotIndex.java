@@ -0,0 +1,141 @@
+package com.fszuberski.scoreboard;
+
+/**
+ * An open-addressing hash table mapping match ids to slot numbers of stores which keep matches in numbered slots
+ * instead of objects (see {@link PackedMatchStore}). The table holds only {@code slot + 1} values (0 marks an empty
+ * bucket); the ids themselves are read from the store through {@link SlotIds}, so the index retains no per-match
+ * objects. Collisions are resolved with linear probing and removals use backward-shift deletion.
+ * The load factor of the table is kept at or below 0.5.
+ */
+final class SlotIndex {
+
+    /**
+     * Provides the match id stored in a slot.
+     */
+    interface SlotIds {
+        long mostSignificantBits(int slot);
+
+        long leastSignificantBits(int slot);
+    }
+
+    private final SlotIds slotIds;
+    private int[] table;
+
+    SlotIndex(SlotIds slotIds, int capacity) {
+        this.slotIds = slotIds;
+        this.table = new int[tableCapacityFor(capacity)];
+    }
+
+    /**
+     * @return the slot of the match with the passed id, or -1 if the match is not indexed.
+     */
+    int find(long mostSignificantBits, long leastSignificantBits) {
+        var bucket = findBucket(mostSignificantBits, leastSignificantBits);
+        return bucket < 0 ? -1 : table[bucket] - 1;
+    }
+
+    /**
+     * Indexes the passed slot under the id currently stored in it. The id cannot be indexed already.
+     */
+    void add(int slot) {
+        var bucket = findBucket(slotIds.mostSignificantBits(slot), slotIds.leastSignificantBits(slot));
+        table[-bucket - 1] = slot + 1;
+    }
+
+    /**
+     * Changes the slot indexed under the passed id, e.g. after the match has been moved to another slot.
+     */
+    void move(long mostSignificantBits, long leastSignificantBits, int newSlot) {
+        table[findBucket(mostSignificantBits, leastSignificantBits)] = newSlot + 1;
+    }
+
+    /**
+     * Removes the passed id from the index.
+     *
+     * @return the slot under which the id was indexed, or -1 if the id was not indexed.
+     */
+    int remove(long mostSignificantBits, long leastSignificantBits) {
+        var bucket = findBucket(mostSignificantBits, leastSignificantBits);
+        if (bucket < 0) {
+            return -1;
+        }
+
+        var slot = table[bucket] - 1;
+        removeBucket(bucket);
+        return slot;
+    }
+
+    /**
+     * Grows the table if needed in order to index up to {@code capacity} slots, re-indexing the slots
+     * {@code [0, size)}.
+     */
+    void ensureCapacity(int capacity, int size) {
+        if (table.length >= tableCapacityFor(capacity)) {
+            return;
+        }
+
+        table = new int[tableCapacityFor(capacity)];
+        for (int slot = 0; slot < size; slot++) {
+            add(slot);
+        }
+    }
+
+    /**
+     * @return the bucket index if the id is indexed, or {@code -(insertion bucket) - 1} if it is not.
+     */
+    private int findBucket(long mostSignificantBits, long leastSignificantBits) {
+        var mask = table.length - 1;
+        var bucket = hash(mostSignificantBits, leastSignificantBits) & mask;
+        while (table[bucket] != 0) {
+            var slot = table[bucket] - 1;
+            if (slotIds.mostSignificantBits(slot) == mostSignificantBits
+                    && slotIds.leastSignificantBits(slot) == leastSignificantBits) {
+                return bucket;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return -bucket - 1;
+    }
+
+    /**
+     * Empties the passed bucket and shifts back the entries of the following buckets which would otherwise become
+     * unreachable by linear probing.
+     */
+    private void removeBucket(int bucket) {
+        var mask = table.length - 1;
+        var emptyBucket = bucket;
+        var nextBucket = bucket;
+        table[emptyBucket] = 0;
+
+        while (true) {
+            nextBucket = (nextBucket + 1) & mask;
+            if (table[nextBucket] == 0) {
+                return;
+            }
+
+            var slot = table[nextBucket] - 1;
+            var homeBucket = hash(slotIds.mostSignificantBits(slot), slotIds.leastSignificantBits(slot)) & mask;
+            // the entry stays in place if its home bucket lies cyclically within (emptyBucket, nextBucket]
+            var reachable = emptyBucket <= nextBucket
+                    ? emptyBucket < homeBucket && homeBucket <= nextBucket
+                    : emptyBucket < homeBucket || homeBucket <= nextBucket;
+            if (!reachable) {
+                table[emptyBucket] = table[nextBucket];
+                table[nextBucket] = 0;
+                emptyBucket = nextBucket;
+            }
+        }
+    }
+
+    private static int tableCapacityFor(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 2) - 1) << 2;
+    }
+
+    private static int hash(long mostSignificantBits, long leastSignificantBits) {
+        var hash = mostSignificantBits ^ leastSignificantBits;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
@@ -0,0 +1,130 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.SummaryCacheStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.fszuberski.scoreboard.Comparators.summaryComparator;
+
+/**
+ * Caches the last summary of ongoing matches of a {@link Scoreboard} together with the version of the scoreboard it
+ * reflects (see {@link ScoreboardChangeJournal}). A summary read at the cached version is served without accessing the
+ * store. Otherwise, if the changes since the cached version are still kept in the journal, the summary is recomputed
+ * by re-positioning only the changed matches: the changed matches are dropped from the cached summary, their current
+ * state is retrieved from the store, sorted and merged back in O(n + k log k) for k changed matches. Only if the
+ * changes are no longer kept is the whole summary retrieved from the store.
+ * <p>
+ * The cache only learns about changes from the journal of its scoreboard, so the store must only be written through
+ * that scoreboard; a write made directly on the store or through another scoreboard is not reflected in the cached
+ * summary until the scoreboard changes the same match. Stores which already publish their ordered matches as an
+ * immutable list on every write (see {@link MatchStore#publishesOrderedMatches()}) are read directly instead, since
+ * recomputing and copying the summary would only make their reads more expensive.
+ * <p>
+ * The cached summary is immutable and replaced atomically, so the cache can be read by multiple threads; a summary
+ * is cached only if no change has been made while it was computed.
+ */
+final class SummaryCache {
+    private final MatchStore matchStore;
+    private final ScoreboardChangeJournal changeJournal;
+    // false if the ordered matches published by the store are read directly
+    private final boolean cached;
+    private final AtomicReference<CachedSummary> cachedSummary = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder incrementalRecomputes = new LongAdder();
+    private final LongAdder fullRecomputes = new LongAdder();
+    private final LongAdder uncachedReads = new LongAdder();
+    private final LongAdder recomputeNanos = new LongAdder();
+
+    SummaryCache(MatchStore matchStore, ScoreboardChangeJournal changeJournal) {
+        this.matchStore = matchStore;
+        this.changeJournal = changeJournal;
+        this.cached = !matchStore.publishesOrderedMatches();
+    }
+
+    /**
+     * @return an immutable list of all ongoing matches in the summary order.
+     */
+    List<Match> getSummary() {
+        if (!cached) {
+            uncachedReads.increment();
+            return matchStore.getOrderedMatches();
+        }
+
+        var previousSummary = cachedSummary.get();
+        if (previousSummary != null && previousSummary.version() == changeJournal.version()) {
+            hits.increment();
+            return previousSummary.matches();
+        }
+
+        var start = System.nanoTime();
+        var summary = changeJournal.tryRead(version -> recompute(previousSummary, version));
+        if (summary == null) {
+            // the scoreboard is being changed; the store is left to order its current state
+            uncachedReads.increment();
+            return matchStore.getOrderedMatches();
+        }
+        recomputeNanos.add(System.nanoTime() - start);
+
+        // a summary of a later version computed concurrently is kept
+        cachedSummary.accumulateAndGet(summary, (current, computed) ->
+                current == null || current.version() < computed.version() ? computed : current);
+        return summary.matches();
+    }
+
+    SummaryCacheStatistics statistics() {
+        return new SummaryCacheStatistics(
+                hits.sum(),
+                incrementalRecomputes.sum(),
+                fullRecomputes.sum(),
+                uncachedReads.sum(),
+                recomputeNanos.sum());
+    }
+
+    private CachedSummary recompute(CachedSummary previousSummary, long version) {
+        var changedMatchIds = previousSummary == null ? null : changeJournal.changedMatchIds(previousSummary.version(), version);
+        if (changedMatchIds == null) {
+            fullRecomputes.increment();
+            return new CachedSummary(version, List.copyOf(matchStore.getOrderedMatches()));
+        }
+
+        incrementalRecomputes.increment();
+        var changedMatches = new ArrayList<Match>(changedMatchIds.size());
+        for (UUID matchId : changedMatchIds) {
+            matchStore.getMatch(matchId).ifPresent(changedMatches::add);
+        }
+        changedMatches.sort(summaryComparator);
+        return new CachedSummary(version, merge(previousSummary.matches(), changedMatchIds, changedMatches));
+    }
+
+    /**
+     * Merges the sorted changed matches into the previous summary, skipping the previous state of the changed matches.
+     */
+    private static List<Match> merge(List<Match> previousMatches, Set<UUID> changedMatchIds, List<Match> changedMatches) {
+        var matches = new ArrayList<Match>(previousMatches.size() + changedMatches.size());
+        var changedIndex = 0;
+        for (Match match : previousMatches) {
+            if (changedMatchIds.contains(match.id())) {
+                continue;
+            }
+
+            while (changedIndex < changedMatches.size() && summaryComparator.compare(changedMatches.get(changedIndex), match) < 0) {
+                matches.add(changedMatches.get(changedIndex++));
+            }
+            matches.add(match);
+        }
+        while (changedIndex < changedMatches.size()) {
+            matches.add(changedMatches.get(changedIndex++));
+        }
+        return List.copyOf(matches);
+    }
+
+    private record CachedSummary(long version, List<Match> matches) {
+    }
+}
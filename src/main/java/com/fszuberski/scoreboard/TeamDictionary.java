@@ -0,0 +1,86 @@
+package com.fszuberski.scoreboard;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns team names to compact integer ids assigned in the order of first appearance (0, 1, 2, ...).
+ * Every team name is stored once, so matches can reference teams by id (see {@link PackedMatchStore}) or by the
+ * canonical name instance returned by {@link #teamName(int)}, instead of retaining a copy of the name per match.
+ * <p>
+ * Ids are never reclaimed; the dictionary is intended for the bounded set of teams appearing across the fixtures of
+ * a board. The dictionary is thread-safe; looking up an already interned name does not block.
+ */
+final class TeamDictionary {
+    static final int UNKNOWN_TEAM_ID = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ConcurrentHashMap<String, Integer> teamIds = new ConcurrentHashMap<>();
+    private volatile String[] teamNames = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the id of the passed team name, assigning a new id if the name is not interned yet.
+     *
+     * @param teamName the team name. Cannot be null.
+     * @return the id of the team name.
+     */
+    int intern(String teamName) {
+        if (teamName == null) {
+            throw new IllegalArgumentException("TeamName cannot be null.");
+        }
+
+        var teamId = teamIds.get(teamName);
+        return teamId != null ? teamId : add(teamName);
+    }
+
+    /**
+     * Returns the canonical instance of the passed team name, interning the name if needed.
+     * Equal team names are always resolved to the same instance.
+     *
+     * @param teamName the team name. Cannot be null.
+     * @return the canonical instance of the team name.
+     */
+    String internTeamName(String teamName) {
+        return teamName(intern(teamName));
+    }
+
+    /**
+     * @return the id of the passed team name, or {@link #UNKNOWN_TEAM_ID} if the name has not been interned.
+     */
+    int teamId(String teamName) {
+        var teamId = teamIds.get(teamName);
+        return teamId != null ? teamId : UNKNOWN_TEAM_ID;
+    }
+
+    /**
+     * @param teamId an id returned by {@link #intern(String)}.
+     * @return the canonical instance of the team name with the passed id.
+     */
+    String teamName(int teamId) {
+        return teamNames[teamId];
+    }
+
+    /**
+     * @return the number of interned team names.
+     */
+    int size() {
+        return teamIds.size();
+    }
+
+    private synchronized int add(String teamName) {
+        var teamId = teamIds.get(teamName);
+        if (teamId != null) {
+            return teamId;
+        }
+
+        if (size == teamNames.length) {
+            teamNames = Arrays.copyOf(teamNames, size * 2);
+        }
+        // the name is stored before the id is published, so a thread which has observed the id can resolve the name
+        teamNames[size] = teamName;
+        teamIds.put(teamName, size);
+        return size++;
+    }
+}
@@ -0,0 +1,158 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A secondary index of match ids by the names of the teams playing in the matches, maintained by {@link MatchStore}
+ * implementations on every save, update and removal. Looking up the matches of a team costs O(1) plus the number of
+ * matches of the team instead of a scan of all matches; the match between a home and an away team is looked up by
+ * its fixture in O(1).
+ * <p>
+ * The index is thread-safe. Lookups resolve the indexed ids through the store and only return matches which still
+ * involve the requested teams, so a store may update the index after it has applied a write.
+ * <p>
+ * Every fixture, i.e. the pair of a home and an away team, is reserved while a match between the teams is indexed,
+ * so a thread-safe store can reject a second match of the same fixture atomically (see
+ * {@link #addIfFixtureAbsent(Match)}).
+ */
+final class TeamIndex {
+    private final ConcurrentHashMap<String, Set<UUID>> matchIdsByTeam = new ConcurrentHashMap<>();
+    // a fixture has a single match unless more have been indexed by add(Match), without reserving the fixture
+    private final ConcurrentHashMap<Fixture, Set<UUID>> matchIdsByFixture = new ConcurrentHashMap<>();
+
+    void add(Match match) {
+        add(matchIdsByFixture, Fixture.of(match), match.id());
+        add(matchIdsByTeam, match.homeTeamScore().teamName(), match.id());
+        add(matchIdsByTeam, match.awayTeamScore().teamName(), match.id());
+    }
+
+    /**
+     * Indexes the match unless its fixture is reserved by another match. Concurrent invocations for the same
+     * fixture index at most one match.
+     *
+     * @param match the match that should be indexed
+     * @return true if the match has been indexed, false if its fixture is reserved by another match.
+     */
+    boolean addIfFixtureAbsent(Match match) {
+        var reserved = new boolean[1];
+        matchIdsByFixture.compute(Fixture.of(match), (ignored, matchIds) -> {
+            if (matchIds != null && !matchIds.contains(match.id())) {
+                return matchIds;
+            }
+
+            reserved[0] = true;
+            var result = matchIds != null ? matchIds : ConcurrentHashMap.<UUID>newKeySet();
+            result.add(match.id());
+            return result;
+        });
+        if (!reserved[0]) {
+            return false;
+        }
+
+        add(matchIdsByTeam, match.homeTeamScore().teamName(), match.id());
+        add(matchIdsByTeam, match.awayTeamScore().teamName(), match.id());
+        return true;
+    }
+
+    void remove(Match match) {
+        remove(matchIdsByFixture, Fixture.of(match), match.id());
+        remove(matchIdsByTeam, match.homeTeamScore().teamName(), match.id());
+        remove(matchIdsByTeam, match.awayTeamScore().teamName(), match.id());
+    }
+
+    /**
+     * Re-indexes a match whose state has changed. Has no effect if the team names of the match have not changed.
+     *
+     * @param previousMatch the previous state of the match
+     * @param updatedMatch  the updated state of the match
+     */
+    void replace(Match previousMatch, Match updatedMatch) {
+        if (previousMatch.homeTeamScore().teamName().equals(updatedMatch.homeTeamScore().teamName())
+                && previousMatch.awayTeamScore().teamName().equals(updatedMatch.awayTeamScore().teamName())) {
+            return;
+        }
+
+        remove(previousMatch);
+        add(updatedMatch);
+    }
+
+    /**
+     * @param teamName   the name of the team
+     * @param matchStore resolves an indexed id to the current state of the match, or null if the match does not exist
+     * @return an immutable list of the matches of the team, in no particular order.
+     */
+    List<Match> findMatches(String teamName, Function<UUID, Match> matchStore) {
+        var matchIds = matchIdsByTeam.get(teamName);
+        if (matchIds == null) {
+            return List.of();
+        }
+
+        var matches = new ArrayList<Match>(matchIds.size());
+        for (UUID matchId : matchIds) {
+            var match = matchStore.apply(matchId);
+            if (match != null && involvesTeam(match, teamName)) {
+                matches.add(match);
+            }
+        }
+        return List.copyOf(matches);
+    }
+
+    /**
+     * @param homeTeamName the name of the home team
+     * @param awayTeamName the name of the away team
+     * @param matchStore   resolves an indexed id to the current state of the match, or null if the match does not exist
+     * @return an optional containing a match between the home and the away team, or an empty optional if there is none.
+     */
+    Optional<Match> findMatch(String homeTeamName, String awayTeamName, Function<UUID, Match> matchStore) {
+        var matchIds = matchIdsByFixture.get(new Fixture(homeTeamName, awayTeamName));
+        if (matchIds == null) {
+            return Optional.empty();
+        }
+
+        for (UUID matchId : matchIds) {
+            var match = matchStore.apply(matchId);
+            if (match != null
+                    && match.homeTeamScore().teamName().equals(homeTeamName)
+                    && match.awayTeamScore().teamName().equals(awayTeamName)) {
+                return Optional.of(match);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static <K> void add(ConcurrentHashMap<K, Set<UUID>> index, K key, UUID matchId) {
+        index.compute(key, (ignored, matchIds) -> {
+            var result = matchIds != null ? matchIds : ConcurrentHashMap.<UUID>newKeySet();
+            result.add(matchId);
+            return result;
+        });
+    }
+
+    private static <K> void remove(ConcurrentHashMap<K, Set<UUID>> index, K key, UUID matchId) {
+        // the set of a team or a fixture without matches is removed, so the index does not retain teams which no
+        // longer play
+        index.computeIfPresent(key, (ignored, matchIds) -> {
+            matchIds.remove(matchId);
+            return matchIds.isEmpty() ? null : matchIds;
+        });
+    }
+
+    private static boolean involvesTeam(Match match, String teamName) {
+        return match.homeTeamScore().teamName().equals(teamName) || match.awayTeamScore().teamName().equals(teamName);
+    }
+
+    private record Fixture(String homeTeamName, String awayTeamName) {
+
+        static Fixture of(Match match) {
+            return new Fixture(match.homeTeamScore().teamName(), match.awayTeamScore().teamName());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.fszuberski.scoreboard;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A secondary index of slots by team for stores which keep matches in numbered slots and reference teams by the ids
+ * of a {@link TeamDictionary} (see {@link PackedMatchStore}). The index holds the home and away team ids of every slot
+ * and links the slots of every team into two doubly linked lists (one of the matches played at home and one of the
+ * matches played away), kept in primitive arrays, so no per-match objects are retained.
+ * Adding, removing and moving a slot costs O(1); looking up the slots of a team costs O(number of matches of the team).
+ */
+final class TeamSlotIndex {
+    private static final int NO_SLOT = -1;
+
+    // per slot
+    private int[] homeTeamIds;
+    private int[] awayTeamIds;
+    private int[] previousHomeSlots;
+    private int[] nextHomeSlots;
+    private int[] previousAwaySlots;
+    private int[] nextAwaySlots;
+
+    // per team id
+    private int[] firstHomeSlots;
+    private int[] firstAwaySlots;
+
+    TeamSlotIndex(int capacity) {
+        this.homeTeamIds = new int[capacity];
+        this.awayTeamIds = new int[capacity];
+        this.previousHomeSlots = new int[capacity];
+        this.nextHomeSlots = new int[capacity];
+        this.previousAwaySlots = new int[capacity];
+        this.nextAwaySlots = new int[capacity];
+        this.firstHomeSlots = new int[0];
+        this.firstAwaySlots = new int[0];
+    }
+
+    int homeTeamId(int slot) {
+        return homeTeamIds[slot];
+    }
+
+    int awayTeamId(int slot) {
+        return awayTeamIds[slot];
+    }
+
+    /**
+     * Indexes a slot which is not indexed yet.
+     */
+    void add(int slot, int homeTeamId, int awayTeamId) {
+        ensureTeamCapacity(Math.max(homeTeamId, awayTeamId) + 1);
+        homeTeamIds[slot] = homeTeamId;
+        awayTeamIds[slot] = awayTeamId;
+
+        previousHomeSlots[slot] = NO_SLOT;
+        nextHomeSlots[slot] = firstHomeSlots[homeTeamId];
+        if (nextHomeSlots[slot] != NO_SLOT) {
+            previousHomeSlots[nextHomeSlots[slot]] = slot;
+        }
+        firstHomeSlots[homeTeamId] = slot;
+
+        previousAwaySlots[slot] = NO_SLOT;
+        nextAwaySlots[slot] = firstAwaySlots[awayTeamId];
+        if (nextAwaySlots[slot] != NO_SLOT) {
+            previousAwaySlots[nextAwaySlots[slot]] = slot;
+        }
+        firstAwaySlots[awayTeamId] = slot;
+    }
+
+    /**
+     * Removes an indexed slot from the index.
+     */
+    void remove(int slot) {
+        unlink(slot, homeTeamIds[slot], previousHomeSlots, nextHomeSlots, firstHomeSlots);
+        unlink(slot, awayTeamIds[slot], previousAwaySlots, nextAwaySlots, firstAwaySlots);
+    }
+
+    /**
+     * Indexes the teams of an indexed slot under another slot, which is not indexed, e.g. after the match has been
+     * moved to another slot.
+     */
+    void move(int fromSlot, int toSlot) {
+        homeTeamIds[toSlot] = homeTeamIds[fromSlot];
+        awayTeamIds[toSlot] = awayTeamIds[fromSlot];
+        relink(fromSlot, toSlot, homeTeamIds[toSlot], previousHomeSlots, nextHomeSlots, firstHomeSlots);
+        relink(fromSlot, toSlot, awayTeamIds[toSlot], previousAwaySlots, nextAwaySlots, firstAwaySlots);
+    }
+
+    /**
+     * Passes the slots of the matches in which the team with the passed id plays, either as the home or the away team,
+     * to the passed action. Every slot is passed once.
+     */
+    void forEachSlot(int teamId, IntConsumer action) {
+        if (teamId >= firstHomeSlots.length) {
+            return;
+        }
+
+        for (int slot = firstHomeSlots[teamId]; slot != NO_SLOT; slot = nextHomeSlots[slot]) {
+            action.accept(slot);
+        }
+        for (int slot = firstAwaySlots[teamId]; slot != NO_SLOT; slot = nextAwaySlots[slot]) {
+            // the match of a team playing against itself has already been passed
+            if (homeTeamIds[slot] != teamId) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    /**
+     * @return a slot of a match between the passed home and away team, or -1 if there is none.
+     */
+    int findSlot(int homeTeamId, int awayTeamId) {
+        if (homeTeamId >= firstHomeSlots.length || awayTeamId >= firstAwaySlots.length) {
+            return NO_SLOT;
+        }
+
+        for (int slot = firstHomeSlots[homeTeamId]; slot != NO_SLOT; slot = nextHomeSlots[slot]) {
+            if (awayTeamIds[slot] == awayTeamId) {
+                return slot;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Grows the per slot arrays if needed in order to index up to {@code capacity} slots.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= homeTeamIds.length) {
+            return;
+        }
+
+        homeTeamIds = Arrays.copyOf(homeTeamIds, capacity);
+        awayTeamIds = Arrays.copyOf(awayTeamIds, capacity);
+        previousHomeSlots = Arrays.copyOf(previousHomeSlots, capacity);
+        nextHomeSlots = Arrays.copyOf(nextHomeSlots, capacity);
+        previousAwaySlots = Arrays.copyOf(previousAwaySlots, capacity);
+        nextAwaySlots = Arrays.copyOf(nextAwaySlots, capacity);
+    }
+
+    private void ensureTeamCapacity(int numberOfTeams) {
+        if (numberOfTeams <= firstHomeSlots.length) {
+            return;
+        }
+
+        var previousLength = firstHomeSlots.length;
+        var newLength = Math.max(numberOfTeams, previousLength * 2);
+        firstHomeSlots = Arrays.copyOf(firstHomeSlots, newLength);
+        firstAwaySlots = Arrays.copyOf(firstAwaySlots, newLength);
+        Arrays.fill(firstHomeSlots, previousLength, newLength, NO_SLOT);
+        Arrays.fill(firstAwaySlots, previousLength, newLength, NO_SLOT);
+    }
+
+    private static void unlink(int slot, int teamId, int[] previousSlots, int[] nextSlots, int[] firstSlots) {
+        var previousSlot = previousSlots[slot];
+        var nextSlot = nextSlots[slot];
+        if (previousSlot != NO_SLOT) {
+            nextSlots[previousSlot] = nextSlot;
+        } else {
+            firstSlots[teamId] = nextSlot;
+        }
+        if (nextSlot != NO_SLOT) {
+            previousSlots[nextSlot] = previousSlot;
+        }
+    }
+
+    private static void relink(int fromSlot, int toSlot, int teamId, int[] previousSlots, int[] nextSlots, int[] firstSlots) {
+        var previousSlot = previousSlots[fromSlot];
+        var nextSlot = nextSlots[fromSlot];
+        previousSlots[toSlot] = previousSlot;
+        nextSlots[toSlot] = nextSlot;
+        if (previousSlot != NO_SLOT) {
+            nextSlots[previousSlot] = toSlot;
+        } else {
+            firstSlots[teamId] = toSlot;
+        }
+        if (nextSlot != NO_SLOT) {
+            previousSlots[nextSlot] = toSlot;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * An append-only log of the writes of a {@link MatchStore}, replayed into a store in order to recover its matches.
+ * <p>
+ * Appending a record only copies it into an in-memory buffer; {@link #sync(long)} writes the buffered records to the
+ * file and forces them to the disk. Concurrent callers of {@link #sync(long)} are served by a single flush (group
+ * commit): the first caller flushes every record appended so far, while the other callers wait for that flush and only
+ * flush themselves if their records have been appended after it started. A single {@code fsync} thus covers the records
+ * of all writers that arrived during the previous one.
+ * <p>
+ * Layout of the file (big-endian):
+ * <pre>
+ * header (8 bytes): magic (int), format version (int)
+ * record: payload length (int), CRC32C of the type and the payload (int), type (byte),
+ *         payload (a match encoded by {@link MatchCodec} or a match id)
+ * </pre>
+ * A record which is incomplete or does not match its checksum, e.g. because the process stopped while it was being
+ * written, ends the log; it and everything after it are discarded when the log is opened.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    static final byte SAVE = 1;
+    static final byte UPDATE = 2;
+    static final byte REMOVE = 3;
+
+    private static final int MAGIC = 0x5C0_2EB1;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES + Byte.BYTES;
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final int REPLAY_BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final FileChannel channel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushCompleted = lock.newCondition();
+    // guarded by the lock
+    private ByteBuffer appendedRecords = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spareRecords = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedPosition;
+    private long durablePosition;
+    private boolean flushing;
+    private IOException flushFailure;
+    private boolean closed;
+
+    private WriteAheadLog(Path file, FileChannel channel, long position) {
+        this.file = file;
+        this.channel = channel;
+        this.appendedPosition = position;
+        this.durablePosition = position;
+    }
+
+    /**
+     * Opens the log in the passed file, creating the file if it does not exist, and replays the records of the log
+     * into the passed store as a single batch.
+     *
+     * @param file       the file of the log
+     * @param matchStore the store the records of the log should be replayed into
+     * @return the opened log, positioned after its last valid record.
+     */
+    static WriteAheadLog open(Path file, MatchStore matchStore) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, CREATE, READ, WRITE);
+            long position;
+            if (channel.size() == 0) {
+                writeHeader(channel);
+                // the records of a new log are only durable once the directory entry of its file is
+                forceDirectory(file.toAbsolutePath().getParent());
+                position = HEADER_SIZE;
+            } else {
+                position = replay(file, channel, matchStore);
+                // discarding an incomplete last record, so that new records follow the last valid one
+                channel.truncate(position);
+            }
+            channel.position(position);
+            return new WriteAheadLog(file, channel, position);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException(String.format("Cannot open write-ahead log file='%s'.", file), e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record of a saved or updated match.
+     *
+     * @param type either {@link #SAVE} or {@link #UPDATE}
+     * @return the position of the log after the record, to be passed to {@link #sync(long)}.
+     */
+    long append(byte type, Match match) {
+        lock.lock();
+        try {
+            var recordStart = startRecord(type);
+            appendedRecords = MatchCodec.write(appendedRecords, match);
+            return completeRecord(recordStart);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record of a removed match.
+     *
+     * @return the position of the log after the record, to be passed to {@link #sync(long)}.
+     */
+    long appendRemoval(UUID matchId) {
+        lock.lock();
+        try {
+            var recordStart = startRecord(REMOVE);
+            appendedRecords = MatchCodec.writeId(appendedRecords, matchId);
+            return completeRecord(recordStart);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the position of the log after the last appended record.
+     */
+    long position() {
+        lock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the records appended up to the passed position to the disk, blocking until they are durable.
+     * Returns immediately if they already are.
+     *
+     * @param position the position returned when the last record that should be durable was appended
+     * @throws UncheckedIOException if the records cannot be written; the log cannot be used afterwards.
+     */
+    void sync(long position) {
+        lock.lock();
+        try {
+            while (durablePosition < position) {
+                throwIfFailed();
+                if (flushing) {
+                    flushCompleted.awaitUninterruptibly();
+                } else {
+                    flush();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces all appended records to the disk and closes the file of the log. Has no effect if the log is already closed.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            sync(appendedPosition);
+            closed = true;
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot close write-ahead log file='%s'.", file), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the records appended so far without holding the lock, so that records can be appended during the write.
+     * Has to be invoked with the lock held.
+     */
+    private void flush() {
+        flushing = true;
+        var records = appendedRecords.flip();
+        var flushedPosition = appendedPosition;
+        appendedRecords = spareRecords.clear();
+        lock.unlock();
+        try {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            flushFailure = e;
+        } finally {
+            lock.lock();
+            spareRecords = records;
+            flushing = false;
+            if (flushFailure == null) {
+                durablePosition = flushedPosition;
+            }
+            flushCompleted.signalAll();
+        }
+        throwIfFailed();
+    }
+
+    private int startRecord(byte type) {
+        if (closed) {
+            throw new IllegalStateException(String.format("Cannot append to write-ahead log file='%s'; the log is closed.", file));
+        }
+        throwIfFailed();
+
+        appendedRecords = MatchCodec.ensureRemaining(appendedRecords, RECORD_HEADER_SIZE);
+        var recordStart = appendedRecords.position();
+        appendedRecords.position(recordStart + RECORD_HEADER_SIZE - Byte.BYTES);
+        appendedRecords.put(type);
+        return recordStart;
+    }
+
+    private long completeRecord(int recordStart) {
+        var recordEnd = appendedRecords.position();
+        var checksum = new CRC32C();
+        checksum.update(appendedRecords.duplicate().position(recordStart + RECORD_HEADER_SIZE - Byte.BYTES).limit(recordEnd));
+        appendedRecords.putInt(recordStart, recordEnd - recordStart - RECORD_HEADER_SIZE);
+        appendedRecords.putInt(recordStart + Integer.BYTES, (int) checksum.getValue());
+        appendedPosition += recordEnd - recordStart;
+        return appendedPosition;
+    }
+
+    private void throwIfFailed() {
+        if (flushFailure != null) {
+            throw new UncheckedIOException(String.format("Cannot write to write-ahead log file='%s'.", file), flushFailure);
+        }
+    }
+
+    /**
+     * @return the position after the last valid record of the log.
+     */
+    private static long replay(Path file, FileChannel channel, MatchStore matchStore) throws IOException {
+        var input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), REPLAY_BUFFER_SIZE));
+        if (channel.size() < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot open write-ahead log file='%s'; the file does not contain a write-ahead log.", file));
+        }
+
+        var position = new long[]{HEADER_SIZE};
+        var replayFailure = new IOException[1];
+        matchStore.executeInBatch(() -> {
+            try {
+                var record = new byte[Byte.BYTES + MAX_PAYLOAD_SIZE];
+                var checksum = new CRC32C();
+                while (true) {
+                    int payloadSize;
+                    int expectedChecksum;
+                    try {
+                        payloadSize = input.readInt();
+                        expectedChecksum = input.readInt();
+                        if (payloadSize < 0 || payloadSize > MAX_PAYLOAD_SIZE) {
+                            return;
+                        }
+                        input.readFully(record, 0, Byte.BYTES + payloadSize);
+                    } catch (EOFException e) {
+                        return;
+                    }
+
+                    checksum.reset();
+                    checksum.update(record, 0, Byte.BYTES + payloadSize);
+                    if ((int) checksum.getValue() != expectedChecksum) {
+                        return;
+                    }
+
+                    apply(record[0], ByteBuffer.wrap(record, Byte.BYTES, payloadSize), matchStore);
+                    position[0] += RECORD_HEADER_SIZE + payloadSize;
+                }
+            } catch (IOException e) {
+                replayFailure[0] = e;
+            }
+        });
+
+        if (replayFailure[0] != null) {
+            throw replayFailure[0];
+        }
+        return position[0];
+    }
+
+    private static void apply(byte type, ByteBuffer payload, MatchStore matchStore) {
+        switch (type) {
+            case SAVE -> matchStore.saveMatch(MatchCodec.read(payload));
+            case UPDATE -> {
+                var match = MatchCodec.read(payload);
+                matchStore.updateMatch(match.id(), match);
+            }
+            case REMOVE -> matchStore.removeMatch(MatchCodec.readId(payload));
+            default -> throw new IllegalStateException(String.format("Unknown write-ahead log record type=%d.", type));
+        }
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    /**
+     * Forces the entries of the passed directory to the disk, so that files created, renamed or deleted in it before
+     * survive a power loss. Has no effect on Windows, where directories cannot be opened and their entries are forced
+     * along with the files.
+     *
+     * @param directory the directory whose entries should be forced to the disk
+     * @throws IOException if the directory cannot be forced to the disk.
+     */
+    static void forceDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name").startsWith("Windows")) {
+            return;
+        }
+
+        try (var channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // the original failure is more relevant
+        }
+    }
+}
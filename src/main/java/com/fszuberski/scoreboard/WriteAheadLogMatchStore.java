@@ -0,0 +1,400 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link DurableMatchStore} decorating another {@link MatchStore} with a {@link WriteAheadLog}. Every write is
+ * applied to the decorated store and recorded in the log; opening the store replays the log into the decorated store,
+ * so recovering the matches is bounded by the size of the log instead of by re-feeding every change.
+ * <p>
+ * Writes are applied and recorded under a single lock, so the log contains the writes in the order they have been
+ * applied; the lock is held only for the in-memory write and the copy of the record into the buffer of the log.
+ * Depending on the sync interval, either
+ * <ul>
+ *     <li>every write returns once its record is durable, with the records of concurrent writes forced to the disk
+ *     by a single {@code fsync} (group commit), or</li>
+ *     <li>writes return immediately and the records are forced to the disk in the background once per sync interval,
+ *     keeping the latency of writes independent of the disk at the cost of losing the writes of the last interval
+ *     in case of a crash.</li>
+ * </ul>
+ * The writes of a batch (see {@link #executeInBatch(Runnable)}) are forced to the disk once, when the batch completes.
+ * Reads are served by the decorated store without touching the log.
+ * <p>
+ * A store opened in a directory keeps the log in segments and compacts it with periodic snapshots (see
+ * {@link MatchSnapshot}): taking a snapshot copies the matches of the decorated store and switches the writes to a new
+ * log segment under the write lock, while the snapshot is written and the segments it contains are deleted in the
+ * background, without blocking writers. Opening the store loads the latest snapshot and replays only the segments
+ * written after it.
+ * <pre>
+ * directory/snapshot        the latest snapshot
+ * directory/log-{generation} the log segments, replayed in the order of their generations
+ * </pre>
+ */
+final class WriteAheadLogMatchStore implements DurableMatchStore {
+    static final String SNAPSHOT_FILE_NAME = "snapshot";
+    static final String LOG_SEGMENT_FILE_NAME_PREFIX = "log-";
+
+    private final MatchStore matchStore;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // replaced under the write lock when the writes are switched to a new log segment
+    private volatile WriteAheadLog log;
+    private final boolean syncEveryWrite;
+    // null if the log is not kept in segments of a directory
+    private final Path directory;
+    private long logGeneration;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    // guarded by the snapshot lock
+    private boolean closed;
+    // null if nothing is executed in the background
+    private ScheduledExecutorService scheduler;
+
+    private WriteAheadLogMatchStore(
+            MatchStore matchStore,
+            WriteAheadLog log,
+            boolean syncEveryWrite,
+            Path directory,
+            long logGeneration
+    ) {
+        this.matchStore = matchStore;
+        this.log = log;
+        this.syncEveryWrite = syncEveryWrite;
+        this.directory = directory;
+        this.logGeneration = logGeneration;
+    }
+
+    /**
+     * Opens the store, replaying the existing log in the passed file into the passed store.
+     *
+     * @param matchStore   the decorated store. Should be empty.
+     * @param logFile      the file of the log
+     * @param syncInterval the interval at which the records are forced to the disk in the background,
+     *                     or null if every write should be synced.
+     */
+    static WriteAheadLogMatchStore open(MatchStore matchStore, Path logFile, Duration syncInterval) {
+        var log = WriteAheadLog.open(logFile, matchStore);
+        var store = new WriteAheadLogMatchStore(matchStore, log, syncInterval == null, null, 0);
+        if (syncInterval != null) {
+            store.schedule(store::sync, syncInterval);
+        }
+        return store;
+    }
+
+    /**
+     * Opens the store in the passed directory, creating the directory if it does not exist, loading the latest snapshot
+     * and replaying the log segments written after it into the passed store. Every write is synced.
+     *
+     * @param matchStore       the decorated store. Should be empty.
+     * @param directory        the directory of the snapshot and the log segments
+     * @param snapshotInterval the interval at which snapshots are taken in the background
+     */
+    static WriteAheadLogMatchStore openDirectory(MatchStore matchStore, Path directory, Duration snapshotInterval) {
+        try {
+            Files.createDirectories(directory);
+            var snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+            var snapshotGeneration = Files.exists(snapshotFile) ? MatchSnapshot.read(snapshotFile, matchStore) : 0L;
+
+            // segments contained in the snapshot are left behind if the process stopped before deleting them
+            var segmentGenerations = logSegmentGenerations(directory);
+            for (long generation : segmentGenerations) {
+                if (generation < snapshotGeneration) {
+                    Files.delete(logSegmentFile(directory, generation));
+                }
+            }
+
+            var replayedGenerations = segmentGenerations.stream().filter(generation -> generation >= snapshotGeneration).toList();
+            var currentGeneration = replayedGenerations.isEmpty()
+                    ? snapshotGeneration
+                    : replayedGenerations.get(replayedGenerations.size() - 1);
+            for (long generation : replayedGenerations) {
+                if (generation != currentGeneration) {
+                    WriteAheadLog.open(logSegmentFile(directory, generation), matchStore).close();
+                }
+            }
+
+            var log = WriteAheadLog.open(logSegmentFile(directory, currentGeneration), matchStore);
+            var store = new WriteAheadLogMatchStore(matchStore, log, true, directory, currentGeneration);
+            store.schedule(store::snapshot, snapshotInterval);
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot open store in directory='%s'.", directory), e);
+        }
+    }
+
+    @Override
+    public Optional<Match> getMatch(UUID id) {
+        return matchStore.getMatch(id);
+    }
+
+    @Override
+    public List<Match> getAllMatches() {
+        return matchStore.getAllMatches();
+    }
+
+    @Override
+    public List<Match> findMatchesByTeam(String teamName) {
+        return matchStore.findMatchesByTeam(teamName);
+    }
+
+    @Override
+    public Optional<Match> findMatchByTeams(String homeTeamName, String awayTeamName) {
+        return matchStore.findMatchByTeams(homeTeamName, awayTeamName);
+    }
+
+    @Override
+    public List<Match> getOrderedMatches() {
+        return matchStore.getOrderedMatches();
+    }
+
+    @Override
+    public List<Match> getOrderedMatches(int offset, int limit) {
+        return matchStore.getOrderedMatches(offset, limit);
+    }
+
+    @Override
+    public int getRank(Match match) {
+        return matchStore.getRank(match);
+    }
+
+    @Override
+    public int[] getRanks(List<Match> matches) {
+        return matchStore.getRanks(matches);
+    }
+
+    @Override
+    public long latestVersion() {
+        return matchStore.latestVersion();
+    }
+
+    @Override
+    public boolean publishesOrderedMatches() {
+        return matchStore.publishesOrderedMatches();
+    }
+
+    @Override
+    public void saveMatch(Match match) {
+        write(currentLog -> {
+            matchStore.saveMatch(match);
+            return currentLog.append(WriteAheadLog.SAVE, match);
+        });
+    }
+
+    @Override
+    public boolean saveMatchIfFixtureAbsent(Match match) {
+        var saved = new boolean[1];
+        write(currentLog -> {
+            saved[0] = matchStore.saveMatchIfFixtureAbsent(match);
+            return saved[0] ? currentLog.append(WriteAheadLog.SAVE, match) : currentLog.position();
+        });
+        return saved[0];
+    }
+
+    @Override
+    public void updateMatch(UUID id, Match match) {
+        write(currentLog -> {
+            matchStore.updateMatch(id, match);
+            return currentLog.append(WriteAheadLog.UPDATE, match);
+        });
+    }
+
+    @Override
+    public Optional<Match> computeMatchIfPresent(UUID id, UnaryOperator<Match> remappingFunction) {
+        var updatedMatch = new Match[1];
+        write(currentLog -> {
+            var result = matchStore.computeMatchIfPresent(id, remappingFunction);
+            if (result.isEmpty()) {
+                return currentLog.position();
+            }
+            updatedMatch[0] = result.get();
+            return currentLog.append(WriteAheadLog.UPDATE, updatedMatch[0]);
+        });
+        return Optional.ofNullable(updatedMatch[0]);
+    }
+
+    @Override
+    public void removeMatch(UUID id) {
+        write(currentLog -> {
+            matchStore.removeMatch(id);
+            return currentLog.appendRemoval(id);
+        });
+    }
+
+    @Override
+    public Optional<Match> removeAndGetMatch(UUID id) {
+        var removedMatch = new Match[1];
+        write(currentLog -> {
+            removedMatch[0] = matchStore.removeAndGetMatch(id).orElse(null);
+            return removedMatch[0] != null ? currentLog.appendRemoval(id) : currentLog.position();
+        });
+        return Optional.ofNullable(removedMatch[0]);
+    }
+
+    @Override
+    public void executeInBatch(Runnable batch) {
+        write(currentLog -> {
+            matchStore.executeInBatch(batch);
+            return currentLog.position();
+        });
+    }
+
+    @Override
+    public void sync() {
+        var currentLog = log;
+        currentLog.sync(currentLog.position());
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            // a snapshot or a sync in progress is completed before the log is closed
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        snapshotLock.lock();
+        try {
+            closed = true;
+            log.close();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the matches of the decorated store and deletes the log segments contained in it.
+     * Writers are only blocked while the matches are copied and the writes are switched to a new log segment.
+     * Has no effect if the log is not kept in segments of a directory or the store is closed.
+     */
+    void snapshot() {
+        if (directory == null) {
+            return;
+        }
+
+        snapshotLock.lock();
+        try {
+            if (closed) {
+                // a snapshot waiting for the lock while the store was closed must not open a new log segment
+                return;
+            }
+
+            // the generation is only changed while holding the snapshot lock
+            var snapshotGeneration = logGeneration + 1;
+            var nextLog = WriteAheadLog.open(logSegmentFile(directory, snapshotGeneration), matchStore);
+
+            List<Match> matches;
+            WriteAheadLog previousLog;
+            writeLock.lock();
+            try {
+                matches = matchStore.getAllMatches();
+                previousLog = log;
+                log = nextLog;
+                logGeneration = snapshotGeneration;
+            } finally {
+                writeLock.unlock();
+            }
+
+            // durability order: the new segment and its directory entry are forced to the disk when it is opened, and the
+            // snapshot and its renamed directory entry when it is written; only then are the contained segments deleted,
+            // so a power loss at any point leaves either the previous segments or the snapshot on the disk
+            previousLog.close();
+            MatchSnapshot.write(directory.resolve(SNAPSHOT_FILE_NAME), matches, snapshotGeneration);
+            for (long generation : logSegmentGenerations(directory)) {
+                if (generation < snapshotGeneration) {
+                    Files.delete(logSegmentFile(directory, generation));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot compact the log in directory='%s'.", directory), e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * @return the generation of the log segment the writes are currently recorded in.
+     */
+    long logGeneration() {
+        writeLock.lock();
+        try {
+            return logGeneration;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies and records a write under the write lock, then waits until its record is durable unless the records
+     * are synced in the background or the write is a part of a batch, which is synced once it completes.
+     *
+     * @param write the write, recording it in the passed log and returning the position of the log after its record
+     */
+    private void write(ToLongFunction<WriteAheadLog> write) {
+        WriteAheadLog currentLog;
+        long position;
+        writeLock.lock();
+        try {
+            currentLog = log;
+            position = write.applyAsLong(currentLog);
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (syncEveryWrite && !writeLock.isHeldByCurrentThread()) {
+            currentLog.sync(position);
+        }
+    }
+
+    private void schedule(Runnable task, Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "write-ahead-log-" + (directory == null ? "sync" : "snapshot"));
+            thread.setDaemon(true);
+            return thread;
+        });
+        var intervalNanos = interval.toNanos();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // a failed execution does not cancel the following ones
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Path logSegmentFile(Path directory, long generation) {
+        return directory.resolve(LOG_SEGMENT_FILE_NAME_PREFIX + generation);
+    }
+
+    /**
+     * @return the generations of the log segments in the passed directory, in the ascending order.
+     */
+    private static List<Long> logSegmentGenerations(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files
+                    .map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.startsWith(LOG_SEGMENT_FILE_NAME_PREFIX))
+                    .map(fileName -> Long.parseLong(fileName.substring(LOG_SEGMENT_FILE_NAME_PREFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fszuberski.scoreboard.domain;
+
+/**
+ * The counts of the score updates submitted to a coalescing buffer since it has been created.
+ *
+ * @param submittedUpdates the number of submitted updates
+ * @param coalescedUpdates the number of updates superseded by a later update of the same match before being flushed,
+ *                         i.e. the number of writes saved
+ * @param flushes          the number of flushes which applied at least one update
+ * @param appliedUpdates   the number of updates applied to the scoreboard
+ * @param failedUpdates    the number of updates rejected by the scoreboard, or dropped because the scoreboard failed
+ *                         with an exception while applying them
+ */
+public record CoalescingStatistics(
+        long submittedUpdates,
+        long coalescedUpdates,
+        long flushes,
+        long appliedUpdates,
+        long failedUpdates
+) {
+    public CoalescingStatistics {
+        if (submittedUpdates < 0) {
+            throw new IllegalArgumentException("SubmittedUpdates cannot be less than 0.");
+        }
+
+        if (coalescedUpdates < 0) {
+            throw new IllegalArgumentException("CoalescedUpdates cannot be less than 0.");
+        }
+
+        if (flushes < 0) {
+            throw new IllegalArgumentException("Flushes cannot be less than 0.");
+        }
+
+        if (appliedUpdates < 0) {
+            throw new IllegalArgumentException("AppliedUpdates cannot be less than 0.");
+        }
+
+        if (failedUpdates < 0) {
+            throw new IllegalArgumentException("FailedUpdates cannot be less than 0.");
+        }
+    }
+
+    /**
+     * @return the share of submitted updates which have been coalesced instead of written, from 0 to 1; 0 if no update
+     * has been submitted.
+     */
+    public double coalescingRatio() {
+        return submittedUpdates == 0 ? 0 : (double) coalescedUpdates / submittedUpdates;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fszuberski.scoreboard.domain;
+
+/**
+ * The counts of the score messages received by an ingestion pipeline since it has been started.
+ *
+ * @param receivedMessages  the number of messages received from all feeds
+ * @param malformedMessages the number of messages which could not be parsed and have been dropped
+ * @param coalescedUpdates  the number of updates superseded by a later update of the same match before being applied
+ * @param appliedUpdates    the number of updates applied to the scoreboard
+ * @param failedUpdates     the number of updates rejected by the scoreboard
+ * @param failedFeeds       the number of feeds which stopped because a message could not be received or parsed
+ */
+public record IngestionStatistics(
+        long receivedMessages,
+        long malformedMessages,
+        long coalescedUpdates,
+        long appliedUpdates,
+        long failedUpdates,
+        long failedFeeds
+) {
+    public IngestionStatistics {
+        if (receivedMessages < 0) {
+            throw new IllegalArgumentException("ReceivedMessages cannot be less than 0.");
+        }
+
+        if (malformedMessages < 0) {
+            throw new IllegalArgumentException("MalformedMessages cannot be less than 0.");
+        }
+
+        if (coalescedUpdates < 0) {
+            throw new IllegalArgumentException("CoalescedUpdates cannot be less than 0.");
+        }
+
+        if (appliedUpdates < 0) {
+            throw new IllegalArgumentException("AppliedUpdates cannot be less than 0.");
+        }
+
+        if (failedUpdates < 0) {
+            throw new IllegalArgumentException("FailedUpdates cannot be less than 0.");
+        }
+
+        if (failedFeeds < 0) {
+            throw new IllegalArgumentException("FailedFeeds cannot be less than 0.");
+        }
+    }
+}
@@ -3,7 +3,26 @@ package com.fszuberski.scoreboard.domain;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public record Match(UUID id, TeamScore homeTeamScore, TeamScore awayTeamScore, LocalDateTime startTime) {
+/**
+ * An ongoing match.
+ *
+ * @param id            the id of the match
+ * @param homeTeamScore the home team and its score
+ * @param awayTeamScore the away team and its score
+ * @param startTime     the time the match has been started at
+ * @param startSequence the version of the scoreboard at which the match has been started, or 0 if the match has not
+ *                      been started by a scoreboard. Orders matches started in the same clock tick.
+ * @param version       the version of the scoreboard at which the match has last been changed, or 0 if the match has
+ *                      not been changed by a scoreboard
+ */
+public record Match(
+        UUID id,
+        TeamScore homeTeamScore,
+        TeamScore awayTeamScore,
+        LocalDateTime startTime,
+        long startSequence,
+        long version
+) {
     public Match {
         if (id == null) {
             throw new IllegalArgumentException("Match id cannot be null.");
@@ -20,6 +39,18 @@ public record Match(UUID id, TeamScore homeTeamScore, TeamScore awayTeamScore, L
         if (startTime == null) {
             throw new IllegalArgumentException("StartTime cannot be null.");
         }
+
+        if (startSequence < 0) {
+            throw new IllegalArgumentException("StartSequence cannot be less than 0.");
+        }
+
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be less than 0.");
+        }
+    }
+
+    public Match(UUID id, TeamScore homeTeamScore, TeamScore awayTeamScore, LocalDateTime startTime) {
+        this(id, homeTeamScore, awayTeamScore, startTime, 0, 0);
     }
 
     public Match(TeamScore homeTeamScore, TeamScore awayTeamScore) {
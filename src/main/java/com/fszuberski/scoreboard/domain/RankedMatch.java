@@ -0,0 +1,13 @@
+package com.fszuberski.scoreboard.domain;
+
+public record RankedMatch(int rank, Match match) {
+    public RankedMatch {
+        if (rank < 0) {
+            throw new IllegalArgumentException("Rank cannot be less than 0.");
+        }
+
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null.");
+        }
+    }
+}
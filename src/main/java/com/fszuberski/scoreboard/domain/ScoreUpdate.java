@@ -0,0 +1,19 @@
+package com.fszuberski.scoreboard.domain;
+
+import java.util.UUID;
+
+public record ScoreUpdate(UUID matchId, int homeTeamScore, int awayTeamScore) {
+    public ScoreUpdate {
+        if (matchId == null) {
+            throw new IllegalArgumentException("MatchId cannot be null.");
+        }
+
+        if (homeTeamScore < 0) {
+            throw new IllegalArgumentException("HomeTeamScore cannot be less than 0.");
+        }
+
+        if (awayTeamScore < 0) {
+            throw new IllegalArgumentException("AwayTeamScore cannot be less than 0.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.fszuberski.scoreboard.domain;
+
+public record ScoreUpdateFailure(ScoreUpdate scoreUpdate, String reason) {
+    public ScoreUpdateFailure {
+        if (scoreUpdate == null) {
+            throw new IllegalArgumentException("ScoreUpdate cannot be null.");
+        }
+
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("Reason cannot be null or blank.");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fszuberski.scoreboard.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The changes of the summary of ongoing matches between two versions of a scoreboard.
+ * A summary at {@code fromVersion} is brought to {@code version} by removing the matches with the ids of
+ * {@code removedMatchIds} and of the matches of {@code rankedMatches}, and then inserting the matches of
+ * {@code rankedMatches} at their ranks, in the ascending order of the ranks.
+ * If {@code fullSummary} is true, the changes since {@code fromVersion} are no longer available and
+ * {@code rankedMatches} contains the whole summary, which replaces the summary at {@code fromVersion}.
+ *
+ * @param fromVersion     the version the changes are relative to
+ * @param version         the version of the scoreboard after the changes
+ * @param fullSummary     whether the delta contains the whole summary instead of the changes
+ * @param removedMatchIds the ids of the matches which have been finished
+ * @param rankedMatches   the started or updated matches with their positions in the summary, in the ascending order of the ranks
+ */
+public record ScoreboardDelta(
+        long fromVersion,
+        long version,
+        boolean fullSummary,
+        List<UUID> removedMatchIds,
+        List<RankedMatch> rankedMatches
+) {
+    public ScoreboardDelta {
+        if (fromVersion < 0) {
+            throw new IllegalArgumentException("FromVersion cannot be less than 0.");
+        }
+
+        if (version < fromVersion) {
+            throw new IllegalArgumentException("Version cannot be less than FromVersion.");
+        }
+
+        if (removedMatchIds == null) {
+            throw new IllegalArgumentException("RemovedMatchIds cannot be null.");
+        }
+
+        if (rankedMatches == null) {
+            throw new IllegalArgumentException("RankedMatches cannot be null.");
+        }
+
+        removedMatchIds = List.copyOf(removedMatchIds);
+        rankedMatches = List.copyOf(rankedMatches);
+    }
+
+    /**
+     * @return whether the summary has not changed between the versions.
+     */
+    public boolean isEmpty() {
+        return !fullSummary && removedMatchIds.isEmpty() && rankedMatches.isEmpty();
+    }
+}
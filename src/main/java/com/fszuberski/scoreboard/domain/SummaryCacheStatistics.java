@@ -0,0 +1,57 @@
+package com.fszuberski.scoreboard.domain;
+
+/**
+ * The effectiveness of the cached summary of ongoing matches of a scoreboard since the scoreboard has been created.
+ *
+ * @param hits                  the number of summaries served from the cache without accessing the store
+ * @param incrementalRecomputes the number of summaries recomputed by re-positioning only the changed matches
+ * @param fullRecomputes        the number of summaries recomputed by retrieving all ordered matches from the store
+ * @param uncachedReads         the number of summaries retrieved from the store without caching them, because the
+ *                              scoreboard has been changed concurrently or the store publishes its ordered matches
+ *                              itself
+ * @param recomputeNanos        the total time spent recomputing summaries, in nanoseconds
+ */
+public record SummaryCacheStatistics(
+        long hits,
+        long incrementalRecomputes,
+        long fullRecomputes,
+        long uncachedReads,
+        long recomputeNanos
+) {
+    public SummaryCacheStatistics {
+        if (hits < 0) {
+            throw new IllegalArgumentException("Hits cannot be less than 0.");
+        }
+
+        if (incrementalRecomputes < 0) {
+            throw new IllegalArgumentException("IncrementalRecomputes cannot be less than 0.");
+        }
+
+        if (fullRecomputes < 0) {
+            throw new IllegalArgumentException("FullRecomputes cannot be less than 0.");
+        }
+
+        if (uncachedReads < 0) {
+            throw new IllegalArgumentException("UncachedReads cannot be less than 0.");
+        }
+
+        if (recomputeNanos < 0) {
+            throw new IllegalArgumentException("RecomputeNanos cannot be less than 0.");
+        }
+    }
+
+    /**
+     * @return the number of summaries which have not been served from the cache.
+     */
+    public long misses() {
+        return incrementalRecomputes + fullRecomputes + uncachedReads;
+    }
+
+    /**
+     * @return the share of summaries served from the cache, from 0 to 1; 0 if no summary has been read.
+     */
+    public double hitRatio() {
+        var reads = hits + misses();
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
+}
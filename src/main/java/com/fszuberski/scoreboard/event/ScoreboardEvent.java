@@ -0,0 +1,73 @@
+package com.fszuberski.scoreboard.event;
+
+import com.fszuberski.scoreboard.domain.Match;
+
+/**
+ * A change of the state of a {@link com.fszuberski.scoreboard.Scoreboard}, published to the subscribed
+ * {@link ScoreboardListener ScoreboardListeners} after the change has been applied to the store.
+ */
+public sealed interface ScoreboardEvent {
+
+    /**
+     * @param match the started match
+     */
+    record MatchStarted(Match match) implements ScoreboardEvent {
+        public MatchStarted {
+            if (match == null) {
+                throw new IllegalArgumentException("Match cannot be null.");
+            }
+        }
+    }
+
+    /**
+     * @param previousMatch the match before the score update
+     * @param match         the match after the score update
+     */
+    record ScoreUpdated(Match previousMatch, Match match) implements ScoreboardEvent {
+        public ScoreUpdated {
+            if (previousMatch == null) {
+                throw new IllegalArgumentException("PreviousMatch cannot be null.");
+            }
+
+            if (match == null) {
+                throw new IllegalArgumentException("Match cannot be null.");
+            }
+        }
+    }
+
+    /**
+     * @param match the finished match, in its state at the time it was finished
+     */
+    record MatchFinished(Match match) implements ScoreboardEvent {
+        public MatchFinished {
+            if (match == null) {
+                throw new IllegalArgumentException("Match cannot be null.");
+            }
+        }
+    }
+
+    /**
+     * Published after a {@link ScoreUpdated} event if the score update has moved the match to another position
+     * in the summary of ongoing matches. The matches in between the previous and the new position are implicitly
+     * shifted by one position and are not reported by separate events.
+     *
+     * @param match        the match which has changed its position
+     * @param previousRank the previous 0-based position of the match in the summary
+     * @param rank         the new 0-based position of the match in the summary
+     */
+    record RankChanged(Match match, int previousRank, int rank) implements ScoreboardEvent {
+        public RankChanged {
+            if (match == null) {
+                throw new IllegalArgumentException("Match cannot be null.");
+            }
+
+            if (previousRank < 0) {
+                throw new IllegalArgumentException("PreviousRank cannot be less than 0.");
+            }
+
+            if (rank < 0) {
+                throw new IllegalArgumentException("Rank cannot be less than 0.");
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fszuberski.scoreboard.event;
+
+/**
+ * Receives the {@link ScoreboardEvent ScoreboardEvents} of a {@link com.fszuberski.scoreboard.Scoreboard}.
+ * The events of a subscription are delivered one at a time, in the order in which they were published,
+ * but not necessarily by the same thread.
+ * <p>
+ * Events are published after their changes have been applied, so the events of changes of the same match made
+ * concurrently by different threads may be published in a different order than the changes were applied. Every event
+ * carries the match stamped with the version of its change (see {@link com.fszuberski.scoreboard.domain.Match#version()}),
+ * so listeners keeping the state of matches should discard an event of a match whose version is lower than the version
+ * of the last processed event of that match.
+ */
+@FunctionalInterface
+public interface ScoreboardListener {
+
+    void onEvent(ScoreboardEvent event);
+}
@@ -0,0 +1,26 @@
+package com.fszuberski.scoreboard.event;
+
+/**
+ * A subscription of a {@link ScoreboardListener} to the events of a {@link com.fszuberski.scoreboard.Scoreboard}.
+ */
+public interface Subscription extends AutoCloseable {
+
+    /**
+     * Cancels the subscription. Events which have not been delivered yet are discarded.
+     * Has no effect if the subscription has already been cancelled.
+     */
+    void cancel();
+
+    /**
+     * @return the number of published events which have not been delivered to the listener yet.
+     */
+    int pendingEvents();
+
+    /**
+     * Cancels the subscription (see {@link #cancel()}).
+     */
+    @Override
+    default void close() {
+        cancel();
+    }
+}
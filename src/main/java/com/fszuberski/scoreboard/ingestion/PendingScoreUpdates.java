@@ -0,0 +1,131 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded buffer of score updates waiting to be applied, coalesced per match: as the updates carry absolute scores,
+ * an update of a match with a pending update supersedes the pending update instead of being queued after it. The
+ * buffer is bounded by the number of matches with pending updates; adding an update of another match to a full
+ * buffer waits until the pending updates are taken, which slows the producers down to the pace of the consumer.
+ * Superseding a pending update never waits.
+ */
+final class PendingScoreUpdates {
+    private final int maxPendingMatches;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+    // in the order in which the matches have received their first pending update
+    private LinkedHashMap<UUID, ScoreUpdate> updates = new LinkedHashMap<>();
+    private boolean closed;
+
+    /**
+     * @param maxPendingMatches the maximum number of matches with pending updates. Cannot be less than 1.
+     */
+    PendingScoreUpdates(int maxPendingMatches) {
+        if (maxPendingMatches < 1) {
+            throw new IllegalArgumentException("MaxPendingMatches cannot be less than 1.");
+        }
+        this.maxPendingMatches = maxPendingMatches;
+    }
+
+    /**
+     * Adds the update, superseding the pending update of the same match. Waits while the buffer is full unless the
+     * update supersedes a pending update or the buffer is closed.
+     *
+     * @return true if the update has superseded a pending update.
+     * @throws InterruptedException if the thread has been interrupted while waiting.
+     */
+    boolean put(ScoreUpdate scoreUpdate) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (updates.size() >= maxPendingMatches && !closed && !updates.containsKey(scoreUpdate.matchId())) {
+                notFull.await();
+            }
+
+            var superseded = updates.put(scoreUpdate.matchId(), scoreUpdate) != null;
+            if (!superseded && updates.size() == 1) {
+                notEmpty.signal();
+            }
+            return superseded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes all pending updates, waiting up to the passed timeout until there is at least one.
+     *
+     * @return the pending updates in the order in which their matches have received their first pending update;
+     * empty if there were none until the timeout elapsed or the buffer has been closed.
+     * @throws InterruptedException if the thread has been interrupted while waiting.
+     */
+    List<ScoreUpdate> take(long timeout, TimeUnit unit) throws InterruptedException {
+        var remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (updates.isEmpty() && !closed && remainingNanos > 0) {
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+            }
+            return takeAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes all pending updates without waiting.
+     */
+    List<ScoreUpdate> take() {
+        lock.lock();
+        try {
+            return takeAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of matches with pending updates.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return updates.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops waiting for the consumer: producers waiting for a full buffer add their updates and the consumer waiting
+     * for updates returns immediately.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<ScoreUpdate> takeAll() {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+
+        var takenUpdates = List.copyOf(updates.values());
+        updates = new LinkedHashMap<>();
+        notFull.signalAll();
+        return takenUpdates;
+    }
+}
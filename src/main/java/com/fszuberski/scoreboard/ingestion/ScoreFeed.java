@@ -0,0 +1,27 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import java.io.IOException;
+
+/**
+ * An upstream connection delivering score messages, e.g. of a single competition, read by a dedicated thread of a
+ * {@link ScoreIngestionPipeline}.
+ */
+@FunctionalInterface
+public interface ScoreFeed extends AutoCloseable {
+
+    /**
+     * Blocks until the next message of the feed is received.
+     *
+     * @return the next message, or null once the feed has ended.
+     * @throws IOException if the message cannot be received; the feed is not read any further.
+     */
+    String nextMessage() throws IOException;
+
+    /**
+     * Closes the connection of the feed, unblocking the thread waiting for the next message.
+     * The default implementation has no effect.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
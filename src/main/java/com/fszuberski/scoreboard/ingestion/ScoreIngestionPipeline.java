@@ -0,0 +1,289 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.Scoreboard;
+import com.fszuberski.scoreboard.domain.IngestionStatistics;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingests score messages of multiple {@link ScoreFeed ScoreFeeds} into a {@link Scoreboard}. Every feed is read by
+ * its own thread, which parses the messages and adds the score updates to a bounded buffer coalescing them per match
+ * (see {@link PendingScoreUpdates}); a single applier thread takes all pending updates at once and applies them to the
+ * scoreboard in a single pass (see {@link Scoreboard#updateMatchScores(java.util.Collection)}). While the scoreboard
+ * keeps up, every update is applied right after it is received; during bursts, the updates of a match received while
+ * the previous batch was applied are coalesced into the latest one. Once the buffer holds updates of the maximum
+ * number of matches, the feed threads wait for the applier thread instead of queueing updates without bound.
+ * <p>
+ * The threads are created by the passed thread factory, e.g. a factory of virtual threads (Java 21+), so that a feed
+ * waiting for its next message does not occupy a platform thread.
+ */
+public final class ScoreIngestionPipeline implements AutoCloseable {
+    public static final int DEFAULT_MAX_PENDING_MATCHES = 4_096;
+
+    private static final long TAKE_TIMEOUT_MILLIS = 100;
+
+    private final Scoreboard scoreboard;
+    private final ScoreMessageParser parser;
+    private final ThreadFactory threadFactory;
+    private final PendingScoreUpdates pendingUpdates;
+    private final List<FeedReader> feedReaders = new CopyOnWriteArrayList<>();
+    private final Thread applierThread;
+    // feeds are added and the pipeline is closed under the lock, so that every added feed is started and stopped
+    private final Object feedLock = new Object();
+    private volatile boolean closed;
+
+    private final LongAdder receivedMessages = new LongAdder();
+    private final LongAdder malformedMessages = new LongAdder();
+    private final LongAdder coalescedUpdates = new LongAdder();
+    private final LongAdder appliedUpdates = new LongAdder();
+    private final LongAdder failedUpdates = new LongAdder();
+    private final LongAdder failedFeeds = new LongAdder();
+
+    /**
+     * Constructor for the {@link ScoreIngestionPipeline} class parsing {@link ScoreMessageParser#CSV} messages on
+     * daemon platform threads and buffering the updates of up to {@value #DEFAULT_MAX_PENDING_MATCHES} matches.
+     *
+     * @param scoreboard the scoreboard the score updates are applied to. Cannot be null.
+     */
+    public ScoreIngestionPipeline(Scoreboard scoreboard) {
+        this(scoreboard, ScoreMessageParser.CSV, daemonThreadFactory(), DEFAULT_MAX_PENDING_MATCHES);
+    }
+
+    /**
+     * Canonical constructor for the {@link ScoreIngestionPipeline} class. Starts the applier thread.
+     *
+     * @param scoreboard        the scoreboard the score updates are applied to. Cannot be null.
+     * @param parser            the parser of the messages of all feeds. Cannot be null.
+     * @param threadFactory     the factory of the feed threads and the applier thread. Cannot be null.
+     * @param maxPendingMatches the maximum number of matches with updates waiting to be applied before the feed
+     *                          threads wait for the applier thread. Cannot be less than 1.
+     */
+    public ScoreIngestionPipeline(
+            Scoreboard scoreboard,
+            ScoreMessageParser parser,
+            ThreadFactory threadFactory,
+            int maxPendingMatches
+    ) {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null.");
+        }
+
+        if (parser == null) {
+            throw new IllegalArgumentException("Parser cannot be null.");
+        }
+
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("ThreadFactory cannot be null.");
+        }
+        this.scoreboard = scoreboard;
+        this.parser = parser;
+        this.threadFactory = threadFactory;
+        this.pendingUpdates = new PendingScoreUpdates(maxPendingMatches);
+        this.applierThread = threadFactory.newThread(this::applyUpdates);
+        applierThread.start();
+    }
+
+    /**
+     * Starts reading the passed feed on a new thread until the feed ends, fails or the pipeline is closed.
+     *
+     * @param feed the feed that should be ingested. Cannot be null.
+     */
+    public void addFeed(ScoreFeed feed) {
+        if (feed == null) {
+            throw new IllegalArgumentException("Feed cannot be null.");
+        }
+
+        synchronized (feedLock) {
+            if (closed) {
+                throw new IllegalStateException("Pipeline is closed.");
+            }
+
+            var feedReader = new FeedReader(feed);
+            feedReader.thread = threadFactory.newThread(feedReader);
+            feedReaders.add(feedReader);
+            feedReader.thread.start();
+        }
+    }
+
+    /**
+     * @return the counts of the messages received since the pipeline has been started.
+     */
+    public IngestionStatistics statistics() {
+        return new IngestionStatistics(
+                receivedMessages.sum(),
+                malformedMessages.sum(),
+                coalescedUpdates.sum(),
+                appliedUpdates.sum(),
+                failedUpdates.sum(),
+                failedFeeds.sum());
+    }
+
+    /**
+     * Closes all feeds, waits until their threads have stopped and applies the updates received until then.
+     */
+    @Override
+    public void close() {
+        synchronized (feedLock) {
+            closed = true;
+        }
+        for (FeedReader feedReader : feedReaders) {
+            feedReader.stop();
+        }
+
+        try {
+            for (FeedReader feedReader : feedReaders) {
+                feedReader.thread.join();
+            }
+            pendingUpdates.close();
+            applierThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until all feeds added so far have ended, then closes the pipeline, applying the updates received from
+     * them (see {@link #close()}). Intended for finite feeds, e.g. replays of recorded messages.
+     *
+     * @throws InterruptedException if the thread has been interrupted while waiting.
+     */
+    public void closeWhenFeedsEnded() throws InterruptedException {
+        for (FeedReader feedReader : feedReaders) {
+            feedReader.thread.join();
+        }
+        close();
+    }
+
+    private void applyUpdates() {
+        try {
+            while (true) {
+                var scoreUpdates = pendingUpdates.take(TAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (scoreUpdates.isEmpty()) {
+                    // updates are only added by running feed threads, so none can be added once they have stopped;
+                    // the threads of all feeds added before the pipeline has been closed have been started
+                    if (closed && feedsStopped() && pendingUpdates.size() == 0) {
+                        return;
+                    }
+                    continue;
+                }
+
+                apply(scoreUpdates);
+            }
+        } catch (InterruptedException e) {
+            // the remaining updates are applied before the thread stops
+            apply(pendingUpdates.take());
+        }
+    }
+
+    private void apply(List<ScoreUpdate> scoreUpdates) {
+        if (scoreUpdates.isEmpty()) {
+            return;
+        }
+
+        try {
+            var failures = scoreboard.updateMatchScores(scoreUpdates);
+            appliedUpdates.add(scoreUpdates.size() - failures.size());
+            failedUpdates.add(failures.size());
+        } catch (RuntimeException e) {
+            // a failure of the store does not stop the ingestion of the following updates
+            failedUpdates.add(scoreUpdates.size());
+            reportUncaughtException(e);
+        }
+    }
+
+    private boolean feedsStopped() {
+        for (FeedReader feedReader : feedReaders) {
+            if (feedReader.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void reportUncaughtException(Exception e) {
+        var thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        var threadNumber = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "score-ingestion-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class FeedReader implements Runnable {
+        private final ScoreFeed feed;
+        private Thread thread;
+
+        private FeedReader(ScoreFeed feed) {
+            this.feed = feed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                String message;
+                while (!closed && (message = feed.nextMessage()) != null) {
+                    receivedMessages.increment();
+                    ScoreUpdate scoreUpdate;
+                    try {
+                        scoreUpdate = parser.parse(message);
+                    } catch (IllegalArgumentException e) {
+                        malformedMessages.increment();
+                        continue;
+                    }
+
+                    if (putUninterruptibly(scoreUpdate)) {
+                        coalescedUpdates.increment();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // a feed or a parser failing unexpectedly stops only its own feed
+                if (!closed) {
+                    failedFeeds.increment();
+                    reportUncaughtException(e);
+                }
+            }
+        }
+
+        /**
+         * Adds a received update even if the pipeline is being closed, so that it is applied before the pipeline
+         * closes; the applier thread keeps taking updates until all feed threads have stopped.
+         */
+        private boolean putUninterruptibly(ScoreUpdate scoreUpdate) {
+            var interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return pendingUpdates.put(scoreUpdate);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void stop() {
+            try {
+                feed.close();
+            } catch (IOException e) {
+                reportUncaughtException(e);
+            }
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+
+import java.util.UUID;
+
+/**
+ * Parses the messages of a {@link ScoreFeed} into {@link ScoreUpdate ScoreUpdates}. Invoked concurrently by the
+ * threads of all feeds, so implementations have to be thread-safe.
+ */
+@FunctionalInterface
+public interface ScoreMessageParser {
+
+    /**
+     * Parses messages in the {@code matchId,homeTeamScore,awayTeamScore} format, e.g.
+     * {@code 0b6e3c4e-7d1f-4d3a-9a4b-2f9a1c7e5d10,2,1}.
+     */
+    ScoreMessageParser CSV = message -> {
+        var fields = message.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot parse message='%s'; expected matchId,homeTeamScore,awayTeamScore.", message));
+        }
+
+        try {
+            return new ScoreUpdate(
+                    UUID.fromString(fields[0].strip()),
+                    Integer.parseInt(fields[1].strip()),
+                    Integer.parseInt(fields[2].strip()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot parse message='%s'; expected matchId,homeTeamScore,awayTeamScore.", message), e);
+        }
+    };
+
+    /**
+     * @param message the message received from a feed
+     * @return the score update carried by the message.
+     * @throws IllegalArgumentException if the message is malformed.
+     */
+    ScoreUpdate parse(String message);
+}
@@ -0,0 +1,201 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.Scoreboard;
+import com.fszuberski.scoreboard.domain.CoalescingStatistics;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreUpdateFailure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A buffer in front of a {@link Scoreboard} collapsing the score updates submitted within a tick into a single update
+ * per match. As {@link Scoreboard#updateMatchScore(UUID, int, int)} takes absolute scores, only the latest pending
+ * update of a match matters; the superseded updates are never looked up, validated or written to the store. The
+ * pending updates are flushed to the scoreboard in a single pass (see
+ * {@link Scoreboard#updateMatchScores(java.util.Collection)}) once per flush interval, in the background, and as soon
+ * as updates of the maximum number of matches are pending, by the submitting thread.
+ * <p>
+ * Submitting never waits for the scoreboard unless it triggers a flush. Flushes are executed one at a time, so the
+ * updates of a match are applied in the order they have been submitted. The scoreboard reflects a submitted update at
+ * most one flush interval later. An update submitted without an exception is flushed at the latest by the final flush
+ * of {@link #close()}. If the scoreboard fails with an exception while a flush applies the updates, e.g. because its
+ * store cannot be written, the updates taken by that flush are counted as failed and are not retried.
+ */
+public final class ScoreUpdateCoalescer implements AutoCloseable {
+    private static final long CLOSE_FLUSH_INTERVAL_MILLIS = 1;
+
+    private final Scoreboard scoreboard;
+    private final int maxPendingMatches;
+    private final PendingScoreUpdates pendingUpdates;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    // submits add their updates under the read lock, so that closing waits for them before the final flush
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private final LongAdder submittedUpdates = new LongAdder();
+    private final LongAdder coalescedUpdates = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder appliedUpdates = new LongAdder();
+    private final LongAdder failedUpdates = new LongAdder();
+
+    /**
+     * Canonical constructor for the {@link ScoreUpdateCoalescer} class. Starts flushing in the background.
+     *
+     * @param scoreboard        the scoreboard the updates are flushed to. Cannot be null.
+     * @param flushInterval     the interval at which the pending updates are flushed. Cannot be null, zero or negative.
+     * @param maxPendingMatches the number of matches with pending updates which triggers a flush. Cannot be less than 1.
+     */
+    public ScoreUpdateCoalescer(Scoreboard scoreboard, Duration flushInterval, int maxPendingMatches) {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null.");
+        }
+
+        if (flushInterval == null) {
+            throw new IllegalArgumentException("FlushInterval cannot be null.");
+        }
+
+        if (flushInterval.isZero() || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("FlushInterval cannot be zero or negative.");
+        }
+
+        if (maxPendingMatches < 1) {
+            throw new IllegalArgumentException("MaxPendingMatches cannot be less than 1.");
+        }
+        this.scoreboard = scoreboard;
+        this.maxPendingMatches = maxPendingMatches;
+        this.pendingUpdates = new PendingScoreUpdates(maxPendingMatches);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "score-update-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var intervalNanos = flushInterval.toNanos();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // a failed flush does not cancel the following ones
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Submits an update of the score of an existing match, superseding its pending update. The update is validated
+     * by the scoreboard once it is flushed.
+     *
+     * @param scoreUpdate the score update. Cannot be null.
+     */
+    public void submit(ScoreUpdate scoreUpdate) {
+        if (scoreUpdate == null) {
+            throw new IllegalArgumentException("ScoreUpdate cannot be null.");
+        }
+
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Coalescer is closed.");
+            }
+
+            submittedUpdates.increment();
+            if (pendingUpdates.put(scoreUpdate)) {
+                coalescedUpdates.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a flush.", e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+
+        if (pendingUpdates.size() >= maxPendingMatches) {
+            flush();
+        }
+    }
+
+    /**
+     * Applies the pending updates to the scoreboard in a single pass.
+     *
+     * @return the failures of the updates rejected by the scoreboard; empty if all updates were applied.
+     * @throws RuntimeException the exception of the scoreboard failing to apply the updates, which are counted as
+     *                          failed and dropped.
+     */
+    public List<ScoreUpdateFailure> flush() {
+        flushLock.lock();
+        try {
+            var scoreUpdates = pendingUpdates.take();
+            if (scoreUpdates.isEmpty()) {
+                return List.of();
+            }
+
+            List<ScoreUpdateFailure> failures;
+            try {
+                failures = scoreboard.updateMatchScores(scoreUpdates);
+            } catch (RuntimeException e) {
+                // the updates have been taken from the buffer, so they are not applied by a later flush either
+                failedUpdates.add(scoreUpdates.size());
+                throw e;
+            }
+            flushes.increment();
+            appliedUpdates.add(scoreUpdates.size() - failures.size());
+            failedUpdates.add(failures.size());
+            return failures;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the counts of the updates submitted since the coalescer has been created.
+     */
+    public CoalescingStatistics statistics() {
+        return new CoalescingStatistics(
+                submittedUpdates.sum(),
+                coalescedUpdates.sum(),
+                flushes.sum(),
+                appliedUpdates.sum(),
+                failedUpdates.sum());
+    }
+
+    /**
+     * Rejects further submits, waits for the submits in progress, stops flushing in the background and flushes the
+     * pending updates.
+     */
+    @Override
+    public void close() {
+        var writeLock = closeLock.writeLock();
+        try {
+            // flushing while waiting releases the submits waiting for a full buffer
+            while (!writeLock.tryLock(CLOSE_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // the background flushes release the submits waiting for a full buffer
+            writeLock.lock();
+        }
+        try {
+            closed = true;
+        } finally {
+            writeLock.unlock();
+        }
+
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
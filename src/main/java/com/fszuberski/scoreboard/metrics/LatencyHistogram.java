@@ -0,0 +1,117 @@
+package com.fszuberski.scoreboard.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, e.g. latencies in nanoseconds, with a bounded relative error in the
+ * style of an HDR histogram. Values below 32 are counted exactly; larger values are counted in 32 linear sub-buckets
+ * per power of two, so a value reported by {@link #valueAtPercentile(double)} differs from the recorded value by less
+ * than 1/32 (about 3%). The histogram has a fixed footprint of less than 2k counters regardless of the recorded values.
+ * <p>
+ * Recording a value costs a few atomic increments and never blocks. Reads are not atomic with respect to concurrent
+ * recordings, i.e. the count, the mean and the percentiles may reflect slightly different sets of values.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = Long.SIZE - 2;
+    private static final int NUMBER_OF_BUCKETS = SUB_BUCKET_COUNT + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the recorded value
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        // the maximum is only contended while it grows
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return the greatest recorded value, or 0 if no value has been recorded.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if no value has been recorded.
+     */
+    public double mean() {
+        var count = count();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Returns the value below or at which the passed percentage of the recorded values lies, e.g. the median for 50.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the highest value equivalent to the value at the percentile, or 0 if no value has been recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile cannot be less than 0 or greater than 100.");
+        }
+
+        var totalCount = 0L;
+        var bucketCounts = new long[NUMBER_OF_BUCKETS];
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            bucketCounts[bucket] = counts.get(bucket);
+            totalCount += bucketCounts[bucket];
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        var cumulativeCount = 0L;
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            cumulativeCount += bucketCounts[bucket];
+            if (cumulativeCount >= rank) {
+                return Math.min(highestEquivalentValue(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        var magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestEquivalentValue(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        var magnitude = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        var subBucket = (bucket - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        var shift = magnitude - SUB_BUCKET_BITS;
+        return ((long) (subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.fszuberski.scoreboard.metrics;
+
+/**
+ * Receives the measurements of a {@link com.fszuberski.scoreboard.Scoreboard} and of an instrumented
+ * {@link com.fszuberski.scoreboard.MatchStore}, e.g. in order to record them in {@link ScoreboardMetrics} or to forward
+ * them to a metrics library. Every method has an empty default implementation, so implementations only override the
+ * measurements they are interested in. The methods are invoked on the hot path by the thread which performed the
+ * measured operation, so implementations should return quickly and must not block.
+ * <p>
+ * A scoreboard created with {@link #NOOP} takes no measurements at all, not even reading the clock.
+ */
+public interface ScoreboardInstrumentation {
+
+    /**
+     * The instrumentation disabling all measurements.
+     */
+    ScoreboardInstrumentation NOOP = new ScoreboardInstrumentation() {
+    };
+
+    /**
+     * @param numberOfMatches the number of matches already in the store when the scoreboard has been created,
+     *                        e.g. recovered by a durable store
+     */
+    default void matchesLoaded(int numberOfMatches) {
+    }
+
+    /**
+     * @param durationNanos the duration of starting the match
+     */
+    default void matchStarted(long durationNanos) {
+    }
+
+    /**
+     * Invoked when starting a match has been rejected with an {@link IllegalArgumentException}.
+     */
+    default void matchStartRejected() {
+    }
+
+    /**
+     * @param durationNanos the duration of updating the score
+     */
+    default void scoreUpdated(long durationNanos) {
+    }
+
+    /**
+     * Invoked when a score update has been rejected with an {@link IllegalArgumentException}.
+     */
+    default void scoreUpdateRejected() {
+    }
+
+    /**
+     * @param numberOfAppliedUpdates the number of score updates of the batch which have been applied
+     * @param numberOfFailures       the number of score updates of the batch reported as failures
+     * @param durationNanos          the duration of applying the batch
+     */
+    default void scoreUpdateBatchApplied(int numberOfAppliedUpdates, int numberOfFailures, long durationNanos) {
+    }
+
+    /**
+     * @param ongoing       whether the match was in progress; finishing a match which is not in progress has no effect
+     * @param durationNanos the duration of finishing the match
+     */
+    default void matchFinished(boolean ongoing, long durationNanos) {
+    }
+
+    /**
+     * @param durationNanos the duration of retrieving the summary of ongoing matches
+     */
+    default void summaryRetrieved(long durationNanos) {
+    }
+
+    /**
+     * @param operation     the operation performed by the instrumented store
+     * @param durationNanos the duration of the operation
+     */
+    default void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.fszuberski.scoreboard.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ScoreboardInstrumentation} recording the measurements in lock-free counters and {@link LatencyHistogram
+ * LatencyHistograms}, so that they can be read at any time, e.g. by a periodic reporter. Recording never blocks the
+ * measured thread; the same instance can be shared by multiple scoreboards and stores.
+ */
+public final class ScoreboardMetrics implements ScoreboardInstrumentation {
+    private final LongAdder matchesStarted = new LongAdder();
+    private final LongAdder matchStartsRejected = new LongAdder();
+    private final LongAdder scoresUpdated = new LongAdder();
+    private final LongAdder scoreUpdatesRejected = new LongAdder();
+    private final LongAdder matchesFinished = new LongAdder();
+    private final LongAdder ongoingMatches = new LongAdder();
+
+    private final LatencyHistogram startMatchLatency = new LatencyHistogram();
+    private final LatencyHistogram updateMatchScoreLatency = new LatencyHistogram();
+    private final LatencyHistogram updateMatchScoresLatency = new LatencyHistogram();
+    private final LatencyHistogram finishMatchLatency = new LatencyHistogram();
+    private final LatencyHistogram getOngoingMatchesLatency = new LatencyHistogram();
+    private final Map<StoreOperation, LatencyHistogram> storeOperationLatencies = new EnumMap<>(StoreOperation.class);
+
+    public ScoreboardMetrics() {
+        for (StoreOperation operation : StoreOperation.values()) {
+            storeOperationLatencies.put(operation, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void matchesLoaded(int numberOfMatches) {
+        ongoingMatches.add(numberOfMatches);
+    }
+
+    @Override
+    public void matchStarted(long durationNanos) {
+        matchesStarted.increment();
+        ongoingMatches.increment();
+        startMatchLatency.record(durationNanos);
+    }
+
+    @Override
+    public void matchStartRejected() {
+        matchStartsRejected.increment();
+    }
+
+    @Override
+    public void scoreUpdated(long durationNanos) {
+        scoresUpdated.increment();
+        updateMatchScoreLatency.record(durationNanos);
+    }
+
+    @Override
+    public void scoreUpdateRejected() {
+        scoreUpdatesRejected.increment();
+    }
+
+    @Override
+    public void scoreUpdateBatchApplied(int numberOfAppliedUpdates, int numberOfFailures, long durationNanos) {
+        scoresUpdated.add(numberOfAppliedUpdates);
+        scoreUpdatesRejected.add(numberOfFailures);
+        updateMatchScoresLatency.record(durationNanos);
+    }
+
+    @Override
+    public void matchFinished(boolean ongoing, long durationNanos) {
+        if (ongoing) {
+            matchesFinished.increment();
+            ongoingMatches.decrement();
+        }
+        finishMatchLatency.record(durationNanos);
+    }
+
+    @Override
+    public void summaryRetrieved(long durationNanos) {
+        getOngoingMatchesLatency.record(durationNanos);
+    }
+
+    @Override
+    public void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+        storeOperationLatencies.get(operation).record(durationNanos);
+    }
+
+    /**
+     * @return the number of started matches.
+     */
+    public long matchesStarted() {
+        return matchesStarted.sum();
+    }
+
+    /**
+     * @return the number of rejected attempts to start a match, e.g. because of a blank team name or a duplicate fixture.
+     */
+    public long matchStartsRejected() {
+        return matchStartsRejected.sum();
+    }
+
+    /**
+     * @return the number of applied score updates, including the updates applied in batches.
+     */
+    public long scoresUpdated() {
+        return scoresUpdated.sum();
+    }
+
+    /**
+     * @return the number of rejected score updates, including the failures of batches, e.g. because the match is not
+     * in progress or the score is lower than the previous score.
+     */
+    public long scoreUpdatesRejected() {
+        return scoreUpdatesRejected.sum();
+    }
+
+    /**
+     * @return the number of finished matches which were in progress.
+     */
+    public long matchesFinished() {
+        return matchesFinished.sum();
+    }
+
+    /**
+     * @return the number of matches in progress: the matches loaded by the scoreboards and started through them,
+     * minus the finished ones.
+     */
+    public long ongoingMatches() {
+        return ongoingMatches.sum();
+    }
+
+    public LatencyHistogram startMatchLatency() {
+        return startMatchLatency;
+    }
+
+    public LatencyHistogram updateMatchScoreLatency() {
+        return updateMatchScoreLatency;
+    }
+
+    public LatencyHistogram updateMatchScoresLatency() {
+        return updateMatchScoresLatency;
+    }
+
+    public LatencyHistogram finishMatchLatency() {
+        return finishMatchLatency;
+    }
+
+    public LatencyHistogram getOngoingMatchesLatency() {
+        return getOngoingMatchesLatency;
+    }
+
+    /**
+     * @param operation the operation of an instrumented store. Cannot be null.
+     * @return the histogram of the durations of the operation.
+     */
+    public LatencyHistogram storeOperationLatency(StoreOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null.");
+        }
+
+        return storeOperationLatencies.get(operation);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fszuberski.scoreboard.metrics;
+
+/**
+ * The operations of a {@link com.fszuberski.scoreboard.MatchStore} measured by an instrumented store.
+ */
+public enum StoreOperation {
+    GET_MATCH,
+    GET_ALL_MATCHES,
+    FIND_MATCHES_BY_TEAM,
+    FIND_MATCH_BY_TEAMS,
+    GET_ORDERED_MATCHES,
+    GET_RANK,
+    SAVE_MATCH,
+    UPDATE_MATCH,
+    COMPUTE_MATCH_IF_PRESENT,
+    UPDATE_SCORE_IF_PRESENT,
+    REMOVE_MATCH,
+    EXECUTE_IN_BATCH
+}
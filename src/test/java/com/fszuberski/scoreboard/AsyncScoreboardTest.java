@@ -0,0 +1,212 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreUpdateFailure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncScoreboardTest {
+
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private ExecutorService executorService;
+    private AsyncScoreboard scoreboard;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        this.scoreboard = new AsyncScoreboard(new Scoreboard(MatchStore.concurrentInMemory()), executorService);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executorService.shutdownNow();
+    }
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @Test
+        @DisplayName("should throw exception given Scoreboard is null")
+        public void shouldThrowExceptionGivenScoreboardIsNull() {
+            // when: the AsyncScoreboard is created with a null Scoreboard
+            Executable executable = () -> new AsyncScoreboard(null, executorService);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Scoreboard cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given executor is null")
+        public void shouldThrowExceptionGivenExecutorIsNull() {
+            // when: the AsyncScoreboard is created with a null executor
+            Executable executable = () -> new AsyncScoreboard(new Scoreboard(), null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Executor cannot be null.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Operations {
+
+        @Test
+        @DisplayName("should execute the operations on the executor without blocking the calling thread")
+        public void shouldExecuteTheOperationsOnTheExecutorWithoutBlockingTheCallingThread() {
+            // given: an AsyncScoreboard whose executor only queues the operations
+            var queuedOperations = new ArrayList<Runnable>();
+            var scoreboard = new AsyncScoreboard(new Scoreboard(), queuedOperations::add);
+
+            // when: a Match is started
+            var future = scoreboard.startMatch("Mexico", "Canada");
+
+            // then: the Match is started only once the executor executes the operation
+            assertFalse(future.isDone());
+            queuedOperations.forEach(Runnable::run);
+            assertTrue(future.isDone());
+            assertNotNull(future.join());
+        }
+
+        @Test
+        @DisplayName("should complete the futures with the results of the Scoreboard")
+        public void shouldCompleteTheFuturesWithTheResultsOfTheScoreboard() {
+            // given: Matches in progress
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada").join();
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil").join();
+
+            // when: the Matches are updated and one of them is finished
+            scoreboard.updateMatchScore(spainBrazilMatchId, 10, 2).join();
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 0, 5).join();
+            scoreboard.finishMatch(mexicoCanadaMatchId).join();
+
+            // then: the summary reflects the changes
+            var ongoingMatches = scoreboard.getOngoingMatches().join();
+            assertEquals(1, ongoingMatches.size());
+            assertEquals(spainBrazilMatchId, ongoingMatches.get(0).id());
+            assertEquals(ongoingMatches, scoreboard.getTopMatches(10).join());
+            assertEquals(ongoingMatches, scoreboard.getOngoingMatchesByTeam("Spain").join());
+            assertEquals(ongoingMatches.get(0), scoreboard.getOngoingMatch("Spain", "Brazil").join().orElseThrow());
+            assertEquals(List.of(), scoreboard.getOngoingMatches(1, 10).join());
+        }
+
+        @Test
+        @DisplayName("should complete the future exceptionally given the operation is rejected by the Scoreboard")
+        public void shouldCompleteTheFutureExceptionallyGivenTheOperationIsRejectedByTheScoreboard() {
+            // given: a Match with a score
+            var matchId = scoreboard.startMatch("Mexico", "Canada").join();
+            scoreboard.updateMatchScore(matchId, 2, 0).join();
+
+            // when: the score is lowered
+            CompletableFuture<Void> future = scoreboard.updateMatchScore(matchId, 1, 0);
+
+            // then: the future is completed with the IllegalArgumentException thrown by the Scoreboard
+            var result = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(IllegalArgumentException.class, result.getCause());
+        }
+
+        @Test
+        @DisplayName("should complete the future exceptionally given null MatchId")
+        public void shouldCompleteTheFutureExceptionallyGivenNullMatchId() {
+            // when: the score of a null matchId is updated
+            CompletableFuture<Void> future = scoreboard.updateMatchScore(null, 1, 0);
+
+            // then: the future is completed with an IllegalArgumentException
+            var result = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(IllegalArgumentException.class, result.getCause());
+            assertEquals("MatchId cannot be null.", result.getCause().getMessage());
+        }
+    }
+
+    @Nested
+    public class Ordering {
+
+        @Test
+        @DisplayName("should apply the changes of the same Match in the submitted order given they are executed concurrently")
+        public void shouldApplyTheChangesOfTheSameMatchInTheSubmittedOrderGivenTheyAreExecutedConcurrently() {
+            // given: Matches in progress
+            var matchIds = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(i -> scoreboard.startMatch("Home" + i, "Away" + i).join())
+                    .toList();
+
+            // when: increasing scores of every Match are submitted in quick succession
+            var futures = new ArrayList<CompletableFuture<Void>>();
+            for (int score = 1; score <= 500; score++) {
+                for (UUID matchId : matchIds) {
+                    futures.add(scoreboard.updateMatchScore(matchId, score, 0));
+                }
+            }
+
+            // then: no update has been applied out of order and rejected
+            futures.forEach(CompletableFuture::join);
+            scoreboard.getOngoingMatches().join().forEach(match -> assertEquals(500, match.totalScore()));
+        }
+
+        @Test
+        @DisplayName("should apply the batches and single changes of the same Match in the submitted order given they are interleaved")
+        public void shouldApplyTheBatchesAndSingleChangesOfTheSameMatchInTheSubmittedOrderGivenTheyAreInterleaved() {
+            // given: Matches in progress
+            var matchIds = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(i -> scoreboard.startMatch("Home" + i, "Away" + i).join())
+                    .toList();
+
+            // when: increasing scores are submitted alternately as single updates and as batches of every Match
+            var updates = new ArrayList<CompletableFuture<Void>>();
+            var batches = new ArrayList<CompletableFuture<List<ScoreUpdateFailure>>>();
+            for (int score = 1; score <= 500; score++) {
+                if (score % 2 == 0) {
+                    var scoreUpdates = new ArrayList<ScoreUpdate>();
+                    for (UUID matchId : matchIds) {
+                        scoreUpdates.add(new ScoreUpdate(matchId, score, 0));
+                    }
+                    batches.add(scoreboard.updateMatchScores(scoreUpdates));
+                } else {
+                    for (UUID matchId : matchIds) {
+                        updates.add(scoreboard.updateMatchScore(matchId, score, 0));
+                    }
+                }
+            }
+
+            // then: no update has been applied out of order and rejected
+            updates.forEach(CompletableFuture::join);
+            batches.forEach(batch -> assertEquals(List.of(), batch.join()));
+            scoreboard.getOngoingMatches().join().forEach(match -> assertEquals(500, match.totalScore()));
+        }
+
+        @Test
+        @DisplayName("should apply the following changes of the Match given a change is rejected")
+        public void shouldApplyTheFollowingChangesOfTheMatchGivenAChangeIsRejected() {
+            // given: a Match in progress
+            var matchId = scoreboard.startMatch("Mexico", "Canada").join();
+
+            // when: a rejected update is followed by valid ones
+            var rejectedUpdate = scoreboard.updateMatchScore(matchId, -1, 0);
+            var update = scoreboard.updateMatchScore(matchId, 1, 0);
+            var finish = scoreboard.finishMatch(matchId);
+
+            // then: the following changes are applied
+            assertThrows(CompletionException.class, rejectedUpdate::join);
+            assertDoesNotThrow(update::join);
+            assertDoesNotThrow(finish::join);
+            assertEquals(List.of(), scoreboard.getOngoingMatches().join());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.fszuberski.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandRingBufferTest {
+
+    @Nested
+    public class Create {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, -1})
+        @DisplayName("should throw exception given capacity is less than 1")
+        public void shouldThrowExceptionGivenCapacityIsLessThan1(int capacity) {
+            // when: the queue is created with a capacity less than 1
+            Executable executable = () -> new CommandRingBuffer<String>(capacity);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Capacity cannot be less than 1.", result.getMessage());
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 3, 1000, 1024})
+        @DisplayName("should round the capacity up to the next power of two")
+        public void shouldRoundTheCapacityUpToTheNextPowerOfTwo(int capacity) {
+            // when: the queue is created
+            var commands = new CommandRingBuffer<String>(capacity);
+
+            // then: the capacity is a power of two of at least 2 and not less than the requested capacity
+            assertEquals(0, commands.capacity() & (commands.capacity() - 1));
+            assertTrue(commands.capacity() >= Math.max(2, capacity));
+            assertTrue(commands.capacity() < 2 * Math.max(2, capacity));
+        }
+    }
+
+    @Nested
+    public class OfferAndDrain {
+
+        @Test
+        @DisplayName("should drain the commands in the order they have been offered")
+        public void shouldDrainTheCommandsInTheOrderTheyHaveBeenOffered() {
+            // given: a queue with commands offered over multiple laps of the ring
+            var commands = new CommandRingBuffer<Integer>(4);
+            var drainedCommands = new ArrayList<Integer>();
+            for (int i = 0; i < 10; i++) {
+                assertTrue(commands.offer(i));
+                commands.drain(drainedCommands::add, i % 2 == 0 ? 0 : Integer.MAX_VALUE);
+            }
+
+            // then: all commands are drained in the order they have been offered
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), drainedCommands);
+        }
+
+        @Test
+        @DisplayName("should reject the command given the queue is full")
+        public void shouldRejectTheCommandGivenTheQueueIsFull() {
+            // given: a full queue
+            var commands = new CommandRingBuffer<Integer>(2);
+            assertTrue(commands.offer(1));
+            assertTrue(commands.offer(2));
+
+            // when: another command is offered
+            var result = commands.offer(3);
+
+            // then: the command is rejected until a command is drained
+            assertFalse(result);
+            assertEquals(1, commands.drain(command -> assertEquals(1, (int) command), 1));
+            assertTrue(commands.offer(3));
+        }
+
+        @Test
+        @DisplayName("should drain every command exactly once given commands are offered concurrently")
+        public void shouldDrainEveryCommandExactlyOnceGivenCommandsAreOfferedConcurrently() {
+            // given: a queue smaller than the number of offered commands, drained by a single consumer
+            var numberOfThreads = 8;
+            var commandsPerThread = 10_000;
+            var commands = new CommandRingBuffer<Integer>(64);
+            var drainedCommands = new boolean[numberOfThreads * commandsPerThread];
+            var lastDrainedCommands = new int[numberOfThreads];
+            Arrays.fill(lastDrainedCommands, -1);
+            var producersDone = new AtomicBoolean();
+            var consumerFailure = new AtomicReference<Throwable>();
+            var consumer = new Thread(() -> {
+                try {
+                    // the commands offered before the producers are done are drained by the last drain
+                    while (!producersDone.get()) {
+                        drainAll(commands, drainedCommands, lastDrainedCommands, commandsPerThread);
+                    }
+                    drainAll(commands, drainedCommands, lastDrainedCommands, commandsPerThread);
+                } catch (RuntimeException e) {
+                    consumerFailure.set(e);
+                }
+            });
+            consumer.start();
+
+            // when: multiple producers offer their commands at the same time
+            runConcurrently(numberOfThreads, threadIndex -> {
+                for (int i = 0; i < commandsPerThread; i++) {
+                    while (!commands.offer(threadIndex * commandsPerThread + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producersDone.set(true);
+
+            // then: every command is drained exactly once, the commands of every producer in their order
+            assertDoesNotThrow(() -> consumer.join());
+            assertNull(consumerFailure.get());
+            for (boolean drainedCommand : drainedCommands) {
+                assertTrue(drainedCommand);
+            }
+        }
+    }
+
+    private static int drainAll(
+            CommandRingBuffer<Integer> commands,
+            boolean[] drainedCommands,
+            int[] lastDrainedCommands,
+            int commandsPerThread
+    ) {
+        return commands.drain(command -> {
+            if (drainedCommands[command]) {
+                throw new IllegalStateException("Command drained twice: " + command);
+            }
+            drainedCommands[command] = true;
+            var producer = command / commandsPerThread;
+            if (command <= lastDrainedCommands[producer]) {
+                throw new IllegalStateException("Command drained out of order: " + command);
+            }
+            lastDrainedCommands[producer] = command;
+        }, Integer.MAX_VALUE);
+    }
+}
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ComparatorsTest {
@@ -338,4 +339,101 @@ class ComparatorsTest {
             assertTrue(Comparators.totalScoreAndStartTimeComparator.compare(match1, match2) < 0);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    public class SummaryComparator {
+
+        @Test
+        @DisplayName("should order Match with higher total score first")
+        public void shouldOrderMatchWithHigherTotalScoreFirst() {
+            var now = LocalDateTime.now();
+
+            var match1 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 5),
+                    new TeamScore("Team2", 2),
+                    now.minus(Duration.ofMinutes(5))
+            );
+
+            var match2 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now
+            );
+
+            assertTrue(Comparators.summaryComparator.compare(match1, match2) < 0);
+        }
+
+        @Test
+        @DisplayName("should order more recently started Match first given Matches have equal total score")
+        public void shouldOrderMoreRecentlyStartedMatchFirstGivenMatchesHaveEqualTotalScore() {
+            var now = LocalDateTime.now();
+
+            var match1 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now.minus(Duration.ofMinutes(5))
+            );
+
+            var match2 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 1),
+                    new TeamScore("Team2", 3),
+                    now
+            );
+
+            assertTrue(Comparators.summaryComparator.compare(match1, match2) > 0);
+        }
+
+        @Test
+        @DisplayName("should not return equal given distinct Matches have equal total score and start time")
+        public void shouldNotReturnEqualGivenDistinctMatchesHaveEqualTotalScoreAndStartTime() {
+            var now = LocalDateTime.now();
+
+            var match1 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now
+            );
+
+            var match2 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now
+            );
+
+            assertNotEquals(0, Comparators.summaryComparator.compare(match1, match2));
+            assertEquals(0, Comparators.summaryComparator.compare(match1, match1));
+        }
+
+        @Test
+        @DisplayName("should order Match with higher start sequence first given Matches have equal total score")
+        public void shouldOrderMatchWithHigherStartSequenceFirstGivenMatchesHaveEqualTotalScore() {
+            var now = LocalDateTime.now();
+
+            var match1 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now,
+                    1,
+                    1
+            );
+
+            var match2 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 2),
+                    now.minus(Duration.ofMinutes(5)),
+                    2,
+                    2
+            );
+
+            assertTrue(Comparators.summaryComparator.compare(match1, match2) > 0);
+        }
+    }
+}
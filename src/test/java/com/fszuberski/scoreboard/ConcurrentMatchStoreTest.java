@@ -0,0 +1,290 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentMatchStoreTest {
+
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private ConcurrentMatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.matchStore = new ConcurrentMatchStore();
+    }
+
+    @Nested
+    public class SaveMatch {
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the MatchStore")
+        public void shouldThrowExceptionGivenMatchAlreadyExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: saveMatch is invoked with the Match as a parameter
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should save all Matches given Matches are saved concurrently")
+        public void shouldSaveAllMatchesGivenMatchesAreSavedConcurrently() {
+            // when: multiple threads save distinct Matches at the same time
+            runConcurrently(NUMBER_OF_THREADS, ignored -> IntStream
+                    .range(0, 1_000)
+                    .forEach(i -> matchStore.saveMatch(randomMatch())));
+
+            // then: all Matches are saved in the MatchStore
+            assertEquals(NUMBER_OF_THREADS * 1_000, matchStore.getAllMatches().size());
+        }
+
+        @Test
+        @DisplayName("should save the Match exactly once given the same Match is saved concurrently")
+        public void shouldSaveTheMatchExactlyOnceGivenTheSameMatchIsSavedConcurrently() {
+            // given: a Match
+            var match = randomMatch();
+            var rejectedSaves = new AtomicInteger();
+
+            // when: multiple threads save the same Match at the same time
+            runConcurrently(NUMBER_OF_THREADS, ignored -> {
+                try {
+                    matchStore.saveMatch(match);
+                } catch (IllegalArgumentException e) {
+                    rejectedSaves.incrementAndGet();
+                }
+            });
+
+            // then: all saves except one are rejected
+            assertEquals(NUMBER_OF_THREADS - 1, rejectedSaves.get());
+            assertEquals(List.of(match), matchStore.getAllMatches());
+        }
+    }
+
+    @Nested
+    public class SaveMatchIfFixtureAbsent {
+
+        @Test
+        @DisplayName("should save a single Match between the teams given Matches between the teams are saved concurrently")
+        public void shouldSaveASingleMatchBetweenTheTeamsGivenMatchesBetweenTheTeamsAreSavedConcurrently() {
+            // given: distinct Matches between the same teams
+            var matches = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(ignored -> new Match(new TeamScore("Mexico"), new TeamScore("Canada")))
+                    .toList();
+            var savedMatches = new AtomicInteger();
+
+            // when: every thread saves its Match at the same time
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                if (matchStore.saveMatchIfFixtureAbsent(matches.get(threadIndex))) {
+                    savedMatches.incrementAndGet();
+                }
+            });
+
+            // then: exactly one Match is saved
+            assertEquals(1, savedMatches.get());
+            assertEquals(1, matchStore.getAllMatches().size());
+            assertEquals(matchStore.getAllMatches().get(0), matchStore.findMatchByTeams("Mexico", "Canada").orElseThrow());
+        }
+    }
+
+    @Nested
+    public class UpdateMatch {
+
+        @Test
+        @DisplayName("should throw exception given the Match does not exist in the MatchStore")
+        public void shouldThrowExceptionGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: updateMatch is invoked for a non-existing Match
+            var match = randomMatch();
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+
+            // and: the Match has not been created by the update
+            assertTrue(matchStore.getMatch(match.id()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should not recreate a removed Match given it is updated concurrently with its removal")
+        public void shouldNotRecreateARemovedMatchGivenItIsUpdatedConcurrentlyWithItsRemoval() {
+            // given: multiple Matches exist in the MatchStore
+            var matches = IntStream
+                    .range(0, 1_000)
+                    .mapToObj(ignored -> randomMatch())
+                    .toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // when: one thread removes the Matches while the other threads keep updating them
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                for (Match match : matches) {
+                    if (threadIndex == 0) {
+                        matchStore.removeMatch(match.id());
+                    } else {
+                        try {
+                            matchStore.updateMatch(match.id(), withHomeTeamScore(match, threadIndex));
+                        } catch (IllegalArgumentException ignored) {
+                            // the Match has already been removed
+                        }
+                    }
+                }
+            });
+
+            // then: no removed Match has been brought back by an update
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+    }
+
+    @Nested
+    public class ComputeMatchIfPresent {
+
+        @Test
+        @DisplayName("should not lose updates given the same Match is updated concurrently")
+        public void shouldNotLoseUpdatesGivenTheSameMatchIsUpdatedConcurrently() {
+            // given: a Match with the score of 0 : 0 exists in the MatchStore
+            var match = new Match(new TeamScore("Home"), new TeamScore("Away"));
+            matchStore.saveMatch(match);
+
+            // when: multiple threads increment the home team score of the Match at the same time
+            runConcurrently(NUMBER_OF_THREADS, ignored -> IntStream
+                    .range(0, 1_000)
+                    .forEach(i -> matchStore.computeMatchIfPresent(
+                            match.id(),
+                            current -> withHomeTeamScore(current, current.homeTeamScore().score() + 1))));
+
+            // then: every increment has been applied
+            assertEquals(NUMBER_OF_THREADS * 1_000, matchStore.getMatch(match.id()).orElseThrow().totalScore());
+        }
+    }
+
+    @Nested
+    public class RemoveMatch {
+
+        @Test
+        @DisplayName("should remove Match given Match exists in the MatchStore")
+        public void shouldRemoveMatchGivenMatchExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: removeMatch is invoked with the Match id
+            matchStore.removeMatch(match.id());
+
+            // then: the Match no longer exists in the MatchStore
+            assertTrue(matchStore.getMatch(match.id()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should have no effect given Match does not exist in the MatchStore")
+        public void shouldHaveNoEffectGivenMatchDoesNotExistInTheMatchStore() {
+            // when: removeMatch is invoked with an unknown Match id
+            matchStore.removeMatch(UUID.randomUUID());
+
+            // then: the MatchStore is still empty
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should return the Match to a single caller given the same Match is removed concurrently")
+        public void shouldReturnTheMatchToASingleCallerGivenTheSameMatchIsRemovedConcurrently() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+            var removals = new AtomicInteger();
+
+            // when: the Match is removed by multiple threads at the same time
+            runConcurrently(8, ignored -> matchStore.removeAndGetMatch(match.id()).ifPresent(removedMatch -> {
+                assertEquals(match, removedMatch);
+                removals.incrementAndGet();
+            }));
+
+            // then: only one removal has returned the Match
+            assertEquals(1, removals.get());
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+    }
+
+    @Nested
+    public class ScoreboardUsage {
+
+        @Test
+        @DisplayName("should apply all score updates given different Matches are updated concurrently")
+        public void shouldApplyAllScoreUpdatesGivenDifferentMatchesAreUpdatedConcurrently() {
+            // given: a Scoreboard with a Match per thread
+            var scoreboard = new Scoreboard(matchStore);
+            var matchIds = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(i -> scoreboard.startMatch("Home" + i, "Away" + i))
+                    .toList();
+
+            // when: every thread updates its own Match while reading the summary
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                for (int score = 1; score <= 100; score++) {
+                    scoreboard.updateMatchScore(matchIds.get(threadIndex), score, 0);
+                    assertEquals(NUMBER_OF_THREADS, scoreboard.getOngoingMatches().size());
+                }
+            });
+
+            // then: every Match has its final score
+            scoreboard
+                    .getOngoingMatches()
+                    .forEach(match -> assertEquals(100, match.totalScore()));
+        }
+
+        @Test
+        @DisplayName("should keep the highest score given the same Match is updated concurrently")
+        public void shouldKeepTheHighestScoreGivenTheSameMatchIsUpdatedConcurrently() {
+            // given: a Scoreboard with a single Match
+            var scoreboard = new Scoreboard(matchStore);
+            var matchId = scoreboard.startMatch("Home", "Away");
+
+            // when: multiple threads push increasing scores of the same Match at the same time
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                for (int score = threadIndex; score <= 1_000; score += NUMBER_OF_THREADS) {
+                    try {
+                        scoreboard.updateMatchScore(matchId, score, score);
+                    } catch (IllegalArgumentException ignored) {
+                        // a higher score has already been applied by another thread
+                    }
+                }
+            });
+
+            // then: a lower score has never overwritten a higher one
+            var match = matchStore.getMatch(matchId).orElseThrow();
+            assertEquals(1_000, match.homeTeamScore().score());
+            assertEquals(1_000, match.awayTeamScore().score());
+        }
+    }
+
+    private Match withHomeTeamScore(Match match, int homeTeamScore) {
+        return new Match(
+                match.id(),
+                new TeamScore(match.homeTeamScore().teamName(), homeTeamScore),
+                match.awayTeamScore(),
+                match.startTime());
+    }
+}
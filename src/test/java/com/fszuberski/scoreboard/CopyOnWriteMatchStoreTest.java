@@ -0,0 +1,302 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyOnWriteMatchStoreTest {
+
+    private CopyOnWriteMatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.matchStore = new CopyOnWriteMatchStore();
+    }
+
+    @Nested
+    public class SaveMatch {
+
+        @Test
+        @DisplayName("should save the passed Match to the MatchStore")
+        public void shouldSaveThePassedMatchToTheMatchStore() {
+            // given: a Match
+            var expectedMatch = randomMatch();
+
+            // when: saveMatch is invoked with the Match as a parameter
+            matchStore.saveMatch(expectedMatch);
+
+            // then: the passed Match exists in the MatchStore
+            assertEquals(expectedMatch, matchStore.getMatch(expectedMatch.id()).orElseThrow());
+            assertEquals(List.of(expectedMatch), matchStore.getOrderedMatches());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the MatchStore")
+        public void shouldThrowExceptionGivenMatchAlreadyExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: saveMatch is invoked with the Match as a parameter
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class UpdateMatch {
+
+        @Test
+        @DisplayName("should throw exception given the Match does not exist in the MatchStore")
+        public void shouldThrowExceptionGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: updateMatch is invoked for a non-existing Match
+            var match = randomMatch();
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should replace the previous version of the Match")
+        public void shouldReplaceThePreviousVersionOfTheMatch() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: updateMatch is invoked with an updated version of the Match
+            var updatedMatch = withHomeTeamScore(match, match.homeTeamScore().score() + 1);
+            matchStore.updateMatch(match.id(), updatedMatch);
+
+            // then: only the updated version of the Match exists in the MatchStore
+            assertEquals(updatedMatch, matchStore.getMatch(match.id()).orElseThrow());
+            assertEquals(List.of(updatedMatch), matchStore.getOrderedMatches());
+        }
+    }
+
+    @Nested
+    public class RemoveMatch {
+
+        @Test
+        @DisplayName("should remove Match given Match exists in the MatchStore")
+        public void shouldRemoveMatchGivenMatchExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: removeMatch is invoked with the Match id
+            matchStore.removeMatch(match.id());
+
+            // then: the Match no longer exists in the MatchStore
+            assertTrue(matchStore.getMatch(match.id()).isEmpty());
+            assertTrue(matchStore.getOrderedMatches().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should not publish a new snapshot given Match does not exist in the MatchStore")
+        public void shouldNotPublishANewSnapshotGivenMatchDoesNotExistInTheMatchStore() {
+            // given: the current ordered Matches
+            matchStore.saveMatch(randomMatch());
+            var orderedMatchesBeforeRemoval = matchStore.getOrderedMatches();
+
+            // when: removeMatch is invoked with an unknown Match id
+            matchStore.removeMatch(UUID.randomUUID());
+
+            // then: the same snapshot is still published
+            assertSame(orderedMatchesBeforeRemoval, matchStore.getOrderedMatches());
+        }
+    }
+
+    @Nested
+    public class ExecuteInBatch {
+
+        @Test
+        @DisplayName("should publish the writes of the batch at once given the batch completes")
+        public void shouldPublishTheWritesOfTheBatchAtOnceGivenTheBatchCompletes() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+            var snapshotBeforeBatch = matchStore.getOrderedMatches();
+            var newMatch = randomMatch();
+
+            // when: multiple writes are executed in a batch
+            matchStore.executeInBatch(() -> {
+                matchStore.saveMatch(newMatch);
+                matchStore.computeMatchIfPresent(match.id(), current -> withHomeTeamScore(current, 10));
+                matchStore.computeMatchIfPresent(match.id(), current -> withHomeTeamScore(current, 11));
+
+                // then: the writes are not visible to readers until the batch completes
+                assertSame(snapshotBeforeBatch, matchStore.getOrderedMatches());
+            });
+
+            // and: all writes are visible once the batch completes
+            assertEquals(
+                    List.of(withHomeTeamScore(match, 11), newMatch),
+                    matchStore.getOrderedMatches());
+        }
+
+        @Test
+        @DisplayName("should publish the writes applied before a failure of the batch")
+        public void shouldPublishTheWritesAppliedBeforeAFailureOfTheBatch() {
+            // given: a Match
+            var match = randomMatch();
+
+            // when: a batch fails after saving the Match
+            Executable executable = () -> matchStore.executeInBatch(() -> {
+                matchStore.saveMatch(match);
+                matchStore.saveMatch(match);
+            });
+
+            // then: the exception is propagated
+            assertThrows(IllegalArgumentException.class, executable);
+
+            // and: the Match saved before the failure is published
+            assertEquals(List.of(match), matchStore.getOrderedMatches());
+        }
+
+        @Test
+        @DisplayName("should publish the Matches in the summary order given the batch applies many writes")
+        public void shouldPublishTheMatchesInTheSummaryOrderGivenTheBatchAppliesManyWrites() {
+            // given: Matches exist in the MatchStore
+            var matches = IntStream.range(0, 50).mapToObj(ignored -> randomMatch()).toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // when: a batch saves and updates many Matches
+            matchStore.executeInBatch(() -> {
+                IntStream.range(0, 500).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+                matches.forEach(match -> matchStore.computeMatchIfPresent(match.id(), current -> withHomeTeamScore(current, 100)));
+                matchStore.removeMatch(matches.get(0).id());
+            });
+
+            // then: the published Matches are in the same order as sorting all Matches
+            var orderedMatches = matchStore.getOrderedMatches();
+            assertEquals(549, orderedMatches.size());
+            assertEquals(
+                    orderedMatches.stream().sorted(Comparators.summaryComparator).toList(),
+                    orderedMatches);
+            assertEquals(withHomeTeamScore(matches.get(1), 100), matchStore.getMatch(matches.get(1).id()).orElseThrow());
+        }
+    }
+
+    @Nested
+    public class GetOrderedMatches {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 1, 10, 100})
+        @DisplayName("should return Matches in the same order as sorting all Matches")
+        public void shouldReturnMatchesInTheSameOrderAsSortingAllMatches(int numberOfMatches) {
+            // given: the MatchStore contains {numberOfMatches} Matches, some of which have been updated or removed
+            var matches = IntStream
+                    .range(0, numberOfMatches)
+                    .mapToObj(ignored -> randomMatch())
+                    .toList();
+            matches.forEach(matchStore::saveMatch);
+            for (int i = 0; i < numberOfMatches; i += 3) {
+                matchStore.computeMatchIfPresent(matches.get(i).id(), match -> withHomeTeamScore(match, 10));
+            }
+            for (int i = 1; i < numberOfMatches; i += 5) {
+                matchStore.removeMatch(matches.get(i).id());
+            }
+
+            // when: the ordered Matches are retrieved
+            var result = matchStore.getOrderedMatches();
+
+            // then: the order is equal to sorting all Matches with the summary comparator
+            var expected = result
+                    .stream()
+                    .sorted(Comparators.summaryComparator)
+                    .toList();
+            assertEquals(expected, result);
+            assertEquals(numberOfMatches - (numberOfMatches + 3) / 5, result.size());
+        }
+
+        @Test
+        @DisplayName("should return the same immutable snapshot given no writes happened in between reads")
+        public void shouldReturnTheSameImmutableSnapshotGivenNoWritesHappenedInBetweenReads() {
+            // given: the MatchStore contains a Match
+            matchStore.saveMatch(randomMatch());
+
+            // when: the ordered Matches are retrieved twice
+            var result1 = matchStore.getOrderedMatches();
+            var result2 = matchStore.getOrderedMatches();
+
+            // then: the same, immutable list instance is returned
+            assertSame(result1, result2);
+            assertThrows(UnsupportedOperationException.class, () -> result1.add(randomMatch()));
+        }
+
+        @Test
+        @DisplayName("should not change a previously returned snapshot given the MatchStore is modified")
+        public void shouldNotChangeAPreviouslyReturnedSnapshotGivenTheMatchStoreIsModified() {
+            // given: a snapshot containing a single Match
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+            var snapshot = matchStore.getOrderedMatches();
+
+            // when: the MatchStore is modified
+            matchStore.saveMatch(randomMatch());
+            matchStore.removeMatch(match.id());
+
+            // then: the previously returned snapshot is unchanged
+            assertEquals(List.of(match), snapshot);
+        }
+
+        @Test
+        @DisplayName("should return consistent snapshots given Matches are written concurrently")
+        public void shouldReturnConsistentSnapshotsGivenMatchesAreWrittenConcurrently() {
+            // given: a Match per writer thread
+            var matches = IntStream
+                    .range(0, 4)
+                    .mapToObj(ignored -> new Match(new TeamScore("Home"), new TeamScore("Away")))
+                    .toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // when: writer threads keep updating their Match while reader threads read the summary
+            runConcurrently(8, threadIndex -> {
+                for (int i = 1; i <= 1_000; i++) {
+                    if (threadIndex < matches.size()) {
+                        var score = i;
+                        matchStore.computeMatchIfPresent(
+                                matches.get(threadIndex).id(),
+                                match -> withHomeTeamScore(match, score));
+                    } else {
+                        // then: every snapshot contains all Matches in the summary order
+                        var snapshot = matchStore.getOrderedMatches();
+                        assertEquals(matches.size(), snapshot.size());
+                        assertEquals(snapshot.stream().sorted(Comparators.summaryComparator).toList(), snapshot);
+                    }
+                }
+            });
+        }
+    }
+
+    private Match withHomeTeamScore(Match match, int homeTeamScore) {
+        return new Match(
+                match.id(),
+                new TeamScore(match.homeTeamScore().teamName(), homeTeamScore),
+                match.awayTeamScore(),
+                match.startTime());
+    }
+}
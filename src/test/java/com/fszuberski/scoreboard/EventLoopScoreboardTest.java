@@ -0,0 +1,292 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
+import com.fszuberski.scoreboard.metrics.StoreOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopScoreboardTest {
+
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private EventLoopScoreboard scoreboard;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.scoreboard = new EventLoopScoreboard();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        scoreboard.close();
+    }
+
+    @Nested
+    public class Create {
+
+        @Test
+        @DisplayName("should throw exception given MatchStore is null")
+        public void shouldThrowExceptionGivenMatchStoreIsNull() {
+            // when: the Scoreboard is created with a null MatchStore
+            Executable executable = () -> new EventLoopScoreboard(null, EventLoopScoreboard.DEFAULT_QUEUE_CAPACITY);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("MatchStore cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given queue capacity is less than 1")
+        public void shouldThrowExceptionGivenQueueCapacityIsLessThan1() {
+            // when: the Scoreboard is created with a queue capacity less than 1
+            Executable executable = () -> new EventLoopScoreboard(new InMemoryMatchStore(), 0);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("QueueCapacity cannot be less than 1.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Commands {
+
+        @Test
+        @DisplayName("should apply the commands in the order they have been submitted")
+        public void shouldApplyTheCommandsInTheOrderTheyHaveBeenSubmitted() {
+            // when: Matches are started, updated and finished
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada").join();
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil").join();
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 0, 5);
+            scoreboard.updateMatchScore(spainBrazilMatchId, 10, 2);
+            scoreboard.finishMatch(mexicoCanadaMatchId).join();
+            scoreboard.close();
+
+            // then: the published summary reflects all commands
+            var ongoingMatches = scoreboard.getOngoingMatches();
+            assertEquals(1, ongoingMatches.size());
+            assertEquals(spainBrazilMatchId, ongoingMatches.get(0).id());
+            assertEquals(12, ongoingMatches.get(0).totalScore());
+            assertEquals(List.of(ongoingMatches.get(0)), scoreboard.getTopMatches(10));
+            assertEquals(List.of(), scoreboard.getOngoingMatches(1, 10));
+            assertEquals(5, scoreboard.getVersion());
+        }
+
+        @Test
+        @DisplayName("should complete the future exceptionally given the command is rejected by the Scoreboard")
+        public void shouldCompleteTheFutureExceptionallyGivenTheCommandIsRejectedByTheScoreboard() {
+            // given: a Match in progress
+            scoreboard.startMatch("Mexico", "Canada").join();
+
+            // when: the same Match is started again
+            CompletableFuture<UUID> future = scoreboard.startMatch("Mexico", "Canada");
+
+            // then: the future is completed with the IllegalArgumentException thrown by the Scoreboard
+            var result = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(IllegalArgumentException.class, result.getCause());
+            assertEquals(
+                    "Cannot start match between home team='Mexico' and away team='Canada'; a match between these teams is already in progress.",
+                    result.getCause().getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Scoreboard is closed")
+        public void shouldThrowExceptionGivenTheScoreboardIsClosed() {
+            // given: a closed Scoreboard
+            scoreboard.close();
+
+            // when: a Match is started
+            Executable executable = () -> scoreboard.startMatch("Mexico", "Canada");
+
+            // then: an IllegalStateException is thrown
+            var result = assertThrows(IllegalStateException.class, executable);
+            assertEquals("Scoreboard is closed.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should apply all commands given the queue is full")
+        public void shouldApplyAllCommandsGivenTheQueueIsFull() {
+            // given: a Scoreboard with a queue of two commands
+            scoreboard.close();
+            scoreboard = new EventLoopScoreboard(new InMemoryMatchStore(), 2);
+            var matchId = scoreboard.startMatch("Mexico", "Canada").join();
+
+            // when: more commands than the capacity of the queue are submitted at once
+            var futures = IntStream
+                    .rangeClosed(1, 1_000)
+                    .mapToObj(score -> scoreboard.updateMatchScore(matchId, score, 0))
+                    .toList();
+
+            // then: all commands are applied
+            futures.forEach(CompletableFuture::join);
+            scoreboard.close();
+            assertEquals(1_000, scoreboard.getOngoingMatches().get(0).totalScore());
+        }
+
+        @Test
+        @DisplayName("should park the submitting thread given the queue stays full")
+        public void shouldParkTheSubmittingThreadGivenTheQueueStaysFull() throws Exception {
+            // given: a Scoreboard with a queue of two commands, whose writer thread waits on its accesses of the
+            // MatchStore until it is released
+            var writerReleased = new CountDownLatch(1);
+            var matchStore = MatchStore.instrumented(new InMemoryMatchStore(), new ScoreboardInstrumentation() {
+                @Override
+                public void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+                    if (!Thread.currentThread().getName().equals("scoreboard-event-loop")) {
+                        return;
+                    }
+
+                    try {
+                        writerReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            scoreboard.close();
+            scoreboard = new EventLoopScoreboard(matchStore, 2);
+
+            // when: a thread submits more commands than the writer thread can take while it is blocked
+            var futures = new ConcurrentLinkedQueue<CompletableFuture<UUID>>();
+            var submitter = new Thread(() -> IntStream
+                    .range(0, 4)
+                    .forEach(i -> futures.add(scoreboard.startMatch("Home" + i, "Away" + i))));
+            submitter.start();
+
+            // then: the submitting thread parks instead of spinning until a slot is freed
+            try {
+                var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (submitter.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(Thread.State.TIMED_WAITING, submitter.getState());
+            } finally {
+                writerReleased.countDown();
+            }
+
+            // and: all commands are applied once the writer thread is released
+            submitter.join();
+            futures.forEach(CompletableFuture::join);
+            assertEquals(4, scoreboard.getOngoingMatches().size());
+        }
+
+        @Test
+        @DisplayName("should complete the future by the completion executor once the summary has been published")
+        public void shouldCompleteTheFutureByTheCompletionExecutorOnceTheSummaryHasBeenPublished() throws InterruptedException {
+            // given: a Scoreboard whose writer thread waits on its accesses of the MatchStore until it is released
+            var writerReleased = new CountDownLatch(1);
+            var matchStore = MatchStore.instrumented(new InMemoryMatchStore(), new ScoreboardInstrumentation() {
+                @Override
+                public void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+                    if (!Thread.currentThread().getName().equals("scoreboard-event-loop")) {
+                        return;
+                    }
+
+                    try {
+                        writerReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            var completionExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "completion"));
+            scoreboard.close();
+            scoreboard = new EventLoopScoreboard(matchStore, 64, completionExecutor);
+
+            // when: a callback is attached to the future of a command before the command is applied
+            var callback = scoreboard
+                    .startMatch("Mexico", "Canada")
+                    .thenApply(matchId -> List.of(Thread.currentThread().getName(), scoreboard.getOngoingMatches().size()));
+            writerReleased.countDown();
+
+            // then: the callback runs on the completion executor and observes the published summary
+            assertEquals(List.of("completion", 1), callback.join());
+            completionExecutor.shutdown();
+        }
+
+        @Test
+        @DisplayName("should complete the future exceptionally and keep applying commands given a command throws an Error")
+        public void shouldCompleteTheFutureExceptionallyAndKeepApplyingCommandsGivenACommandThrowsAnError() {
+            // given: a Scoreboard whose MatchStore fails with an Error on the first save
+            var failedSaves = new AtomicInteger();
+            var matchStore = MatchStore.instrumented(new InMemoryMatchStore(), new ScoreboardInstrumentation() {
+                @Override
+                public void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+                    if (operation == StoreOperation.SAVE_MATCH && failedSaves.getAndIncrement() == 0) {
+                        throw new AssertionError("Save failed.");
+                    }
+                }
+            });
+            scoreboard.close();
+            scoreboard = new EventLoopScoreboard(matchStore, 64);
+
+            // when: a Match is started twice
+            var failedStart = scoreboard.startMatch("Mexico", "Canada");
+            var start = scoreboard.startMatch("Spain", "Brazil");
+
+            // then: the first future is completed with the Error and the following command is applied
+            var result = assertThrows(CompletionException.class, failedStart::join);
+            assertInstanceOf(AssertionError.class, result.getCause());
+            assertDoesNotThrow(start::join);
+        }
+    }
+
+    @Nested
+    public class Concurrency {
+
+        @Test
+        @DisplayName("should access the MatchStore only from the writer thread given commands are submitted concurrently")
+        public void shouldAccessTheMatchStoreOnlyFromTheWriterThreadGivenCommandsAreSubmittedConcurrently() {
+            // given: a Scoreboard with a MatchStore recording the threads accessing it
+            var accessingThreads = ConcurrentHashMap.<String>newKeySet();
+            var matchStore = MatchStore.instrumented(new InMemoryMatchStore(), new ScoreboardInstrumentation() {
+                @Override
+                public void storeOperationCompleted(StoreOperation operation, long durationNanos) {
+                    accessingThreads.add(Thread.currentThread().getName());
+                }
+            });
+            scoreboard.close();
+            scoreboard = new EventLoopScoreboard(matchStore, 64);
+            accessingThreads.clear();
+
+            // when: every thread starts and updates its own Match while reading the summary
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                var matchId = scoreboard.startMatch("Home" + threadIndex, "Away" + threadIndex).join();
+                CompletableFuture<Void> lastUpdate = null;
+                for (int score = 1; score <= 100; score++) {
+                    lastUpdate = scoreboard.updateMatchScore(matchId, score, 0);
+                    assertTrue(scoreboard.getOngoingMatches().size() <= NUMBER_OF_THREADS);
+                }
+                lastUpdate.join();
+            });
+            scoreboard.close();
+
+            // then: every Match has its final score
+            var ongoingMatches = scoreboard.getOngoingMatches();
+            assertEquals(NUMBER_OF_THREADS, ongoingMatches.size());
+            ongoingMatches.forEach(match -> assertEquals(100, match.totalScore()));
+
+            // and: the MatchStore has only been accessed by the writer thread
+            assertEquals(Set.of("scoreboard-event-loop"), accessingThreads);
+        }
+    }
+}
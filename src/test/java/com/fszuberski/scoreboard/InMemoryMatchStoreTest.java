@@ -250,6 +250,80 @@ class InMemoryMatchStoreTest {
         }
     }
 
+    @Nested
+    public class ComputeMatchIfPresent {
+
+        @Test
+        @DisplayName("should replace Match with the result of the remapping function given Match exists in the MatchStore")
+        public void shouldReplaceMatchWithTheResultOfTheRemappingFunctionGivenMatchExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var originalMatch = randomMatch();
+            withInternalMapReference(
+                    matchStore,
+                    matchMap -> matchMap.put(originalMatch.id(), originalMatch));
+
+            // when: computeMatchIfPresent is invoked with the existing Match id
+            var updatedMatch = new Match(
+                    originalMatch.id(),
+                    randomTeamScore(),
+                    randomTeamScore(),
+                    originalMatch.startTime()
+            );
+            var result = matchStore.computeMatchIfPresent(originalMatch.id(), match -> {
+                assertEquals(originalMatch, match);
+                return updatedMatch;
+            });
+
+            // then: the updated Match is returned and stored in the MatchStore
+            assertEquals(updatedMatch, result.orElseThrow());
+            withInternalMapReference(
+                    matchStore,
+                    matchMap -> assertEquals(updatedMatch, matchMap.get(originalMatch.id())));
+        }
+
+        @Test
+        @DisplayName("should return empty optional given the Match does not exist in the MatchStore")
+        public void shouldReturnEmptyOptionalGivenTheMatchDoesNotExistInTheMatchStore() {
+            // given: the MatchStore contains multiple matches
+            fillMatchStoreWithRandomData();
+
+            // when: computeMatchIfPresent is invoked for a non-existing Match
+            var result = matchStore.computeMatchIfPresent(UUID.randomUUID(), match -> fail("Unexpected remapping"));
+
+            // then: the result is an empty optional
+            assertTrue(result.isEmpty());
+
+            // and: the MatchStore has not changed
+            withInternalMapReference(
+                    matchStore,
+                    matchMap -> assertEquals(25, matchMap.size()));
+        }
+
+        @Test
+        @DisplayName("should leave Match unchanged given the remapping function throws an exception")
+        public void shouldLeaveMatchUnchangedGivenTheRemappingFunctionThrowsAnException() {
+            // given: a Match exists in the MatchStore
+            var originalMatch = randomMatch();
+            withInternalMapReference(
+                    matchStore,
+                    matchMap -> matchMap.put(originalMatch.id(), originalMatch));
+
+            // when: computeMatchIfPresent is invoked with a remapping function that throws an exception
+            Executable executable = () -> matchStore.computeMatchIfPresent(originalMatch.id(), match -> {
+                throw new IllegalArgumentException("Invalid update.");
+            });
+
+            // then: the exception is propagated
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Invalid update.", result.getMessage());
+
+            // and: the Match has not changed
+            withInternalMapReference(
+                    matchStore,
+                    matchMap -> assertEquals(originalMatch, matchMap.get(originalMatch.id())));
+        }
+    }
+
     @Nested
     public class RemoveMatch {
 
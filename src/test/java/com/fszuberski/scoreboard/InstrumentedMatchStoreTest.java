@@ -0,0 +1,104 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
+import com.fszuberski.scoreboard.metrics.StoreOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InstrumentedMatchStoreTest {
+
+    private ScoreboardInstrumentation instrumentationMock;
+    private MatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.instrumentationMock = mock(ScoreboardInstrumentation.class);
+        this.matchStore = MatchStore.instrumented(new InMemoryMatchStore(), instrumentationMock);
+    }
+
+    @Nested
+    public class Create {
+
+        @Test
+        @DisplayName("should throw exception given null MatchStore")
+        public void shouldThrowExceptionGivenNullMatchStore() {
+            // when: a null MatchStore is instrumented
+            Executable executable = () -> MatchStore.instrumented(null, ScoreboardInstrumentation.NOOP);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("MatchStore cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given null instrumentation")
+        public void shouldThrowExceptionGivenNullInstrumentation() {
+            // when: a MatchStore is instrumented with a null instrumentation
+            Executable executable = () -> MatchStore.instrumented(new InMemoryMatchStore(), null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Instrumentation cannot be null.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Measure {
+
+        @Test
+        @DisplayName("should report every operation given the operations are delegated to the decorated MatchStore")
+        public void shouldReportEveryOperationGivenTheOperationsAreDelegatedToTheDecoratedMatchStore() {
+            // when: operations are performed on the instrumented MatchStore
+            var match = randomMatch();
+            matchStore.executeInBatch(() -> matchStore.saveMatch(match));
+            var retrievedMatch = matchStore.getMatch(match.id());
+            matchStore.updateMatch(match.id(), match);
+            matchStore.computeMatchIfPresent(match.id(), current -> current);
+            matchStore.updateScoreIfPresent(match.id(), match.homeTeamScore().score(), match.awayTeamScore().score(), 0);
+            var orderedMatches = matchStore.getOrderedMatches();
+            var ranks = matchStore.getRanks(List.of(match));
+            matchStore.removeMatch(match.id());
+
+            // then: the results of the decorated MatchStore are returned
+            assertEquals(Optional.of(match), retrievedMatch);
+            assertEquals(List.of(match), orderedMatches);
+            assertArrayEquals(new int[]{0}, ranks);
+            assertTrue(matchStore.getAllMatches().isEmpty());
+
+            // and: every operation is reported
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.EXECUTE_IN_BATCH), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.SAVE_MATCH), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.GET_MATCH), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.UPDATE_MATCH), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.COMPUTE_MATCH_IF_PRESENT), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.UPDATE_SCORE_IF_PRESENT), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.GET_ORDERED_MATCHES), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.GET_RANK), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.REMOVE_MATCH), anyLong());
+            verify(instrumentationMock).storeOperationCompleted(eq(StoreOperation.GET_ALL_MATCHES), anyLong());
+        }
+
+        @Test
+        @DisplayName("should not report the operation given the decorated MatchStore throws exception")
+        public void shouldNotReportTheOperationGivenTheDecoratedMatchStoreThrowsException() {
+            // given: a Match which does not exist
+            var match = randomMatch();
+
+            // when: the Match is updated
+            assertThrows(IllegalArgumentException.class, () -> matchStore.updateMatch(match.id(), match));
+
+            // then: the operation is not reported
+            verify(instrumentationMock, never()).storeOperationCompleted(any(), anyLong());
+        }
+    }
+}
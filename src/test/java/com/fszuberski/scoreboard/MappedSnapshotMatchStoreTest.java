@@ -0,0 +1,218 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSnapshotMatchStoreTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Nested
+    public class Open {
+
+        @Test
+        @DisplayName("should throw exception given snapshot file is null")
+        public void shouldThrowExceptionGivenSnapshotFileIsNull() {
+            // when: the MatchStore is opened with a null snapshot file
+            Executable executable = () -> MatchStore.mappedSnapshot(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("SnapshotFile cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the file does not contain a snapshot")
+        public void shouldThrowExceptionGivenTheFileDoesNotContainASnapshot() throws Exception {
+            // given: a file which does not contain a snapshot
+            var file = temporaryDirectory.resolve("snapshot");
+            Files.write(file, new byte[64]);
+
+            // when: the MatchStore is opened
+            Executable executable = () -> MatchStore.mappedSnapshot(file);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot read snapshot file='%s'; the file does not contain a valid snapshot.", file),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should serve the Matches of the snapshot given the snapshot has been written")
+        public void shouldServeTheMatchesOfTheSnapshotGivenTheSnapshotHasBeenWritten() {
+            // given: a snapshot
+            var matches = Stream.generate(TestUtils::randomMatch).limit(1_000).toList();
+            var file = writeSnapshot(matches);
+
+            // when: the MatchStore is opened
+            var matchStore = MatchStore.mappedSnapshot(file);
+
+            // then: the Matches of the snapshot are served
+            assertEquals(new HashSet<>(matches), new HashSet<>(matchStore.getAllMatches()));
+            matches.forEach(match -> assertEquals(Optional.of(match), matchStore.getMatch(match.id())));
+            var match = matches.get(0);
+            assertEquals(
+                    Optional.of(match),
+                    matchStore.findMatchByTeams(match.homeTeamScore().teamName(), match.awayTeamScore().teamName()));
+            assertEquals(List.of(match), matchStore.findMatchesByTeam(match.awayTeamScore().teamName()));
+            assertEquals(matches.stream().mapToLong(Match::version).max().orElseThrow(), matchStore.latestVersion());
+        }
+    }
+
+    @Nested
+    public class Write {
+
+        @Test
+        @DisplayName("should keep the snapshot file unchanged given Matches of the snapshot are updated and removed")
+        public void shouldKeepTheSnapshotFileUnchangedGivenMatchesOfTheSnapshotAreUpdatedAndRemoved() throws Exception {
+            // given: a MatchStore serving a snapshot
+            var matches = Stream.generate(TestUtils::randomMatch).limit(3).toList();
+            var file = writeSnapshot(matches);
+            var snapshotBytes = Files.readAllBytes(file);
+            var matchStore = MatchStore.mappedSnapshot(file);
+
+            // when: the Matches of the snapshot are updated and removed, and a new Match is saved
+            var updatedMatch = withHomeTeamScore(matches.get(0), 7);
+            matchStore.updateMatch(updatedMatch.id(), updatedMatch);
+            var computedMatch = matchStore.computeMatchIfPresent(matches.get(1).id(), match -> withHomeTeamScore(match, 8));
+            matchStore.removeMatch(matches.get(2).id());
+            var savedMatch = randomMatch();
+            matchStore.saveMatch(savedMatch);
+
+            // then: the MatchStore reflects the writes
+            assertEquals(Optional.of(withHomeTeamScore(matches.get(1), 8)), computedMatch);
+            assertEquals(Set.of(updatedMatch, computedMatch.orElseThrow(), savedMatch), new HashSet<>(matchStore.getAllMatches()));
+            assertEquals(Optional.empty(), matchStore.getMatch(matches.get(2).id()));
+            assertEquals(List.of(), matchStore.findMatchesByTeam(matches.get(2).homeTeamScore().teamName()));
+
+            // and: the snapshot file is unchanged
+            assertArrayEquals(snapshotBytes, Files.readAllBytes(file));
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the snapshot")
+        public void shouldThrowExceptionGivenTheMatchAlreadyExistsInTheSnapshot() {
+            // given: a MatchStore serving a snapshot
+            var match = randomMatch();
+            var matchStore = MatchStore.mappedSnapshot(writeSnapshot(List.of(match)));
+
+            // when: the Match of the snapshot is saved again
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match exists neither in the snapshot nor in memory")
+        public void shouldThrowExceptionGivenTheMatchExistsNeitherInTheSnapshotNorInMemory() {
+            // given: a MatchStore serving a snapshot
+            var matchStore = MatchStore.mappedSnapshot(writeSnapshot(List.of(randomMatch())));
+            var match = randomMatch();
+
+            // when: a Match which does not exist is updated
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class RandomOperations {
+
+        @Test
+        @DisplayName("should behave like the InMemoryMatchStore given a random sequence of operations")
+        public void shouldBehaveLikeTheInMemoryMatchStoreGivenARandomSequenceOfOperations() {
+            // given: a MatchStore serving a snapshot and a reference InMemoryMatchStore containing the same Matches
+            var random = new Random(42);
+            var snapshotMatches = Stream.generate(() -> new Match(
+                            new TeamScore("Team" + random.nextInt(50)),
+                            new TeamScore("Team" + random.nextInt(50))))
+                    .limit(5_000)
+                    .toList();
+            var matchStore = MatchStore.mappedSnapshot(writeSnapshot(snapshotMatches));
+            var referenceMatchStore = new InMemoryMatchStore();
+            snapshotMatches.forEach(referenceMatchStore::saveMatch);
+            var matchIds = new ArrayList<>(snapshotMatches.stream().map(Match::id).toList());
+
+            // when: the same random sequence of operations is applied to both MatchStores
+            for (int i = 0; i < 20_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 3 || matchIds.isEmpty()) {
+                    var match = new Match(
+                            new TeamScore("Team" + random.nextInt(50)),
+                            new TeamScore("Team" + random.nextInt(50)));
+                    matchStore.saveMatch(match);
+                    referenceMatchStore.saveMatch(match);
+                    matchIds.add(match.id());
+                } else if (operation < 7) {
+                    var matchId = matchIds.get(random.nextInt(matchIds.size()));
+                    var homeTeamScore = random.nextInt(10);
+                    UnaryOperator<Match> update = current -> withHomeTeamScore(current, homeTeamScore);
+                    assertEquals(
+                            referenceMatchStore.computeMatchIfPresent(matchId, update),
+                            matchStore.computeMatchIfPresent(matchId, update));
+                } else if (operation < 8) {
+                    var teamName = "Team" + random.nextInt(50);
+                    assertEquals(
+                            new HashSet<>(referenceMatchStore.findMatchesByTeam(teamName)),
+                            new HashSet<>(matchStore.findMatchesByTeam(teamName)));
+                } else {
+                    var matchId = matchIds.remove(random.nextInt(matchIds.size()));
+                    matchStore.removeMatch(matchId);
+                    referenceMatchStore.removeMatch(matchId);
+                }
+            }
+
+            // then: both MatchStores contain the same Matches
+            assertEquals(new HashSet<>(referenceMatchStore.getAllMatches()), new HashSet<>(matchStore.getAllMatches()));
+            assertEquals(referenceMatchStore.getAllMatches().size(), matchStore.getAllMatches().size());
+            matchIds.forEach(matchId -> assertEquals(referenceMatchStore.getMatch(matchId), matchStore.getMatch(matchId)));
+        }
+    }
+
+    private Path writeSnapshot(List<Match> matches) {
+        var file = temporaryDirectory.resolve("snapshot");
+        MatchSnapshot.write(file, matches, 0);
+        return file;
+    }
+
+    private static Match withHomeTeamScore(Match match, int homeTeamScore) {
+        return new Match(
+                match.id(),
+                new TeamScore(match.homeTeamScore().teamName(), homeTeamScore),
+                match.awayTeamScore(),
+                match.startTime(),
+                match.startSequence(),
+                match.version());
+    }
+}
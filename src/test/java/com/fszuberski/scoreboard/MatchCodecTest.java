@@ -0,0 +1,59 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchCodecTest {
+
+    @Nested
+    public class WriteAndRead {
+
+        @Test
+        @DisplayName("should read the written Matches given the buffer has to grow")
+        public void shouldReadTheWrittenMatchesGivenTheBufferHasToGrow() {
+            // given: Matches with all of their components set, including team names encoded with multiple bytes
+            var now = LocalDateTime.now();
+            var match1 = new Match(UUID.randomUUID(), new TeamScore("C\u00f4te d'Ivoire", 3), new TeamScore("Cura\u00e7ao", 1), now, 7, 12);
+            var match2 = new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 5), now.minusHours(1), 0, 0);
+
+            // when: the Matches are written into a buffer too small to hold them and read back
+            var buffer = ByteBuffer.allocate(8);
+            buffer = MatchCodec.write(buffer, match1);
+            buffer = MatchCodec.write(buffer, match2);
+            buffer.flip();
+
+            // then: the read Matches are equal to the written Matches
+            assertEquals(match1, MatchCodec.read(buffer));
+            assertEquals(match2, MatchCodec.read(buffer));
+            assertEquals(0, buffer.remaining());
+        }
+
+        @Test
+        @DisplayName("should throw exception given a team name exceeds the maximum length")
+        public void shouldThrowExceptionGivenATeamNameExceedsTheMaximumLength() {
+            // given: a Match with a team name longer than the maximum length
+            var teamName = "x".repeat(MatchCodec.MAX_TEAM_NAME_BYTES + 1);
+            var match = new Match(new TeamScore(teamName), new TeamScore("Canada"));
+
+            // when: the Match is written
+            Executable executable = () -> MatchCodec.write(ByteBuffer.allocate(256), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot encode team name='%s'; team names cannot exceed 65535 bytes in UTF-8.", teamName),
+                    result.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSnapshotTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Nested
+    public class WriteAndRead {
+
+        @Test
+        @DisplayName("should read the written Matches and log generation given a snapshot has been written")
+        public void shouldReadTheWrittenMatchesAndLogGenerationGivenASnapshotHasBeenWritten() {
+            // given: a snapshot of Matches exceeding the write buffer
+            var file = temporaryDirectory.resolve("snapshot");
+            var matches = Stream.generate(TestUtils::randomMatch).limit(20_000).toList();
+            MatchSnapshot.write(file, matches, 42);
+
+            // when: the snapshot is read
+            var matchStore = new InMemoryMatchStore();
+            var result = MatchSnapshot.read(file, matchStore);
+
+            // then: the Matches and the log generation of the snapshot are read
+            assertEquals(42, result);
+            assertEquals(new HashSet<>(matches), new HashSet<>(matchStore.getAllMatches()));
+            assertEquals(matches.size(), matchStore.getAllMatches().size());
+        }
+
+        @Test
+        @DisplayName("should replace the previous snapshot given a new snapshot is written")
+        public void shouldReplaceThePreviousSnapshotGivenANewSnapshotIsWritten() throws Exception {
+            // given: a snapshot
+            var file = temporaryDirectory.resolve("snapshot");
+            MatchSnapshot.write(file, Stream.generate(TestUtils::randomMatch).limit(10).toList(), 1);
+
+            // when: a new snapshot is written into the same file
+            var matches = List.<Match>of(TestUtils.randomMatch());
+            MatchSnapshot.write(file, matches, 2);
+
+            // then: only the new snapshot is read and no temporary file is left behind
+            var matchStore = new InMemoryMatchStore();
+            assertEquals(2, MatchSnapshot.read(file, matchStore));
+            assertEquals(matches, matchStore.getAllMatches());
+            try (var files = Files.list(temporaryDirectory)) {
+                assertEquals(List.of(file), files.toList());
+            }
+        }
+
+        @Test
+        @DisplayName("should throw exception given the snapshot does not match its checksum")
+        public void shouldThrowExceptionGivenTheSnapshotDoesNotMatchItsChecksum() throws Exception {
+            // given: a corrupted snapshot
+            var file = temporaryDirectory.resolve("snapshot");
+            MatchSnapshot.write(file, Stream.generate(TestUtils::randomMatch).limit(10).toList(), 1);
+            var bytes = Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(file, bytes);
+
+            // when: the snapshot is read
+            Executable executable = () -> MatchSnapshot.read(file, new InMemoryMatchStore());
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot read snapshot file='%s'; the file does not contain a valid snapshot.", file),
+                    result.getMessage());
+        }
+    }
+}
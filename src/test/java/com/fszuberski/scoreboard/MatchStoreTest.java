@@ -0,0 +1,578 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.randomTeamScore;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the contract of the {@link MatchStore} methods which have a default implementation,
+ * both for the default implementations and for the implementations overriding them.
+ */
+class MatchStoreTest {
+
+    private static Stream<Supplier<MatchStore>> matchStores() {
+        return Stream.of(
+                InMemoryMatchStore::new,
+                OrderedInMemoryMatchStore::new,
+                ConcurrentMatchStore::new,
+                CopyOnWriteMatchStore::new,
+                PackedMatchStore::new,
+                () -> OffHeapMatchStore.allocateDirect(100),
+                () -> MappedSnapshotMatchStore.open(emptySnapshot()),
+                () -> MatchStore.sharded(3, InMemoryMatchStore::new)
+        );
+    }
+
+    private static Path emptySnapshot() {
+        try {
+            var snapshotFile = Files.createTempFile("snapshot", null);
+            snapshotFile.toFile().deleteOnExit();
+            MatchSnapshot.write(snapshotFile, List.of(), 0);
+            return snapshotFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nested
+    public class GetOrderedMatches {
+
+        @ParameterizedTest
+        @MethodSource("pages")
+        @DisplayName("should return the requested page of the Matches sorted in the summary order")
+        public void shouldReturnTheRequestedPageOfTheMatchesSortedInTheSummaryOrder(
+                Supplier<MatchStore> matchStoreSupplier,
+                int numberOfMatches,
+                int offset,
+                int limit
+        ) {
+            // given: the MatchStore contains {numberOfMatches} Matches
+            var matchStore = matchStoreSupplier.get();
+            IntStream.range(0, numberOfMatches).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+
+            // when: a page of the ordered Matches is retrieved
+            var result = matchStore.getOrderedMatches(offset, limit);
+
+            // then: the page is equal to the same page of all Matches sorted with the summary comparator
+            var expected = matchStore
+                    .getAllMatches()
+                    .stream()
+                    .sorted(Comparators.summaryComparator)
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+            assertEquals(expected, result);
+
+            // and: the full ordered Matches are equal to all Matches sorted with the summary comparator
+            assertEquals(
+                    matchStore.getAllMatches().stream().sorted(Comparators.summaryComparator).toList(),
+                    matchStore.getOrderedMatches());
+        }
+
+        private static Stream<Arguments> pages() {
+            return matchStores().flatMap(matchStoreSupplier -> Stream.of(
+                    Arguments.of(matchStoreSupplier, 0, 0, 10),
+                    Arguments.of(matchStoreSupplier, 25, 0, 0),
+                    Arguments.of(matchStoreSupplier, 25, 0, 10),
+                    Arguments.of(matchStoreSupplier, 25, 10, 10),
+                    Arguments.of(matchStoreSupplier, 25, 20, 10),
+                    Arguments.of(matchStoreSupplier, 25, 25, 10),
+                    Arguments.of(matchStoreSupplier, 25, 30, 10),
+                    Arguments.of(matchStoreSupplier, 25, 0, Integer.MAX_VALUE),
+                    Arguments.of(matchStoreSupplier, 25, Integer.MAX_VALUE, Integer.MAX_VALUE)
+            ));
+        }
+    }
+
+    @Nested
+    public class StartSequenceAndVersion {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should keep the start sequence and the version of the Matches")
+        public void shouldKeepTheStartSequenceAndTheVersionOfTheMatches(Supplier<MatchStore> matchStoreSupplier) {
+            // given: Matches started in the same clock tick are saved
+            var matchStore = matchStoreSupplier.get();
+            var now = LocalDateTime.now();
+            var olderMatch = new Match(UUID.randomUUID(), new TeamScore("Mexico"), new TeamScore("Canada"), now, 1, 1);
+            var newerMatch = new Match(UUID.randomUUID(), new TeamScore("Spain"), new TeamScore("Brazil"), now, 2, 2);
+            matchStore.saveMatch(olderMatch);
+            matchStore.saveMatch(newerMatch);
+
+            // when: the older Match is changed at a later version
+            var updatedMatch = new Match(olderMatch.id(), olderMatch.homeTeamScore(), olderMatch.awayTeamScore(), now, 1, 3);
+            matchStore.computeMatchIfPresent(olderMatch.id(), ignored -> updatedMatch);
+
+            // then: the Matches are returned with their start sequences and versions
+            assertEquals(Optional.of(updatedMatch), matchStore.getMatch(olderMatch.id()));
+            assertEquals(Optional.of(newerMatch), matchStore.getMatch(newerMatch.id()));
+
+            // and: the Match with the higher start sequence is ordered first
+            assertEquals(List.of(newerMatch, updatedMatch), matchStore.getOrderedMatches());
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class LatestVersion {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return 0 given no Matches")
+        public void shouldReturn0GivenNoMatches(Supplier<MatchStore> matchStoreSupplier) {
+            // when: the latest version of an empty MatchStore is retrieved
+            var result = matchStoreSupplier.get().latestVersion();
+
+            // then: the latest version is 0
+            assertEquals(0, result);
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return the greatest version of the Matches given Matches have been updated and removed")
+        public void shouldReturnTheGreatestVersionOfTheMatchesGivenMatchesHaveBeenUpdatedAndRemoved(
+                Supplier<MatchStore> matchStoreSupplier
+        ) {
+            // given: Matches of different versions, of which the Match with the greatest version has been removed
+            var matchStore = matchStoreSupplier.get();
+            var now = LocalDateTime.now();
+            var matches = IntStream.rangeClosed(1, 5)
+                    .mapToObj(version -> new Match(UUID.randomUUID(), randomTeamScore(), randomTeamScore(), now, version, version))
+                    .toList();
+            matches.forEach(matchStore::saveMatch);
+            matchStore.removeMatch(matches.get(4).id());
+            var match = matches.get(0);
+            matchStore.updateMatch(match.id(), new Match(match.id(), match.homeTeamScore(), match.awayTeamScore(), now, 1, 3));
+
+            // when: the latest version is retrieved
+            var result = matchStore.latestVersion();
+
+            // then: the latest version is the greatest version of the remaining Matches
+            assertEquals(4, result);
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class UpdateScoreIfPresent {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should update the scores and the version of the Match given the Match exists")
+        public void shouldUpdateTheScoresAndTheVersionOfTheMatchGivenTheMatchExists(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match read from the MatchStore
+            var matchStore = matchStoreSupplier.get();
+            var match = new Match(UUID.randomUUID(), randomTeamScore(), randomTeamScore(), LocalDateTime.now(), 1, 1);
+            matchStore.saveMatch(match);
+            var readMatch = matchStore.getMatch(match.id()).orElseThrow();
+
+            // when: the score of the Match is updated
+            var result = matchStore.updateScoreIfPresent(
+                    match.id(), match.homeTeamScore().score() + 2, match.awayTeamScore().score(), 5);
+
+            // then: the scores and the version are updated, while the Match read before the update is not affected
+            assertTrue(result);
+            var expectedMatch = new Match(
+                    match.id(),
+                    new TeamScore(match.homeTeamScore().teamName(), match.homeTeamScore().score() + 2),
+                    match.awayTeamScore(),
+                    match.startTime(),
+                    1,
+                    5);
+            assertEquals(Optional.of(expectedMatch), matchStore.getMatch(match.id()));
+            assertEquals(List.of(expectedMatch), matchStore.getOrderedMatches());
+            assertEquals(match, readMatch);
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return false given the Match does not exist")
+        public void shouldReturnFalseGivenTheMatchDoesNotExist(Supplier<MatchStore> matchStoreSupplier) {
+            // when: the score of a non-existing Match is updated
+            var result = matchStoreSupplier.get().updateScoreIfPresent(UUID.randomUUID(), 1, 0, 1);
+
+            // then: false is returned
+            assertFalse(result);
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should throw exception and leave the Match unchanged given a lower score")
+        public void shouldThrowExceptionAndLeaveTheMatchUnchangedGivenALowerScore(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match with the score of 2 : 1
+            var matchStore = matchStoreSupplier.get();
+            var match = new Match(UUID.randomUUID(), new TeamScore("Mexico", 2), new TeamScore("Canada", 1), LocalDateTime.now(), 1, 1);
+            matchStore.saveMatch(match);
+
+            // when: the away team score is lowered
+            Executable executable = () -> matchStore.updateScoreIfPresent(match.id(), 3, 0, 2);
+
+            // then: an IllegalArgumentException is thrown and the Match is not changed
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("New score cannot be lower than the previous score.", result.getMessage());
+            assertEquals(Optional.of(match), matchStore.getMatch(match.id()));
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class RemoveMatchIfPresent {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should remove the Match and return true given the Match exists")
+        public void shouldRemoveTheMatchAndReturnTrueGivenTheMatchExists(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match in the MatchStore
+            var matchStore = matchStoreSupplier.get();
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: the Match is removed
+            var result = matchStore.removeMatchIfPresent(match.id());
+
+            // then: true is returned and the Match is removed
+            assertTrue(result);
+            assertEquals(Optional.empty(), matchStore.getMatch(match.id()));
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return false given the Match does not exist")
+        public void shouldReturnFalseGivenTheMatchDoesNotExist(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a MatchStore containing another Match
+            var matchStore = matchStoreSupplier.get();
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: a non-existing Match is removed
+            var result = matchStore.removeMatchIfPresent(UUID.randomUUID());
+
+            // then: false is returned and the other Match is kept
+            assertFalse(result);
+            assertEquals(List.of(match), matchStore.getAllMatches());
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class RemoveAndGetMatch {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should remove and return the Match given the Match exists")
+        public void shouldRemoveAndReturnTheMatchGivenTheMatchExists(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match in the MatchStore
+            var matchStore = matchStoreSupplier.get();
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: the Match is removed
+            var result = matchStore.removeAndGetMatch(match.id());
+
+            // then: the removed Match is returned and the Match is removed
+            assertEquals(Optional.of(match), result);
+            assertEquals(Optional.empty(), matchStore.getMatch(match.id()));
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return an empty Optional given the Match does not exist")
+        public void shouldReturnAnEmptyOptionalGivenTheMatchDoesNotExist(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a MatchStore containing another Match
+            var matchStore = matchStoreSupplier.get();
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: a non-existing Match is removed
+            var result = matchStore.removeAndGetMatch(UUID.randomUUID());
+
+            // then: an empty Optional is returned and the other Match is kept
+            assertEquals(Optional.empty(), result);
+            assertEquals(List.of(match), matchStore.getAllMatches());
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class SaveMatchIfFixtureAbsent {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should save the Match and return true given no Match between the teams exists")
+        public void shouldSaveTheMatchAndReturnTrueGivenNoMatchBetweenTheTeamsExists(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a MatchStore containing the reverse fixture
+            var matchStore = matchStoreSupplier.get();
+            var reverseMatch = new Match(new TeamScore("Canada"), new TeamScore("Mexico"));
+            matchStore.saveMatch(reverseMatch);
+
+            // when: a Match between the teams is saved
+            var match = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            var result = matchStore.saveMatchIfFixtureAbsent(match);
+
+            // then: true is returned and the Match is saved
+            assertTrue(result);
+            assertEquals(Optional.of(match), matchStore.getMatch(match.id()));
+            assertEquals(Optional.of(match), matchStore.findMatchByTeams("Mexico", "Canada"));
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should not save the Match and return false given a Match between the teams exists")
+        public void shouldNotSaveTheMatchAndReturnFalseGivenAMatchBetweenTheTeamsExists(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match between the teams in the MatchStore
+            var matchStore = matchStoreSupplier.get();
+            var match = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            matchStore.saveMatch(match);
+
+            // when: another Match between the teams is saved
+            var result = matchStore.saveMatchIfFixtureAbsent(new Match(new TeamScore("Mexico"), new TeamScore("Canada")));
+
+            // then: false is returned and only the existing Match is kept
+            assertFalse(result);
+            assertEquals(List.of(match), matchStore.getAllMatches());
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should save the Match given the Match between the teams has been removed")
+        public void shouldSaveTheMatchGivenTheMatchBetweenTheTeamsHasBeenRemoved(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Match between the teams has been removed from the MatchStore
+            var matchStore = matchStoreSupplier.get();
+            var removedMatch = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            matchStore.saveMatch(removedMatch);
+            matchStore.removeMatch(removedMatch.id());
+
+            // when: another Match between the teams is saved
+            var match = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            var result = matchStore.saveMatchIfFixtureAbsent(match);
+
+            // then: true is returned and the Match is saved
+            assertTrue(result);
+            assertEquals(List.of(match), matchStore.getAllMatches());
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class FindMatchesByTeam {
+        private static final int NUMBER_OF_TEAMS = 8;
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return the Matches of every team given Matches have been saved, updated and removed")
+        public void shouldReturnTheMatchesOfEveryTeamGivenMatchesHaveBeenSavedUpdatedAndRemoved(
+                Supplier<MatchStore> matchStoreSupplier
+        ) {
+            // given: Matches of a small set of teams have been saved, updated (including their teams) and removed
+            var matchStore = matchStoreSupplier.get();
+            applyRandomOperations(matchStore);
+
+            // when: the Matches of every team are looked up
+            for (int team = 0; team < NUMBER_OF_TEAMS; team++) {
+                var teamName = "Team" + team;
+                var result = matchStore.findMatchesByTeam(teamName);
+
+                // then: the Matches are equal to the Matches of the team found by scanning all Matches
+                var expected = matchStore
+                        .getAllMatches()
+                        .stream()
+                        .filter(match -> match.homeTeamScore().teamName().equals(teamName)
+                                || match.awayTeamScore().teamName().equals(teamName))
+                        .collect(Collectors.toSet());
+                assertEquals(expected, new HashSet<>(result));
+                assertEquals(expected.size(), result.size());
+            }
+
+            // and: no Matches are returned for a team which has never played
+            assertTrue(matchStore.findMatchesByTeam("Atlantis").isEmpty());
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return a Match between the teams given Matches have been saved, updated and removed")
+        public void shouldReturnAMatchBetweenTheTeamsGivenMatchesHaveBeenSavedUpdatedAndRemoved(
+                Supplier<MatchStore> matchStoreSupplier
+        ) {
+            // given: Matches of a small set of teams have been saved, updated (including their teams) and removed
+            var matchStore = matchStoreSupplier.get();
+            applyRandomOperations(matchStore);
+
+            // when: the Match between every pair of teams is looked up
+            for (int homeTeam = 0; homeTeam < NUMBER_OF_TEAMS; homeTeam++) {
+                for (int awayTeam = 0; awayTeam < NUMBER_OF_TEAMS; awayTeam++) {
+                    var homeTeamName = "Team" + homeTeam;
+                    var awayTeamName = "Team" + awayTeam;
+                    var result = matchStore.findMatchByTeams(homeTeamName, awayTeamName);
+
+                    // then: a Match is found only if a Match between the home and the away team exists
+                    var expected = matchStore
+                            .getAllMatches()
+                            .stream()
+                            .filter(match -> match.homeTeamScore().teamName().equals(homeTeamName)
+                                    && match.awayTeamScore().teamName().equals(awayTeamName))
+                            .collect(Collectors.toSet());
+                    assertEquals(!expected.isEmpty(), result.isPresent());
+                    result.ifPresent(match -> assertTrue(expected.contains(match)));
+                }
+            }
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+
+        private static void applyRandomOperations(MatchStore matchStore) {
+            var random = new Random(42);
+            var matchIds = new ArrayList<UUID>();
+            for (int i = 0; i < 2_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 4 || matchIds.isEmpty()) {
+                    if (matchIds.size() < 50) {
+                        var match = new Match(
+                                new TeamScore("Team" + random.nextInt(NUMBER_OF_TEAMS)),
+                                new TeamScore("Team" + random.nextInt(NUMBER_OF_TEAMS)));
+                        matchStore.saveMatch(match);
+                        matchIds.add(match.id());
+                    }
+                } else if (operation < 6) {
+                    var match = matchStore.getMatch(matchIds.get(random.nextInt(matchIds.size()))).orElseThrow();
+                    matchStore.updateMatch(match.id(), new Match(
+                            match.id(),
+                            new TeamScore("Team" + random.nextInt(NUMBER_OF_TEAMS), match.homeTeamScore().score()),
+                            match.awayTeamScore(),
+                            match.startTime()));
+                } else if (operation < 8) {
+                    var awayTeamName = "Team" + random.nextInt(NUMBER_OF_TEAMS);
+                    matchStore.computeMatchIfPresent(matchIds.get(random.nextInt(matchIds.size())), match -> new Match(
+                            match.id(),
+                            new TeamScore(match.homeTeamScore().teamName(), match.homeTeamScore().score() + 1),
+                            new TeamScore(awayTeamName, match.awayTeamScore().score()),
+                            match.startTime()));
+                } else {
+                    matchStore.removeMatch(matchIds.remove(random.nextInt(matchIds.size())));
+                }
+            }
+        }
+    }
+
+    @Nested
+    public class GetRank {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return the position of the Match in the summary order")
+        public void shouldReturnThePositionOfTheMatchInTheSummaryOrder(Supplier<MatchStore> matchStoreSupplier) {
+            // given: the MatchStore contains multiple Matches
+            var matchStore = matchStoreSupplier.get();
+            IntStream.range(0, 25).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+
+            // then: the rank of every stored Match is its position in the ordered Matches
+            var orderedMatches = matchStore.getOrderedMatches();
+            for (int i = 0; i < orderedMatches.size(); i++) {
+                assertEquals(i, matchStore.getRank(orderedMatches.get(i)));
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return the position among the other Matches given a previous state of a Match")
+        public void shouldReturnThePositionAmongTheOtherMatchesGivenAPreviousStateOfAMatch(
+                Supplier<MatchStore> matchStoreSupplier
+        ) {
+            // given: the MatchStore contains multiple Matches
+            var matchStore = matchStoreSupplier.get();
+            IntStream.range(0, 25).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+
+            // when: the last Match in the summary order is updated to the first position
+            var previousMatch = matchStore.getOrderedMatches().get(24);
+            var updatedMatch = new Match(
+                    previousMatch.id(),
+                    new TeamScore(previousMatch.homeTeamScore().teamName(), 1_000),
+                    previousMatch.awayTeamScore(),
+                    previousMatch.startTime());
+            matchStore.updateMatch(previousMatch.id(), updatedMatch);
+
+            // then: the previous state of the Match is ranked among the other Matches only
+            assertEquals(24, matchStore.getRank(previousMatch));
+            assertEquals(0, matchStore.getRank(updatedMatch));
+        }
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should return the ranks of all passed Matches given getRanks is invoked")
+        public void shouldReturnTheRanksOfAllPassedMatchesGivenGetRanksIsInvoked(Supplier<MatchStore> matchStoreSupplier) {
+            // given: the MatchStore contains multiple Matches
+            var matchStore = matchStoreSupplier.get();
+            IntStream.range(0, 25).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+
+            // when: the last Match in the summary order is updated to the first position
+            var previousMatch = matchStore.getOrderedMatches().get(24);
+            var updatedMatch = new Match(
+                    previousMatch.id(),
+                    new TeamScore(previousMatch.homeTeamScore().teamName(), 1_000),
+                    previousMatch.awayTeamScore(),
+                    previousMatch.startTime());
+            matchStore.updateMatch(previousMatch.id(), updatedMatch);
+
+            // then: the ranks are the same as the ranks of the Matches computed one by one
+            var otherMatch = matchStore.getOrderedMatches().get(12);
+            assertArrayEquals(
+                    new int[]{24, 0, 12},
+                    matchStore.getRanks(List.of(previousMatch, updatedMatch, otherMatch)));
+            assertArrayEquals(new int[0], matchStore.getRanks(List.of()));
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return MatchStoreTest.matchStores();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMatchStoreTest {
+
+    private OffHeapMatchStore matchStore;
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.matchStore = OffHeapMatchStore.allocateDirect(100);
+    }
+
+    @Nested
+    public class Create {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, -1})
+        @DisplayName("should throw exception given capacity is less than 1")
+        public void shouldThrowExceptionGivenCapacityIsLessThan1(int capacity) {
+            // when: the OffHeapMatchStore is created with a capacity less than 1
+            Executable executable = () -> OffHeapMatchStore.allocateDirect(capacity);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Capacity cannot be less than 1.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given file is null")
+        public void shouldThrowExceptionGivenFileIsNull() {
+            // when: the OffHeapMatchStore is mapped to a null file
+            Executable executable = () -> OffHeapMatchStore.map(null, 100);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("File cannot be null.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class SaveMatch {
+
+        @Test
+        @DisplayName("should return an equal Match given the Match has been saved")
+        public void shouldReturnAnEqualMatchGivenTheMatchHasBeenSaved() {
+            // given: a Match with a nanosecond precision start time and non-ASCII team names
+            var match = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("C\u00f4te d'Ivoire", 3),
+                    new TeamScore("Cura\u00e7ao", Integer.MAX_VALUE),
+                    LocalDateTime.of(2024, 6, 14, 21, 0, 5, 123_456_789)
+            );
+
+            // when: the Match is saved
+            matchStore.saveMatch(match);
+
+            // then: the Match view is equal to the saved Match
+            assertEquals(match, matchStore.getMatch(match.id()).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the MatchStore")
+        public void shouldThrowExceptionGivenMatchAlreadyExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: saveMatch is invoked with the Match as a parameter
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given a team name exceeds the maximum length")
+        public void shouldThrowExceptionGivenATeamNameExceedsTheMaximumLength() {
+            // given: a Match with a home team name longer than 64 bytes in UTF-8
+            var teamName = "\u00fc".repeat(33);
+            var match = new Match(new TeamScore(teamName), new TeamScore("Australia"));
+
+            // when: the Match is saved
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown and the Match is not saved
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot store team name='%s'; team names cannot exceed 64 bytes in UTF-8.", teamName),
+                    result.getMessage());
+            assertTrue(matchStore.getAllMatches().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the MatchStore is full")
+        public void shouldThrowExceptionGivenTheMatchStoreIsFull() {
+            // given: a full MatchStore
+            matchStore = OffHeapMatchStore.allocateDirect(2);
+            matchStore.saveMatch(randomMatch());
+            matchStore.saveMatch(randomMatch());
+
+            // when: another Match is saved
+            var match = randomMatch();
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalStateException is thrown
+            var result = assertThrows(IllegalStateException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; the store is full (capacity=2).", match.id()),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class UpdateMatch {
+
+        @Test
+        @DisplayName("should throw exception given the Match does not exist in the MatchStore")
+        public void shouldThrowExceptionGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: updateMatch is invoked for a non-existing Match
+            var match = randomMatch();
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class RemoveMatch {
+
+        @Test
+        @DisplayName("should keep remaining Matches reachable given Matches are removed")
+        public void shouldKeepRemainingMatchesReachableGivenMatchesAreRemoved() {
+            // given: a full MatchStore
+            var matches = new ArrayList<Match>();
+            for (int i = 0; i < 100; i++) {
+                var match = randomMatch();
+                matches.add(match);
+                matchStore.saveMatch(match);
+            }
+
+            // when: every other Match is removed
+            for (int i = 0; i < matches.size(); i += 2) {
+                matchStore.removeMatch(matches.get(i).id());
+            }
+
+            // then: only the remaining Matches can be found in the MatchStore and the freed slots can be reused
+            for (int i = 0; i < matches.size(); i++) {
+                var match = matches.get(i);
+                assertEquals(i % 2 == 0, matchStore.getMatch(match.id()).isEmpty());
+            }
+            assertEquals(50, matchStore.getAllMatches().size());
+            for (int i = 0; i < 50; i++) {
+                matchStore.saveMatch(randomMatch());
+            }
+            assertEquals(100, matchStore.getAllMatches().size());
+        }
+    }
+
+    @Nested
+    public class Map {
+
+        @Test
+        @DisplayName("should reattach all Matches given the file contains a MatchStore")
+        public void shouldReattachAllMatchesGivenTheFileContainsAMatchStore() {
+            // given: a MatchStore mapped to a file, with Matches saved, updated and removed
+            var file = temporaryDirectory.resolve("scoreboard.dat");
+            var mappedMatchStore = OffHeapMatchStore.map(file, 10);
+            var matches = new ArrayList<Match>();
+            for (int i = 0; i < 5; i++) {
+                var match = randomMatch();
+                matches.add(match);
+                mappedMatchStore.saveMatch(match);
+            }
+            var updatedMatch = new Match(
+                    matches.get(1).id(),
+                    new TeamScore(matches.get(1).homeTeamScore().teamName(), 2),
+                    new TeamScore(matches.get(1).awayTeamScore().teamName(), 1),
+                    matches.get(1).startTime());
+            mappedMatchStore.updateMatch(updatedMatch.id(), updatedMatch);
+            mappedMatchStore.removeMatch(matches.get(0).id());
+            mappedMatchStore.force();
+
+            // when: the file is mapped again
+            var reattachedMatchStore = OffHeapMatchStore.map(file, 10);
+
+            // then: the reattached MatchStore contains the same Matches
+            assertEquals(
+                    new HashSet<>(mappedMatchStore.getAllMatches()),
+                    new HashSet<>(reattachedMatchStore.getAllMatches()));
+            assertEquals(4, reattachedMatchStore.getAllMatches().size());
+            assertEquals(updatedMatch, reattachedMatchStore.getMatch(updatedMatch.id()).orElseThrow());
+            assertTrue(reattachedMatchStore.getMatch(matches.get(0).id()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the file contains a MatchStore with a different capacity")
+        public void shouldThrowExceptionGivenTheFileContainsAMatchStoreWithADifferentCapacity() {
+            // given: a MatchStore mapped to a file
+            var file = temporaryDirectory.resolve("scoreboard.dat");
+            OffHeapMatchStore.map(file, 10);
+
+            // when: the file is mapped with a different capacity
+            Executable executable = () -> OffHeapMatchStore.map(file, 20);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot reattach store in file='%s'; the file does not contain a store with capacity=20.", file),
+                    result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the file does not contain a MatchStore")
+        public void shouldThrowExceptionGivenTheFileDoesNotContainAMatchStore() throws Exception {
+            // given: a file of the expected size which does not contain a MatchStore
+            var file = temporaryDirectory.resolve("scoreboard.dat");
+            OffHeapMatchStore.map(file, 10);
+            Files.write(file, new byte[(int) Files.size(file)]);
+
+            // when: the file is mapped
+            Executable executable = () -> OffHeapMatchStore.map(file, 10);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot reattach store in file='%s'; the file does not contain a store with capacity=10.", file),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class RandomOperations {
+
+        @Test
+        @DisplayName("should behave like the InMemoryMatchStore given a random sequence of operations")
+        public void shouldBehaveLikeTheInMemoryMatchStoreGivenARandomSequenceOfOperations() {
+            // given: a reference InMemoryMatchStore
+            matchStore = OffHeapMatchStore.allocateDirect(20_000);
+            var referenceMatchStore = new InMemoryMatchStore();
+            var random = new Random(42);
+            var matchIds = new ArrayList<UUID>();
+
+            // when: the same random sequence of operations is applied to both MatchStores
+            for (int i = 0; i < 20_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 4 || matchIds.isEmpty()) {
+                    var match = new Match(
+                            new TeamScore("Team" + random.nextInt(50)),
+                            new TeamScore("Team" + random.nextInt(50)));
+                    matchStore.saveMatch(match);
+                    referenceMatchStore.saveMatch(match);
+                    matchIds.add(match.id());
+                } else if (operation < 8) {
+                    var matchId = matchIds.get(random.nextInt(matchIds.size()));
+                    var homeTeamScore = random.nextInt(10);
+                    UnaryOperator<Match> update = current -> new Match(
+                            current.id(),
+                            new TeamScore(current.homeTeamScore().teamName(), homeTeamScore),
+                            current.awayTeamScore(),
+                            current.startTime());
+                    assertEquals(
+                            referenceMatchStore.computeMatchIfPresent(matchId, update),
+                            matchStore.computeMatchIfPresent(matchId, update));
+                } else {
+                    var matchId = matchIds.remove(random.nextInt(matchIds.size()));
+                    matchStore.removeMatch(matchId);
+                    referenceMatchStore.removeMatch(matchId);
+                }
+            }
+
+            // then: both MatchStores contain the same Matches
+            assertEquals(new HashSet<>(referenceMatchStore.getAllMatches()), new HashSet<>(matchStore.getAllMatches()));
+            matchIds.forEach(matchId -> assertEquals(referenceMatchStore.getMatch(matchId), matchStore.getMatch(matchId)));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedInMemoryMatchStoreTest {
+
+    private OrderedInMemoryMatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.matchStore = new OrderedInMemoryMatchStore();
+    }
+
+    @Nested
+    public class SaveMatch {
+
+        @Test
+        @DisplayName("should save the passed Match to the MatchStore")
+        public void shouldSaveThePassedMatchToTheMatchStore() {
+            // given: a Match
+            var expectedMatch = randomMatch();
+
+            // when: saveMatch is invoked with the Match as a parameter
+            matchStore.saveMatch(expectedMatch);
+
+            // then: the passed Match exists in the MatchStore
+            assertEquals(expectedMatch, matchStore.getMatch(expectedMatch.id()).orElseThrow());
+            assertEquals(1, matchStore.getOrderedMatches().size());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the MatchStore")
+        public void shouldThrowExceptionGivenMatchAlreadyExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: saveMatch is invoked with the Match as a parameter
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+
+            // and: the ordered index contains the Match only once
+            assertEquals(1, matchStore.getOrderedMatches().size());
+        }
+    }
+
+    @Nested
+    public class UpdateMatch {
+
+        @Test
+        @DisplayName("should reposition Match in the ordered index given its score has changed")
+        public void shouldRepositionMatchInTheOrderedIndexGivenItsScoreHasChanged() {
+            // given: two Matches exist in the MatchStore
+            var now = LocalDateTime.now();
+            var olderMatch = match(0, 0, now.minus(Duration.ofMinutes(5)));
+            var newerMatch = match(1, 0, now);
+            matchStore.saveMatch(olderMatch);
+            matchStore.saveMatch(newerMatch);
+            assertEquals(newerMatch, matchStore.getOrderedMatches().get(0));
+
+            // when: the older Match has its score updated above the newer Match score
+            var updatedMatch = new Match(
+                    olderMatch.id(),
+                    new TeamScore(olderMatch.homeTeamScore().teamName(), 2),
+                    olderMatch.awayTeamScore(),
+                    olderMatch.startTime()
+            );
+            matchStore.updateMatch(olderMatch.id(), updatedMatch);
+
+            // then: the updated Match is ordered first and the previous version is no longer indexed
+            var result = matchStore.getOrderedMatches();
+            assertEquals(2, result.size());
+            assertEquals(updatedMatch, result.get(0));
+            assertEquals(newerMatch, result.get(1));
+            assertFalse(result.contains(olderMatch));
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match does not exist in the MatchStore")
+        public void shouldThrowExceptionGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: updateMatch is invoked for a non-existing Match
+            var match = randomMatch();
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+
+            // and: the MatchStore has not changed
+            assertTrue(matchStore.getOrderedMatches().isEmpty());
+        }
+    }
+
+    @Nested
+    public class ComputeMatchIfPresent {
+
+        @Test
+        @DisplayName("should reposition Match in the ordered index given its score has changed")
+        public void shouldRepositionMatchInTheOrderedIndexGivenItsScoreHasChanged() {
+            // given: two Matches exist in the MatchStore
+            var now = LocalDateTime.now();
+            var olderMatch = match(0, 0, now.minus(Duration.ofMinutes(5)));
+            var newerMatch = match(1, 0, now);
+            matchStore.saveMatch(olderMatch);
+            matchStore.saveMatch(newerMatch);
+
+            // when: the older Match has its score updated above the newer Match score
+            var result = matchStore.computeMatchIfPresent(olderMatch.id(), match -> new Match(
+                    match.id(),
+                    new TeamScore(match.homeTeamScore().teamName(), 2),
+                    match.awayTeamScore(),
+                    match.startTime()
+            ));
+
+            // then: the updated Match is ordered first
+            var updatedMatch = result.orElseThrow();
+            assertEquals(List.of(updatedMatch, newerMatch), matchStore.getOrderedMatches());
+        }
+
+        @Test
+        @DisplayName("should leave the ordered index unchanged given the remapping function throws an exception")
+        public void shouldLeaveTheOrderedIndexUnchangedGivenTheRemappingFunctionThrowsAnException() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: computeMatchIfPresent is invoked with a remapping function that throws an exception
+            Executable executable = () -> matchStore.computeMatchIfPresent(match.id(), ignored -> {
+                throw new IllegalArgumentException("Invalid update.");
+            });
+
+            // then: the exception is propagated and the Match is still indexed
+            assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(List.of(match), matchStore.getOrderedMatches());
+        }
+
+        @Test
+        @DisplayName("should return empty optional given the Match does not exist in the MatchStore")
+        public void shouldReturnEmptyOptionalGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: computeMatchIfPresent is invoked for a non-existing Match
+            var result = matchStore.computeMatchIfPresent(UUID.randomUUID(), match -> fail("Unexpected remapping"));
+
+            // then: the result is an empty optional
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Nested
+    public class RemoveMatch {
+
+        @Test
+        @DisplayName("should remove Match from the lookup map and the ordered index")
+        public void shouldRemoveMatchFromTheLookupMapAndTheOrderedIndex() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: removeMatch is invoked with the Match id
+            matchStore.removeMatch(match.id());
+
+            // then: the Match no longer exists in the MatchStore
+            assertTrue(matchStore.getMatch(match.id()).isEmpty());
+            assertTrue(matchStore.getAllMatches().isEmpty());
+            assertTrue(matchStore.getOrderedMatches().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should have no effect given Match does not exist in the MatchStore")
+        public void shouldHaveNoEffectGivenMatchDoesNotExistInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            matchStore.saveMatch(randomMatch());
+
+            // when: removeMatch is invoked with an unknown Match id
+            matchStore.removeMatch(UUID.randomUUID());
+
+            // then: the MatchStore has not changed
+            assertEquals(1, matchStore.getOrderedMatches().size());
+        }
+    }
+
+    @Nested
+    public class GetOrderedMatches {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 1, 10, 100})
+        @DisplayName("should return Matches in the same order as sorting all Matches")
+        public void shouldReturnMatchesInTheSameOrderAsSortingAllMatches(int numberOfMatches) {
+            // given: the MatchStore contains {numberOfMatches} Matches
+            IntStream.range(0, numberOfMatches).forEach(ignored -> matchStore.saveMatch(randomMatch()));
+
+            // when: the ordered Matches are retrieved
+            var result = matchStore.getOrderedMatches();
+
+            // then: the order is equal to sorting all Matches with the summary comparator
+            var expected = matchStore
+                    .getAllMatches()
+                    .stream()
+                    .sorted(Comparators.summaryComparator)
+                    .toList();
+            assertEquals(expected, result);
+        }
+    }
+
+    private Match match(int homeTeamScore, int awayTeamScore, LocalDateTime startTime) {
+        return new Match(
+                UUID.randomUUID(),
+                new TeamScore(UUID.randomUUID().toString(), homeTeamScore),
+                new TeamScore(UUID.randomUUID().toString(), awayTeamScore),
+                startTime
+        );
+    }
+}
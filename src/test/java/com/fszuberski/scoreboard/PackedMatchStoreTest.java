@@ -0,0 +1,232 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedMatchStoreTest {
+
+    private PackedMatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.matchStore = new PackedMatchStore();
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        @DisplayName("should throw exception given initial capacity is less than 1")
+        public void shouldThrowExceptionGivenInitialCapacityIsLessThan1() {
+            // when: the PackedMatchStore is initialized with an initial capacity of 0
+            Executable executable = () -> new PackedMatchStore(0);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("InitialCapacity cannot be less than 1.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class SaveMatch {
+
+        @Test
+        @DisplayName("should return an equal Match given the Match has been saved")
+        public void shouldReturnAnEqualMatchGivenTheMatchHasBeenSaved() {
+            // given: a Match with a nanosecond precision start time
+            var match = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Argentina", 3),
+                    new TeamScore("Australia", Integer.MAX_VALUE),
+                    LocalDateTime.of(2024, 6, 14, 21, 0, 5, 123_456_789)
+            );
+
+            // when: the Match is saved
+            matchStore.saveMatch(match);
+
+            // then: the Match view is equal to the saved Match
+            assertEquals(match, matchStore.getMatch(match.id()).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the Match already exists in the MatchStore")
+        public void shouldThrowExceptionGivenMatchAlreadyExistsInTheMatchStore() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: saveMatch is invoked with the Match as a parameter
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot save new match with id='%s'; a match with this id already exists.", match.id()),
+                    result.getMessage());
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 17, 1_000})
+        @DisplayName("should grow given more Matches than the initial capacity are saved")
+        public void shouldGrowGivenMoreMatchesThanTheInitialCapacityAreSaved(int initialCapacity) {
+            // given: a PackedMatchStore with a small initial capacity
+            matchStore = new PackedMatchStore(initialCapacity);
+
+            // when: more Matches than the initial capacity are saved
+            var matches = new ArrayList<Match>();
+            for (int i = 0; i < 2_500; i++) {
+                var match = randomMatch();
+                matches.add(match);
+                matchStore.saveMatch(match);
+            }
+
+            // then: all Matches can be found in the MatchStore
+            matches.forEach(match -> assertEquals(match, matchStore.getMatch(match.id()).orElseThrow()));
+            assertEquals(new HashSet<>(matches), new HashSet<>(matchStore.getAllMatches()));
+        }
+    }
+
+    @Nested
+    public class UpdateMatch {
+
+        @Test
+        @DisplayName("should throw exception given the Match does not exist in the MatchStore")
+        public void shouldThrowExceptionGivenTheMatchDoesNotExistInTheMatchStore() {
+            // when: updateMatch is invoked for a non-existing Match
+            var match = randomMatch();
+            Executable executable = () -> matchStore.updateMatch(match.id(), match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot update match with id='%s'; a match with this id does not exist.", match.id()),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class RemoveMatch {
+
+        @Test
+        @DisplayName("should keep remaining Matches reachable given Matches are removed")
+        public void shouldKeepRemainingMatchesReachableGivenMatchesAreRemoved() {
+            // given: multiple Matches exist in the MatchStore
+            var matches = new ArrayList<Match>();
+            for (int i = 0; i < 1_000; i++) {
+                var match = randomMatch();
+                matches.add(match);
+                matchStore.saveMatch(match);
+            }
+
+            // when: every other Match is removed
+            for (int i = 0; i < matches.size(); i += 2) {
+                matchStore.removeMatch(matches.get(i).id());
+            }
+
+            // then: only the remaining Matches can be found in the MatchStore
+            for (int i = 0; i < matches.size(); i++) {
+                var match = matches.get(i);
+                assertEquals(i % 2 == 0, matchStore.getMatch(match.id()).isEmpty());
+            }
+            assertEquals(500, matchStore.getAllMatches().size());
+        }
+    }
+
+    @Nested
+    public class FindMatchesByTeam {
+
+        @Test
+        @DisplayName("should return the Matches of the team given the team plays as the home or the away team")
+        public void shouldReturnTheMatchesOfTheTeamGivenTheTeamPlaysAsTheHomeOrTheAwayTeam() {
+            // given: Matches of multiple teams exist in the MatchStore
+            var mexicoCanada = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            var spainBrazil = new Match(new TeamScore("Spain"), new TeamScore("Brazil"));
+            var canadaFrance = new Match(new TeamScore("Canada"), new TeamScore("France"));
+            matchStore.saveMatch(mexicoCanada);
+            matchStore.saveMatch(spainBrazil);
+            matchStore.saveMatch(canadaFrance);
+
+            // when: the Matches of a team are looked up
+            var result = matchStore.findMatchesByTeam("Canada");
+
+            // then: only the Matches of the team are returned
+            assertEquals(new HashSet<>(List.of(mexicoCanada, canadaFrance)), new HashSet<>(result));
+        }
+
+        @Test
+        @DisplayName("should return no Matches given the team has never played")
+        public void shouldReturnNoMatchesGivenTheTeamHasNeverPlayed() {
+            // given: a Match exists in the MatchStore
+            matchStore.saveMatch(randomMatch());
+
+            // when: the Matches of a team which has never played are looked up
+            var result = matchStore.findMatchesByTeam("Atlantis");
+
+            // then: no Matches are returned
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Nested
+    public class RandomOperations {
+
+        @Test
+        @DisplayName("should behave like the InMemoryMatchStore given a random sequence of operations")
+        public void shouldBehaveLikeTheInMemoryMatchStoreGivenARandomSequenceOfOperations() {
+            // given: a reference InMemoryMatchStore
+            var referenceMatchStore = new InMemoryMatchStore();
+            var random = new Random(42);
+            var matchIds = new ArrayList<UUID>();
+
+            // when: the same random sequence of operations is applied to both MatchStores
+            for (int i = 0; i < 20_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 4 || matchIds.isEmpty()) {
+                    var match = new Match(
+                            new TeamScore("Team" + random.nextInt(50)),
+                            new TeamScore("Team" + random.nextInt(50)));
+                    matchStore.saveMatch(match);
+                    referenceMatchStore.saveMatch(match);
+                    matchIds.add(match.id());
+                } else if (operation < 8) {
+                    var matchId = matchIds.get(random.nextInt(matchIds.size()));
+                    var homeTeamScore = random.nextInt(10);
+                    UnaryOperator<Match> update = current -> new Match(
+                            current.id(),
+                            new TeamScore(current.homeTeamScore().teamName(), homeTeamScore),
+                            current.awayTeamScore(),
+                            current.startTime());
+                    assertEquals(
+                            referenceMatchStore.computeMatchIfPresent(matchId, update),
+                            matchStore.computeMatchIfPresent(matchId, update));
+                } else {
+                    var matchId = matchIds.remove(random.nextInt(matchIds.size()));
+                    matchStore.removeMatch(matchId);
+                    referenceMatchStore.removeMatch(matchId);
+                }
+            }
+
+            // then: both MatchStores contain the same Matches
+            assertEquals(new HashSet<>(referenceMatchStore.getAllMatches()), new HashSet<>(matchStore.getAllMatches()));
+            matchIds.forEach(matchId -> assertEquals(referenceMatchStore.getMatch(matchId), matchStore.getMatch(matchId)));
+        }
+    }
+}
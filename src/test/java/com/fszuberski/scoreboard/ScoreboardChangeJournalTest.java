@@ -0,0 +1,223 @@
+package com.fszuberski.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardChangeJournalTest {
+
+    private ScoreboardChangeJournal changeJournal;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.changeJournal = new ScoreboardChangeJournal(4, 0);
+    }
+
+    private void change(UUID matchId) {
+        changeJournal.completeChange(changeJournal.startChange(), matchId);
+    }
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @Test
+        @DisplayName("should throw exception given capacity less than 1")
+        public void shouldThrowExceptionGivenCapacityLessThan1() {
+            // when: a ScoreboardChangeJournal is created with a capacity less than 1
+            Executable executable = () -> new ScoreboardChangeJournal(0, 0);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Capacity cannot be less than 1.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should start at the initial version given an initial version")
+        public void shouldStartAtTheInitialVersionGivenAnInitialVersion() {
+            // when: a ScoreboardChangeJournal is created with an initial version and a change is made
+            var journal = new ScoreboardChangeJournal(4, 10);
+            var matchId = UUID.randomUUID();
+            journal.completeChange(journal.startChange(), matchId);
+
+            // then: the versions continue after the initial version
+            assertEquals(11, journal.version());
+            assertEquals(List.of(matchId), List.copyOf(journal.changedMatchIds(10, 11)));
+
+            // and: the changes before the initial version are not kept
+            assertNull(journal.changedMatchIds(9, 11));
+        }
+    }
+
+    @Nested
+    public class ChangedMatchIds {
+
+        @Test
+        @DisplayName("should return the ids of the changed matches in the order of their first change")
+        public void shouldReturnTheIdsOfTheChangedMatchesInTheOrderOfTheirFirstChange() {
+            // given: multiple changes of the same matches
+            var firstMatchId = UUID.randomUUID();
+            var secondMatchId = UUID.randomUUID();
+            change(firstMatchId);
+            change(secondMatchId);
+            change(firstMatchId);
+
+            // then: the ids of the changed matches are returned once per match
+            assertEquals(3, changeJournal.version());
+            assertEquals(List.of(firstMatchId, secondMatchId), List.copyOf(changeJournal.changedMatchIds(0, 3)));
+            assertEquals(List.of(secondMatchId, firstMatchId), List.copyOf(changeJournal.changedMatchIds(1, 3)));
+            assertTrue(changeJournal.changedMatchIds(3, 3).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should give the version back given the abandoned change is the last started change")
+        public void shouldGiveTheVersionBackGivenTheAbandonedChangeIsTheLastStartedChange() {
+            // given: a completed change
+            var matchId = UUID.randomUUID();
+            change(matchId);
+
+            // when: the next change is abandoned
+            changeJournal.abandonChange(changeJournal.startChange());
+
+            // then: the version has not moved and the next change is assigned the given back version
+            assertEquals(1, changeJournal.version());
+            assertEquals(2, changeJournal.startChange());
+        }
+
+        @Test
+        @DisplayName("should not return the abandoned change given another change has been started after it")
+        public void shouldNotReturnTheAbandonedChangeGivenAnotherChangeHasBeenStartedAfterIt() {
+            // given: an abandoned change started before another change
+            var matchId = UUID.randomUUID();
+            var abandonedVersion = changeJournal.startChange();
+            var version = changeJournal.startChange();
+            changeJournal.abandonChange(abandonedVersion);
+            changeJournal.completeChange(version, matchId);
+
+            // then: the abandoned change is counted, but not returned
+            assertEquals(2, changeJournal.version());
+            assertEquals(List.of(matchId), List.copyOf(changeJournal.changedMatchIds(0, 2)));
+        }
+
+        @Test
+        @DisplayName("should return null given the changes are no longer kept")
+        public void shouldReturnNullGivenTheChangesAreNoLongerKept() {
+            // given: more changes than the capacity of the journal
+            for (int i = 0; i < 6; i++) {
+                change(UUID.randomUUID());
+            }
+
+            // then: only the most recent changes are returned
+            assertNull(changeJournal.changedMatchIds(0, 6));
+            assertNull(changeJournal.changedMatchIds(1, 6));
+            assertEquals(4, changeJournal.changedMatchIds(2, 6).size());
+        }
+    }
+
+    @Nested
+    public class CompletedVersion {
+
+        @Test
+        @DisplayName("should return the version of the completed changes given no change is in progress")
+        public void shouldReturnTheVersionOfTheCompletedChangesGivenNoChangeIsInProgress() {
+            // given: completed and abandoned changes
+            change(UUID.randomUUID());
+            changeJournal.abandonChange(changeJournal.startChange());
+            change(UUID.randomUUID());
+
+            // when: the completed version is found
+            var result = changeJournal.completedVersion(0);
+
+            // then: the version of the last change is returned
+            assertEquals(2, result);
+        }
+
+        @Test
+        @DisplayName("should return the version preceding the earliest change in progress given later changes have completed")
+        public void shouldReturnTheVersionPrecedingTheEarliestChangeInProgressGivenLaterChangesHaveCompleted() {
+            // given: a change in progress followed by a completed change
+            change(UUID.randomUUID());
+            changeJournal.startChange();
+            change(UUID.randomUUID());
+
+            // when: the completed version is found
+            var result = changeJournal.completedVersion(0);
+
+            // then: the version preceding the change in progress is returned, although two changes have completed
+            assertEquals(2, changeJournal.version());
+            assertEquals(1, result);
+        }
+
+        @Test
+        @DisplayName("should not return a version lower than the passed version")
+        public void shouldNotReturnAVersionLowerThanThePassedVersion() {
+            // given: more changes than the capacity of the journal, the first of which is still in progress
+            changeJournal.startChange();
+            for (int i = 0; i < 5; i++) {
+                change(UUID.randomUUID());
+            }
+
+            // when: the completed version is found from a version up to which the changes are known to have completed
+            var result = changeJournal.completedVersion(3);
+
+            // then: the versions of the changes kept in the journal are returned
+            assertEquals(6, result);
+        }
+    }
+
+    @Nested
+    public class Read {
+
+        @Test
+        @DisplayName("should read at the version of the completed changes")
+        public void shouldReadAtTheVersionOfTheCompletedChanges() {
+            // given: completed changes
+            change(UUID.randomUUID());
+            change(UUID.randomUUID());
+
+            // when: a read is executed
+            long result = changeJournal.read(version -> version);
+
+            // then: the read is executed at the version of the completed changes
+            assertEquals(2, result);
+        }
+
+        @Test
+        @DisplayName("should give up the read given a change is never completed")
+        public void shouldGiveUpTheReadGivenAChangeIsNeverCompleted() {
+            // given: a change in progress
+            changeJournal.startChange();
+
+            // when: a read is executed
+            var result = changeJournal.read(version -> version);
+
+            // then: no result is returned
+            assertNull(result);
+        }
+
+        @Test
+        @DisplayName("should retry the read given a change is started during the read")
+        public void shouldRetryTheReadGivenAChangeIsStartedDuringTheRead() {
+            // given: a read during whose first attempt a change is made
+            var attempts = new int[1];
+
+            // when: the read is executed
+            long result = changeJournal.read(version -> {
+                if (attempts[0]++ == 0) {
+                    change(UUID.randomUUID());
+                }
+                return version;
+            });
+
+            // then: the read is retried at the version including the change
+            assertEquals(2, attempts[0]);
+            assertEquals(1, result);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.event.ScoreboardEvent;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchStarted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardEventPublisherTest {
+
+    private ScoreboardEventPublisher eventPublisher;
+    private ManualExecutor executor;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.eventPublisher = new ScoreboardEventPublisher();
+        this.executor = new ManualExecutor();
+    }
+
+    /**
+     * Queues the submitted tasks until they are explicitly run.
+     */
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean rejecting;
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejecting) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    private static List<ScoreboardEvent> matchStartedEvents(int numberOfEvents) {
+        return IntStream
+                .range(0, numberOfEvents)
+                .<ScoreboardEvent>mapToObj(ignored -> new MatchStarted(randomMatch()))
+                .toList();
+    }
+
+    @Nested
+    public class Publish {
+
+        @Test
+        @DisplayName("should not deliver events on the publishing thread")
+        public void shouldNotDeliverEventsOnThePublishingThread() {
+            // given: a subscribed listener
+            var receivedEvents = new ArrayList<ScoreboardEvent>();
+            var subscription = eventPublisher.subscribe(receivedEvents::add, executor);
+
+            // when: events are published
+            var events = matchStartedEvents(3);
+            events.forEach(eventPublisher::publish);
+
+            // then: the events are queued and delivered by a single task of the executor
+            assertTrue(receivedEvents.isEmpty());
+            assertEquals(3, subscription.pendingEvents());
+            assertEquals(1, executor.tasks.size());
+
+            executor.runAll();
+            assertEquals(events, receivedEvents);
+            assertEquals(0, subscription.pendingEvents());
+        }
+
+        @Test
+        @DisplayName("should deliver the events to every listener independently")
+        public void shouldDeliverTheEventsToEveryListenerIndependently() {
+            // given: a listener delivered by a stalled executor and a listener delivered on the publishing thread
+            var stalledEvents = new ArrayList<ScoreboardEvent>();
+            var directEvents = new ArrayList<ScoreboardEvent>();
+            eventPublisher.subscribe(stalledEvents::add, executor);
+            eventPublisher.subscribe(directEvents::add, Runnable::run);
+
+            // when: events are published
+            var events = matchStartedEvents(2);
+            events.forEach(eventPublisher::publish);
+
+            // then: the stalled listener does not delay the other listener
+            assertTrue(stalledEvents.isEmpty());
+            assertEquals(events, directEvents);
+        }
+
+        @Test
+        @DisplayName("should deliver the following events given the listener throws an exception")
+        public void shouldDeliverTheFollowingEventsGivenTheListenerThrowsAnException() {
+            // given: a listener failing on the first event
+            var receivedEvents = new ArrayList<ScoreboardEvent>();
+            eventPublisher.subscribe(event -> {
+                receivedEvents.add(event);
+                if (receivedEvents.size() == 1) {
+                    throw new IllegalStateException("Listener failure");
+                }
+            }, executor);
+
+            // when: events are published and delivered
+            var events = matchStartedEvents(3);
+            events.forEach(eventPublisher::publish);
+            var uncaughtExceptions = new ArrayList<Throwable>();
+            var previousHandler = Thread.currentThread().getUncaughtExceptionHandler();
+            Thread.currentThread().setUncaughtExceptionHandler((thread, exception) -> uncaughtExceptions.add(exception));
+            try {
+                executor.runAll();
+            } finally {
+                Thread.currentThread().setUncaughtExceptionHandler(previousHandler);
+            }
+
+            // then: all events are delivered and the failure is passed to the uncaught exception handler
+            assertEquals(events, receivedEvents);
+            assertEquals(1, uncaughtExceptions.size());
+        }
+
+        @Test
+        @DisplayName("should keep the events queued given the executor rejects the delivery")
+        public void shouldKeepTheEventsQueuedGivenTheExecutorRejectsTheDelivery() {
+            // given: a listener delivered by a rejecting executor
+            var receivedEvents = new ArrayList<ScoreboardEvent>();
+            eventPublisher.subscribe(receivedEvents::add, executor);
+            executor.rejecting = true;
+
+            // when: an event is published while the executor rejects tasks and another one once it accepts them
+            var events = matchStartedEvents(2);
+            eventPublisher.publish(events.get(0));
+            executor.rejecting = false;
+            eventPublisher.publish(events.get(1));
+            executor.runAll();
+
+            // then: both events are delivered
+            assertEquals(events, receivedEvents);
+        }
+    }
+
+    @Nested
+    public class Cancel {
+
+        @Test
+        @DisplayName("should discard the pending events given the subscription is cancelled")
+        public void shouldDiscardThePendingEventsGivenTheSubscriptionIsCancelled() {
+            // given: a subscription with pending events
+            var receivedEvents = new ArrayList<ScoreboardEvent>();
+            var subscription = eventPublisher.subscribe(receivedEvents::add, executor);
+            matchStartedEvents(2).forEach(eventPublisher::publish);
+
+            // when: the subscription is cancelled
+            subscription.cancel();
+            matchStartedEvents(2).forEach(eventPublisher::publish);
+            executor.runAll();
+
+            // then: no events are delivered
+            assertTrue(receivedEvents.isEmpty());
+            assertEquals(0, subscription.pendingEvents());
+            assertFalse(eventPublisher.hasSubscriptions());
+        }
+    }
+}
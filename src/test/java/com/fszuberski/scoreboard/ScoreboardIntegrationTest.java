@@ -1,22 +1,54 @@
 package com.fszuberski.scoreboard;
 
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreboardDelta;
 import com.fszuberski.scoreboard.domain.TeamScore;
+import com.fszuberski.scoreboard.event.ScoreboardEvent;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchFinished;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchStarted;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.RankChanged;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.ScoreUpdated;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
 import static com.fszuberski.scoreboard.TestUtils.withInternalMapReference;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
 
 public class ScoreboardIntegrationTest {
 
     private Scoreboard scoreboard;
 
+    @TempDir
+    Path temporaryDirectory;
+
     @BeforeEach
     public void beforeEach() {
         this.scoreboard = new Scoreboard();
@@ -45,6 +77,61 @@ public class ScoreboardIntegrationTest {
             verifyMatchState(uruguayItalyMatchId, "Uruguay", "Italy", 0, 0);
             verifyMatchState(argentinaAustraliaMatchId, "Argentina", "Australia", 0, 0);
         }
+
+        @Test
+        @DisplayName("should not start a Match given a Match between the teams is already in progress")
+        public void shouldNotStartAMatchGivenAMatchBetweenTheTeamsIsAlreadyInProgress() {
+            // given: a Match is in progress
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: a Match between the same teams is started
+            Executable executable = () -> scoreboard.startMatch("Mexico", "Canada");
+
+            // then: an IllegalArgumentException is thrown and only the Match in progress is found
+            assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(mexicoCanadaMatchId, scoreboard.getOngoingMatch("Mexico", "Canada").orElseThrow().id());
+
+            // and: the teams can play again once the Match is finished, including the reverse fixture in the meantime
+            scoreboard.startMatch("Canada", "Mexico");
+            scoreboard.finishMatch(mexicoCanadaMatchId);
+            assertTrue(scoreboard.getOngoingMatch("Mexico", "Canada").isEmpty());
+            scoreboard.startMatch("Mexico", "Canada");
+            assertEquals(2, scoreboard.getOngoingMatchesByTeam("Mexico").size());
+        }
+
+        @ParameterizedTest
+        @MethodSource("threadSafeMatchStores")
+        @DisplayName("should start a single Match between the teams given the Match is started concurrently")
+        public void shouldStartASingleMatchBetweenTheTeamsGivenTheMatchIsStartedConcurrently(Supplier<MatchStore> matchStoreSupplier) {
+            // given: a Scoreboard backed by a thread-safe MatchStore
+            var concurrentScoreboard = new Scoreboard(matchStoreSupplier.get());
+            var numberOfThreads = 8;
+            var numberOfFixtures = 200;
+            var rejectedStarts = new AtomicInteger();
+
+            // when: every thread starts the same Matches at the same time
+            TestUtils.runConcurrently(numberOfThreads, ignored -> {
+                for (int i = 0; i < numberOfFixtures; i++) {
+                    try {
+                        concurrentScoreboard.startMatch("Home" + i, "Away" + i);
+                    } catch (IllegalArgumentException e) {
+                        rejectedStarts.incrementAndGet();
+                    }
+                }
+            });
+
+            // then: every Match has been started exactly once and all other starts have been rejected
+            assertEquals(numberOfFixtures * (numberOfThreads - 1), rejectedStarts.get());
+            assertEquals(numberOfFixtures, concurrentScoreboard.getOngoingMatches().size());
+        }
+
+        private static Stream<Supplier<MatchStore>> threadSafeMatchStores() {
+            return Stream.of(
+                    MatchStore::concurrentInMemory,
+                    MatchStore::copyOnWrite,
+                    () -> MatchStore.sharded(4, MatchStore::concurrentInMemory)
+            );
+        }
     }
 
     @Nested
@@ -73,6 +160,178 @@ public class ScoreboardIntegrationTest {
             verifyMatchState(uruguayItalyMatchId, "Uruguay", "Italy", 6, 6);
             verifyMatchState(argentinaAustraliaMatchId, "Argentina", "Australia", 3, 1);
         }
+
+        @ParameterizedTest
+        @MethodSource("inPlaceMatchStores")
+        @DisplayName("should not allocate given steady-state score updates of a MatchStore updating its slots in place")
+        public void shouldNotAllocateGivenSteadyStateScoreUpdatesOfAMatchStoreUpdatingItsSlotsInPlace(
+                Supplier<MatchStore> matchStoreSupplier
+        ) {
+            // given: a Scoreboard of a MatchStore updating its slots in place, with ongoing Matches
+            var scoreboard = new Scoreboard(matchStoreSupplier.get());
+            var matchIds = new UUID[100];
+            for (int i = 0; i < matchIds.length; i++) {
+                matchIds[i] = scoreboard.startMatch("Home" + i, "Away" + i);
+            }
+            // and: the JVM measures the memory allocated by a thread
+            assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported());
+            var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            // and: the classes on the update path have been loaded
+            updateMatchScores(scoreboard, matchIds, 0, 1_000);
+            var threadId = Thread.currentThread().getId();
+
+            // when: the scores of the Matches are updated
+            var allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            updateMatchScores(scoreboard, matchIds, 1_000, 10_000);
+            var allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+
+            // then: the updates do not allocate, apart from the bytes allocated by the measurement itself
+            assertTrue(allocatedBytes < 1_024, "Allocated bytes: " + allocatedBytes);
+
+            // and: the scores have been updated
+            assertEquals(1_000 + 10_000 - 1, scoreboard.getTopMatches(1).get(0).totalScore());
+        }
+
+        private static void updateMatchScores(Scoreboard scoreboard, UUID[] matchIds, int firstScore, int numberOfUpdates) {
+            for (int i = 0; i < numberOfUpdates; i++) {
+                scoreboard.updateMatchScore(matchIds[i % matchIds.length], firstScore + i, 0);
+            }
+        }
+
+        private static Stream<Supplier<MatchStore>> inPlaceMatchStores() {
+            return Stream.of(MatchStore::packedInMemory, () -> MatchStore.offHeap(100));
+        }
+    }
+
+    @Nested
+    public class UpdateMatchScores {
+
+        @Test
+        @DisplayName("should update existing Matches and report failed updates")
+        public void shouldUpdateExistingMatchesAndReportFailedUpdates() {
+            // given: multiple Matches are added to an empty Scoreboard
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            var germanyFranceMatchId = scoreboard.startMatch("Germany", "France");
+
+            // when: a batch of score updates is applied, including an update lowering a score
+            var result = scoreboard.updateMatchScores(List.of(
+                    new ScoreUpdate(mexicoCanadaMatchId, 0, 5),
+                    new ScoreUpdate(spainBrazilMatchId, 10, 2),
+                    new ScoreUpdate(spainBrazilMatchId, 9, 2),
+                    new ScoreUpdate(germanyFranceMatchId, 2, 2)
+            ));
+
+            // then: the update lowering the score is reported as failed
+            assertEquals(1, result.size());
+            assertEquals(new ScoreUpdate(spainBrazilMatchId, 9, 2), result.get(0).scoreUpdate());
+
+            // and: all other updates are applied
+            verifyMatchState(mexicoCanadaMatchId, "Mexico", "Canada", 0, 5);
+            verifyMatchState(spainBrazilMatchId, "Spain", "Brazil", 10, 2);
+            verifyMatchState(germanyFranceMatchId, "Germany", "France", 2, 2);
+        }
+    }
+
+    @Nested
+    public class Subscribe {
+
+        @Test
+        @DisplayName("should publish the finished Match once given the Match is finished concurrently")
+        public void shouldPublishTheFinishedMatchOnceGivenTheMatchIsFinishedConcurrently() {
+            // given: a listener subscribed to a Scoreboard of a thread-safe MatchStore with an updated Match
+            var concurrentScoreboard = new Scoreboard(MatchStore.concurrentInMemory());
+            var matchId = concurrentScoreboard.startMatch("Mexico", "Canada");
+            concurrentScoreboard.updateMatchScore(matchId, 1, 0);
+            var events = Collections.synchronizedList(new ArrayList<ScoreboardEvent>());
+            concurrentScoreboard.subscribe(events::add, Runnable::run);
+
+            // when: the Match is finished by multiple threads at the same time
+            runConcurrently(8, ignored -> concurrentScoreboard.finishMatch(matchId));
+
+            // then: a single MatchFinished event with the last state of the Match is published
+            assertEquals(1, events.size());
+            var matchFinished = (MatchFinished) events.get(0);
+            assertEquals(matchId, matchFinished.match().id());
+            assertEquals(1, matchFinished.match().totalScore());
+        }
+
+        @Test
+        @DisplayName("should publish the events of the changes of the Scoreboard in order")
+        public void shouldPublishTheEventsOfTheChangesOfTheScoreboardInOrder() {
+            // given: a listener subscribed to the Scoreboard, receiving the events on the publishing thread
+            var events = new ArrayList<ScoreboardEvent>();
+            scoreboard.subscribe(events::add, Runnable::run);
+
+            // when: Matches are started, updated and finished
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatchScore(spainBrazilMatchId, 3, 0);
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 1);
+            scoreboard.finishMatch(spainBrazilMatchId);
+
+            // then: an event is published for every change, and a rank change only for the Match overtaking another Match
+            assertEquals(
+                    List.of(MatchStarted.class, ScoreUpdated.class, MatchStarted.class, ScoreUpdated.class,
+                            RankChanged.class, ScoreUpdated.class, MatchFinished.class),
+                    events.stream().map(Object::getClass).toList());
+
+            var scoreUpdated = (ScoreUpdated) events.get(3);
+            assertEquals(0, scoreUpdated.previousMatch().totalScore());
+            assertEquals(3, scoreUpdated.match().totalScore());
+
+            var rankChanged = (RankChanged) events.get(4);
+            assertEquals(spainBrazilMatchId, rankChanged.match().id());
+            assertEquals(1, rankChanged.previousRank());
+            assertEquals(0, rankChanged.rank());
+
+            var matchFinished = (MatchFinished) events.get(6);
+            assertEquals(scoreUpdated.match(), matchFinished.match());
+        }
+
+        @Test
+        @DisplayName("should publish the events of a batch once the batch completes")
+        public void shouldPublishTheEventsOfABatchOnceTheBatchCompletes() {
+            // given: a listener subscribed to the Scoreboard with Matches in progress
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            var events = new ArrayList<ScoreboardEvent>();
+            scoreboard.subscribe(events::add, Runnable::run);
+
+            // when: a batch of score updates is applied, including a failing update
+            scoreboard.updateMatchScores(List.of(
+                    new ScoreUpdate(spainBrazilMatchId, 2, 0),
+                    new ScoreUpdate(mexicoCanadaMatchId, 0, 0),
+                    new ScoreUpdate(mexicoCanadaMatchId, 1, 2)
+            ));
+
+            // then: events are published for the applied updates only, with ranks computed after the batch,
+            // in which the Spain - Brazil Match has been overtaken again before the batch completed
+            assertEquals(
+                    List.of(ScoreUpdated.class, ScoreUpdated.class, RankChanged.class),
+                    events.stream().map(Object::getClass).toList());
+            assertEquals(spainBrazilMatchId, ((ScoreUpdated) events.get(0)).match().id());
+            assertEquals(new RankChanged(((ScoreUpdated) events.get(1)).match(), 1, 0), events.get(2));
+        }
+
+        @Test
+        @DisplayName("should not publish events given the subscription has been cancelled")
+        public void shouldNotPublishEventsGivenTheSubscriptionHasBeenCancelled() {
+            // given: a cancelled subscription
+            var events = new ArrayList<ScoreboardEvent>();
+            var subscription = scoreboard.subscribe(events::add, Runnable::run);
+            subscription.cancel();
+
+            // when: a Match is started
+            scoreboard.startMatch("Mexico", "Canada");
+
+            // then: no events are published
+            assertTrue(events.isEmpty());
+        }
     }
 
     @Nested
@@ -138,6 +397,306 @@ public class ScoreboardIntegrationTest {
             verifyMatchState(result.get(3).id(), "Argentina", "Australia", 3, 1);
             verifyMatchState(result.get(4).id(), "Germany", "France", 2, 2);
         }
+
+        @Test
+        @DisplayName("should serve the cached summary until the next change given the summary is read repeatedly")
+        public void shouldServeTheCachedSummaryUntilTheNextChangeGivenTheSummaryIsReadRepeatedly() {
+            // given: a summary has been read
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            var summary = scoreboard.getOngoingMatches();
+
+            // when: the summary is read again, and once more after a change
+            var cachedSummary = scoreboard.getOngoingMatches();
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            var recomputedSummary = scoreboard.getOngoingMatches();
+
+            // then: the cached summary is served until the change, after which only the changed Match is re-positioned
+            assertSame(summary, cachedSummary);
+            assertEquals(List.of("Mexico", "Spain"), recomputedSummary.stream().map(match -> match.homeTeamScore().teamName()).toList());
+            var statistics = scoreboard.getSummaryCacheStatistics();
+            assertEquals(1, statistics.hits());
+            assertEquals(1, statistics.fullRecomputes());
+            assertEquals(1, statistics.incrementalRecomputes());
+        }
+
+        @Test
+        @DisplayName("should return consistent summaries given the Matches are changed concurrently")
+        public void shouldReturnConsistentSummariesGivenTheMatchesAreChangedConcurrently() {
+            // given: a Scoreboard backed by a concurrent MatchStore
+            var concurrentMatchStore = MatchStore.concurrentInMemory();
+            var concurrentScoreboard = new Scoreboard(concurrentMatchStore);
+            var numberOfWriters = 3;
+
+            // when: writers change Matches while a reader reads the summary
+            TestUtils.runConcurrently(numberOfWriters + 1, thread -> {
+                for (int i = 0; i < 300; i++) {
+                    if (thread == numberOfWriters) {
+                        var summary = concurrentScoreboard.getOngoingMatches();
+                        // then: every summary is sorted in the summary order
+                        assertEquals(summary.stream().sorted(Comparators.summaryComparator).toList(), summary);
+                    } else {
+                        var matchId = concurrentScoreboard.startMatch("Home" + thread + "_" + i, "Away" + thread + "_" + i);
+                        concurrentScoreboard.updateMatchScore(matchId, i % 4, i % 3);
+                        if (i % 3 == 0) {
+                            concurrentScoreboard.finishMatch(matchId);
+                        }
+                    }
+                }
+            });
+
+            // and: the summary read after the changes contains the state of all ongoing Matches
+            assertEquals(concurrentMatchStore.getAllMatches().stream().sorted(Comparators.summaryComparator).toList(), concurrentScoreboard.getOngoingMatches());
+        }
+    }
+
+    @Nested
+    public class Versions {
+
+        @Test
+        @DisplayName("should stamp every change of a Match with the next version of the Scoreboard")
+        public void shouldStampEveryChangeOfAMatchWithTheNextVersionOfTheScoreboard() {
+            // when: Matches are started and updated
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            scoreboard.updateMatchScore(spainBrazilMatchId, 0, 1);
+
+            // then: the start sequences and versions of the Matches follow the order of the changes
+            var mexicoCanada = scoreboard.getOngoingMatch("Mexico", "Canada").orElseThrow();
+            var spainBrazil = scoreboard.getOngoingMatch("Spain", "Brazil").orElseThrow();
+            assertEquals(1, mexicoCanada.startSequence());
+            assertEquals(3, mexicoCanada.version());
+            assertEquals(2, spainBrazil.startSequence());
+            assertEquals(4, spainBrazil.version());
+            assertEquals(4, scoreboard.getVersion());
+
+            // and: the more recently started Match is ordered first, regardless of the resolution of the clock
+            assertEquals(List.of(spainBrazil, mexicoCanada), scoreboard.getOngoingMatches());
+        }
+
+        @Test
+        @DisplayName("should continue the versions of the recovered Matches given the Scoreboard is restarted")
+        public void shouldContinueTheVersionsOfTheRecoveredMatchesGivenTheScoreboardIsRestarted() {
+            // given: a Scoreboard backed by a write-ahead logged MatchStore with a Match in progress
+            var logFile = temporaryDirectory.resolve("scoreboard.log");
+            var matchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+            var mexicoCanadaMatchId = new Scoreboard(matchStore).startMatch("Mexico", "Canada");
+            matchStore.close();
+
+            // when: the Scoreboard is restarted with the recovered MatchStore and a Match is started
+            var recoveredMatchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+            var restartedScoreboard = new Scoreboard(recoveredMatchStore);
+            var spainBrazilMatchId = restartedScoreboard.startMatch("Spain", "Brazil");
+
+            // then: the versions continue after the version of the recovered Match
+            assertEquals(2, restartedScoreboard.getOngoingMatch("Spain", "Brazil").orElseThrow().startSequence());
+            assertEquals(2, restartedScoreboard.getVersion());
+
+            // and: the Match started after the restart is ordered as more recently started
+            assertEquals(
+                    List.of(spainBrazilMatchId, mexicoCanadaMatchId),
+                    restartedScoreboard.getOngoingMatches().stream().map(Match::id).toList());
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should serve the snapshotted Matches given the Scoreboard is restarted from a mapped snapshot")
+        public void shouldServeTheSnapshottedMatchesGivenTheScoreboardIsRestartedFromAMappedSnapshot() {
+            // given: a Scoreboard backed by a snapshotted MatchStore whose Matches have been snapshotted
+            var matchStore = WriteAheadLogMatchStore.openDirectory(new InMemoryMatchStore(), temporaryDirectory, Duration.ofDays(1));
+            var snapshottedScoreboard = new Scoreboard(matchStore);
+            var mexicoCanadaMatchId = snapshottedScoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = snapshottedScoreboard.startMatch("Spain", "Brazil");
+            snapshottedScoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            matchStore.snapshot();
+            var snapshottedMatches = snapshottedScoreboard.getOngoingMatches();
+            matchStore.close();
+
+            // when: the Scoreboard is restarted from the mapped snapshot and the Matches are changed
+            var restartedScoreboard = new Scoreboard(MatchStore.mappedSnapshot(temporaryDirectory.resolve(WriteAheadLogMatchStore.SNAPSHOT_FILE_NAME)));
+            var summary = restartedScoreboard.getOngoingMatches();
+            restartedScoreboard.updateMatchScore(spainBrazilMatchId, 2, 0);
+            var germanyFranceMatchId = restartedScoreboard.startMatch("Germany", "France");
+
+            // then: the snapshotted Matches are served and the versions continue after their latest version
+            assertEquals(snapshottedMatches, summary);
+            assertEquals(4, restartedScoreboard.getOngoingMatch("Spain", "Brazil").orElseThrow().version());
+            assertEquals(5, restartedScoreboard.getOngoingMatch("Germany", "France").orElseThrow().startSequence());
+            assertEquals(
+                    List.of(spainBrazilMatchId, mexicoCanadaMatchId, germanyFranceMatchId),
+                    restartedScoreboard.getOngoingMatches().stream().map(Match::id).toList());
+        }
+    }
+
+    @Nested
+    public class GetDelta {
+
+        @Test
+        @DisplayName("should bring the summary of a client up to date given the deltas since its version")
+        public void shouldBringTheSummaryOfAClientUpToDateGivenTheDeltasSinceItsVersion() {
+            // given: a client holding the summary at the initial version
+            var random = new Random(13);
+            var clientSummary = new ArrayList<Match>();
+            var clientVersion = 0L;
+            var matchIds = new ArrayList<UUID>();
+
+            for (int round = 0; round < 50; round++) {
+                // when: the Scoreboard is changed
+                var numberOfChanges = random.nextInt(40);
+                for (int i = 0; i < numberOfChanges; i++) {
+                    var operation = random.nextInt(10);
+                    if (matchIds.isEmpty() || operation < 3) {
+                        matchIds.add(scoreboard.startMatch("Home" + round + "_" + i, "Away" + round + "_" + i));
+                    } else if (operation < 4) {
+                        scoreboard.finishMatch(matchIds.remove(random.nextInt(matchIds.size())));
+                    } else {
+                        var matchId = matchIds.get(random.nextInt(matchIds.size()));
+                        var match = scoreboard.getOngoingMatches().stream()
+                                .filter(ongoingMatch -> ongoingMatch.id().equals(matchId))
+                                .findFirst()
+                                .orElseThrow();
+                        scoreboard.updateMatchScore(
+                                match.id(),
+                                match.homeTeamScore().score() + random.nextInt(2),
+                                match.awayTeamScore().score() + random.nextInt(2));
+                    }
+                }
+
+                // and: the client applies the delta since its version
+                var delta = scoreboard.getDelta(clientVersion);
+                applyDelta(clientSummary, delta);
+                clientVersion = delta.version();
+
+                // then: the summary of the client equals the summary of the Scoreboard
+                assertFalse(delta.fullSummary());
+                assertEquals(scoreboard.getVersion(), clientVersion);
+                assertEquals(scoreboard.getOngoingMatches(), clientSummary);
+            }
+        }
+
+        @Test
+        @DisplayName("should return the whole summary given the changes since the version are no longer kept")
+        public void shouldReturnTheWholeSummaryGivenTheChangesSinceTheVersionAreNoLongerKept() {
+            // given: a client holding the summary at the initial version
+            var clientSummary = new ArrayList<Match>();
+
+            // when: more changes than the journal keeps are made
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            for (int score = 1; score <= ScoreboardChangeJournal.DEFAULT_CAPACITY; score++) {
+                scoreboard.updateMatchScore(matchId, score, 0);
+            }
+            var delta = scoreboard.getDelta(0);
+            applyDelta(clientSummary, delta);
+
+            // then: the delta contains the whole summary
+            assertTrue(delta.fullSummary());
+            assertEquals(scoreboard.getOngoingMatches(), clientSummary);
+
+            // and: no changes are returned since the current version
+            assertTrue(scoreboard.getDelta(delta.version()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should return an empty delta given the changes since the version have been rejected")
+        public void shouldReturnAnEmptyDeltaGivenTheChangesSinceTheVersionHaveBeenRejected() {
+            // given: a client holding the summary of a Match with the score of 1 : 0
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.updateMatchScore(matchId, 1, 0);
+            var clientVersion = scoreboard.getVersion();
+
+            // when: changes which cannot be applied are made
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.updateMatchScore(matchId, 0, 0));
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.updateMatchScore(UUID.randomUUID(), 1, 0));
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.startMatch("Mexico", "Canada"));
+            scoreboard.updateMatchScores(List.of(new ScoreUpdate(matchId, 0, 1), new ScoreUpdate(UUID.randomUUID(), 1, 0)));
+            scoreboard.finishMatch(UUID.randomUUID());
+
+            // then: the version of the scoreboard has not moved and the delta is empty
+            assertEquals(clientVersion, scoreboard.getVersion());
+            var delta = scoreboard.getDelta(clientVersion);
+            assertTrue(delta.isEmpty());
+            assertEquals(clientVersion, delta.version());
+        }
+
+        @Test
+        @DisplayName("should return an empty delta given the changes since the version have failed in the MatchStore")
+        public void shouldReturnAnEmptyDeltaGivenTheChangesSinceTheVersionHaveFailedInTheMatchStore() {
+            // given: a client holding the summary of a Scoreboard whose MatchStore starts failing its writes
+            var matchStore = mock(MatchStore.class, delegatesTo(MatchStore.concurrentInMemory()));
+            var failingScoreboard = new Scoreboard(matchStore);
+            var matchId = failingScoreboard.startMatch("Mexico", "Canada");
+            var clientVersion = failingScoreboard.getVersion();
+            var failure = new UncheckedIOException(new IOException("No space left on device"));
+            doThrow(failure).when(matchStore).saveMatchIfFixtureAbsent(any());
+            doThrow(failure).when(matchStore).updateScoreIfPresent(any(), anyInt(), anyInt(), anyLong());
+            doThrow(failure).when(matchStore).executeInBatch(any());
+            doThrow(failure).when(matchStore).removeMatchIfPresent(any());
+
+            // when: changes are made while the MatchStore fails
+            assertThrows(UncheckedIOException.class, () -> failingScoreboard.startMatch("Spain", "Brazil"));
+            assertThrows(UncheckedIOException.class, () -> failingScoreboard.updateMatchScore(matchId, 1, 0));
+            assertThrows(
+                    UncheckedIOException.class,
+                    () -> failingScoreboard.updateMatchScores(List.of(new ScoreUpdate(matchId, 1, 0))));
+            assertThrows(UncheckedIOException.class, () -> failingScoreboard.finishMatch(matchId));
+
+            // then: the version of the scoreboard has not moved and the delta is empty
+            assertEquals(clientVersion, failingScoreboard.getVersion());
+            var delta = failingScoreboard.getDelta(clientVersion);
+            assertTrue(delta.isEmpty());
+            assertEquals(clientVersion, delta.version());
+        }
+
+        @Test
+        @DisplayName("should bring the summary of a client up to date given the Scoreboard is changed without a pause")
+        public void shouldBringTheSummaryOfAClientUpToDateGivenTheScoreboardIsChangedWithoutAPause() {
+            // given: a Scoreboard backed by a concurrent MatchStore and a client holding its summary
+            var concurrentScoreboard = new Scoreboard(MatchStore.concurrentInMemory());
+            var numberOfWriters = 4;
+            var matchIds = IntStream
+                    .range(0, numberOfWriters)
+                    .mapToObj(i -> concurrentScoreboard.startMatch("Home" + i, "Away" + i))
+                    .toList();
+            var clientSummary = new ArrayList<Match>();
+            var clientVersion = new long[1];
+            var finishedWriters = new AtomicInteger();
+
+            // when: writers update their Matches without a pause while the client reads the deltas
+            TestUtils.runConcurrently(numberOfWriters + 1, thread -> {
+                if (thread < numberOfWriters) {
+                    for (int score = 1; score <= 20_000; score++) {
+                        concurrentScoreboard.updateMatchScore(matchIds.get(thread), score, 0);
+                    }
+                    finishedWriters.incrementAndGet();
+                    return;
+                }
+
+                while (finishedWriters.get() < numberOfWriters) {
+                    // then: every delta is returned without an exception and does not move the client back
+                    var delta = concurrentScoreboard.getDelta(clientVersion[0]);
+                    assertTrue(delta.version() >= clientVersion[0]);
+                    applyDelta(clientSummary, delta);
+                    clientVersion[0] = delta.version();
+                }
+            });
+
+            // and: the summary of the client equals the summary of the Scoreboard once the writers have stopped
+            applyDelta(clientSummary, concurrentScoreboard.getDelta(clientVersion[0]));
+            assertEquals(concurrentScoreboard.getOngoingMatches(), clientSummary);
+        }
+
+        private static void applyDelta(List<Match> summary, ScoreboardDelta delta) {
+            if (delta.fullSummary()) {
+                summary.clear();
+            }
+
+            var removedMatchIds = new HashSet<>(delta.removedMatchIds());
+            delta.rankedMatches().forEach(rankedMatch -> removedMatchIds.add(rankedMatch.match().id()));
+            summary.removeIf(match -> removedMatchIds.contains(match.id()));
+            delta.rankedMatches().forEach(rankedMatch -> summary.add(rankedMatch.rank(), rankedMatch.match()));
+        }
     }
 
     private void verifyMatchState(UUID matchId, String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
@@ -1,26 +1,34 @@
 package com.fszuberski.scoreboard;
 
 import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.RankedMatch;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import com.fszuberski.scoreboard.domain.ScoreUpdateFailure;
 import com.fszuberski.scoreboard.domain.TeamScore;
+import com.fszuberski.scoreboard.metrics.ScoreboardInstrumentation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.mockito.ArgumentCaptor;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
 import static com.fszuberski.scoreboard.TestUtils.withInternalMatchStoreReference;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.*;
 
 public class ScoreboardTest {
@@ -30,7 +38,8 @@ public class ScoreboardTest {
 
     @BeforeEach
     public void beforeEach() {
-        this.matchStoreMock = mock(MatchStore.class);
+        // default MatchStore methods are delegating to the mocked abstract methods
+        this.matchStoreMock = mock(MatchStore.class, CALLS_REAL_METHODS);
         this.scoreboard = new Scoreboard(matchStoreMock);
     }
 
@@ -128,6 +137,41 @@ public class ScoreboardTest {
             assertEquals(0, captor.getValue().homeTeamScore().score());
             assertEquals(0, captor.getValue().awayTeamScore().score());
         }
+
+        @Test
+        @DisplayName("should throw exception given a Match between the teams is already in progress")
+        public void shouldThrowExceptionGivenAMatchBetweenTheTeamsIsAlreadyInProgress() {
+            // given: a Match between the teams exists in the MatchStore
+            var match = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+            when(matchStoreMock.getAllMatches()).thenReturn(List.of(match));
+
+            // when: startMatch is invoked for the same home and away team
+            Executable executable = () -> scoreboard.startMatch("Mexico", "Canada");
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    "Cannot start match between home team='Mexico' and away team='Canada'; a match between these teams is already in progress.",
+                    result.getMessage());
+
+            // and: no Match is saved in the MatchStore
+            verify(matchStoreMock, never()).saveMatch(any());
+        }
+
+        @Test
+        @DisplayName("should share a single team name instance given Matches of the same team are started")
+        public void shouldShareASingleTeamNameInstanceGivenMatchesOfTheSameTeamAreStarted() {
+            // when: Matches of the same team are started with distinct, equal team name instances
+            scoreboard.startMatch(new String("Mexico"), "Canada");
+            scoreboard.startMatch("Spain", new String("Mexico"));
+
+            // then: both saved Matches reference the same team name instance
+            var captor = ArgumentCaptor.forClass(Match.class);
+            verify(matchStoreMock, times(2)).saveMatch(captor.capture());
+            assertSame(
+                    captor.getAllValues().get(0).homeTeamScore().teamName(),
+                    captor.getAllValues().get(1).awayTeamScore().teamName());
+        }
     }
 
     @Nested
@@ -197,6 +241,9 @@ public class ScoreboardTest {
             // then: an IllegalArgumentException is thrown
             var result = assertThrows(IllegalArgumentException.class, executable);
             assertEquals("New score cannot be lower than the previous score.", result.getMessage());
+
+            // and: the Match is not updated in the MatchStore
+            verify(matchStoreMock, never()).updateMatch(any(), any());
         }
 
         @Test
@@ -214,15 +261,116 @@ public class ScoreboardTest {
             // when: updateMatchScore is invoked with the MatchId of the existing Match
             scoreboard.updateMatchScore(originalMatch.id(), 3, 5);
 
-            // then: the scores are updated in the MatchStore
+            // then: the scores are updated in the MatchStore, stamped with the version of the first change
             var expectedUpdatedMatch = new Match(
                     originalMatch.id(),
                     new TeamScore(originalMatch.homeTeamScore().teamName(), 3),
                     new TeamScore(originalMatch.awayTeamScore().teamName(), 5),
-                    originalMatch.startTime()
+                    originalMatch.startTime(),
+                    originalMatch.startSequence(),
+                    1
             );
             verify(matchStoreMock, times(1)).updateMatch(eq(originalMatch.id()), eq(expectedUpdatedMatch));
         }
+
+        @Test
+        @DisplayName("should update the score in place in the MatchStore given no subscriptions")
+        public void shouldUpdateTheScoreInPlaceInTheMatchStoreGivenNoSubscriptions() {
+            // given: a Match exists in the MatchStore
+            var match = randomMatch();
+            when(matchStoreMock.getMatch(eq(match.id()))).thenReturn(Optional.of(match));
+
+            // when: updateMatchScore is invoked while there are no subscriptions
+            scoreboard.updateMatchScore(match.id(), 5, 5);
+
+            // then: the store updates the score in place, stamped with the version of the first change
+            verify(matchStoreMock, times(1)).updateScoreIfPresent(eq(match.id()), eq(5), eq(5), eq(1L));
+        }
+    }
+
+    @Nested
+    public class UpdateMatchScores {
+
+        @Test
+        @DisplayName("should throw exception given null ScoreUpdates")
+        public void shouldThrowExceptionGivenNullScoreUpdates() {
+            // when: updateMatchScores is invoked with null ScoreUpdates
+            Executable executable = () -> scoreboard.updateMatchScores(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ScoreUpdates cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception without updating any Match given ScoreUpdates contain a null element")
+        public void shouldThrowExceptionWithoutUpdatingAnyMatchGivenScoreUpdatesContainANullElement() {
+            // given: ScoreUpdates containing a null element
+            var scoreUpdates = new ArrayList<ScoreUpdate>();
+            scoreUpdates.add(new ScoreUpdate(UUID.randomUUID(), 1, 0));
+            scoreUpdates.add(null);
+
+            // when: updateMatchScores is invoked with the ScoreUpdates
+            Executable executable = () -> scoreboard.updateMatchScores(scoreUpdates);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ScoreUpdates cannot contain null elements.", result.getMessage());
+
+            // and: the MatchStore has not been queried
+            verify(matchStoreMock, never()).getMatch(any());
+        }
+
+        @Test
+        @DisplayName("should apply valid ScoreUpdates and report the failures of invalid ScoreUpdates")
+        public void shouldApplyValidScoreUpdatesAndReportTheFailuresOfInvalidScoreUpdates() {
+            // given: two Matches exist in the MatchStore
+            var match1 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team1", 2),
+                    new TeamScore("Team2", 3),
+                    LocalDateTime.now()
+            );
+            var match2 = new Match(
+                    UUID.randomUUID(),
+                    new TeamScore("Team3", 0),
+                    new TeamScore("Team4", 0),
+                    LocalDateTime.now()
+            );
+            when(matchStoreMock.getMatch(eq(match1.id()))).thenReturn(Optional.of(match1));
+            when(matchStoreMock.getMatch(eq(match2.id()))).thenReturn(Optional.of(match2));
+
+            // when: updateMatchScores is invoked with valid and invalid ScoreUpdates
+            var lowerScoreUpdate = new ScoreUpdate(match1.id(), 1, 3);
+            var validScoreUpdate = new ScoreUpdate(match2.id(), 1, 0);
+            var unknownMatchScoreUpdate = new ScoreUpdate(UUID.randomUUID(), 1, 0);
+            var result = scoreboard.updateMatchScores(List.of(lowerScoreUpdate, validScoreUpdate, unknownMatchScoreUpdate));
+
+            // then: the failures of the invalid ScoreUpdates are reported
+            assertEquals(List.of(
+                    new ScoreUpdateFailure(
+                            lowerScoreUpdate,
+                            "New score cannot be lower than the previous score."),
+                    new ScoreUpdateFailure(
+                            unknownMatchScoreUpdate,
+                            String.format("Match with id='%s' is not currently in progress.", unknownMatchScoreUpdate.matchId()))
+            ), result);
+
+            // and: the valid ScoreUpdate is applied, stamped with the version of the second change of the batch
+            var expectedUpdatedMatch = new Match(
+                    match2.id(),
+                    new TeamScore("Team3", 1),
+                    new TeamScore("Team4", 0),
+                    match2.startTime(),
+                    match2.startSequence(),
+                    2
+            );
+            verify(matchStoreMock, times(1)).updateMatch(eq(match2.id()), eq(expectedUpdatedMatch));
+            verify(matchStoreMock, times(1)).updateMatch(any(), any());
+
+            // and: the ScoreUpdates are applied in a single batch
+            verify(matchStoreMock, times(1)).executeInBatch(any());
+        }
     }
 
     @Nested
@@ -345,4 +493,371 @@ public class ScoreboardTest {
             assertEquals(germanyFranceMatch, result.get(4));
         }
     }
+
+    @Nested
+    public class GetOngoingMatchesPage {
+
+        @Test
+        @DisplayName("should throw exception given negative offset")
+        public void shouldThrowExceptionGivenNegativeOffset() {
+            // when: getOngoingMatches is invoked with a negative offset
+            Executable executable = () -> scoreboard.getOngoingMatches(-1, 10);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Offset cannot be less than 0.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given negative limit")
+        public void shouldThrowExceptionGivenNegativeLimit() {
+            // when: getOngoingMatches is invoked with a negative limit
+            Executable executable = () -> scoreboard.getOngoingMatches(0, -1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Limit cannot be less than 0.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should return the requested page of the Matches ordered by their total score and start time")
+        public void shouldReturnTheRequestedPageOfTheMatchesOrderedByTheirTotalScoreAndStartTime() {
+            // given: the MatchStore contains multiple Matches
+            var now = LocalDateTime.now();
+            var matches = List.of(
+                    new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 5), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Spain", 10), new TeamScore("Brazil", 2), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Germany", 2), new TeamScore("France", 2), now)
+            );
+            when(matchStoreMock.getAllMatches()).thenReturn(matches);
+
+            // when: the second page of size 1 is retrieved
+            var result = scoreboard.getOngoingMatches(1, 1);
+
+            // then: the Match with the second-highest total score is returned
+            assertEquals(List.of(matches.get(0)), result);
+        }
+    }
+
+    @Nested
+    public class GetTopMatches {
+
+        @Test
+        @DisplayName("should throw exception given negative number of Matches")
+        public void shouldThrowExceptionGivenNegativeNumberOfMatches() {
+            // when: getTopMatches is invoked with a negative number of Matches
+            Executable executable = () -> scoreboard.getTopMatches(-1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("NumberOfMatches cannot be less than 0.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should return the Matches with the highest total scores")
+        public void shouldReturnTheMatchesWithTheHighestTotalScores() {
+            // given: the MatchStore contains multiple Matches
+            var now = LocalDateTime.now();
+            var matches = List.of(
+                    new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 5), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Spain", 10), new TeamScore("Brazil", 2), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Germany", 2), new TeamScore("France", 2), now)
+            );
+            when(matchStoreMock.getAllMatches()).thenReturn(matches);
+
+            // when: the top 2 Matches are retrieved
+            var result = scoreboard.getTopMatches(2);
+
+            // then: the 2 Matches with the highest total scores are returned
+            assertEquals(List.of(matches.get(1), matches.get(0)), result);
+
+            // and: the page is retrieved from the MatchStore
+            verify(matchStoreMock, times(1)).getOrderedMatches(eq(0), eq(2));
+        }
+    }
+
+    @Nested
+    public class GetOngoingMatchesByTeam {
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @DisplayName("should throw exception given null or blank team name")
+        public void shouldThrowExceptionGivenNullOrBlankTeamName(String teamName) {
+            // when: getOngoingMatchesByTeam is invoked with a null or blank team name
+            Executable executable = () -> scoreboard.getOngoingMatchesByTeam(teamName);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("TeamName cannot be null or blank.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should return the ordered Matches of the team")
+        public void shouldReturnTheOrderedMatchesOfTheTeam() {
+            // given: the MatchStore contains Matches of multiple teams
+            var now = LocalDateTime.now();
+            var matches = List.of(
+                    new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 5), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Spain", 10), new TeamScore("Brazil", 2), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Canada", 2), new TeamScore("France", 2), now.plusSeconds(1)),
+                    new Match(UUID.randomUUID(), new TeamScore("Brazil", 1), new TeamScore("Canada", 1), now)
+            );
+            when(matchStoreMock.getAllMatches()).thenReturn(matches);
+
+            // when: the Matches of a team are retrieved
+            var result = scoreboard.getOngoingMatchesByTeam("Canada");
+
+            // then: the Matches in which the team plays as the home or the away team are returned in the summary order
+            assertEquals(List.of(matches.get(0), matches.get(2), matches.get(3)), result);
+
+            // and: the Matches are looked up in the MatchStore
+            verify(matchStoreMock, times(1)).findMatchesByTeam(eq("Canada"));
+        }
+    }
+
+    @Nested
+    public class GetOngoingMatch {
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @DisplayName("should throw exception given home team name is null or blank")
+        public void shouldThrowExceptionGivenHomeTeamNameIsNullOrBlank(String homeTeamName) {
+            // when: getOngoingMatch is invoked with a null or blank home team name
+            Executable executable = () -> scoreboard.getOngoingMatch(homeTeamName, "Canada");
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("HomeTeamName cannot be null or blank.", result.getMessage());
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @DisplayName("should throw exception given away team name is null or blank")
+        public void shouldThrowExceptionGivenAwayTeamNameIsNullOrBlank(String awayTeamName) {
+            // when: getOngoingMatch is invoked with a null or blank away team name
+            Executable executable = () -> scoreboard.getOngoingMatch("Mexico", awayTeamName);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("AwayTeamName cannot be null or blank.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should return the Match between the home and the away team")
+        public void shouldReturnTheMatchBetweenTheHomeAndTheAwayTeam() {
+            // given: the MatchStore contains Matches of multiple teams
+            var now = LocalDateTime.now();
+            var matches = List.of(
+                    new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 5), now),
+                    new Match(UUID.randomUUID(), new TeamScore("Canada", 2), new TeamScore("Mexico", 2), now)
+            );
+            when(matchStoreMock.getAllMatches()).thenReturn(matches);
+
+            // when: the Match between a home and an away team is retrieved
+            var result = scoreboard.getOngoingMatch("Canada", "Mexico");
+
+            // then: the Match in which the teams play at the requested venues is returned
+            assertEquals(Optional.of(matches.get(1)), result);
+
+            // and: the Match is looked up in the MatchStore
+            verify(matchStoreMock, times(1)).findMatchByTeams(eq("Canada"), eq("Mexico"));
+        }
+    }
+
+    @Nested
+    public class GetDelta {
+
+        @Test
+        @DisplayName("should throw exception given negative version")
+        public void shouldThrowExceptionGivenNegativeVersion() {
+            // when: getDelta is invoked with a negative version
+            Executable executable = () -> scoreboard.getDelta(-1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Version cannot be less than 0.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given version greater than the current version")
+        public void shouldThrowExceptionGivenVersionGreaterThanTheCurrentVersion() {
+            // when: getDelta is invoked with a version which has not been reached yet
+            Executable executable = () -> scoreboard.getDelta(scoreboard.getVersion() + 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Version=1 cannot be greater than the current version=0.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should rank the changed Matches without ordering all Matches given few Matches have changed")
+        public void shouldRankTheChangedMatchesWithoutOrderingAllMatchesGivenFewMatchesHaveChanged() {
+            // given: a Match is started
+            var now = LocalDateTime.now();
+            var match = new Match(UUID.randomUUID(), new TeamScore("Mexico", 0), new TeamScore("Canada", 0), now);
+            scoreboard.startMatch("Mexico", "Canada");
+            when(matchStoreMock.getMatch(any())).thenReturn(Optional.of(match));
+            when(matchStoreMock.getAllMatches()).thenReturn(List.of(match));
+
+            // when: the delta since the initial version is retrieved
+            var result = scoreboard.getDelta(0);
+
+            // then: the started Match is ranked
+            assertEquals(List.of(new RankedMatch(0, match)), result.rankedMatches());
+            assertEquals(1, result.version());
+
+            // and: the rank is computed by the MatchStore
+            verify(matchStoreMock, times(1)).getRanks(eq(List.of(match)));
+            verify(matchStoreMock, never()).getOrderedMatches();
+        }
+    }
+
+    @Nested
+    public class Subscribe {
+
+        @Test
+        @DisplayName("should throw exception given null listener")
+        public void shouldThrowExceptionGivenNullListener() {
+            // when: subscribe is invoked with a null listener
+            Executable executable = () -> scoreboard.subscribe(null, Runnable::run);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Listener cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given null executor")
+        public void shouldThrowExceptionGivenNullExecutor() {
+            // when: subscribe is invoked with a null executor
+            Executable executable = () -> scoreboard.subscribe(event -> {
+            }, null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Executor cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should not look up the finished Match given there are no subscriptions")
+        public void shouldNotLookUpTheFinishedMatchGivenThereAreNoSubscriptions() {
+            // given: a Match which is removed by the MatchStore in a single step
+            var matchId = UUID.randomUUID();
+            doReturn(true).when(matchStoreMock).removeMatchIfPresent(eq(matchId));
+
+            // when: the Match is finished without any subscriptions
+            scoreboard.finishMatch(matchId);
+
+            // then: the Match is removed without being looked up first
+            verify(matchStoreMock, times(1)).removeMatchIfPresent(eq(matchId));
+            verify(matchStoreMock, never()).getMatch(any());
+        }
+    }
+
+    @Nested
+    public class Instrumentation {
+
+        private ScoreboardInstrumentation instrumentationMock;
+
+        @BeforeEach
+        public void beforeEach() {
+            this.instrumentationMock = mock(ScoreboardInstrumentation.class);
+            scoreboard = new Scoreboard(new InMemoryMatchStore(), instrumentationMock);
+        }
+
+        @Test
+        @DisplayName("should throw exception given instrumentation is null")
+        public void shouldThrowExceptionGivenInstrumentationIsNull() {
+            // when: the Scoreboard is initialized with a null instrumentation
+            Executable executable = () -> scoreboard = new Scoreboard(matchStoreMock, null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Instrumentation cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should report the number of loaded Matches given the Scoreboard is initialized")
+        public void shouldReportTheNumberOfLoadedMatchesGivenTheScoreboardIsInitialized() {
+            // then: the empty MatchStore is reported
+            verify(instrumentationMock, times(1)).matchesLoaded(eq(0));
+        }
+
+        @Test
+        @DisplayName("should report the started and the rejected Match given the Match already exists")
+        public void shouldReportTheStartedAndTheRejectedMatchGivenTheMatchAlreadyExists() {
+            // when: the same Match is started twice
+            scoreboard.startMatch("Mexico", "Canada");
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.startMatch("Mexico", "Canada"));
+
+            // then: both the started and the rejected Match are reported
+            verify(instrumentationMock, times(1)).matchStarted(anyLong());
+            verify(instrumentationMock, times(1)).matchStartRejected();
+        }
+
+        @Test
+        @DisplayName("should report the updated and the rejected score given the score is lowered")
+        public void shouldReportTheUpdatedAndTheRejectedScoreGivenTheScoreIsLowered() {
+            // given: a Match in progress
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: the score is raised and then lowered
+            scoreboard.updateMatchScore(matchId, 1, 0);
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.updateMatchScore(matchId, 0, 0));
+
+            // then: both the updated and the rejected score are reported
+            verify(instrumentationMock, times(1)).scoreUpdated(anyLong());
+            verify(instrumentationMock, times(1)).scoreUpdateRejected();
+        }
+
+        @Test
+        @DisplayName("should report the applied and the failed updates given a batch of score updates")
+        public void shouldReportTheAppliedAndTheFailedUpdatesGivenABatchOfScoreUpdates() {
+            // given: a Match in progress
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: a batch with an update of an unknown Match is applied
+            scoreboard.updateMatchScores(List.of(
+                    new ScoreUpdate(matchId, 1, 0),
+                    new ScoreUpdate(UUID.randomUUID(), 1, 0)));
+
+            // then: the batch is reported once, without reporting its updates individually
+            verify(instrumentationMock, times(1)).scoreUpdateBatchApplied(eq(1), eq(1), anyLong());
+            verify(instrumentationMock, never()).scoreUpdated(anyLong());
+        }
+
+        @Test
+        @DisplayName("should report the finished Match as not ongoing given the Match does not exist")
+        public void shouldReportTheFinishedMatchAsNotOngoingGivenTheMatchDoesNotExist() {
+            // given: a Match in progress
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: the Match and a Match which does not exist are finished
+            scoreboard.finishMatch(matchId);
+            scoreboard.finishMatch(UUID.randomUUID());
+
+            // then: only the existing Match is reported as ongoing
+            verify(instrumentationMock, times(1)).matchFinished(eq(true), anyLong());
+            verify(instrumentationMock, times(1)).matchFinished(eq(false), anyLong());
+        }
+
+        @Test
+        @DisplayName("should report the finished Match once without looking it up given the Match is finished concurrently")
+        public void shouldReportTheFinishedMatchOnceWithoutLookingItUpGivenTheMatchIsFinishedConcurrently() {
+            // given: an instrumented Scoreboard of a thread-safe MatchStore with a Match in progress
+            var matchStore = mock(MatchStore.class, delegatesTo(MatchStore.concurrentInMemory()));
+            scoreboard = new Scoreboard(matchStore, instrumentationMock);
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: the Match is finished by multiple threads at the same time
+            runConcurrently(8, ignored -> scoreboard.finishMatch(matchId));
+
+            // then: the Match is reported as ongoing by a single finish
+            verify(instrumentationMock, times(1)).matchFinished(eq(true), anyLong());
+            verify(instrumentationMock, times(7)).matchFinished(eq(false), anyLong());
+
+            // and: the finished Match is not looked up
+            verify(matchStore, never()).getMatch(any());
+        }
+    }
 }
@@ -0,0 +1,235 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+class ShardedMatchStoreTest {
+
+    private static final int NUMBER_OF_SHARDS = 4;
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private List<MatchStore> shards;
+    private MatchStore matchStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.shards = new ArrayList<>();
+        this.matchStore = MatchStore.sharded(NUMBER_OF_SHARDS, () -> {
+            var shard = MatchStore.orderedInMemory();
+            shards.add(shard);
+            return shard;
+        });
+    }
+
+    @Nested
+    public class Create {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, -1})
+        @DisplayName("should throw exception given number of shards is less than 1")
+        public void shouldThrowExceptionGivenNumberOfShardsIsLessThan1(int numberOfShards) {
+            // when: a sharded MatchStore is created with less than 1 shard
+            Executable executable = () -> MatchStore.sharded(numberOfShards, MatchStore::concurrentInMemory);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("NumberOfShards cannot be less than 1.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given shard factory is null")
+        public void shouldThrowExceptionGivenShardFactoryIsNull() {
+            // when: a sharded MatchStore is created with a null shard factory
+            Executable executable = () -> MatchStore.sharded(NUMBER_OF_SHARDS, null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ShardFactory cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given shard factory returns null")
+        public void shouldThrowExceptionGivenShardFactoryReturnsNull() {
+            // when: a sharded MatchStore is created with a shard factory returning null
+            Executable executable = () -> MatchStore.sharded(NUMBER_OF_SHARDS, () -> null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ShardFactory cannot return null.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Partitioning {
+
+        @Test
+        @DisplayName("should keep every Match in exactly one shard given Matches are saved")
+        public void shouldKeepEveryMatchInExactlyOneShardGivenMatchesAreSaved() {
+            // when: Matches are saved
+            var matches = Stream.generate(TestUtils::randomMatch).limit(1_000).toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // then: every Match is kept in exactly one shard
+            assertEquals(NUMBER_OF_SHARDS, shards.size());
+            for (Match match : matches) {
+                assertEquals(1, shards.stream().filter(shard -> shard.getMatch(match.id()).isPresent()).count());
+                assertEquals(match, matchStore.getMatch(match.id()).orElseThrow());
+            }
+
+            // and: every shard holds a part of the Matches
+            shards.forEach(shard -> assertFalse(shard.getAllMatches().isEmpty()));
+            assertEquals(new HashSet<>(matches), new HashSet<>(matchStore.getAllMatches()));
+        }
+
+        @Test
+        @DisplayName("should execute the batch within a batch of every shard")
+        public void shouldExecuteTheBatchWithinABatchOfEveryShard() {
+            // given: a sharded MatchStore whose shards are observed
+            var observedShards = new ArrayList<MatchStore>();
+            var matchStore = MatchStore.sharded(NUMBER_OF_SHARDS, () -> {
+                var shard = mock(MatchStore.class, delegatesTo(MatchStore.copyOnWrite()));
+                observedShards.add(shard);
+                return shard;
+            });
+
+            // when: Matches are saved in a batch
+            var matches = Stream.generate(TestUtils::randomMatch).limit(100).toList();
+            matchStore.executeInBatch(() -> matches.forEach(matchStore::saveMatch));
+
+            // then: every shard has executed a batch and all Matches are saved
+            observedShards.forEach(shard -> verify(shard, times(1)).executeInBatch(any()));
+            assertEquals(new HashSet<>(matches), new HashSet<>(matchStore.getAllMatches()));
+        }
+    }
+
+    @Nested
+    public class GetOrderedMatches {
+
+        @Test
+        @DisplayName("should merge the shards in the summary order given a random sequence of operations")
+        public void shouldMergeTheShardsInTheSummaryOrderGivenARandomSequenceOfOperations() {
+            // given: a reference InMemoryMatchStore
+            var random = new Random(42);
+            var referenceMatchStore = new InMemoryMatchStore();
+            var matches = new ArrayList<Match>();
+
+            // when: the same random sequence of operations is applied to both MatchStores
+            for (int i = 0; i < 5_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 4 || matches.isEmpty()) {
+                    var match = randomMatch();
+                    matchStore.saveMatch(match);
+                    referenceMatchStore.saveMatch(match);
+                    matches.add(match);
+                } else if (operation < 8) {
+                    var index = random.nextInt(matches.size());
+                    var match = matches.get(index);
+                    var updatedMatch = new Match(
+                            match.id(),
+                            new TeamScore(match.homeTeamScore().teamName(), match.homeTeamScore().score() + random.nextInt(3)),
+                            match.awayTeamScore(),
+                            match.startTime(),
+                            match.startSequence(),
+                            match.version());
+                    matchStore.updateMatch(match.id(), updatedMatch);
+                    referenceMatchStore.updateMatch(match.id(), updatedMatch);
+                    matches.set(index, updatedMatch);
+                } else {
+                    var match = matches.remove(random.nextInt(matches.size()));
+                    matchStore.removeMatch(match.id());
+                    referenceMatchStore.removeMatch(match.id());
+                }
+            }
+
+            // then: the merged summary, its pages and the ranks are the same as the ones of the reference MatchStore
+            var expectedOrderedMatches = referenceMatchStore.getOrderedMatches();
+            assertEquals(expectedOrderedMatches, matchStore.getOrderedMatches());
+            assertEquals(referenceMatchStore.getOrderedMatches(0, 10), matchStore.getOrderedMatches(0, 10));
+            assertEquals(referenceMatchStore.getOrderedMatches(37, 25), matchStore.getOrderedMatches(37, 25));
+            assertEquals(
+                    referenceMatchStore.getOrderedMatches(0, Integer.MAX_VALUE),
+                    matchStore.getOrderedMatches(0, Integer.MAX_VALUE));
+            IntStream.range(0, expectedOrderedMatches.size()).forEach(rank ->
+                    assertEquals(rank, matchStore.getRank(expectedOrderedMatches.get(rank))));
+            assertArrayEquals(
+                    IntStream.range(0, expectedOrderedMatches.size()).toArray(),
+                    matchStore.getRanks(expectedOrderedMatches));
+        }
+    }
+
+    @Nested
+    public class SaveMatchIfFixtureAbsent {
+
+        @Test
+        @DisplayName("should save a single Match between the teams given Matches routed to different shards are saved concurrently")
+        public void shouldSaveASingleMatchBetweenTheTeamsGivenMatchesRoutedToDifferentShardsAreSavedConcurrently() {
+            // given: a MatchStore with thread-safe shards and distinct Matches between the same teams
+            var concurrentMatchStore = MatchStore.sharded(NUMBER_OF_SHARDS, MatchStore::concurrentInMemory);
+            var matches = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(ignored -> new Match(new TeamScore("Mexico"), new TeamScore("Canada")))
+                    .toList();
+            var savedMatches = new AtomicInteger();
+
+            // when: every thread saves its Match at the same time
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                if (concurrentMatchStore.saveMatchIfFixtureAbsent(matches.get(threadIndex))) {
+                    savedMatches.incrementAndGet();
+                }
+            });
+
+            // then: exactly one Match is saved
+            assertEquals(1, savedMatches.get());
+            assertEquals(1, concurrentMatchStore.getAllMatches().size());
+        }
+    }
+
+    @Nested
+    public class ScoreboardUsage {
+
+        @Test
+        @DisplayName("should apply all score updates given different Matches are updated concurrently")
+        public void shouldApplyAllScoreUpdatesGivenDifferentMatchesAreUpdatedConcurrently() {
+            // given: a Scoreboard backed by thread-safe shards with a Match per thread
+            var scoreboard = new Scoreboard(MatchStore.sharded(NUMBER_OF_SHARDS, MatchStore::concurrentInMemory));
+            var matchIds = IntStream
+                    .range(0, NUMBER_OF_THREADS)
+                    .mapToObj(i -> scoreboard.startMatch("Home" + i, "Away" + i))
+                    .toList();
+
+            // when: every thread updates its own Match while reading the summary
+            runConcurrently(NUMBER_OF_THREADS, threadIndex -> {
+                for (int score = 1; score <= 100; score++) {
+                    scoreboard.updateMatchScore(matchIds.get(threadIndex), score, 0);
+                    assertEquals(NUMBER_OF_THREADS, scoreboard.getOngoingMatches().size());
+                }
+            });
+
+            // then: every Match has its final score
+            scoreboard
+                    .getOngoingMatches()
+                    .forEach(match -> assertEquals(100, match.totalScore()));
+        }
+    }
+}
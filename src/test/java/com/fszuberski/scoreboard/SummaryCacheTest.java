@@ -0,0 +1,199 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+class SummaryCacheTest {
+
+    private MatchStore matchStore;
+    private ScoreboardChangeJournal changeJournal;
+    private SummaryCache summaryCache;
+
+    @BeforeEach
+    public void beforeEach() {
+        // the MatchStore mock records the invocations and delegates them to a real MatchStore
+        this.matchStore = mock(MatchStore.class, delegatesTo(new InMemoryMatchStore()));
+        this.changeJournal = new ScoreboardChangeJournal(8, 0);
+        this.summaryCache = new SummaryCache(matchStore, changeJournal);
+    }
+
+    private void save(Match match) {
+        var version = changeJournal.startChange();
+        matchStore.saveMatch(match);
+        changeJournal.completeChange(version, match.id());
+    }
+
+    private void update(Match match) {
+        var version = changeJournal.startChange();
+        matchStore.updateMatch(match.id(), match);
+        changeJournal.completeChange(version, match.id());
+    }
+
+    private void remove(UUID matchId) {
+        var version = changeJournal.startChange();
+        matchStore.removeMatch(matchId);
+        changeJournal.completeChange(version, matchId);
+    }
+
+    private List<Match> sortedMatches() {
+        return matchStore.getAllMatches().stream().sorted(Comparators.summaryComparator).toList();
+    }
+
+    @Nested
+    public class GetSummary {
+
+        @Test
+        @DisplayName("should serve the cached summary without accessing the MatchStore given no changes have been made")
+        public void shouldServeTheCachedSummaryWithoutAccessingTheMatchStoreGivenNoChangesHaveBeenMade() {
+            // given: a summary has been read
+            save(randomMatch());
+            save(randomMatch());
+            var summary = summaryCache.getSummary();
+
+            // when: the summary is read again
+            var result = summaryCache.getSummary();
+
+            // then: the cached summary is returned without accessing the MatchStore again
+            assertSame(summary, result);
+            verify(matchStore, times(1)).getOrderedMatches();
+            var statistics = summaryCache.statistics();
+            assertEquals(1, statistics.hits());
+            assertEquals(1, statistics.fullRecomputes());
+            assertEquals(0, statistics.incrementalRecomputes());
+        }
+
+        @Test
+        @DisplayName("should read the ordered Matches from the MatchStore given the MatchStore publishes them")
+        public void shouldReadTheOrderedMatchesFromTheMatchStoreGivenTheMatchStorePublishesThem() {
+            // given: a MatchStore publishing its ordered Matches on every write
+            var copyOnWriteMatchStore = MatchStore.copyOnWrite();
+            var publishingMatchStore = mock(MatchStore.class, delegatesTo(copyOnWriteMatchStore));
+            var publishingSummaryCache = new SummaryCache(publishingMatchStore, changeJournal);
+            copyOnWriteMatchStore.saveMatch(randomMatch());
+            copyOnWriteMatchStore.saveMatch(randomMatch());
+
+            // when: the summary is read twice
+            var summary = publishingSummaryCache.getSummary();
+            var result = publishingSummaryCache.getSummary();
+
+            // then: the published ordered Matches are returned without being copied or cached
+            assertSame(copyOnWriteMatchStore.getOrderedMatches(), summary);
+            assertSame(summary, result);
+            verify(publishingMatchStore, times(2)).getOrderedMatches();
+            verify(publishingMatchStore, never()).getMatch(any());
+            var statistics = publishingSummaryCache.statistics();
+            assertEquals(0, statistics.hits());
+            assertEquals(0, statistics.fullRecomputes());
+            assertEquals(2, statistics.uncachedReads());
+        }
+
+        @Test
+        @DisplayName("should re-position only the changed Matches given changes have been made since the cached summary")
+        public void shouldRePositionOnlyTheChangedMatchesGivenChangesHaveBeenMadeSinceTheCachedSummary() {
+            // given: a summary has been read
+            var matches = new ArrayList<Match>();
+            for (int i = 0; i < 5; i++) {
+                matches.add(randomMatch());
+                save(matches.get(i));
+            }
+            summaryCache.getSummary();
+
+            // when: Matches are started, updated and finished and the summary is read again
+            var match = matches.get(0);
+            update(new Match(match.id(), new TeamScore(match.homeTeamScore().teamName(), 9), match.awayTeamScore(), match.startTime()));
+            remove(matches.get(1).id());
+            save(randomMatch());
+            var result = summaryCache.getSummary();
+
+            // then: the summary is equal to all Matches sorted in the summary order
+            assertEquals(sortedMatches(), result);
+
+            // and: the summary has been recomputed without retrieving all ordered Matches again
+            verify(matchStore, times(1)).getOrderedMatches();
+            assertEquals(1, summaryCache.statistics().incrementalRecomputes());
+        }
+
+        @Test
+        @DisplayName("should retrieve the whole summary given the changes since the cached summary are no longer kept")
+        public void shouldRetrieveTheWholeSummaryGivenTheChangesSinceTheCachedSummaryAreNoLongerKept() {
+            // given: a summary has been read
+            summaryCache.getSummary();
+
+            // when: more Matches are started than the journal keeps and the summary is read again
+            for (int i = 0; i < 9; i++) {
+                save(randomMatch());
+            }
+            var result = summaryCache.getSummary();
+
+            // then: the whole summary has been retrieved from the MatchStore
+            assertEquals(sortedMatches(), result);
+            assertEquals(2, summaryCache.statistics().fullRecomputes());
+        }
+
+        @Test
+        @DisplayName("should not cache the summary given a change is in progress")
+        public void shouldNotCacheTheSummaryGivenAChangeIsInProgress() {
+            // given: a change is in progress
+            var match = randomMatch();
+            var version = changeJournal.startChange();
+            matchStore.saveMatch(match);
+
+            // when: the summary is read
+            var result = summaryCache.getSummary();
+
+            // then: the summary is retrieved from the MatchStore without caching it
+            assertEquals(List.of(match), result);
+            assertEquals(1, summaryCache.statistics().uncachedReads());
+
+            // and: the summary is computed once the change completes
+            changeJournal.completeChange(version, match.id());
+            assertEquals(List.of(match), summaryCache.getSummary());
+            assertEquals(1, summaryCache.statistics().fullRecomputes());
+        }
+
+        @Test
+        @DisplayName("should be equal to all Matches sorted in the summary order given a random sequence of changes")
+        public void shouldBeEqualToAllMatchesSortedInTheSummaryOrderGivenARandomSequenceOfChanges() {
+            // given: a random sequence of changes
+            var random = new Random(7);
+            var matchIds = new ArrayList<UUID>();
+            for (int i = 0; i < 2_000; i++) {
+                var operation = random.nextInt(10);
+                if (operation < 4 || matchIds.isEmpty()) {
+                    var match = randomMatch();
+                    save(match);
+                    matchIds.add(match.id());
+                } else if (operation < 8) {
+                    var match = matchStore.getMatch(matchIds.get(random.nextInt(matchIds.size()))).orElseThrow();
+                    update(new Match(
+                            match.id(),
+                            new TeamScore(match.homeTeamScore().teamName(), match.homeTeamScore().score() + 1),
+                            match.awayTeamScore(),
+                            match.startTime()));
+                } else {
+                    remove(matchIds.remove(random.nextInt(matchIds.size())));
+                }
+
+                // when: the summary is read after some of the changes
+                if (random.nextInt(4) == 0) {
+                    // then: the summary is equal to all Matches sorted in the summary order
+                    assertEquals(sortedMatches(), summaryCache.getSummary());
+                }
+            }
+        }
+    }
+}
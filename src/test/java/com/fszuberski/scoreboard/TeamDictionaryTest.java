@@ -0,0 +1,134 @@
+package com.fszuberski.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamDictionaryTest {
+
+    private TeamDictionary teamDictionary;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.teamDictionary = new TeamDictionary();
+    }
+
+    @Nested
+    public class Intern {
+
+        @Test
+        @DisplayName("should throw exception given null team name")
+        public void shouldThrowExceptionGivenNullTeamName() {
+            // when: intern is invoked with a null team name
+            Executable executable = () -> teamDictionary.intern(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("TeamName cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should assign consecutive ids given distinct team names")
+        public void shouldAssignConsecutiveIdsGivenDistinctTeamNames() {
+            // when: distinct team names are interned
+            var mexicoId = teamDictionary.intern("Mexico");
+            var canadaId = teamDictionary.intern("Canada");
+
+            // then: consecutive ids are assigned in the order of first appearance
+            assertEquals(0, mexicoId);
+            assertEquals(1, canadaId);
+            assertEquals(2, teamDictionary.size());
+            assertEquals("Mexico", teamDictionary.teamName(mexicoId));
+            assertEquals("Canada", teamDictionary.teamName(canadaId));
+        }
+
+        @Test
+        @DisplayName("should return the same id given an equal team name is interned again")
+        public void shouldReturnTheSameIdGivenAnEqualTeamNameIsInternedAgain() {
+            // given: a team name is interned
+            var mexicoId = teamDictionary.intern("Mexico");
+
+            // when: an equal team name is interned
+            var result = teamDictionary.intern(new String("Mexico"));
+
+            // then: the id of the team name is returned and no new id is assigned
+            assertEquals(mexicoId, result);
+            assertEquals(1, teamDictionary.size());
+        }
+
+        @Test
+        @DisplayName("should grow given more team names than the initial capacity are interned")
+        public void shouldGrowGivenMoreTeamNamesThanTheInitialCapacityAreInterned() {
+            // when: many distinct team names are interned
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(i, teamDictionary.intern("Team" + i));
+            }
+
+            // then: all team names can be resolved by their ids
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals("Team" + i, teamDictionary.teamName(i));
+            }
+        }
+
+        @Test
+        @DisplayName("should assign a single id per team name given concurrent interning")
+        public void shouldAssignASingleIdPerTeamNameGivenConcurrentInterning() {
+            // when: the same team names are interned by multiple threads
+            var ids = ConcurrentHashMap.<Integer>newKeySet();
+            runConcurrently(8, thread -> {
+                for (int i = 0; i < 500; i++) {
+                    var teamId = teamDictionary.intern("Team" + i);
+                    assertEquals("Team" + i, teamDictionary.teamName(teamId));
+                    ids.add(teamId);
+                }
+            });
+
+            // then: every team name has been assigned exactly one id
+            assertEquals(500, teamDictionary.size());
+            assertEquals(500, ids.size());
+        }
+    }
+
+    @Nested
+    public class InternTeamName {
+
+        @Test
+        @DisplayName("should return the canonical instance given equal team names")
+        public void shouldReturnTheCanonicalInstanceGivenEqualTeamNames() {
+            // given: a team name is interned
+            var canonicalTeamName = teamDictionary.internTeamName(new String("Mexico"));
+
+            // when: an equal team name is interned
+            var result = teamDictionary.internTeamName(new String("Mexico"));
+
+            // then: the canonical instance of the team name is returned
+            assertSame(canonicalTeamName, result);
+        }
+    }
+
+    @Nested
+    public class TeamId {
+
+        @Test
+        @DisplayName("should return unknown team id given the team name has not been interned")
+        public void shouldReturnUnknownTeamIdGivenTheTeamNameHasNotBeenInterned() {
+            // given: a team name is interned
+            teamDictionary.intern("Mexico");
+
+            // when: the id of a team name which has not been interned is looked up
+            var result = teamDictionary.teamId("Canada");
+
+            // then: the unknown team id is returned and the team name is not interned
+            assertEquals(TeamDictionary.UNKNOWN_TEAM_ID, result);
+            assertEquals(0, teamDictionary.teamId("Mexico"));
+            assertEquals(1, teamDictionary.size());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeamIndexTest {
+
+    private TeamIndex teamIndex;
+    private Map<UUID, Match> matchMap;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.teamIndex = new TeamIndex();
+        this.matchMap = new HashMap<>();
+    }
+
+    private Match indexedMatch(String homeTeamName, String awayTeamName) {
+        var match = new Match(new TeamScore(homeTeamName), new TeamScore(awayTeamName));
+        matchMap.put(match.id(), match);
+        teamIndex.add(match);
+        return match;
+    }
+
+    @Nested
+    public class FindMatches {
+
+        @Test
+        @DisplayName("should return the Matches of the team given the team plays as the home or the away team")
+        public void shouldReturnTheMatchesOfTheTeamGivenTheTeamPlaysAsTheHomeOrTheAwayTeam() {
+            // given: Matches of multiple teams are indexed
+            var mexicoCanada = indexedMatch("Mexico", "Canada");
+            indexedMatch("Spain", "Brazil");
+
+            // when: the Matches of a team are looked up
+            var result = teamIndex.findMatches("Canada", matchMap::get);
+
+            // then: only the Matches of the team are returned
+            assertEquals(List.of(mexicoCanada), result);
+        }
+
+        @Test
+        @DisplayName("should not return Matches given the indexed Matches no longer exist")
+        public void shouldNotReturnMatchesGivenTheIndexedMatchesNoLongerExist() {
+            // given: an indexed Match has been removed from the store, but not yet from the index
+            var match = indexedMatch("Mexico", "Canada");
+            matchMap.remove(match.id());
+
+            // when: the Matches of a team are looked up
+            var result = teamIndex.findMatches("Mexico", matchMap::get);
+
+            // then: no Matches are returned
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Nested
+    public class FindMatch {
+
+        @Test
+        @DisplayName("should resolve only the Match of the fixture given the teams play multiple Matches")
+        public void shouldResolveOnlyTheMatchOfTheFixtureGivenTheTeamsPlayMultipleMatches() {
+            // given: the teams of a fixture play multiple other Matches
+            var mexicoCanada = indexedMatch("Mexico", "Canada");
+            indexedMatch("Mexico", "Spain");
+            indexedMatch("Brazil", "Canada");
+            indexedMatch("Canada", "Mexico");
+            var resolvedMatchIds = new ArrayList<UUID>();
+
+            // when: the Match of the fixture is looked up
+            var result = teamIndex.findMatch("Mexico", "Canada", matchId -> {
+                resolvedMatchIds.add(matchId);
+                return matchMap.get(matchId);
+            });
+
+            // then: only the Match of the fixture is resolved
+            assertEquals(Optional.of(mexicoCanada), result);
+            assertEquals(List.of(mexicoCanada.id()), resolvedMatchIds);
+        }
+
+        @Test
+        @DisplayName("should return the remaining Match of the fixture given another Match of the fixture has been removed")
+        public void shouldReturnTheRemainingMatchOfTheFixtureGivenAnotherMatchOfTheFixtureHasBeenRemoved() {
+            // given: two Matches of the same fixture indexed without reserving the fixture, the first one removed
+            var firstMatch = indexedMatch("Mexico", "Canada");
+            var secondMatch = indexedMatch("Mexico", "Canada");
+            matchMap.remove(firstMatch.id());
+            teamIndex.remove(firstMatch);
+
+            // when: the Match of the fixture is looked up
+            var result = teamIndex.findMatch("Mexico", "Canada", matchMap::get);
+
+            // then: the remaining Match is returned and still reserves the fixture
+            assertEquals(Optional.of(secondMatch), result);
+            assertFalse(teamIndex.addIfFixtureAbsent(new Match(new TeamScore("Mexico"), new TeamScore("Canada"))));
+        }
+    }
+
+    @Nested
+    public class Replace {
+
+        @Test
+        @DisplayName("should re-index the Match given the teams of the Match have changed")
+        public void shouldReIndexTheMatchGivenTheTeamsOfTheMatchHaveChanged() {
+            // given: an indexed Match
+            var match = indexedMatch("Mexico", "Canada");
+
+            // when: the away team of the Match is changed
+            var updatedMatch = new Match(match.id(), match.homeTeamScore(), new TeamScore("France"), match.startTime());
+            matchMap.put(match.id(), updatedMatch);
+            teamIndex.replace(match, updatedMatch);
+
+            // then: the Match is indexed under its new teams only
+            assertTrue(teamIndex.findMatches("Canada", matchMap::get).isEmpty());
+            assertEquals(List.of(updatedMatch), teamIndex.findMatches("France", matchMap::get));
+            assertEquals(Optional.of(updatedMatch), teamIndex.findMatch("Mexico", "France", matchMap::get));
+            assertEquals(Optional.empty(), teamIndex.findMatch("Mexico", "Canada", matchMap::get));
+        }
+    }
+}
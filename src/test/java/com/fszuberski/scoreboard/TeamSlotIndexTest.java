@@ -0,0 +1,102 @@
+package com.fszuberski.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TeamSlotIndexTest {
+
+    private TeamSlotIndex teamSlotIndex;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.teamSlotIndex = new TeamSlotIndex(4);
+    }
+
+    private List<Integer> slotsOf(int teamId) {
+        var slots = new ArrayList<Integer>();
+        teamSlotIndex.forEachSlot(teamId, slots::add);
+        slots.sort(null);
+        return slots;
+    }
+
+    @Nested
+    public class ForEachSlot {
+
+        @Test
+        @DisplayName("should pass the slots in which the team plays as the home or the away team")
+        public void shouldPassTheSlotsInWhichTheTeamPlaysAsTheHomeOrTheAwayTeam() {
+            // given: slots of multiple teams are indexed
+            teamSlotIndex.add(0, 0, 1);
+            teamSlotIndex.add(1, 2, 0);
+            teamSlotIndex.add(2, 1, 2);
+
+            // then: the slots of every team are passed
+            assertEquals(List.of(0, 1), slotsOf(0));
+            assertEquals(List.of(0, 2), slotsOf(1));
+            assertEquals(List.of(1, 2), slotsOf(2));
+            assertEquals(List.of(), slotsOf(3));
+        }
+
+        @Test
+        @DisplayName("should pass the slot once given the team plays against itself")
+        public void shouldPassTheSlotOnceGivenTheTeamPlaysAgainstItself() {
+            // given: a slot in which a team plays against itself is indexed
+            teamSlotIndex.add(0, 0, 0);
+
+            // then: the slot is passed once
+            assertEquals(List.of(0), slotsOf(0));
+        }
+    }
+
+    @Nested
+    public class RemoveAndMove {
+
+        @Test
+        @DisplayName("should keep the remaining slots linked given slots are removed and moved")
+        public void shouldKeepTheRemainingSlotsLinkedGivenSlotsAreRemovedAndMoved() {
+            // given: multiple slots of the same team are indexed
+            teamSlotIndex.add(0, 0, 1);
+            teamSlotIndex.add(1, 0, 2);
+            teamSlotIndex.add(2, 0, 3);
+            teamSlotIndex.add(3, 3, 0);
+
+            // when: a slot is removed and the last slot is moved into the freed slot
+            teamSlotIndex.remove(1);
+            teamSlotIndex.move(3, 1);
+
+            // then: the remaining slots are indexed under their new slot numbers
+            assertEquals(List.of(0, 1, 2), slotsOf(0));
+            assertEquals(List.of(), slotsOf(2));
+            assertEquals(List.of(1, 2), slotsOf(3));
+            assertEquals(3, teamSlotIndex.homeTeamId(1));
+            assertEquals(0, teamSlotIndex.awayTeamId(1));
+            assertEquals(1, teamSlotIndex.findSlot(3, 0));
+            assertEquals(-1, teamSlotIndex.findSlot(0, 2));
+        }
+    }
+
+    @Nested
+    public class FindSlot {
+
+        @Test
+        @DisplayName("should find the slot given a match between the home and the away team is indexed")
+        public void shouldFindTheSlotGivenAMatchBetweenTheHomeAndTheAwayTeamIsIndexed() {
+            // given: slots of multiple teams are indexed
+            teamSlotIndex.add(0, 0, 1);
+            teamSlotIndex.add(1, 1, 0);
+
+            // then: the slot of a match between the teams is found only for the indexed home and away team
+            assertEquals(0, teamSlotIndex.findSlot(0, 1));
+            assertEquals(1, teamSlotIndex.findSlot(1, 0));
+            assertEquals(-1, teamSlotIndex.findSlot(0, 0));
+            assertEquals(-1, teamSlotIndex.findSlot(5, 0));
+        }
+    }
+}
@@ -6,8 +6,14 @@ import com.fszuberski.scoreboard.domain.TeamScore;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -85,4 +91,36 @@ public class TestUtils {
             }
         }
     }
+
+    /**
+     * Executes the passed task on {@code numberOfThreads} threads at the same time and waits for all of them to finish.
+     * All threads are released at once in order to maximize contention between them.
+     * Any exception thrown by the task fails the calling test.
+     *
+     * @param numberOfThreads the number of threads that should execute the task
+     * @param task            the task that should be executed; receives the index of the executing thread
+     */
+    public static void runConcurrently(int numberOfThreads, IntConsumer task) {
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            var startLatch = new CountDownLatch(1);
+            var futures = IntStream
+                    .range(0, numberOfThreads)
+                    .mapToObj(threadIndex -> executorService.submit(() -> {
+                        startLatch.await();
+                        task.accept(threadIndex);
+                        return null;
+                    }))
+                    .toList();
+
+            startLatch.countDown();
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            fail("Concurrent task execution failure", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
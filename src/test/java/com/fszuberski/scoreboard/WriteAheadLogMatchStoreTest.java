@@ -0,0 +1,365 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteAheadLogMatchStoreTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private static Stream<Supplier<MatchStore>> matchStores() {
+        return Stream.of(
+                InMemoryMatchStore::new,
+                OrderedInMemoryMatchStore::new,
+                ConcurrentMatchStore::new,
+                CopyOnWriteMatchStore::new,
+                PackedMatchStore::new,
+                () -> OffHeapMatchStore.allocateDirect(100)
+        );
+    }
+
+    @Nested
+    public class Create {
+
+        @Test
+        @DisplayName("should throw exception given null MatchStore")
+        public void shouldThrowExceptionGivenNullMatchStore() {
+            // when: a null MatchStore is decorated
+            Executable executable = () -> MatchStore.writeAheadLogged(null, temporaryDirectory.resolve("scoreboard.log"));
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("MatchStore cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given null log file")
+        public void shouldThrowExceptionGivenNullLogFile() {
+            // when: a MatchStore is decorated with a log in a null file
+            Executable executable = () -> MatchStore.writeAheadLogged(new InMemoryMatchStore(), null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("LogFile cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given zero sync interval")
+        public void shouldThrowExceptionGivenZeroSyncInterval() {
+            // when: a MatchStore is decorated with a log synced at a zero interval
+            Executable executable = () -> MatchStore.writeAheadLogged(
+                    new InMemoryMatchStore(), temporaryDirectory.resolve("scoreboard.log"), Duration.ZERO);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("SyncInterval cannot be zero or negative.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Recover {
+
+        @ParameterizedTest
+        @MethodSource("matchStores")
+        @DisplayName("should recover all Matches given the MatchStore is opened again")
+        public void shouldRecoverAllMatchesGivenTheMatchStoreIsOpenedAgain(Supplier<MatchStore> matchStoreSupplier) {
+            // given: Matches saved, updated and removed through a write-ahead logged MatchStore
+            var logFile = temporaryDirectory.resolve("scoreboard.log");
+            var matchStore = MatchStore.writeAheadLogged(matchStoreSupplier.get(), logFile);
+            var matches = Stream.generate(TestUtils::randomMatch).limit(5).toList();
+            matches.forEach(matchStore::saveMatch);
+            matchStore.computeMatchIfPresent(matches.get(1).id(), match -> withHomeTeamScore(match, 4));
+            matchStore.updateMatch(matches.get(2).id(), withHomeTeamScore(matches.get(2), 2));
+            matchStore.removeMatch(matches.get(0).id());
+            var expectedMatches = new HashSet<>(matchStore.getAllMatches());
+
+            // when: the process stops without closing the MatchStore and the MatchStore is opened again
+            var recoveredMatchStore = MatchStore.writeAheadLogged(matchStoreSupplier.get(), logFile);
+
+            // then: the recovered MatchStore contains the same Matches
+            assertEquals(expectedMatches, new HashSet<>(recoveredMatchStore.getAllMatches()));
+            assertEquals(4, recoveredMatchStore.getAllMatches().size());
+            matchStore.close();
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should recover the writes of a batch given the batch has completed")
+        public void shouldRecoverTheWritesOfABatchGivenTheBatchHasCompleted() {
+            // given: Matches saved and updated in a batch
+            var logFile = temporaryDirectory.resolve("scoreboard.log");
+            var matchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+            var match1 = randomMatch();
+            var match2 = randomMatch();
+            matchStore.executeInBatch(() -> {
+                matchStore.saveMatch(match1);
+                matchStore.saveMatch(match2);
+                matchStore.computeMatchIfPresent(match2.id(), match -> withHomeTeamScore(match, 7));
+            });
+
+            // when: the MatchStore is opened again
+            var recoveredMatchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+
+            // then: the writes of the batch are recovered
+            assertEquals(new HashSet<>(matchStore.getAllMatches()), new HashSet<>(recoveredMatchStore.getAllMatches()));
+            matchStore.close();
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should recover all Matches given the log is synced in the background and the MatchStore is closed")
+        public void shouldRecoverAllMatchesGivenTheLogIsSyncedInTheBackgroundAndTheMatchStoreIsClosed() {
+            // given: Matches saved through a MatchStore whose log is synced in the background
+            var logFile = temporaryDirectory.resolve("scoreboard.log");
+            var matchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile, Duration.ofMinutes(1));
+            var matches = Stream.generate(TestUtils::randomMatch).limit(5).toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // when: the MatchStore is closed and opened again
+            matchStore.close();
+            var recoveredMatchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+
+            // then: all Matches are recovered
+            assertEquals(new HashSet<>(matches), new HashSet<>(recoveredMatchStore.getAllMatches()));
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should not record the write given the decorated MatchStore rejects the write")
+        public void shouldNotRecordTheWriteGivenTheDecoratedMatchStoreRejectsTheWrite() {
+            // given: a saved Match
+            var logFile = temporaryDirectory.resolve("scoreboard.log");
+            var matchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+            var match = randomMatch();
+            matchStore.saveMatch(match);
+
+            // when: the Match is saved again
+            Executable executable = () -> matchStore.saveMatch(match);
+
+            // then: the write is rejected and the log can still be replayed
+            assertThrows(IllegalArgumentException.class, executable);
+            var recoveredMatchStore = MatchStore.writeAheadLogged(new InMemoryMatchStore(), logFile);
+            assertEquals(List.of(match), recoveredMatchStore.getAllMatches());
+            matchStore.close();
+            recoveredMatchStore.close();
+        }
+
+        private static Stream<Supplier<MatchStore>> matchStores() {
+            return WriteAheadLogMatchStoreTest.matchStores();
+        }
+    }
+
+    @Nested
+    public class Snapshot {
+
+        @Test
+        @DisplayName("should throw exception given null directory")
+        public void shouldThrowExceptionGivenNullDirectory() {
+            // when: a MatchStore is decorated with a log in a null directory
+            Executable executable = () -> MatchStore.snapshotted(new InMemoryMatchStore(), null, Duration.ofMinutes(1));
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Directory cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given negative snapshot interval")
+        public void shouldThrowExceptionGivenNegativeSnapshotInterval() {
+            // when: a MatchStore is decorated with a log compacted at a negative interval
+            Executable executable = () -> MatchStore.snapshotted(
+                    new InMemoryMatchStore(), temporaryDirectory, Duration.ofMinutes(-1));
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("SnapshotInterval cannot be zero or negative.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should delete the log segments contained in the snapshot given a snapshot is taken")
+        public void shouldDeleteTheLogSegmentsContainedInTheSnapshotGivenASnapshotIsTaken() throws Exception {
+            // given: Matches saved, updated and removed before and after a snapshot
+            var matchStore = openDirectory();
+            var matches = Stream.generate(TestUtils::randomMatch).limit(5).toList();
+            matches.forEach(matchStore::saveMatch);
+            matchStore.removeMatch(matches.get(0).id());
+            matchStore.snapshot();
+            matchStore.computeMatchIfPresent(matches.get(1).id(), match -> withHomeTeamScore(match, 3));
+            matchStore.saveMatch(randomMatch());
+            var expectedMatches = new HashSet<>(matchStore.getAllMatches());
+
+            // then: only the snapshot and the log segment written after it are kept
+            assertEquals(1, matchStore.logGeneration());
+            assertEquals(
+                    Set.of(WriteAheadLogMatchStore.SNAPSHOT_FILE_NAME, WriteAheadLogMatchStore.LOG_SEGMENT_FILE_NAME_PREFIX + 1),
+                    fileNames());
+
+            // when: the process stops and the MatchStore is opened again
+            var recoveredMatchStore = openDirectory();
+
+            // then: the Matches are recovered from the snapshot and the log segment written after it
+            assertEquals(expectedMatches, new HashSet<>(recoveredMatchStore.getAllMatches()));
+            assertEquals(5, recoveredMatchStore.getAllMatches().size());
+            matchStore.close();
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should ignore the log segments contained in the snapshot given they have not been deleted")
+        public void shouldIgnoreTheLogSegmentsContainedInTheSnapshotGivenTheyHaveNotBeenDeleted() throws Exception {
+            // given: a snapshot, with the log segment contained in it restored as if the process stopped before deleting it
+            var matchStore = openDirectory();
+            var matches = Stream.generate(TestUtils::randomMatch).limit(3).toList();
+            matches.forEach(matchStore::saveMatch);
+            var logSegment = temporaryDirectory.resolve(WriteAheadLogMatchStore.LOG_SEGMENT_FILE_NAME_PREFIX + 0);
+            var logSegmentCopy = temporaryDirectory.resolveSibling("log-copy");
+            Files.copy(logSegment, logSegmentCopy);
+            matchStore.snapshot();
+            matchStore.close();
+            Files.move(logSegmentCopy, logSegment);
+
+            // when: the MatchStore is opened again
+            var recoveredMatchStore = openDirectory();
+
+            // then: the Matches are recovered once and the stale log segment is deleted
+            assertEquals(new HashSet<>(matches), new HashSet<>(recoveredMatchStore.getAllMatches()));
+            assertEquals(3, recoveredMatchStore.getAllMatches().size());
+            assertFalse(Files.exists(logSegment));
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should recover all Matches given snapshots are taken while Matches are updated concurrently")
+        public void shouldRecoverAllMatchesGivenSnapshotsAreTakenWhileMatchesAreUpdatedConcurrently() {
+            // given: Matches of multiple writers
+            var matchStore = openDirectory(new ConcurrentMatchStore());
+            var numberOfWriters = 4;
+            var matches = Stream.generate(TestUtils::randomMatch).limit(numberOfWriters).toList();
+            matches.forEach(matchStore::saveMatch);
+
+            // when: the writers update their Matches while snapshots are taken
+            TestUtils.runConcurrently(numberOfWriters + 1, thread -> {
+                for (int i = 1; i <= 200; i++) {
+                    if (thread == numberOfWriters) {
+                        if (i % 20 == 0) {
+                            matchStore.snapshot();
+                        }
+                    } else {
+                        var homeTeamScore = i;
+                        matchStore.computeMatchIfPresent(matches.get(thread).id(), match -> withHomeTeamScore(match, homeTeamScore));
+                    }
+                }
+            });
+            var expectedMatches = new HashSet<>(matchStore.getAllMatches());
+            matchStore.close();
+
+            // then: the MatchStore opened again contains the latest state of every Match
+            var recoveredMatchStore = openDirectory(new ConcurrentMatchStore());
+            assertEquals(expectedMatches, new HashSet<>(recoveredMatchStore.getAllMatches()));
+            recoveredMatchStore.getAllMatches().forEach(match -> assertEquals(200, match.homeTeamScore().score()));
+            recoveredMatchStore.close();
+        }
+
+        @Test
+        @DisplayName("should not open a new log segment given a snapshot is taken after the MatchStore is closed")
+        public void shouldNotOpenANewLogSegmentGivenASnapshotIsTakenAfterTheMatchStoreIsClosed() throws Exception {
+            // given: a closed MatchStore
+            var matchStore = openDirectory();
+            matchStore.saveMatch(randomMatch());
+            matchStore.close();
+
+            // when: a snapshot is taken
+            matchStore.snapshot();
+
+            // then: the writes are not switched to a new log segment and no file is written
+            assertEquals(0, matchStore.logGeneration());
+            assertEquals(Set.of(WriteAheadLogMatchStore.LOG_SEGMENT_FILE_NAME_PREFIX + 0), fileNames());
+        }
+
+        @Test
+        @DisplayName("should complete the snapshot before closing the log given the MatchStore is closed while a snapshot is taken")
+        public void shouldCompleteTheSnapshotBeforeClosingTheLogGivenTheMatchStoreIsClosedWhileASnapshotIsTaken() throws Exception {
+            // given: a snapshot blocked while copying the Matches
+            var decoratedMatchStore = new InMemoryMatchStore();
+            var blockingMatchStore = mock(MatchStore.class, delegatesTo(decoratedMatchStore));
+            var snapshotStarted = new CountDownLatch(1);
+            var snapshotReleased = new CountDownLatch(1);
+            when(blockingMatchStore.getAllMatches()).thenAnswer(invocation -> {
+                snapshotStarted.countDown();
+                snapshotReleased.await();
+                return decoratedMatchStore.getAllMatches();
+            });
+            var matchStore = openDirectory(blockingMatchStore);
+            var matches = Stream.generate(TestUtils::randomMatch).limit(3).toList();
+            matches.forEach(matchStore::saveMatch);
+            var snapshot = CompletableFuture.runAsync(matchStore::snapshot);
+            snapshotStarted.await();
+
+            // when: the MatchStore is closed while the snapshot is taken
+            var close = CompletableFuture.runAsync(matchStore::close);
+            snapshotReleased.countDown();
+            snapshot.get(10, TimeUnit.SECONDS);
+            close.get(10, TimeUnit.SECONDS);
+
+            // then: the snapshot is completed and the MatchStore opened again contains all Matches
+            assertEquals(
+                    Set.of(WriteAheadLogMatchStore.SNAPSHOT_FILE_NAME, WriteAheadLogMatchStore.LOG_SEGMENT_FILE_NAME_PREFIX + 1),
+                    fileNames());
+            var recoveredMatchStore = openDirectory();
+            assertEquals(new HashSet<>(matches), new HashSet<>(recoveredMatchStore.getAllMatches()));
+            recoveredMatchStore.close();
+        }
+
+        private WriteAheadLogMatchStore openDirectory() {
+            return openDirectory(new InMemoryMatchStore());
+        }
+
+        private WriteAheadLogMatchStore openDirectory(MatchStore matchStore) {
+            // snapshots are taken explicitly by the tests
+            return WriteAheadLogMatchStore.openDirectory(matchStore, temporaryDirectory, Duration.ofDays(1));
+        }
+
+        private Set<String> fileNames() throws Exception {
+            try (var files = Files.list(temporaryDirectory)) {
+                return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+            }
+        }
+    }
+
+    private static Match withHomeTeamScore(Match match, int homeTeamScore) {
+        return new Match(
+                match.id(),
+                new TeamScore(match.homeTeamScore().teamName(), homeTeamScore),
+                match.awayTeamScore(),
+                match.startTime(),
+                match.startSequence(),
+                match.version() + 1);
+    }
+}
@@ -0,0 +1,168 @@
+package com.fszuberski.scoreboard;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.fszuberski.scoreboard.TestUtils.randomMatch;
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Nested
+    public class Open {
+
+        @Test
+        @DisplayName("should replay the records of the log given the file contains a log")
+        public void shouldReplayTheRecordsOfTheLogGivenTheFileContainsALog() {
+            // given: a log with records of saved, updated and removed Matches
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            var match1 = randomMatch();
+            var match2 = randomMatch();
+            var updatedMatch1 = new Match(match1.id(), new TeamScore(match1.homeTeamScore().teamName(), 5), match1.awayTeamScore(), match1.startTime(), 1, 3);
+            try (var log = WriteAheadLog.open(file, new InMemoryMatchStore())) {
+                log.append(WriteAheadLog.SAVE, match1);
+                log.append(WriteAheadLog.SAVE, match2);
+                log.append(WriteAheadLog.UPDATE, updatedMatch1);
+                log.appendRemoval(match2.id());
+            }
+
+            // when: the log is opened again
+            var matchStore = new InMemoryMatchStore();
+            WriteAheadLog.open(file, matchStore).close();
+
+            // then: the records are replayed into the MatchStore
+            assertEquals(List.of(updatedMatch1), matchStore.getAllMatches());
+        }
+
+        @Test
+        @DisplayName("should discard the incomplete last record given the log ends with a torn write")
+        public void shouldDiscardTheIncompleteLastRecordGivenTheLogEndsWithATornWrite() throws Exception {
+            // given: a log whose last record has only been partially written
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            var match1 = randomMatch();
+            var match2 = randomMatch();
+            long positionAfterFirstRecord;
+            try (var log = WriteAheadLog.open(file, new InMemoryMatchStore())) {
+                positionAfterFirstRecord = log.append(WriteAheadLog.SAVE, match1);
+                log.append(WriteAheadLog.SAVE, match2);
+            }
+            try (var channel = FileChannel.open(file, WRITE)) {
+                channel.truncate(Files.size(file) - 3);
+            }
+
+            // when: the log is opened again and a new record is appended
+            var matchStore = new InMemoryMatchStore();
+            var match3 = randomMatch();
+            try (var log = WriteAheadLog.open(file, matchStore)) {
+                assertEquals(positionAfterFirstRecord, log.position());
+                log.append(WriteAheadLog.SAVE, match3);
+            }
+
+            // then: only the complete records are replayed, followed by the new record
+            assertEquals(List.of(match1), matchStore.getAllMatches());
+            var reopenedMatchStore = new InMemoryMatchStore();
+            WriteAheadLog.open(file, reopenedMatchStore).close();
+            assertEquals(new HashSet<>(List.of(match1, match3)), new HashSet<>(reopenedMatchStore.getAllMatches()));
+        }
+
+        @Test
+        @DisplayName("should discard the records following a record that does not match its checksum")
+        public void shouldDiscardTheRecordsFollowingARecordThatDoesNotMatchItsChecksum() throws Exception {
+            // given: a log whose last record has been corrupted
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            var match1 = randomMatch();
+            try (var log = WriteAheadLog.open(file, new InMemoryMatchStore())) {
+                log.append(WriteAheadLog.SAVE, match1);
+                log.append(WriteAheadLog.SAVE, randomMatch());
+            }
+            var bytes = Files.readAllBytes(file);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(file, bytes);
+
+            // when: the log is opened again
+            var matchStore = new InMemoryMatchStore();
+            WriteAheadLog.open(file, matchStore).close();
+
+            // then: only the valid records are replayed
+            assertEquals(List.of(match1), matchStore.getAllMatches());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the file does not contain a log")
+        public void shouldThrowExceptionGivenTheFileDoesNotContainALog() throws Exception {
+            // given: a file which does not contain a log
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+            // when: the log is opened
+            Executable executable = () -> WriteAheadLog.open(file, new InMemoryMatchStore());
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot open write-ahead log file='%s'; the file does not contain a write-ahead log.", file),
+                    result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Sync {
+
+        @Test
+        @DisplayName("should make the records of all writers durable given writers sync concurrently")
+        public void shouldMakeTheRecordsOfAllWritersDurableGivenWritersSyncConcurrently() {
+            // given: an empty log
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            var numberOfThreads = 8;
+            var matchesPerThread = 50;
+
+            // when: multiple threads append records and sync them concurrently
+            try (var log = WriteAheadLog.open(file, new InMemoryMatchStore())) {
+                runConcurrently(numberOfThreads, thread -> {
+                    for (int i = 0; i < matchesPerThread; i++) {
+                        log.sync(log.append(WriteAheadLog.SAVE, randomMatch()));
+                    }
+                });
+
+                // then: every record has been made durable
+                var matchStore = new InMemoryMatchStore();
+                WriteAheadLog.open(file, matchStore).close();
+                assertEquals(numberOfThreads * matchesPerThread, matchStore.getAllMatches().size());
+            }
+        }
+
+        @Test
+        @DisplayName("should throw exception given records are appended to a closed log")
+        public void shouldThrowExceptionGivenRecordsAreAppendedToAClosedLog() {
+            // given: a closed log
+            var file = temporaryDirectory.resolve("scoreboard.log");
+            var log = WriteAheadLog.open(file, new InMemoryMatchStore());
+            log.close();
+
+            // when: a record is appended
+            Executable executable = () -> log.append(WriteAheadLog.SAVE, randomMatch());
+
+            // then: an IllegalStateException is thrown
+            var result = assertThrows(IllegalStateException.class, executable);
+            assertEquals(
+                    String.format("Cannot append to write-ahead log file='%s'; the log is closed.", file),
+                    result.getMessage());
+        }
+    }
+}
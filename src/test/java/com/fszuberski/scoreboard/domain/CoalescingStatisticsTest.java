@@ -0,0 +1,77 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoalescingStatisticsTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                long submittedUpdates,
+                long coalescedUpdates,
+                long flushes,
+                long appliedUpdates,
+                long failedUpdates,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the CoalescingStatistics constructor
+            Executable executable = () -> new CoalescingStatistics(
+                    submittedUpdates, coalescedUpdates, flushes, appliedUpdates, failedUpdates);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(-1, 0, 0, 0, 0, "SubmittedUpdates cannot be less than 0."),
+                    Arguments.of(0, -1, 0, 0, 0, "CoalescedUpdates cannot be less than 0."),
+                    Arguments.of(0, 0, -1, 0, 0, "Flushes cannot be less than 0."),
+                    Arguments.of(0, 0, 0, -1, 0, "AppliedUpdates cannot be less than 0."),
+                    Arguments.of(0, 0, 0, 0, -1, "FailedUpdates cannot be less than 0.")
+            );
+        }
+    }
+
+    @Nested
+    public class CoalescingRatio {
+
+        @Test
+        @DisplayName("should return the share of coalesced updates given updates have been submitted")
+        public void shouldReturnTheShareOfCoalescedUpdatesGivenUpdatesHaveBeenSubmitted() {
+            // given: statistics of 10 submitted updates, 8 of them coalesced
+            var statistics = new CoalescingStatistics(10, 8, 1, 2, 0);
+
+            // when: the coalescing ratio is computed
+            var result = statistics.coalescingRatio();
+
+            // then: the share of coalesced updates is returned
+            assertEquals(0.8, result);
+        }
+
+        @Test
+        @DisplayName("should return 0 given no update has been submitted")
+        public void shouldReturn0GivenNoUpdateHasBeenSubmitted() {
+            // when: the coalescing ratio of empty statistics is computed
+            var result = new CoalescingStatistics(0, 0, 0, 0, 0).coalescingRatio();
+
+            // then: 0 is returned
+            assertEquals(0, result);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IngestionStatisticsTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                long receivedMessages,
+                long malformedMessages,
+                long coalescedUpdates,
+                long appliedUpdates,
+                long failedUpdates,
+                long failedFeeds,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the IngestionStatistics constructor
+            Executable executable = () -> new IngestionStatistics(
+                    receivedMessages, malformedMessages, coalescedUpdates, appliedUpdates, failedUpdates, failedFeeds);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(-1, 0, 0, 0, 0, 0, "ReceivedMessages cannot be less than 0."),
+                    Arguments.of(0, -1, 0, 0, 0, 0, "MalformedMessages cannot be less than 0."),
+                    Arguments.of(0, 0, -1, 0, 0, 0, "CoalescedUpdates cannot be less than 0."),
+                    Arguments.of(0, 0, 0, -1, 0, 0, "AppliedUpdates cannot be less than 0."),
+                    Arguments.of(0, 0, 0, 0, -1, 0, "FailedUpdates cannot be less than 0."),
+                    Arguments.of(0, 0, 0, 0, 0, -1, "FailedFeeds cannot be less than 0.")
+            );
+        }
+    }
+}
@@ -67,6 +67,29 @@ class MatchTest {
             );
         }
 
+        @ParameterizedTest
+        @MethodSource("invalidSequenceParameters")
+        @DisplayName("should throw exception given negative start sequence or version")
+        public void shouldThrowExceptionGivenNegativeStartSequenceOrVersion(
+                long startSequence,
+                long version,
+                String exceptionMessage
+        ) {
+            // when: a negative start sequence or version is passed to the Match constructor
+            Executable executable = () -> new Match(
+                    UUID.randomUUID(), randomTeamScore(), randomTeamScore(), LocalDateTime.now(), startSequence, version);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidSequenceParameters() {
+            return Stream.of(
+                    Arguments.of(-1, 0, "StartSequence cannot be less than 0."),
+                    Arguments.of(0, -1, "Version cannot be less than 0.")
+            );
+        }
     }
 
     @Nested
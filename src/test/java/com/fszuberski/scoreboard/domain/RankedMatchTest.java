@@ -0,0 +1,47 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RankedMatchTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                int rank,
+                Match match,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the RankedMatch constructor
+            Executable executable = () -> new RankedMatch(rank, match);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(
+                            -1,
+                            new Match(new TeamScore("Mexico"), new TeamScore("Canada")),
+                            "Rank cannot be less than 0."),
+                    Arguments.of(
+                            0,
+                            null,
+                            "Match cannot be null.")
+            );
+        }
+    }
+}
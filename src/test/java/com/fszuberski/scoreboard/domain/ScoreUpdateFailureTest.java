@@ -0,0 +1,52 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreUpdateFailureTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                ScoreUpdate scoreUpdate,
+                String reason,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the ScoreUpdateFailure constructor
+            Executable executable = () -> new ScoreUpdateFailure(scoreUpdate, reason);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(
+                            null,
+                            "Reason",
+                            "ScoreUpdate cannot be null."),
+                    Arguments.of(
+                            new ScoreUpdate(UUID.randomUUID(), 0, 0),
+                            null,
+                            "Reason cannot be null or blank."),
+                    Arguments.of(
+                            new ScoreUpdate(UUID.randomUUID(), 0, 0),
+                            " ",
+                            "Reason cannot be null or blank.")
+            );
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreUpdateTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                UUID matchId,
+                int homeTeamScore,
+                int awayTeamScore,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the ScoreUpdate constructor
+            Executable executable = () -> new ScoreUpdate(matchId, homeTeamScore, awayTeamScore);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(
+                            null,
+                            0,
+                            0,
+                            "MatchId cannot be null."),
+                    Arguments.of(
+                            UUID.randomUUID(),
+                            -1,
+                            0,
+                            "HomeTeamScore cannot be less than 0."),
+                    Arguments.of(
+                            UUID.randomUUID(),
+                            0,
+                            Integer.MIN_VALUE,
+                            "AwayTeamScore cannot be less than 0.")
+            );
+        }
+    }
+}
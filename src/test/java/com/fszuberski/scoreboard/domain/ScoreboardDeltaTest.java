@@ -0,0 +1,85 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardDeltaTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                long fromVersion,
+                long version,
+                List<UUID> removedMatchIds,
+                List<RankedMatch> rankedMatches,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the ScoreboardDelta constructor
+            Executable executable = () -> new ScoreboardDelta(fromVersion, version, false, removedMatchIds, rankedMatches);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should not be affected by changes of the passed lists")
+        public void shouldNotBeAffectedByChangesOfThePassedLists() {
+            // given: a ScoreboardDelta created from mutable lists
+            var removedMatchIds = new ArrayList<UUID>();
+            var rankedMatches = new ArrayList<RankedMatch>();
+            var delta = new ScoreboardDelta(0, 1, false, removedMatchIds, rankedMatches);
+
+            // when: the passed lists are changed
+            removedMatchIds.add(UUID.randomUUID());
+            rankedMatches.add(new RankedMatch(0, new Match(new TeamScore("Mexico"), new TeamScore("Canada"))));
+
+            // then: the ScoreboardDelta is not changed
+            assertTrue(delta.isEmpty());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(
+                            -1,
+                            0,
+                            List.of(),
+                            List.of(),
+                            "FromVersion cannot be less than 0."),
+                    Arguments.of(
+                            2,
+                            1,
+                            List.of(),
+                            List.of(),
+                            "Version cannot be less than FromVersion."),
+                    Arguments.of(
+                            0,
+                            1,
+                            null,
+                            List.of(),
+                            "RemovedMatchIds cannot be null."),
+                    Arguments.of(
+                            0,
+                            1,
+                            List.of(),
+                            null,
+                            "RankedMatches cannot be null.")
+            );
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.fszuberski.scoreboard.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SummaryCacheStatisticsTest {
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @ParameterizedTest
+        @MethodSource("invalidConstructorParameters")
+        public void shouldThrowExceptionGivenInvalidConstructorParameters(
+                long hits,
+                long incrementalRecomputes,
+                long fullRecomputes,
+                long uncachedReads,
+                long recomputeNanos,
+                String exceptionMessage
+        ) {
+            // when: an invalid parameter is passed to the SummaryCacheStatistics constructor
+            Executable executable = () -> new SummaryCacheStatistics(
+                    hits, incrementalRecomputes, fullRecomputes, uncachedReads, recomputeNanos);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(exceptionMessage, result.getMessage());
+        }
+
+        private static Stream<Arguments> invalidConstructorParameters() {
+            return Stream.of(
+                    Arguments.of(-1, 0, 0, 0, 0, "Hits cannot be less than 0."),
+                    Arguments.of(0, -1, 0, 0, 0, "IncrementalRecomputes cannot be less than 0."),
+                    Arguments.of(0, 0, -1, 0, 0, "FullRecomputes cannot be less than 0."),
+                    Arguments.of(0, 0, 0, -1, 0, "UncachedReads cannot be less than 0."),
+                    Arguments.of(0, 0, 0, 0, -1, "RecomputeNanos cannot be less than 0.")
+            );
+        }
+    }
+
+    @Nested
+    public class HitRatio {
+
+        @Test
+        @DisplayName("should return the share of hits among all reads given summaries have been read")
+        public void shouldReturnTheShareOfHitsAmongAllReadsGivenSummariesHaveBeenRead() {
+            // given: statistics of 6 hits and 4 misses
+            var statistics = new SummaryCacheStatistics(6, 2, 1, 1, 100);
+
+            // when: the hit ratio is computed
+            var result = statistics.hitRatio();
+
+            // then: the hit ratio is the share of hits
+            assertEquals(4, statistics.misses());
+            assertEquals(0.6, result);
+        }
+
+        @Test
+        @DisplayName("should return 0 given no summaries have been read")
+        public void shouldReturn0GivenNoSummariesHaveBeenRead() {
+            // when: the hit ratio of empty statistics is computed
+            var result = new SummaryCacheStatistics(0, 0, 0, 0, 0).hitRatio();
+
+            // then: the hit ratio is 0
+            assertEquals(0.0, result);
+        }
+    }
+}
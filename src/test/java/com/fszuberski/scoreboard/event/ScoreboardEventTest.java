@@ -0,0 +1,67 @@
+package com.fszuberski.scoreboard.event;
+
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.TeamScore;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchFinished;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.MatchStarted;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.RankChanged;
+import com.fszuberski.scoreboard.event.ScoreboardEvent.ScoreUpdated;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreboardEventTest {
+
+    private static final Match MATCH = new Match(new TeamScore("Mexico"), new TeamScore("Canada"));
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        @DisplayName("should throw exception given null match")
+        public void shouldThrowExceptionGivenNullMatch() {
+            // when: the events are initialized with a null match
+            Executable matchStarted = () -> new MatchStarted(null);
+            Executable scoreUpdated = () -> new ScoreUpdated(MATCH, null);
+            Executable matchFinished = () -> new MatchFinished(null);
+            Executable rankChanged = () -> new RankChanged(null, 0, 1);
+
+            // then: an IllegalArgumentException is thrown
+            for (Executable executable : new Executable[]{matchStarted, scoreUpdated, matchFinished, rankChanged}) {
+                var result = assertThrows(IllegalArgumentException.class, executable);
+                assertEquals("Match cannot be null.", result.getMessage());
+            }
+        }
+
+        @Test
+        @DisplayName("should throw exception given null previous match")
+        public void shouldThrowExceptionGivenNullPreviousMatch() {
+            // when: ScoreUpdated is initialized with a null previous match
+            Executable executable = () -> new ScoreUpdated(null, MATCH);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("PreviousMatch cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given negative rank")
+        public void shouldThrowExceptionGivenNegativeRank() {
+            // when: RankChanged is initialized with negative ranks
+            Executable negativePreviousRank = () -> new RankChanged(MATCH, -1, 0);
+            Executable negativeRank = () -> new RankChanged(MATCH, 0, -1);
+
+            // then: an IllegalArgumentException is thrown
+            assertEquals(
+                    "PreviousRank cannot be less than 0.",
+                    assertThrows(IllegalArgumentException.class, negativePreviousRank).getMessage());
+            assertEquals(
+                    "Rank cannot be less than 0.",
+                    assertThrows(IllegalArgumentException.class, negativeRank).getMessage());
+        }
+    }
+}
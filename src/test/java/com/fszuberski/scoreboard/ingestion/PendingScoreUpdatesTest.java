@@ -0,0 +1,104 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingScoreUpdatesTest {
+
+    @Nested
+    public class Create {
+
+        @Test
+        @DisplayName("should throw exception given max pending matches is less than 1")
+        public void shouldThrowExceptionGivenMaxPendingMatchesIsLessThan1() {
+            // when: the buffer is created with less than 1 pending match
+            Executable executable = () -> new PendingScoreUpdates(0);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("MaxPendingMatches cannot be less than 1.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Coalescing {
+
+        @Test
+        @DisplayName("should keep only the latest update of every Match given multiple updates of the same Match")
+        public void shouldKeepOnlyTheLatestUpdateOfEveryMatchGivenMultipleUpdatesOfTheSameMatch() throws Exception {
+            // given: an empty buffer
+            var pendingUpdates = new PendingScoreUpdates(10);
+            var firstMatchId = UUID.randomUUID();
+            var secondMatchId = UUID.randomUUID();
+
+            // when: multiple updates of two Matches are added
+            assertFalse(pendingUpdates.put(new ScoreUpdate(firstMatchId, 1, 0)));
+            assertFalse(pendingUpdates.put(new ScoreUpdate(secondMatchId, 0, 1)));
+            assertTrue(pendingUpdates.put(new ScoreUpdate(firstMatchId, 2, 0)));
+            assertTrue(pendingUpdates.put(new ScoreUpdate(firstMatchId, 3, 0)));
+
+            // then: the latest update of every Match is taken, in the order of the first update of the Matches
+            assertEquals(
+                    List.of(new ScoreUpdate(firstMatchId, 3, 0), new ScoreUpdate(secondMatchId, 0, 1)),
+                    pendingUpdates.take(0, TimeUnit.MILLISECONDS));
+            assertEquals(List.of(), pendingUpdates.take());
+        }
+    }
+
+    @Nested
+    public class Backpressure {
+
+        @Test
+        @DisplayName("should wait until the updates are taken given the buffer is full")
+        public void shouldWaitUntilTheUpdatesAreTakenGivenTheBufferIsFull() throws Exception {
+            // given: a full buffer
+            var pendingUpdates = new PendingScoreUpdates(1);
+            var pendingMatchId = UUID.randomUUID();
+            pendingUpdates.put(new ScoreUpdate(pendingMatchId, 1, 0));
+
+            // when: an update of another Match is added
+            var put = CompletableFuture.runAsync(() -> {
+                try {
+                    pendingUpdates.put(new ScoreUpdate(UUID.randomUUID(), 1, 0));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // then: the update waits until the pending updates are taken
+            assertThrows(Exception.class, () -> put.get(100, TimeUnit.MILLISECONDS));
+            assertEquals(1, pendingUpdates.size());
+
+            // and: superseding the pending update does not wait
+            assertTrue(pendingUpdates.put(new ScoreUpdate(pendingMatchId, 2, 0)));
+
+            // and: the update is added once the pending updates are taken
+            assertEquals(List.of(new ScoreUpdate(pendingMatchId, 2, 0)), pendingUpdates.take());
+            put.get(5, TimeUnit.SECONDS);
+            assertEquals(1, pendingUpdates.size());
+        }
+
+        @Test
+        @DisplayName("should return no updates given the timeout has elapsed")
+        public void shouldReturnNoUpdatesGivenTheTimeoutHasElapsed() throws Exception {
+            // given: an empty buffer
+            var pendingUpdates = new PendingScoreUpdates(1);
+
+            // when: the updates are taken
+            var result = pendingUpdates.take(10, TimeUnit.MILLISECONDS);
+
+            // then: no updates are returned
+            assertEquals(List.of(), result);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.MatchStore;
+import com.fszuberski.scoreboard.Scoreboard;
+import com.fszuberski.scoreboard.domain.IngestionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreIngestionPipelineTest {
+
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.scoreboard = new Scoreboard(MatchStore.concurrentInMemory());
+    }
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @Test
+        @DisplayName("should throw exception given Scoreboard is null")
+        public void shouldThrowExceptionGivenScoreboardIsNull() {
+            // when: the pipeline is created with a null Scoreboard
+            Executable executable = () -> new ScoreIngestionPipeline(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Scoreboard cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given parser is null")
+        public void shouldThrowExceptionGivenParserIsNull() {
+            // when: the pipeline is created with a null parser
+            Executable executable = () -> new ScoreIngestionPipeline(scoreboard, null, Executors.defaultThreadFactory(), 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Parser cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given thread factory is null")
+        public void shouldThrowExceptionGivenThreadFactoryIsNull() {
+            // when: the pipeline is created with a null thread factory
+            Executable executable = () -> new ScoreIngestionPipeline(scoreboard, ScoreMessageParser.CSV, null, 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ThreadFactory cannot be null.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class AddFeed {
+
+        @Test
+        @DisplayName("should throw exception given feed is null")
+        public void shouldThrowExceptionGivenFeedIsNull() {
+            // given: a pipeline
+            try (var pipeline = new ScoreIngestionPipeline(scoreboard)) {
+                // when: a null feed is added
+                Executable executable = () -> pipeline.addFeed(null);
+
+                // then: an IllegalArgumentException is thrown
+                var result = assertThrows(IllegalArgumentException.class, executable);
+                assertEquals("Feed cannot be null.", result.getMessage());
+            }
+        }
+
+        @Test
+        @DisplayName("should throw exception given the pipeline is closed")
+        public void shouldThrowExceptionGivenThePipelineIsClosed() {
+            // given: a closed pipeline
+            var pipeline = new ScoreIngestionPipeline(scoreboard);
+            pipeline.close();
+
+            // when: a feed is added
+            Executable executable = () -> pipeline.addFeed(() -> null);
+
+            // then: an IllegalStateException is thrown
+            var result = assertThrows(IllegalStateException.class, executable);
+            assertEquals("Pipeline is closed.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should close every added feed given the pipeline is closed while feeds are added")
+        public void shouldCloseEveryAddedFeedGivenThePipelineIsClosedWhileFeedsAreAdded() {
+            // given: a pipeline
+            var pipeline = new ScoreIngestionPipeline(scoreboard);
+            var numberOfAddingThreads = 4;
+            var addedFeeds = new AtomicInteger();
+            var closedFeeds = new AtomicInteger();
+
+            // when: the pipeline is closed while other threads keep adding feeds
+            runConcurrently(numberOfAddingThreads + 1, threadIndex -> {
+                if (threadIndex == numberOfAddingThreads) {
+                    LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                    pipeline.close();
+                    return;
+                }
+
+                try {
+                    while (true) {
+                        pipeline.addFeed(new ScoreFeed() {
+                            @Override
+                            public String nextMessage() {
+                                return null;
+                            }
+
+                            @Override
+                            public void close() {
+                                closedFeeds.incrementAndGet();
+                            }
+                        });
+                        addedFeeds.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    assertEquals("Pipeline is closed.", e.getMessage());
+                }
+            });
+
+            // then: every feed added before the pipeline has been closed is closed by the pipeline
+            assertEquals(addedFeeds.get(), closedFeeds.get());
+        }
+    }
+
+    @Nested
+    public class Ingestion {
+
+        @Test
+        @DisplayName("should apply the latest score of every Match given multiple feeds")
+        public void shouldApplyTheLatestScoreOfEveryMatchGivenMultipleFeeds() throws Exception {
+            // given: Matches of two competitions, each with its own feed of increasing scores
+            var firstCompetitionMatchIds = startMatches("First", 5);
+            var secondCompetitionMatchIds = startMatches("Second", 5);
+            var pipeline = new ScoreIngestionPipeline(scoreboard);
+
+            // when: the feeds are ingested
+            pipeline.addFeed(feedOf(scoreMessages(firstCompetitionMatchIds, 200)));
+            pipeline.addFeed(feedOf(scoreMessages(secondCompetitionMatchIds, 200)));
+            pipeline.closeWhenFeedsEnded();
+
+            // then: every Match has the latest score of its feed
+            var ongoingMatches = scoreboard.getOngoingMatches();
+            assertEquals(10, ongoingMatches.size());
+            ongoingMatches.forEach(match -> assertEquals(400, match.totalScore()));
+
+            // and: every message has either been applied or coalesced
+            var statistics = pipeline.statistics();
+            assertEquals(2_000, statistics.receivedMessages());
+            assertEquals(2_000, statistics.appliedUpdates() + statistics.coalescedUpdates());
+            assertEquals(0, statistics.failedUpdates());
+        }
+
+        @Test
+        @DisplayName("should drop malformed messages and count rejected updates given an invalid feed")
+        public void shouldDropMalformedMessagesAndCountRejectedUpdatesGivenAnInvalidFeed() throws Exception {
+            // given: a Match in progress and a feed with a malformed message and an update of an unknown Match
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+            var pipeline = new ScoreIngestionPipeline(scoreboard);
+
+            // when: the feed is ingested
+            pipeline.addFeed(feedOf(List.of("malformed", UUID.randomUUID() + ",1,0", matchId + ",1,0")));
+            pipeline.closeWhenFeedsEnded();
+
+            // then: the valid update is applied and the others are counted
+            assertEquals(1, scoreboard.getOngoingMatches().get(0).totalScore());
+            assertEquals(new IngestionStatistics(3, 1, 0, 1, 1, 0), pipeline.statistics());
+        }
+
+        @Test
+        @DisplayName("should count the failed feed given the feed cannot be read")
+        public void shouldCountTheFailedFeedGivenTheFeedCannotBeRead() throws Exception {
+            // given: a pipeline whose threads do not report uncaught exceptions
+            var pipeline = new ScoreIngestionPipeline(scoreboard, ScoreMessageParser.CSV, runnable -> {
+                var thread = new Thread(runnable);
+                thread.setUncaughtExceptionHandler((ignored, e) -> { });
+                return thread;
+            }, 1);
+
+            // when: a feed failing to receive a message is ingested
+            pipeline.addFeed(() -> {
+                throw new IOException("Connection reset");
+            });
+            pipeline.closeWhenFeedsEnded();
+
+            // then: the feed is counted as failed
+            assertEquals(1, pipeline.statistics().failedFeeds());
+        }
+
+        @Test
+        @DisplayName("should count the failed feed given the parser fails unexpectedly")
+        public void shouldCountTheFailedFeedGivenTheParserFailsUnexpectedly() throws Exception {
+            // given: a pipeline with a failing parser, whose threads do not report uncaught exceptions
+            ScoreMessageParser failingParser = message -> {
+                throw new IllegalStateException("Parser failure");
+            };
+            var pipeline = new ScoreIngestionPipeline(scoreboard, failingParser, runnable -> {
+                var thread = new Thread(runnable);
+                thread.setUncaughtExceptionHandler((ignored, e) -> { });
+                return thread;
+            }, 1);
+
+            // when: a feed is ingested
+            pipeline.addFeed(feedOf(List.of(UUID.randomUUID() + ",1,0", UUID.randomUUID() + ",2,0")));
+            pipeline.closeWhenFeedsEnded();
+
+            // then: the feed stops at the first message and is counted as failed
+            assertEquals(new IngestionStatistics(1, 0, 0, 0, 0, 1), pipeline.statistics());
+        }
+
+        @Test
+        @DisplayName("should stop reading the feeds given the pipeline is closed")
+        public void shouldStopReadingTheFeedsGivenThePipelineIsClosed() {
+            // given: a pipeline ingesting a feed which never ends
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+            var pipeline = new ScoreIngestionPipeline(scoreboard);
+            var firstMessageReceived = new CountDownLatch(1);
+            var closedFeed = new CountDownLatch(1);
+            pipeline.addFeed(new ScoreFeed() {
+                private boolean received;
+
+                @Override
+                public String nextMessage() throws IOException {
+                    if (!received) {
+                        received = true;
+                        firstMessageReceived.countDown();
+                        return matchId + ",1,0";
+                    }
+
+                    try {
+                        closedFeed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("Feed closed");
+                }
+
+                @Override
+                public void close() {
+                    closedFeed.countDown();
+                }
+            });
+
+            // when: the pipeline is closed after the first message has been received
+            assertDoesNotThrow(() -> firstMessageReceived.await());
+            pipeline.close();
+
+            // then: the received update is applied and the closed feed is not counted as failed
+            assertEquals(1, scoreboard.getOngoingMatches().get(0).totalScore());
+            assertEquals(0, pipeline.statistics().failedFeeds());
+        }
+    }
+
+    private List<UUID> startMatches(String competition, int numberOfMatches) {
+        return IntStream
+                .range(0, numberOfMatches)
+                .mapToObj(i -> scoreboard.startMatch(competition + "Home" + i, competition + "Away" + i))
+                .toList();
+    }
+
+    private static List<String> scoreMessages(List<UUID> matchIds, int finalScore) {
+        var messages = new ArrayList<String>();
+        for (int score = 1; score <= finalScore; score++) {
+            for (UUID matchId : matchIds) {
+                messages.add(matchId + "," + score + "," + score);
+            }
+        }
+        return messages;
+    }
+
+    private static ScoreFeed feedOf(List<String> messages) {
+        Iterator<String> iterator = messages.iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+}
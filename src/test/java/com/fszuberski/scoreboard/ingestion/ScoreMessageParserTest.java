@@ -0,0 +1,56 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreMessageParserTest {
+
+    @Nested
+    public class Csv {
+
+        @Test
+        @DisplayName("should parse the score update given a well-formed message")
+        public void shouldParseTheScoreUpdateGivenAWellFormedMessage() {
+            // given: a well-formed message
+            var matchId = UUID.randomUUID();
+            var message = matchId + ", 2,1";
+
+            // when: the message is parsed
+            var result = ScoreMessageParser.CSV.parse(message);
+
+            // then: the score update of the message is returned
+            assertEquals(new ScoreUpdate(matchId, 2, 1), result);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "",
+                "0b6e3c4e-7d1f-4d3a-9a4b-2f9a1c7e5d10,2",
+                "0b6e3c4e-7d1f-4d3a-9a4b-2f9a1c7e5d10,2,1,0",
+                "not-a-uuid,2,1",
+                "0b6e3c4e-7d1f-4d3a-9a4b-2f9a1c7e5d10,two,1",
+                "0b6e3c4e-7d1f-4d3a-9a4b-2f9a1c7e5d10,-2,1"
+        })
+        @DisplayName("should throw exception given a malformed message")
+        public void shouldThrowExceptionGivenAMalformedMessage(String message) {
+            // when: a malformed message is parsed
+            Executable executable = () -> ScoreMessageParser.CSV.parse(message);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals(
+                    String.format("Cannot parse message='%s'; expected matchId,homeTeamScore,awayTeamScore.", message),
+                    result.getMessage());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.fszuberski.scoreboard.ingestion;
+
+import com.fszuberski.scoreboard.MatchStore;
+import com.fszuberski.scoreboard.Scoreboard;
+import com.fszuberski.scoreboard.domain.CoalescingStatistics;
+import com.fszuberski.scoreboard.domain.Match;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.fszuberski.scoreboard.TestUtils.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+class ScoreUpdateCoalescerTest {
+
+    // long enough for the background flush not to interfere with the tests flushing explicitly
+    private static final Duration FLUSH_INTERVAL = Duration.ofHours(1);
+
+    private Scoreboard scoreboard;
+    private ScoreUpdateCoalescer coalescer;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.scoreboard = new Scoreboard(MatchStore.concurrentInMemory());
+        this.coalescer = new ScoreUpdateCoalescer(scoreboard, FLUSH_INTERVAL, 100);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        coalescer.close();
+    }
+
+    @Nested
+    public class CanonicalConstructor {
+
+        @Test
+        @DisplayName("should throw exception given Scoreboard is null")
+        public void shouldThrowExceptionGivenScoreboardIsNull() {
+            // when: the coalescer is created with a null Scoreboard
+            Executable executable = () -> new ScoreUpdateCoalescer(null, FLUSH_INTERVAL, 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Scoreboard cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given flush interval is null")
+        public void shouldThrowExceptionGivenFlushIntervalIsNull() {
+            // when: the coalescer is created with a null flush interval
+            Executable executable = () -> new ScoreUpdateCoalescer(scoreboard, null, 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("FlushInterval cannot be null.", result.getMessage());
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, -1})
+        @DisplayName("should throw exception given flush interval is zero or negative")
+        public void shouldThrowExceptionGivenFlushIntervalIsZeroOrNegative(long flushIntervalMillis) {
+            // when: the coalescer is created with a zero or negative flush interval
+            Executable executable = () -> new ScoreUpdateCoalescer(scoreboard, Duration.ofMillis(flushIntervalMillis), 1);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("FlushInterval cannot be zero or negative.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given max pending matches is less than 1")
+        public void shouldThrowExceptionGivenMaxPendingMatchesIsLessThan1() {
+            // when: the coalescer is created with less than 1 pending match
+            Executable executable = () -> new ScoreUpdateCoalescer(scoreboard, FLUSH_INTERVAL, 0);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("MaxPendingMatches cannot be less than 1.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Submit {
+
+        @Test
+        @DisplayName("should throw exception given null ScoreUpdate")
+        public void shouldThrowExceptionGivenNullScoreUpdate() {
+            // when: a null update is submitted
+            Executable executable = () -> coalescer.submit(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("ScoreUpdate cannot be null.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should throw exception given the coalescer is closed")
+        public void shouldThrowExceptionGivenTheCoalescerIsClosed() {
+            // given: a closed coalescer
+            coalescer.close();
+
+            // when: an update is submitted
+            Executable executable = () -> coalescer.submit(new ScoreUpdate(UUID.randomUUID(), 1, 0));
+
+            // then: an IllegalStateException is thrown
+            var result = assertThrows(IllegalStateException.class, executable);
+            assertEquals("Coalescer is closed.", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("should write only the latest update of every Match given a burst of updates")
+        public void shouldWriteOnlyTheLatestUpdateOfEveryMatchGivenABurstOfUpdates() {
+            // given: two Matches in progress
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            var versionBeforeBurst = scoreboard.getVersion();
+
+            // when: a burst of updates is submitted and flushed
+            for (int score = 1; score <= 10; score++) {
+                coalescer.submit(new ScoreUpdate(mexicoCanadaMatchId, score, 0));
+                coalescer.submit(new ScoreUpdate(spainBrazilMatchId, 0, score));
+            }
+            var failures = coalescer.flush();
+
+            // then: the scoreboard is not changed until the flush, which applies only the latest updates
+            assertEquals(0, failures.size());
+            assertEquals(versionBeforeBurst + 2, scoreboard.getVersion());
+            scoreboard.getOngoingMatches().forEach(match -> assertEquals(10, match.totalScore()));
+            assertEquals(new CoalescingStatistics(20, 18, 1, 2, 0), coalescer.statistics());
+        }
+
+        @Test
+        @DisplayName("should flush on the submitting thread given updates of the max number of Matches are pending")
+        public void shouldFlushOnTheSubmittingThreadGivenUpdatesOfTheMaxNumberOfMatchesArePending() {
+            // given: a coalescer flushing once updates of two Matches are pending
+            coalescer.close();
+            coalescer = new ScoreUpdateCoalescer(scoreboard, FLUSH_INTERVAL, 2);
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+
+            // when: updates of two Matches are submitted
+            coalescer.submit(new ScoreUpdate(mexicoCanadaMatchId, 1, 0));
+            coalescer.submit(new ScoreUpdate(mexicoCanadaMatchId, 2, 0));
+            coalescer.submit(new ScoreUpdate(spainBrazilMatchId, 1, 0));
+
+            // then: the updates are flushed without waiting for the flush interval
+            assertEquals(new CoalescingStatistics(3, 1, 1, 2, 0), coalescer.statistics());
+            assertEquals(3, scoreboard.getOngoingMatches().stream().mapToInt(match -> match.totalScore()).sum());
+        }
+
+        @Test
+        @DisplayName("should return the failures given the flushed updates are rejected by the Scoreboard")
+        public void shouldReturnTheFailuresGivenTheFlushedUpdatesAreRejectedByTheScoreboard() {
+            // given: an update of a Match which does not exist
+            var scoreUpdate = new ScoreUpdate(UUID.randomUUID(), 1, 0);
+            coalescer.submit(scoreUpdate);
+
+            // when: the update is flushed
+            var failures = coalescer.flush();
+
+            // then: the failure is returned and counted
+            assertEquals(1, failures.size());
+            assertEquals(scoreUpdate, failures.get(0).scoreUpdate());
+            assertEquals(1, coalescer.statistics().failedUpdates());
+        }
+
+        @Test
+        @DisplayName("should count the flushed updates as failed and rethrow the exception given the MatchStore fails")
+        public void shouldCountTheFlushedUpdatesAsFailedAndRethrowTheExceptionGivenTheMatchStoreFails() {
+            // given: pending updates of a Scoreboard whose MatchStore fails to apply a batch
+            var matchStore = mock(MatchStore.class, delegatesTo(MatchStore.concurrentInMemory()));
+            var failingScoreboard = new Scoreboard(matchStore);
+            var matchIds = List.of(failingScoreboard.startMatch("Mexico", "Canada"), failingScoreboard.startMatch("Spain", "Brazil"));
+            doThrow(new UncheckedIOException(new IOException("Disk full."))).when(matchStore).executeInBatch(any());
+            coalescer.close();
+            coalescer = new ScoreUpdateCoalescer(failingScoreboard, FLUSH_INTERVAL, 100);
+            matchIds.forEach(matchId -> coalescer.submit(new ScoreUpdate(matchId, 1, 0)));
+
+            // when: the updates are flushed
+            Executable executable = () -> coalescer.flush();
+
+            // then: the exception is rethrown and the dropped updates are counted as failed
+            assertThrows(UncheckedIOException.class, executable);
+            var statistics = coalescer.statistics();
+            assertEquals(2, statistics.failedUpdates());
+            assertEquals(0, statistics.appliedUpdates());
+            assertEquals(0, statistics.flushes());
+
+            // and: the dropped updates are not applied by a later flush
+            assertTrue(coalescer.flush().isEmpty());
+            assertEquals(0, failingScoreboard.getOngoingMatches().stream().mapToInt(Match::totalScore).sum());
+        }
+    }
+
+    @Nested
+    public class Flush {
+
+        @Test
+        @DisplayName("should flush the pending updates in the background given the flush interval has elapsed")
+        public void shouldFlushThePendingUpdatesInTheBackgroundGivenTheFlushIntervalHasElapsed() throws Exception {
+            // given: a coalescer flushing every few milliseconds
+            coalescer.close();
+            coalescer = new ScoreUpdateCoalescer(scoreboard, Duration.ofMillis(5), 100);
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+
+            // when: an update is submitted
+            coalescer.submit(new ScoreUpdate(matchId, 1, 0));
+
+            // then: the update is applied without an explicit flush
+            var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (coalescer.statistics().appliedUpdates() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(1, scoreboard.getOngoingMatches().get(0).totalScore());
+        }
+
+        @Test
+        @DisplayName("should flush the pending updates given the coalescer is closed")
+        public void shouldFlushThePendingUpdatesGivenTheCoalescerIsClosed() {
+            // given: a pending update
+            var matchId = scoreboard.startMatch("Mexico", "Canada");
+            coalescer.submit(new ScoreUpdate(matchId, 1, 0));
+
+            // when: the coalescer is closed
+            coalescer.close();
+
+            // then: the update is applied
+            assertEquals(1, scoreboard.getOngoingMatches().get(0).totalScore());
+        }
+
+        @Test
+        @DisplayName("should flush every accepted update given the coalescer is closed while updates are submitted")
+        public void shouldFlushEveryAcceptedUpdateGivenTheCoalescerIsClosedWhileUpdatesAreSubmitted() {
+            // given: a coalescer whose buffer fills up quickly, and a Match per submitting thread
+            coalescer.close();
+            coalescer = new ScoreUpdateCoalescer(scoreboard, FLUSH_INTERVAL, 2);
+            var numberOfSubmitters = 4;
+            var matchIds = IntStream
+                    .range(0, numberOfSubmitters)
+                    .mapToObj(i -> scoreboard.startMatch("Home" + i, "Away" + i))
+                    .toList();
+            var lastAcceptedScores = new int[numberOfSubmitters];
+
+            // when: the coalescer is closed while the submitting threads raise the scores of their Matches
+            runConcurrently(numberOfSubmitters + 1, threadIndex -> {
+                if (threadIndex == numberOfSubmitters) {
+                    LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                    coalescer.close();
+                    return;
+                }
+
+                try {
+                    for (int score = 1; ; score++) {
+                        coalescer.submit(new ScoreUpdate(matchIds.get(threadIndex), score, 0));
+                        lastAcceptedScores[threadIndex] = score;
+                    }
+                } catch (IllegalStateException e) {
+                    assertEquals("Coalescer is closed.", e.getMessage());
+                }
+            });
+
+            // then: the last update accepted for every Match is applied
+            var scores = scoreboard.getOngoingMatches()
+                    .stream()
+                    .collect(Collectors.toMap(Match::id, Match::totalScore));
+            for (int i = 0; i < numberOfSubmitters; i++) {
+                assertEquals(lastAcceptedScores[i], (int) scores.get(matchIds.get(i)));
+            }
+        }
+    }
+}
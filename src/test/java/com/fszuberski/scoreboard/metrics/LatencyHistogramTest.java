@@ -0,0 +1,145 @@
+package com.fszuberski.scoreboard.metrics;
+
+import com.fszuberski.scoreboard.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    @Nested
+    public class Record {
+
+        @Test
+        @DisplayName("should return 0 given no values have been recorded")
+        public void shouldReturn0GivenNoValuesHaveBeenRecorded() {
+            // then: the empty histogram reports 0
+            assertEquals(0, histogram.count());
+            assertEquals(0, histogram.max());
+            assertEquals(0.0, histogram.mean());
+            assertEquals(0, histogram.valueAtPercentile(50));
+        }
+
+        @Test
+        @DisplayName("should count small values exactly given values below 32 have been recorded")
+        public void shouldCountSmallValuesExactlyGivenValuesBelow32HaveBeenRecorded() {
+            // when: the values from 1 to 10 are recorded
+            for (int value = 1; value <= 10; value++) {
+                histogram.record(value);
+            }
+
+            // then: the percentiles, the mean and the maximum are exact
+            assertEquals(10, histogram.count());
+            assertEquals(1, histogram.valueAtPercentile(0));
+            assertEquals(5, histogram.valueAtPercentile(50));
+            assertEquals(9, histogram.valueAtPercentile(90));
+            assertEquals(10, histogram.valueAtPercentile(100));
+            assertEquals(5.5, histogram.mean());
+            assertEquals(10, histogram.max());
+        }
+
+        @Test
+        @DisplayName("should report percentiles within the relative error given random values have been recorded")
+        public void shouldReportPercentilesWithinTheRelativeErrorGivenRandomValuesHaveBeenRecorded() {
+            // given: random values spanning several orders of magnitude
+            var random = new Random(3);
+            var values = new long[10_000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (long) Math.pow(10, 1 + random.nextDouble() * 8);
+                histogram.record(values[i]);
+            }
+            Arrays.sort(values);
+
+            for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+                // when: the value at the percentile is retrieved
+                var result = histogram.valueAtPercentile(percentile);
+
+                // then: the value differs from the exact value by less than 1/32
+                var expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+                assertTrue(Math.abs(result - expected) <= expected / 32, "percentile=" + percentile);
+            }
+            assertEquals(values[values.length - 1], histogram.valueAtPercentile(100));
+        }
+
+        @Test
+        @DisplayName("should record negative values as 0")
+        public void shouldRecordNegativeValuesAs0() {
+            // when: a negative value is recorded
+            histogram.record(-5);
+
+            // then: the value is recorded as 0
+            assertEquals(1, histogram.count());
+            assertEquals(0, histogram.valueAtPercentile(100));
+        }
+
+        @Test
+        @DisplayName("should count every value given values are recorded concurrently")
+        public void shouldCountEveryValueGivenValuesAreRecordedConcurrently() {
+            // when: 4 threads record 10000 values each
+            TestUtils.runConcurrently(4, thread -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+
+            // then: every value is counted
+            assertEquals(40_000, histogram.count());
+            assertEquals(10_000, histogram.max());
+            assertEquals(5_000.5, histogram.mean());
+        }
+    }
+
+    @Nested
+    public class ValueAtPercentile {
+
+        @ParameterizedTest
+        @ValueSource(doubles = {-1, 100.5})
+        @DisplayName("should throw exception given percentile out of range")
+        public void shouldThrowExceptionGivenPercentileOutOfRange(double percentile) {
+            // when: the value at a percentile out of range is retrieved
+            Executable executable = () -> histogram.valueAtPercentile(percentile);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Percentile cannot be less than 0 or greater than 100.", result.getMessage());
+        }
+    }
+
+    @Nested
+    public class Buckets {
+
+        @Test
+        @DisplayName("should map every value into the bucket whose highest equivalent value bounds it")
+        public void shouldMapEveryValueIntoTheBucketWhoseHighestEquivalentValueBoundsIt() {
+            // given: values around every power of two
+            for (int magnitude = 0; magnitude < 63; magnitude++) {
+                for (long value : new long[]{(1L << magnitude) - 1, 1L << magnitude, (1L << magnitude) + 1}) {
+                    // when: the bucket of the value is computed
+                    var bucket = LatencyHistogram.bucket(value);
+
+                    // then: the value lies within the bucket and the bucket is at most 1/32 of the value wide
+                    assertTrue(value <= LatencyHistogram.highestEquivalentValue(bucket), "value=" + value);
+                    assertTrue(bucket == 0 || value > LatencyHistogram.highestEquivalentValue(bucket - 1), "value=" + value);
+                    assertTrue(LatencyHistogram.highestEquivalentValue(bucket) - value <= value / 32, "value=" + value);
+                }
+            }
+            assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucket(Long.MAX_VALUE)));
+        }
+    }
+}
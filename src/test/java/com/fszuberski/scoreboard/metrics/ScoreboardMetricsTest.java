@@ -0,0 +1,111 @@
+package com.fszuberski.scoreboard.metrics;
+
+import com.fszuberski.scoreboard.MatchStore;
+import com.fszuberski.scoreboard.Scoreboard;
+import com.fszuberski.scoreboard.domain.ScoreUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardMetricsTest {
+
+    private ScoreboardMetrics metrics;
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.metrics = new ScoreboardMetrics();
+        this.scoreboard = new Scoreboard(MatchStore.instrumented(MatchStore.concurrentInMemory(), metrics), metrics);
+    }
+
+    @Nested
+    public class Counters {
+
+        @Test
+        @DisplayName("should count the applied and rejected operations given the Scoreboard has been changed")
+        public void shouldCountTheAppliedAndRejectedOperationsGivenTheScoreboardHasBeenChanged() {
+            // given: Matches are started, updated and finished, some of the operations being rejected
+            var mexicoCanadaMatchId = scoreboard.startMatch("Mexico", "Canada");
+            var spainBrazilMatchId = scoreboard.startMatch("Spain", "Brazil");
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.startMatch("Mexico", "Canada"));
+            scoreboard.updateMatchScore(mexicoCanadaMatchId, 1, 0);
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.updateMatchScore(mexicoCanadaMatchId, 0, 0));
+            scoreboard.updateMatchScores(List.of(
+                    new ScoreUpdate(spainBrazilMatchId, 1, 1),
+                    new ScoreUpdate(UUID.randomUUID(), 1, 1)));
+            scoreboard.finishMatch(mexicoCanadaMatchId);
+            scoreboard.finishMatch(UUID.randomUUID());
+
+            // then: the operations are counted
+            assertEquals(2, metrics.matchesStarted());
+            assertEquals(1, metrics.matchStartsRejected());
+            assertEquals(2, metrics.scoresUpdated());
+            assertEquals(2, metrics.scoreUpdatesRejected());
+            assertEquals(1, metrics.matchesFinished());
+            assertEquals(1, metrics.ongoingMatches());
+
+            // and: the durations of the applied operations are recorded
+            assertEquals(2, metrics.startMatchLatency().count());
+            assertEquals(1, metrics.updateMatchScoreLatency().count());
+            assertEquals(1, metrics.updateMatchScoresLatency().count());
+            assertEquals(2, metrics.finishMatchLatency().count());
+            assertEquals(2, metrics.storeOperationLatency(StoreOperation.SAVE_MATCH).count());
+            assertEquals(2, metrics.storeOperationLatency(StoreOperation.REMOVE_MATCH).count());
+        }
+
+        @Test
+        @DisplayName("should count the loaded Matches as ongoing given the MatchStore already contains Matches")
+        public void shouldCountTheLoadedMatchesAsOngoingGivenTheMatchStoreAlreadyContainsMatches() {
+            // given: a MatchStore containing Matches
+            var matchStore = MatchStore.concurrentInMemory();
+            var previousScoreboard = new Scoreboard(matchStore);
+            previousScoreboard.startMatch("Mexico", "Canada");
+            previousScoreboard.startMatch("Spain", "Brazil");
+
+            // when: an instrumented Scoreboard is created with the MatchStore
+            var metrics = new ScoreboardMetrics();
+            new Scoreboard(matchStore, metrics);
+
+            // then: the Matches of the MatchStore are counted as ongoing
+            assertEquals(2, metrics.ongoingMatches());
+            assertEquals(0, metrics.matchesStarted());
+        }
+    }
+
+    @Nested
+    public class Latencies {
+
+        @Test
+        @DisplayName("should record the duration of retrieving the summary given the summary is retrieved")
+        public void shouldRecordTheDurationOfRetrievingTheSummaryGivenTheSummaryIsRetrieved() {
+            // given: a Scoreboard with a Match in progress
+            scoreboard.startMatch("Mexico", "Canada");
+
+            // when: the summary is retrieved twice
+            scoreboard.getOngoingMatches();
+            scoreboard.getOngoingMatches();
+
+            // then: both durations are recorded, while the MatchStore has only been asked for the summary once
+            assertEquals(2, metrics.getOngoingMatchesLatency().count());
+            assertEquals(1, metrics.storeOperationLatency(StoreOperation.GET_ORDERED_MATCHES).count());
+        }
+
+        @Test
+        @DisplayName("should throw exception given null store operation")
+        public void shouldThrowExceptionGivenNullStoreOperation() {
+            // when: the latency of a null store operation is retrieved
+            Executable executable = () -> metrics.storeOperationLatency(null);
+
+            // then: an IllegalArgumentException is thrown
+            var result = assertThrows(IllegalArgumentException.class, executable);
+            assertEquals("Operation cannot be null.", result.getMessage());
+        }
+    }
+}